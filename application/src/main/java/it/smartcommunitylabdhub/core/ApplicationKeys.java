@@ -26,6 +26,7 @@ package it.smartcommunitylabdhub.core;
 public class ApplicationKeys {
 
     public static final int DEFAULT_PAGE_SIZE = 25;
+    public static final String CURSOR_HEADER = "x-next-cursor";
 
     private ApplicationKeys() {}
 }
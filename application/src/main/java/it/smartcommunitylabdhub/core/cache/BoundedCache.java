@@ -0,0 +1,187 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.cache;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Spring cache bounded in size, with least recently used eviction and a ttl per entry.
+ */
+public class BoundedCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final int size;
+    private final long ttl;
+
+    private final LinkedHashMap<Object, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(@NotNull String name, int size, long ttl) {
+        super(true);
+        Assert.hasText(name, "name can not be null");
+        Assert.isTrue(size > 0, "size must be positive");
+
+        this.name = name;
+        this.size = size;
+        this.ttl = ttl;
+
+        //access order for lru eviction
+        this.entries =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                    if (size() > BoundedCache.this.size) {
+                        evictions.increment();
+                        return true;
+                    }
+
+                    return false;
+                }
+            };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected @Nullable Object lookup(Object key) {
+        synchronized (entries) {
+            Entry e = entries.get(key);
+            if (e != null && e.isExpired(ttl)) {
+                entries.remove(key);
+                evictions.increment();
+                e = null;
+            }
+
+            if (e == null) {
+                misses.increment();
+                return null;
+            }
+
+            hits.increment();
+            return e.value();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) fromStoreValue(value);
+        }
+
+        try {
+            T loaded = valueLoader.call();
+            put(key, loaded);
+            return loaded;
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        synchronized (entries) {
+            entries.put(key, new Entry(toStoreValue(value), System.currentTimeMillis()));
+            puts.increment();
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        synchronized (entries) {
+            return entries.remove(key) != null;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        synchronized (entries) {
+            boolean empty = entries.isEmpty();
+            entries.clear();
+            return !empty;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private record Entry(Object value, long timestamp) {
+        boolean isExpired(long ttl) {
+            return ttl > 0 && System.currentTimeMillis() - timestamp >= ttl;
+        }
+    }
+}
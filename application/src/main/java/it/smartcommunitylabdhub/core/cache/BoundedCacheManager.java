@@ -0,0 +1,157 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.util.Assert;
+
+/**
+ * Cache manager for bounded, expiring caches.
+ *
+ * Size and ttl are configured per cache name with a fallback to the defaults, caches not
+ * declared upfront are built on first access. Every cache is bound to the meter registry
+ * with the standard cache metrics.
+ */
+@Slf4j
+public class BoundedCacheManager extends AbstractTransactionSupportingCacheManager implements MeterBinder {
+
+    public static final int DEFAULT_SIZE = 1000;
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(60);
+
+    private int size = DEFAULT_SIZE;
+    private Duration ttl = DEFAULT_TTL;
+    private Map<String, CacheSpec> specs = Collections.emptyMap();
+
+    private MeterRegistry registry;
+    private final List<BoundedCache> bound = new ArrayList<>();
+
+    public void setSize(Integer size) {
+        if (size != null && size > 0) {
+            this.size = size;
+        }
+    }
+
+    public void setTtl(Duration ttl) {
+        if (ttl != null && !ttl.isNegative()) {
+            this.ttl = ttl;
+        }
+    }
+
+    public void setSpecs(Map<String, CacheSpec> specs) {
+        Assert.notNull(specs, "specs can not be null");
+        this.specs = new HashMap<>(specs);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return specs.keySet().stream().map(this::build).toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return build(name);
+    }
+
+    private BoundedCache build(String name) {
+        CacheSpec spec = specs.get(name);
+        int s = spec != null && spec.size() != null && spec.size() > 0 ? spec.size() : size;
+        Duration t = spec != null && spec.ttl() != null && !spec.ttl().isNegative() ? spec.ttl() : ttl;
+
+        log.debug("build cache {} with size {} ttl {}", name, s, t);
+        BoundedCache cache = new BoundedCache(name, s, t.toMillis());
+        bind(cache);
+
+        return cache;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        bound.forEach(c -> new BoundedCacheMetrics(c).bindTo(registry));
+    }
+
+    private synchronized void bind(BoundedCache cache) {
+        bound.add(cache);
+        if (registry != null) {
+            new BoundedCacheMetrics(cache).bindTo(registry);
+        }
+    }
+
+    public record CacheSpec(Integer size, Duration ttl) {}
+
+    private static class BoundedCacheMetrics extends CacheMeterBinder<BoundedCache> {
+
+        BoundedCacheMetrics(BoundedCache cache) {
+            super(cache, cache.getName(), Tags.of("cacheManager", "bounded"));
+        }
+
+        @Override
+        protected Long size() {
+            BoundedCache cache = getCache();
+            return cache != null ? (long) cache.size() : null;
+        }
+
+        @Override
+        protected long hitCount() {
+            BoundedCache cache = getCache();
+            return cache != null ? cache.getHits() : 0;
+        }
+
+        @Override
+        protected Long missCount() {
+            BoundedCache cache = getCache();
+            return cache != null ? cache.getMisses() : null;
+        }
+
+        @Override
+        protected Long evictionCount() {
+            BoundedCache cache = getCache();
+            return cache != null ? cache.getEvictions() : null;
+        }
+
+        @Override
+        protected long putCount() {
+            BoundedCache cache = getCache();
+            return cache != null ? cache.getPuts() : 0;
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            //nothing to add
+        }
+    }
+}
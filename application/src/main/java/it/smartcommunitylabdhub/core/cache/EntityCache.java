@@ -0,0 +1,253 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.cache;
+
+import it.smartcommunitylabdhub.commons.models.base.BaseDTO;
+import it.smartcommunitylabdhub.commons.models.entities.EntityName;
+import it.smartcommunitylabdhub.core.repositories.converters.LazyMap;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.BeanUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Bounded, ttl-aware cache of DTO snapshots for a single entity type, keyed by id.
+ *
+ * Values are copied on the way in and out: DTOs are mutable and callers are free to modify
+ * what they read, so the cached snapshot is never shared. Maps not decoded yet are copied
+ * by sharing their stored source. Every eviction bumps a stamp for the
+ * key stripe, readers capture it before loading and a put with an outdated stamp is discarded,
+ * so a load racing with an update can not store a stale value.
+ * Ids written by the running transaction are bound to it as a resource and never stored.
+ */
+public class EntityCache<D extends BaseDTO> {
+
+    private static final int STRIPES = 64;
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+
+    private final EntityName type;
+    private final int size;
+    private final long ttl;
+
+    private final LinkedHashMap<String, Entry<D>> entries;
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public EntityCache(@NotNull EntityName type, int size, long ttl) {
+        Assert.notNull(type, "type can not be null");
+        Assert.isTrue(size > 0, "size must be positive");
+
+        this.type = type;
+        this.size = size;
+        this.ttl = ttl;
+
+        //access order for lru eviction
+        this.entries =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry<D>> eldest) {
+                    if (size() > EntityCache.this.size) {
+                        evictions.increment();
+                        return true;
+                    }
+
+                    return false;
+                }
+            };
+    }
+
+    public EntityName getType() {
+        return type;
+    }
+
+    public @Nullable D get(@NotNull String id) {
+        Entry<D> e;
+        synchronized (entries) {
+            e = entries.get(id);
+            if (e != null && e.isExpired(ttl)) {
+                entries.remove(id);
+                evictions.increment();
+                e = null;
+            }
+        }
+
+        if (e == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return copy(e.value());
+    }
+
+    /*
+     * Stamp to capture before loading a value to be stored with put
+     */
+    public long stamp(@NotNull String id) {
+        return stamps.get(stripe(id));
+    }
+
+    public void put(@NotNull String id, @NotNull D dto, long stamp) {
+        //values written by the current transaction are not committed yet
+        if (TransactionSynchronizationManager.getResource(this) instanceof Set<?> dirty && dirty.contains(id)) {
+            return;
+        }
+
+        D value = copy(dto);
+        synchronized (entries) {
+            //discard values loaded before an eviction
+            if (stamps.get(stripe(id)) == stamp) {
+                entries.put(id, new Entry<>(value, System.currentTimeMillis()));
+            }
+        }
+    }
+
+    public void evict(@NotNull String id) {
+        synchronized (entries) {
+            stamps.incrementAndGet(stripe(id));
+            entries.remove(id);
+        }
+    }
+
+    public void evictAll(@NotNull Collection<String> ids) {
+        synchronized (entries) {
+            ids.forEach(id -> {
+                stamps.incrementAndGet(stripe(id));
+                entries.remove(id);
+            });
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            for (int i = 0; i < STRIPES; i++) {
+                stamps.incrementAndGet(i);
+            }
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private static int stripe(String id) {
+        return Math.floorMod(id.hashCode(), STRIPES);
+    }
+
+    /*
+     * Snapshots: field level copy, with maps and lists duplicated deeply
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(T source) {
+        Class<T> clazz = (Class<T>) source.getClass();
+        T target = BeanUtils.instantiateClass(clazz);
+        for (Field field : fields(clazz)) {
+            Object value = ReflectionUtils.getField(field, source);
+            Object copy = copyValue(value);
+
+            //keep the original when the copy does not fit the declared type
+            ReflectionUtils.setField(field, target, field.getType().isInstance(copy) ? copy : value);
+        }
+
+        return target;
+    }
+
+    private static List<Field> fields(Class<?> clazz) {
+        return FIELDS.computeIfAbsent(
+            clazz,
+            c -> {
+                List<Field> list = new ArrayList<>();
+                ReflectionUtils.doWithFields(
+                    c,
+                    f -> {
+                        ReflectionUtils.makeAccessible(f);
+                        list.add(f);
+                    },
+                    f -> !Modifier.isStatic(f.getModifiers()) && !Modifier.isFinal(f.getModifiers())
+                );
+                return list;
+            }
+        );
+    }
+
+    private static Object copyValue(Object value) {
+        if (value instanceof LazyMap lazy && lazy.copy() instanceof LazyMap copy) {
+            //share the stored source, no decoding
+            return copy;
+        }
+
+        if (value instanceof Map<?, ?> map) {
+            LinkedHashMap<Object, Object> m = new LinkedHashMap<>();
+            map.forEach((k, v) -> m.put(k, copyValue(v)));
+            return m;
+        }
+
+        if (value instanceof List<?> list) {
+            ArrayList<Object> l = new ArrayList<>(list.size());
+            list.forEach(v -> l.add(copyValue(v)));
+            return l;
+        }
+
+        //strings, numbers and other immutable values are shared
+        return value;
+    }
+
+    private record Entry<D extends Serializable>(D value, long timestamp) {
+        boolean isExpired(long ttl) {
+            return ttl > 0 && System.currentTimeMillis() - timestamp >= ttl;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import it.smartcommunitylabdhub.commons.models.base.BaseDTO;
+import it.smartcommunitylabdhub.commons.models.entities.EntityName;
+import it.smartcommunitylabdhub.components.cloud.CloudInvalidationEvent;
+import it.smartcommunitylabdhub.core.events.BulkEntityEvent;
+import it.smartcommunitylabdhub.core.events.EntityEvent;
+import it.smartcommunitylabdhub.core.persistence.BaseEntity;
+import it.smartcommunitylabdhub.events.EntityAction;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+/**
+ * Read-through caches of entity DTOs, one per entity type.
+ *
+ * Caches are invalidated from the entity events published by repositories: listeners run
+ * synchronously in the writer thread, evict right away and once more on completion, after commit
+ * the invalidation is also published on the cloud bus for the other replicas. Without a bus the
+ * ttl bounds the staleness observed by other replicas: keep it disabled for multiple replicas
+ * without a broadcaster. Types driven by a lifecycle are never cached.
+ */
+@Component
+@Slf4j
+public class EntityCacheManager implements MeterBinder {
+
+    public static final int DEFAULT_SIZE = 1000;
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(10);
+
+    //state driven by lifecycle fsm: read-modify-write always reads from the store
+    public static final Set<EntityName> UNCACHEABLE = EnumSet.of(
+        EntityName.RUN,
+        EntityName.TRIGGER,
+        EntityName.ARTIFACT,
+        EntityName.DATAITEM,
+        EntityName.MODEL
+    );
+
+    private final Map<EntityName, EntityCache<? extends BaseDTO>> caches = new ConcurrentHashMap<>();
+    private final Map<Class<?>, EntityName> entities = new ConcurrentHashMap<>();
+
+    private boolean enabled = false;
+    private int size = DEFAULT_SIZE;
+    private Duration ttl = DEFAULT_TTL;
+    private Set<EntityName> types = Collections.emptySet();
+
+    private ApplicationEventPublisher eventPublisher;
+    private MeterRegistry registry;
+
+    @Autowired
+    public void setEnabled(@Value("${cache.entities.enable}") Boolean enabled) {
+        this.enabled = Boolean.TRUE.equals(enabled);
+    }
+
+    @Autowired
+    public void setSize(@Value("${cache.entities.size}") Integer size) {
+        if (size != null && size > 0) {
+            this.size = size;
+        }
+    }
+
+    @Autowired
+    public void setTtl(@Value("${cache.entities.ttl}") Duration ttl) {
+        if (ttl != null && !ttl.isNegative()) {
+            this.ttl = ttl;
+        }
+    }
+
+    @Autowired
+    public void setTypes(@Value("${cache.entities.types}") String types) {
+        if (StringUtils.hasText(types)) {
+            this.types =
+                StringUtils
+                    .commaDelimitedListToSet(types)
+                    .stream()
+                    .map(t -> EntityName.valueOf(t.trim().toUpperCase(Locale.ROOT)))
+                    .filter(t -> {
+                        if (UNCACHEABLE.contains(t)) {
+                            log.warn("entity cache not supported for {}, skip", t.getValue());
+                            return false;
+                        }
+
+                        return true;
+                    })
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    @Autowired
+    public void setEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /*
+     * Cache for the given type, null when caching is disabled for the type
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <D extends BaseDTO> @Nullable EntityCache<D> getCache(
+        @NotNull EntityName type,
+        @NotNull Class<? extends BaseEntity> entityClass
+    ) {
+        if (!enabled || !types.contains(type) || UNCACHEABLE.contains(type)) {
+            return null;
+        }
+
+        entities.put(entityClass, type);
+        return (EntityCache<D>) caches.computeIfAbsent(
+            type,
+            t -> {
+                log.debug("build cache for {} with size {} ttl {}", t.getValue(), size, ttl);
+                EntityCache<D> cache = new EntityCache<>(t, size, ttl.toMillis());
+                if (registry != null) {
+                    bind(cache, registry);
+                }
+
+                return cache;
+            }
+        );
+    }
+
+    public void invalidate(@NotNull EntityName type, @NotNull List<String> ids) {
+        EntityCache<?> cache = caches.get(type);
+        if (cache == null || ids.isEmpty()) {
+            return;
+        }
+
+        //evict now, values are reloaded from the store by this transaction
+        cache.evictAll(ids);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            //track ids written by the transaction, evict again on completion to drop values loaded in between
+            @SuppressWarnings("unchecked")
+            Set<String> dirty = (Set<String>) TransactionSynchronizationManager.getResource(cache);
+            if (dirty == null) {
+                Set<String> written = new HashSet<>();
+                TransactionSynchronizationManager.bindResource(cache, written);
+                TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+                            cache.evictAll(written);
+
+                            if (status == STATUS_COMMITTED) {
+                                broadcast(type, new ArrayList<>(written));
+                            }
+                        }
+                    }
+                );
+
+                dirty = written;
+            }
+
+            dirty.addAll(ids);
+        } else {
+            broadcast(type, ids);
+        }
+    }
+
+    @EventListener
+    public void receive(EntityEvent<? extends BaseEntity> event) {
+        if (event.getAction() == EntityAction.CREATE || event.getEntity() == null) {
+            return;
+        }
+
+        EntityName type = entities.get(event.getEntity().getClass());
+        if (type != null) {
+            invalidate(type, List.of(event.getEntity().getId()));
+        }
+    }
+
+    @EventListener
+    public void receive(BulkEntityEvent<? extends BaseEntity> event) {
+        EntityName type = entities.get(event.getType());
+        if (type != null) {
+            invalidate(type, event.getIds());
+        }
+    }
+
+    @EventListener
+    public void receive(CloudInvalidationEvent event) {
+        if (!event.isRemote()) {
+            return;
+        }
+
+        EntityCache<?> cache = caches.get(event.getEntity());
+        if (cache != null) {
+            log.debug("remote invalidation of {} {}", event.getIds().size(), event.getEntity().getValue());
+            cache.evictAll(event.getIds());
+        }
+    }
+
+    private void broadcast(EntityName type, List<String> ids) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new CloudInvalidationEvent(type, ids, false));
+        }
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        caches.values().forEach(c -> bind(c, registry));
+    }
+
+    private void bind(EntityCache<?> cache, MeterRegistry registry) {
+        String type = cache.getType().getValue();
+
+        FunctionCounter
+            .builder("core.cache.entities.hit", cache, EntityCache::getHits)
+            .description("Number of entity reads served by the cache")
+            .tag("type", type)
+            .register(registry);
+
+        FunctionCounter
+            .builder("core.cache.entities.miss", cache, EntityCache::getMisses)
+            .description("Number of entity reads loaded from the store")
+            .tag("type", type)
+            .register(registry);
+
+        FunctionCounter
+            .builder("core.cache.entities.eviction", cache, EntityCache::getEvictions)
+            .description("Number of cached entities dropped for size or ttl")
+            .tag("type", type)
+            .register(registry);
+
+        Gauge
+            .builder("core.cache.entities.size", cache, EntityCache::size)
+            .description("Number of cached entities")
+            .tag("type", type)
+            .register(registry);
+    }
+}
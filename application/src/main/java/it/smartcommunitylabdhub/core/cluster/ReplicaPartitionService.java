@@ -0,0 +1,182 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.cluster;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import it.smartcommunitylabdhub.commons.services.PartitionService;
+import it.smartcommunitylabdhub.core.cluster.persistence.ReplicaRepository;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Lease based partitioning of monitored runnables across core replicas.
+ *
+ * Every replica renews a lease in the database, active replicas are sorted by id and each one
+ * owns the keys where hash(key) mod size matches its index. Joins and expired leases change the
+ * membership and keys are rebalanced at the next renew.
+ */
+@Component
+@Slf4j
+public class ReplicaPartitionService implements PartitionService, InitializingBean, DisposableBean, MeterBinder {
+
+    public static final int DEFAULT_LEASE = 30;
+
+    private final ReplicaRepository replicaRepository;
+    private final String id;
+
+    private boolean enabled = false;
+    private int lease = DEFAULT_LEASE;
+
+    private volatile List<String> replicas = Collections.emptyList();
+    private volatile int index = 0;
+    private volatile int size = 1;
+
+    public ReplicaPartitionService(ReplicaRepository replicaRepository) {
+        Assert.notNull(replicaRepository, "replica repository is required");
+        this.replicaRepository = replicaRepository;
+
+        String hostname = System.getenv("HOSTNAME");
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        this.id = StringUtils.hasText(hostname) ? hostname + "-" + suffix : suffix;
+    }
+
+    @Autowired
+    public void setEnabled(@Value("${monitors.partition.enable}") Boolean enabled) {
+        this.enabled = Boolean.TRUE.equals(enabled);
+    }
+
+    @Autowired
+    public void setLease(@Value("${monitors.partition.lease}") Integer lease) {
+        if (lease != null && lease > 0) {
+            this.lease = lease;
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (enabled) {
+            log.info("partitioning enabled for replica {}", id);
+            renew();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (enabled) {
+            //release lease to let others rebalance right away
+            try {
+                replicaRepository.delete(id);
+            } catch (DataAccessException e) {
+                log.error("error releasing lease for replica {}: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(
+        fixedDelayString = "${monitors.partition.heartbeat}",
+        initialDelayString = "${monitors.partition.heartbeat}",
+        timeUnit = TimeUnit.SECONDS
+    )
+    public void renew() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            replicaRepository.renew(id, Instant.now().plusSeconds(lease));
+            replicaRepository.deleteExpired();
+
+            List<String> active = replicaRepository.findActive();
+            int idx = active.indexOf(id);
+            if (idx < 0) {
+                //lease not visible, keep previous assignment
+                log.warn("lease for replica {} not found among active replicas", id);
+                return;
+            }
+
+            if (!active.equals(replicas)) {
+                log.info("replicas changed: {} active, replica {} has index {}", active.size(), id, idx);
+            }
+
+            replicas = active;
+            size = active.size();
+            index = idx;
+        } catch (DataAccessException e) {
+            //keep previous assignment, on expiry others will take over
+            log.error("error renewing lease for replica {}: {}", id, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean owns(@NotNull String key) {
+        if (!enabled || size <= 1) {
+            return true;
+        }
+
+        return Math.floorMod(key.hashCode(), size) == index;
+    }
+
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge
+            .builder("core.replicas.size", this, ReplicaPartitionService::getSize)
+            .description("Number of active core replicas sharing monitors")
+            .register(registry);
+
+        Gauge
+            .builder("core.replicas.index", this, ReplicaPartitionService::getIndex)
+            .description("Index of this replica among the active ones")
+            .register(registry);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.cluster.persistence;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+@Repository
+public class ReplicaRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO monitor_replicas (id, created, updated, expires_at) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE monitor_replicas SET updated = ?, expires_at = ? WHERE id = ?";
+    private static final String SELECT_ACTIVE_SQL = "SELECT id FROM monitor_replicas WHERE expires_at > ? ORDER BY id";
+    private static final String DELETE_SQL = "DELETE FROM monitor_replicas WHERE id = ?";
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM monitor_replicas WHERE expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReplicaRepository(DataSource dataSource) {
+        Assert.notNull(dataSource, "DataSource required");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void renew(String id, Instant expiresAt) {
+        if (id == null || expiresAt == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        Timestamp expiration = Timestamp.from(expiresAt);
+
+        int count = jdbcTemplate.update(
+            UPDATE_SQL,
+            new Object[] { now, expiration, id },
+            new int[] { Types.TIMESTAMP, Types.TIMESTAMP, Types.VARCHAR }
+        );
+
+        if (count == 0) {
+            jdbcTemplate.update(
+                INSERT_SQL,
+                new Object[] { id, now, now, expiration },
+                new int[] { Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP }
+            );
+        }
+    }
+
+    public List<String> findActive() {
+        return jdbcTemplate.queryForList(
+            SELECT_ACTIVE_SQL,
+            new Object[] { Timestamp.from(Instant.now()) },
+            new int[] { Types.TIMESTAMP },
+            String.class
+        );
+    }
+
+    public void delete(String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        jdbcTemplate.update(DELETE_SQL, id);
+    }
+
+    public void deleteExpired() {
+        jdbcTemplate.update(
+            DELETE_EXPIRED_SQL,
+            new Object[] { Timestamp.from(Instant.now()) },
+            new int[] { Types.TIMESTAMP }
+        );
+    }
+}
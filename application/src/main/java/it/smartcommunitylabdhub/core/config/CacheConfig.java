@@ -0,0 +1,65 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.config;
+
+import it.smartcommunitylabdhub.core.cache.BoundedCacheManager;
+import it.smartcommunitylabdhub.core.cache.BoundedCacheManager.CacheSpec;
+import java.time.Duration;
+import java.util.Collections;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@Order(3)
+public class CacheConfig {
+
+    @Bean
+    public BoundedCacheManager cacheManager(
+        Environment environment,
+        @Value("${cache.default.size}") Integer size,
+        @Value("${cache.default.ttl}") Duration ttl
+    ) {
+        BoundedCacheManager cacheManager = new BoundedCacheManager();
+        cacheManager.setSize(size);
+        cacheManager.setTtl(ttl);
+
+        //per cache overrides as cache.caches.<name>.size|ttl
+        cacheManager.setSpecs(
+            Binder
+                .get(environment)
+                .bind("cache.caches", Bindable.mapOf(String.class, CacheSpec.class))
+                .orElse(Collections.emptyMap())
+        );
+
+        //apply puts and evictions after commit
+        cacheManager.setTransactionAware(true);
+
+        return cacheManager;
+    }
+}
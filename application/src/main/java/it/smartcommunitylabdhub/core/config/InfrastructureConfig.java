@@ -25,6 +25,7 @@ package it.smartcommunitylabdhub.core.config;
 
 import it.smartcommunitylabdhub.commons.infrastructure.RunRunnable;
 import it.smartcommunitylabdhub.commons.services.RunnableStore;
+import it.smartcommunitylabdhub.core.repositories.converters.BinaryEnvelope;
 import it.smartcommunitylabdhub.core.runs.persistence.RunnableRepository;
 import it.smartcommunitylabdhub.core.runs.store.RunnableStoreImpl;
 import org.springframework.context.annotation.Bean;
@@ -52,11 +53,16 @@ public class InfrastructureConfig {
     // }
 
     @Bean
-    protected RunnableStore.StoreSupplier runnableStoreService(RunnableRepository runnableRepository) {
+    protected RunnableStore.StoreSupplier runnableStoreService(
+        RunnableRepository runnableRepository,
+        BinaryEnvelope binaryEnvelope
+    ) {
         return new RunnableStore.StoreSupplier() {
             @Override
             public <T extends RunRunnable> RunnableStore<T> get(Class<T> clazz) {
-                return new RunnableStoreImpl<>(clazz, runnableRepository);
+                RunnableStoreImpl<T> store = new RunnableStoreImpl<>(clazz, runnableRepository);
+                store.setEnvelope(binaryEnvelope);
+                return store;
             }
         };
     }
@@ -48,6 +48,7 @@ import it.smartcommunitylabdhub.core.projects.persistence.ProjectEntity;
 import it.smartcommunitylabdhub.core.projects.persistence.ProjectRepository;
 import it.smartcommunitylabdhub.core.repositories.BaseEntityRepository;
 import it.smartcommunitylabdhub.core.repositories.SearchableEntityRepository;
+import it.smartcommunitylabdhub.core.repositories.converters.BinaryEnvelope;
 import it.smartcommunitylabdhub.core.runs.persistence.RunEntity;
 import it.smartcommunitylabdhub.core.runs.persistence.RunRepository;
 import it.smartcommunitylabdhub.core.secrets.persistence.SecretEntity;
@@ -58,6 +59,7 @@ import it.smartcommunitylabdhub.core.triggers.persistence.TriggerEntity;
 import it.smartcommunitylabdhub.core.triggers.persistence.TriggerRepository;
 import it.smartcommunitylabdhub.core.workflows.persistence.WorkflowEntity;
 import it.smartcommunitylabdhub.core.workflows.persistence.WorkflowRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -67,6 +69,19 @@ import org.springframework.core.convert.converter.Converter;
 @Order(2)
 public class PersistenceConfig {
 
+    @Bean
+    public BinaryEnvelope binaryEnvelope(
+        @Value("${jdbc.blobs.envelope}") Boolean enabled,
+        @Value("${jdbc.blobs.compression}") Boolean compression,
+        @Value("${jdbc.blobs.threshold}") Integer threshold
+    ) {
+        return new BinaryEnvelope(
+            Boolean.TRUE.equals(enabled),
+            Boolean.TRUE.equals(compression),
+            threshold != null ? threshold : BinaryEnvelope.DEFAULT_THRESHOLD
+        );
+    }
+
     @Bean
     public SearchableEntityRepository<ProjectEntity, Project> projectSearchableEntityRepository(
         ProjectRepository repository,
@@ -82,7 +97,7 @@ public class PersistenceConfig {
         Converter<Artifact, ArtifactEntity> entityBuilder,
         Converter<ArtifactEntity, Artifact> dtoBuilder
     ) {
-        return new BaseEntityRepository<>(repository, entityBuilder, dtoBuilder) {};
+        return new BaseEntityRepository<>(repository, entityBuilder, dtoBuilder, true) {};
     }
 
     @Bean
@@ -91,7 +106,7 @@ public class PersistenceConfig {
         Converter<DataItem, DataItemEntity> entityBuilder,
         Converter<DataItemEntity, DataItem> dtoBuilder
     ) {
-        return new BaseEntityRepository<>(repository, entityBuilder, dtoBuilder) {};
+        return new BaseEntityRepository<>(repository, entityBuilder, dtoBuilder, true) {};
     }
 
     @Bean
@@ -100,7 +115,7 @@ public class PersistenceConfig {
         Converter<Model, ModelEntity> entityBuilder,
         Converter<ModelEntity, Model> dtoBuilder
     ) {
-        return new BaseEntityRepository<>(repository, entityBuilder, dtoBuilder) {};
+        return new BaseEntityRepository<>(repository, entityBuilder, dtoBuilder, true) {};
     }
 
     @Bean
@@ -109,7 +124,7 @@ public class PersistenceConfig {
         Converter<Function, FunctionEntity> entityBuilder,
         Converter<FunctionEntity, Function> dtoBuilder
     ) {
-        return new BaseEntityRepository<>(repository, entityBuilder, dtoBuilder) {};
+        return new BaseEntityRepository<>(repository, entityBuilder, dtoBuilder, true) {};
     }
 
     @Bean
@@ -154,7 +169,7 @@ public class PersistenceConfig {
         Converter<Workflow, WorkflowEntity> entityBuilder,
         Converter<WorkflowEntity, Workflow> dtoBuilder
     ) {
-        return new BaseEntityRepository<>(repository, entityBuilder, dtoBuilder) {};
+        return new BaseEntityRepository<>(repository, entityBuilder, dtoBuilder, true) {};
     }
 
     @Bean
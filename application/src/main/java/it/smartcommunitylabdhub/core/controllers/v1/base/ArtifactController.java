@@ -35,6 +35,7 @@ import it.smartcommunitylabdhub.commons.services.ArtifactManager;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.artifacts.filters.ArtifactEntityFilter;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.search.service.IndexableEntityService;
 import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
@@ -96,16 +97,17 @@ public class ArtifactController {
         @ParameterObject @RequestParam(required = false, defaultValue = "all") String versions,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Artifact> sf = null;
         if (filter != null) {
             sf = filter.toSearchFilter();
         }
         if ("latest".equals(versions)) {
-            return artifactManager.searchLatestArtifacts(pageable, sf);
+            return ProjectionUtils.project(artifactManager.searchLatestArtifacts(pageable, sf), projection);
         } else {
-            return artifactManager.searchArtifacts(pageable, sf);
+            return ProjectionUtils.project(artifactManager.searchArtifacts(pageable, sf), projection);
         }
     }
 
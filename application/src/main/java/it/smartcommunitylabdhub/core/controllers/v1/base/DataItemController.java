@@ -35,6 +35,7 @@ import it.smartcommunitylabdhub.commons.services.DataItemManager;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.dataitems.filters.DataItemEntityFilter;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.search.service.IndexableEntityService;
 import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
@@ -96,16 +97,17 @@ public class DataItemController {
         @ParameterObject @RequestParam(required = false, defaultValue = "all") String versions,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<DataItem> sf = null;
         if (filter != null) {
             sf = filter.toSearchFilter();
         }
         if ("latest".equals(versions)) {
-            return dataItemManager.searchLatestDataItems(pageable, sf);
+            return ProjectionUtils.project(dataItemManager.searchLatestDataItems(pageable, sf), projection);
         } else {
-            return dataItemManager.searchDataItems(pageable, sf);
+            return ProjectionUtils.project(dataItemManager.searchDataItems(pageable, sf), projection);
         }
     }
 
@@ -35,6 +35,7 @@ import it.smartcommunitylabdhub.commons.services.FunctionManager;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.functions.filters.FunctionEntityFilter;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.search.service.IndexableEntityService;
 import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
@@ -96,16 +97,17 @@ public class FunctionController {
         @ParameterObject @RequestParam(required = false, defaultValue = "all") String versions,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "id", direction = Direction.ASC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Function> sf = null;
         if (filter != null) {
             sf = filter.toSearchFilter();
         }
         if ("latest".equals(versions)) {
-            return functionManager.searchLatestFunctions(pageable, sf);
+            return ProjectionUtils.project(functionManager.searchLatestFunctions(pageable, sf), projection);
         } else {
-            return functionManager.searchFunctions(pageable, sf);
+            return ProjectionUtils.project(functionManager.searchFunctions(pageable, sf), projection);
         }
     }
 
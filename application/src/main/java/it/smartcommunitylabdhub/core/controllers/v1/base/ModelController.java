@@ -35,6 +35,7 @@ import it.smartcommunitylabdhub.commons.services.ModelManager;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.models.filters.ModelEntityFilter;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.search.service.IndexableEntityService;
 import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
@@ -96,16 +97,17 @@ public class ModelController {
         @ParameterObject @RequestParam(required = false, defaultValue = "all") String versions,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Model> sf = null;
         if (filter != null) {
             sf = filter.toSearchFilter();
         }
         if ("latest".equals(versions)) {
-            return modelManager.searchLatestModels(pageable, sf);
+            return ProjectionUtils.project(modelManager.searchLatestModels(pageable, sf), projection);
         } else {
-            return modelManager.searchModels(pageable, sf);
+            return ProjectionUtils.project(modelManager.searchModels(pageable, sf), projection);
         }
     }
 
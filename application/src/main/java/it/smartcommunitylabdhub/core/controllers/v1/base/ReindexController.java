@@ -0,0 +1,79 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.controllers.v1.base;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import it.smartcommunitylabdhub.core.annotations.ApiVersion;
+import it.smartcommunitylabdhub.search.indexers.ReindexCheckpoint;
+import it.smartcommunitylabdhub.search.service.IndexableEntityService;
+import it.smartcommunitylabdhub.search.service.ReindexCheckpointStore;
+import java.util.Collections;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ApiVersion("v1")
+@RequestMapping("/search/reindex")
+@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+@Slf4j
+@Tag(name = "Search base API", description = "Endpoints related to search index management")
+public class ReindexController {
+
+    @Autowired(required = false)
+    List<IndexableEntityService<?>> indexServices;
+
+    @Autowired(required = false)
+    ReindexCheckpointStore checkpointStore;
+
+    @Operation(summary = "Reindex all entities", description = "Reindex every entity type in parallel")
+    @PostMapping(value = "", produces = "application/json; charset=UTF-8")
+    public void reindexAll() {
+        if (indexServices != null) {
+            //via async, one task per type
+            indexServices.forEach(service -> service.reindexAll());
+        }
+    }
+
+    @Operation(summary = "Sync all entities", description = "Index entities updated since the last sync")
+    @PostMapping(value = "/sync", produces = "application/json; charset=UTF-8")
+    public void syncAll() {
+        if (indexServices != null) {
+            //via async, one task per type
+            indexServices.forEach(service -> service.syncIndex());
+        }
+    }
+
+    @Operation(summary = "Reindex progress", description = "Get the last reindex checkpoint for every entity type")
+    @GetMapping(value = "", produces = "application/json; charset=UTF-8")
+    public List<ReindexCheckpoint> getProgress() {
+        return checkpointStore != null ? checkpointStore.findAll() : Collections.emptyList();
+    }
+}
@@ -37,6 +37,8 @@ import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.runs.filters.RunEntityFilter;
 import it.smartcommunitylabdhub.core.runs.lifecycle.KindAwareRunLifecycleManager;
+import it.smartcommunitylabdhub.core.utils.CursorUtils;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.runtimes.lifecycle.RunEvent;
 import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
@@ -47,10 +49,13 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.SortDefault;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindException;
 import org.springframework.validation.annotation.Validated;
@@ -61,6 +66,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -108,14 +114,46 @@ public class RunController {
         @ParameterObject @Valid @Nullable RunEntityFilter filter,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Run> sf = null;
         if (filter != null) {
             sf = filter.toSearchFilter();
         }
 
-        return runManager.searchRuns(pageable, sf);
+        Page<Run> page = runManager.searchRuns(pageable, sf);
+        return ProjectionUtils.project(page, projection);
+    }
+
+    @Operation(
+        summary = "Scroll runs",
+        description = "Return a list of runs ordered by creation date, without totals. " +
+        "Pass an empty cursor for the first page, the next cursor is returned in the " +
+        ApplicationKeys.CURSOR_HEADER +
+        " header"
+    )
+    @GetMapping(path = "/scroll", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<Slice<Run>> scrollRuns(
+        @ParameterObject @Valid @Nullable RunEntityFilter filter,
+        @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) Pageable pageable,
+        @RequestParam(required = false) @Nullable String cursor,
+        @RequestParam(required = false) @Nullable String projection
+    ) {
+        CursorUtils.checkSort(pageable.getSort());
+
+        SearchFilter<Run> sf = null;
+        if (filter != null) {
+            sf = filter.toSearchFilter();
+        }
+
+        //keyset mode, no count
+        Window<Run> window = runManager.searchRuns(CursorUtils.decode(cursor), pageable.getPageSize(), sf);
+        if (ProjectionUtils.isSummary(projection)) {
+            window = window.map(ProjectionUtils::summary);
+        }
+
+        return CursorUtils.toResponse(window, pageable.getPageSize());
     }
 
     @Operation(summary = "Get a run by id", description = "Return a run")
@@ -35,6 +35,7 @@ import it.smartcommunitylabdhub.commons.services.TaskService;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.tasks.filters.TaskEntityFilter;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -91,14 +92,15 @@ public class TaskController {
         @ParameterObject @Valid @Nullable TaskEntityFilter filter,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "kind", direction = Direction.ASC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Task> sf = null;
         if (filter != null) {
             sf = filter.toSearchFilter();
         }
 
-        return taskService.searchTasks(pageable, sf);
+        return ProjectionUtils.project(taskService.searchTasks(pageable, sf), projection);
     }
 
     @Operation(summary = "Get a task by id", description = "Return a task")
@@ -34,6 +34,7 @@ import it.smartcommunitylabdhub.commons.models.workflow.Workflow;
 import it.smartcommunitylabdhub.commons.services.WorkflowManager;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.core.workflows.filter.WorkflowEntityFilter;
 import it.smartcommunitylabdhub.search.service.IndexableEntityService;
 import jakarta.annotation.Nullable;
@@ -96,16 +97,17 @@ public class WorkflowController {
         @ParameterObject @RequestParam(required = false, defaultValue = "all") String versions,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Workflow> sf = null;
         if (filter != null) {
             sf = filter.toSearchFilter();
         }
         if ("latest".equals(versions)) {
-            return workflowManager.searchLatestWorkflows(pageable, sf);
+            return ProjectionUtils.project(workflowManager.searchLatestWorkflows(pageable, sf), projection);
         } else {
-            return workflowManager.searchWorkflows(pageable, sf);
+            return ProjectionUtils.project(workflowManager.searchWorkflows(pageable, sf), projection);
         }
     }
 
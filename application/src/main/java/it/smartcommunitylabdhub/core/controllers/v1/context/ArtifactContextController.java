@@ -35,6 +35,7 @@ import it.smartcommunitylabdhub.commons.services.ArtifactManager;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.artifacts.filters.ArtifactEntityFilter;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.files.models.DownloadInfo;
 import it.smartcommunitylabdhub.files.models.FileInfo;
 import it.smartcommunitylabdhub.files.models.UploadInfo;
@@ -114,16 +115,20 @@ public class ArtifactContextController {
         @ParameterObject @RequestParam(required = false, defaultValue = "latest") String versions,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Artifact> sf = null;
         if (filter != null) {
             sf = filter.toSearchFilter();
         }
         if ("all".equals(versions)) {
-            return artifactManager.searchArtifactsByProject(project, pageable, sf);
+            return ProjectionUtils.project(artifactManager.searchArtifactsByProject(project, pageable, sf), projection);
         } else {
-            return artifactManager.searchLatestArtifactsByProject(project, pageable, sf);
+            return ProjectionUtils.project(
+                artifactManager.searchLatestArtifactsByProject(project, pageable, sf),
+                projection
+            );
         }
     }
 
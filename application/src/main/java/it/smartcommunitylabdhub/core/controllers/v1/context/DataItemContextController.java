@@ -35,6 +35,7 @@ import it.smartcommunitylabdhub.commons.services.DataItemManager;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.dataitems.filters.DataItemEntityFilter;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.files.models.DownloadInfo;
 import it.smartcommunitylabdhub.files.models.FileInfo;
 import it.smartcommunitylabdhub.files.models.UploadInfo;
@@ -114,7 +115,8 @@ public class DataItemContextController {
         @ParameterObject @RequestParam(required = false, defaultValue = "latest") String versions,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<DataItem> sf = null;
         if (filter != null) {
@@ -122,9 +124,12 @@ public class DataItemContextController {
         }
 
         if ("all".equals(versions)) {
-            return dataItemManager.searchDataItemsByProject(project, pageable, sf);
+            return ProjectionUtils.project(dataItemManager.searchDataItemsByProject(project, pageable, sf), projection);
         } else {
-            return dataItemManager.searchLatestDataItemsByProject(project, pageable, sf);
+            return ProjectionUtils.project(
+                dataItemManager.searchLatestDataItemsByProject(project, pageable, sf),
+                projection
+            );
         }
     }
 
@@ -36,6 +36,7 @@ import it.smartcommunitylabdhub.commons.services.FunctionManager;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.functions.filters.FunctionEntityFilter;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.relationships.RelationshipDetail;
 import it.smartcommunitylabdhub.relationships.RelationshipsAwareEntityService;
 import jakarta.annotation.Nullable;
@@ -110,7 +111,8 @@ public class FunctionContextController {
         @ParameterObject @RequestParam(required = false, defaultValue = "latest") String versions,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Function> sf = null;
         if (filter != null) {
@@ -118,9 +120,12 @@ public class FunctionContextController {
         }
 
         if ("all".equals(versions)) {
-            return functionManager.searchFunctionsByProject(project, pageable, sf);
+            return ProjectionUtils.project(functionManager.searchFunctionsByProject(project, pageable, sf), projection);
         } else {
-            return functionManager.searchLatestFunctionsByProject(project, pageable, sf);
+            return ProjectionUtils.project(
+                functionManager.searchLatestFunctionsByProject(project, pageable, sf),
+                projection
+            );
         }
     }
 
@@ -59,6 +59,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -128,6 +129,29 @@ public class LogContextController {
         return log;
     }
 
+    @Operation(summary = "Read the content of a specific log, as tail or byte range")
+    @GetMapping(path = "/{id}/content", produces = "text/plain; charset=UTF-8")
+    public String getLogContentById(
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
+        @RequestParam(required = false) Long offset,
+        @RequestParam(required = false) Long length
+    ) throws NoSuchEntityException {
+        Log log = logService.getLog(id);
+
+        //check for project match
+        if (!log.getProject().equals(project)) {
+            throw new IllegalArgumentException("invalid project");
+        }
+
+        //read a byte range when offset is given, otherwise the tail
+        if (offset != null) {
+            return logService.readLogRange(id, offset, length);
+        }
+
+        return logService.readLogTail(id, length);
+    }
+
     @Operation(summary = "Update if exist a log in a project context")
     @PutMapping(
         value = "/{id}",
@@ -30,6 +30,9 @@ import it.smartcommunitylabdhub.commons.exceptions.DuplicatedEntityException;
 import it.smartcommunitylabdhub.commons.exceptions.NoSuchEntityException;
 import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.exceptions.SystemException;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsRollup;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSeries;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSummary;
 import it.smartcommunitylabdhub.commons.models.metrics.NumberOrNumberArray;
 import it.smartcommunitylabdhub.commons.models.model.Model;
 import it.smartcommunitylabdhub.commons.models.queries.SearchFilter;
@@ -38,6 +41,7 @@ import it.smartcommunitylabdhub.commons.services.ModelManager;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.models.filters.ModelEntityFilter;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.files.models.DownloadInfo;
 import it.smartcommunitylabdhub.files.models.FileInfo;
 import it.smartcommunitylabdhub.files.models.UploadInfo;
@@ -121,7 +125,8 @@ public class ModelContextController {
         @ParameterObject @RequestParam(required = false, defaultValue = "latest") String versions,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Model> sf = null;
         if (filter != null) {
@@ -129,9 +134,9 @@ public class ModelContextController {
         }
 
         if ("all".equals(versions)) {
-            return modelManager.searchModelsByProject(project, pageable, sf);
+            return ProjectionUtils.project(modelManager.searchModelsByProject(project, pageable, sf), projection);
         } else {
-            return modelManager.searchLatestModelsByProject(project, pageable, sf);
+            return ProjectionUtils.project(modelManager.searchLatestModelsByProject(project, pageable, sf), projection);
         }
     }
 
@@ -386,7 +391,8 @@ public class ModelContextController {
     @GetMapping(path = "/{id}/metrics", produces = "application/json; charset=UTF-8")
     public Map<String, NumberOrNumberArray> getMetrics(
         @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
-        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
+        @RequestParam(required = false) @Nullable Integer points
     ) throws StoreException, SystemException {
         Model entity = modelManager.getModel(id);
 
@@ -395,7 +401,7 @@ public class ModelContextController {
             throw new IllegalArgumentException("invalid project");
         }
 
-        return metricsService.getMetrics(id);
+        return metricsService.getMetrics(id, points);
     }
 
     @Operation(summary = "Get metrics info for a given entity and metric, if available")
@@ -403,7 +409,8 @@ public class ModelContextController {
     public NumberOrNumberArray getMetricsByName(
         @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
         @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
-        @PathVariable String name
+        @PathVariable String name,
+        @RequestParam(required = false) @Nullable Integer points
     ) throws StoreException, SystemException {
         Model entity = modelManager.getModel(id);
 
@@ -412,7 +419,7 @@ public class ModelContextController {
             throw new IllegalArgumentException("invalid project");
         }
 
-        return metricsService.getMetrics(id, name);
+        return metricsService.getMetrics(id, name, points);
     }
 
     @Operation(summary = "Store metrics info for a given entity")
@@ -432,4 +439,81 @@ public class ModelContextController {
 
         metricsService.saveMetrics(id, name, data);
     }
+
+    @Operation(summary = "Append metrics values for a given entity, as a series")
+    @PostMapping(path = "/{id}/metrics/{name}", produces = "application/json; charset=UTF-8")
+    public void appendMetrics(
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
+        @PathVariable String name,
+        @RequestParam(required = false) @Nullable Long step,
+        @RequestBody NumberOrNumberArray data
+    ) throws StoreException, SystemException {
+        Model entity = modelManager.getModel(id);
+
+        //check for project and name match
+        if ((entity != null) && !entity.getProject().equals(project)) {
+            throw new IllegalArgumentException("invalid project");
+        }
+
+        metricsService.appendMetrics(id, name, step, data);
+    }
+
+    @Operation(summary = "Get metrics series for a given entity and metric, optionally in a range of steps")
+    @GetMapping(path = "/{id}/metrics/{name}/series", produces = "application/json; charset=UTF-8")
+    public MetricsSeries getMetricsSeries(
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
+        @PathVariable String name,
+        @RequestParam(required = false) @Nullable Long from,
+        @RequestParam(required = false) @Nullable Long to,
+        @RequestParam(required = false) @Nullable Integer points
+    ) throws StoreException, SystemException {
+        Model entity = modelManager.getModel(id);
+
+        //check for project and name match
+        if ((entity != null) && !entity.getProject().equals(project)) {
+            throw new IllegalArgumentException("invalid project");
+        }
+
+        return metricsService.getMetricsSeries(id, name, from, to, points);
+    }
+
+    @Operation(summary = "Get metrics summary for a given entity and metric")
+    @GetMapping(path = "/{id}/metrics/{name}/summary", produces = "application/json; charset=UTF-8")
+    public MetricsSummary getMetricsSummary(
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
+        @PathVariable String name
+    ) throws StoreException, SystemException {
+        Model entity = modelManager.getModel(id);
+
+        //check for project and name match
+        if ((entity != null) && !entity.getProject().equals(project)) {
+            throw new IllegalArgumentException("invalid project");
+        }
+
+        return metricsService.getMetricsSummary(id, name);
+    }
+
+    @Operation(summary = "Get metrics rollup for a given entity and metric, as min, max, avg and last per bucket")
+    @GetMapping(path = "/{id}/metrics/{name}/rollup", produces = "application/json; charset=UTF-8")
+    public MetricsRollup getMetricsRollup(
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
+        @PathVariable String name,
+        @RequestParam(required = false) @Nullable Long from,
+        @RequestParam(required = false) @Nullable Long to,
+        @RequestParam(required = false) @Nullable Long resolution,
+        @RequestParam(required = false) @Nullable Integer points
+    ) throws StoreException, SystemException {
+        Model entity = modelManager.getModel(id);
+
+        //check for project and name match
+        if ((entity != null) && !entity.getProject().equals(project)) {
+            throw new IllegalArgumentException("invalid project");
+        }
+
+        return metricsService.getMetricsRollup(id, name, from, to, resolution, points);
+    }
 }
@@ -31,6 +31,9 @@ import it.smartcommunitylabdhub.commons.exceptions.NoSuchEntityException;
 import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.exceptions.SystemException;
 import it.smartcommunitylabdhub.commons.models.log.Log;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsRollup;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSeries;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSummary;
 import it.smartcommunitylabdhub.commons.models.metrics.NumberOrNumberArray;
 import it.smartcommunitylabdhub.commons.models.queries.SearchFilter;
 import it.smartcommunitylabdhub.commons.models.run.Run;
@@ -42,6 +45,8 @@ import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.components.proxy.ProxyService;
 import it.smartcommunitylabdhub.core.runs.filters.RunEntityFilter;
+import it.smartcommunitylabdhub.core.utils.CursorUtils;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.framework.k8s.model.K8sServiceStatus;
 import it.smartcommunitylabdhub.lifecycle.LifecycleManager;
 import it.smartcommunitylabdhub.relationships.RelationshipDetail;
@@ -60,7 +65,9 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpHeaders;
@@ -79,6 +86,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -146,14 +154,52 @@ public class RunContextController {
         @ParameterObject @Valid @Nullable RunEntityFilter filter,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Run> sf = null;
         if (filter != null) {
             sf = filter.toSearchFilter();
         }
 
-        return runManager.searchRunsByProject(project, pageable, sf);
+        Page<Run> page = runManager.searchRunsByProject(project, pageable, sf);
+        return ProjectionUtils.project(page, projection);
+    }
+
+    @Operation(
+        summary = "Scroll all runs for the project, with optional filter",
+        description = "Results are ordered by creation date, without totals. " +
+        "Pass an empty cursor for the first page, the next cursor is returned in the " +
+        ApplicationKeys.CURSOR_HEADER +
+        " header"
+    )
+    @GetMapping(path = "/scroll", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<Slice<Run>> scrollRuns(
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
+        @ParameterObject @Valid @Nullable RunEntityFilter filter,
+        @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) Pageable pageable,
+        @RequestParam(required = false) @Nullable String cursor,
+        @RequestParam(required = false) @Nullable String projection
+    ) {
+        CursorUtils.checkSort(pageable.getSort());
+
+        SearchFilter<Run> sf = null;
+        if (filter != null) {
+            sf = filter.toSearchFilter();
+        }
+
+        //keyset mode, no count
+        Window<Run> window = runManager.searchRunsByProject(
+            project,
+            CursorUtils.decode(cursor),
+            pageable.getPageSize(),
+            sf
+        );
+        if (ProjectionUtils.isSummary(projection)) {
+            window = window.map(ProjectionUtils::summary);
+        }
+
+        return CursorUtils.toResponse(window, pageable.getPageSize());
     }
 
     @Operation(summary = "Retrieve a specific run given the run id")
@@ -271,7 +317,8 @@ public class RunContextController {
     @GetMapping(path = "/{id}/metrics", produces = "application/json; charset=UTF-8")
     public Map<String, NumberOrNumberArray> getMetrics(
         @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
-        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
+        @RequestParam(required = false) @Nullable Integer points
     ) throws StoreException, SystemException {
         Run entity = runManager.getRun(id);
 
@@ -280,7 +327,7 @@ public class RunContextController {
             throw new IllegalArgumentException("invalid project");
         }
 
-        return metricsService.getMetrics(id);
+        return metricsService.getMetrics(id, points);
     }
 
     @Operation(summary = "Get metrics info for a given entity and metric, if available")
@@ -288,7 +335,8 @@ public class RunContextController {
     public NumberOrNumberArray getMetricsByName(
         @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
         @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
-        @PathVariable String name
+        @PathVariable String name,
+        @RequestParam(required = false) @Nullable Integer points
     ) throws StoreException, SystemException {
         Run entity = runManager.getRun(id);
 
@@ -297,7 +345,7 @@ public class RunContextController {
             throw new IllegalArgumentException("invalid project");
         }
 
-        return metricsService.getMetrics(id, name);
+        return metricsService.getMetrics(id, name, points);
     }
 
     @Operation(summary = "Store metrics info for a given entity")
@@ -318,6 +366,83 @@ public class RunContextController {
         metricsService.saveMetrics(id, name, data);
     }
 
+    @Operation(summary = "Append metrics values for a given entity, as a series")
+    @PostMapping(path = "/{id}/metrics/{name}", produces = "application/json; charset=UTF-8")
+    public void appendMetrics(
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
+        @PathVariable String name,
+        @RequestParam(required = false) @Nullable Long step,
+        @RequestBody NumberOrNumberArray data
+    ) throws StoreException, SystemException {
+        Run entity = runManager.getRun(id);
+
+        //check for project and name match
+        if ((entity != null) && !entity.getProject().equals(project)) {
+            throw new IllegalArgumentException("invalid project");
+        }
+
+        metricsService.appendMetrics(id, name, step, data);
+    }
+
+    @Operation(summary = "Get metrics series for a given entity and metric, optionally in a range of steps")
+    @GetMapping(path = "/{id}/metrics/{name}/series", produces = "application/json; charset=UTF-8")
+    public MetricsSeries getMetricsSeries(
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
+        @PathVariable String name,
+        @RequestParam(required = false) @Nullable Long from,
+        @RequestParam(required = false) @Nullable Long to,
+        @RequestParam(required = false) @Nullable Integer points
+    ) throws StoreException, SystemException {
+        Run entity = runManager.getRun(id);
+
+        //check for project and name match
+        if ((entity != null) && !entity.getProject().equals(project)) {
+            throw new IllegalArgumentException("invalid project");
+        }
+
+        return metricsService.getMetricsSeries(id, name, from, to, points);
+    }
+
+    @Operation(summary = "Get metrics summary for a given entity and metric")
+    @GetMapping(path = "/{id}/metrics/{name}/summary", produces = "application/json; charset=UTF-8")
+    public MetricsSummary getMetricsSummary(
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
+        @PathVariable String name
+    ) throws StoreException, SystemException {
+        Run entity = runManager.getRun(id);
+
+        //check for project and name match
+        if ((entity != null) && !entity.getProject().equals(project)) {
+            throw new IllegalArgumentException("invalid project");
+        }
+
+        return metricsService.getMetricsSummary(id, name);
+    }
+
+    @Operation(summary = "Get metrics rollup for a given entity and metric, as min, max, avg and last per bucket")
+    @GetMapping(path = "/{id}/metrics/{name}/rollup", produces = "application/json; charset=UTF-8")
+    public MetricsRollup getMetricsRollup(
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
+        @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String id,
+        @PathVariable String name,
+        @RequestParam(required = false) @Nullable Long from,
+        @RequestParam(required = false) @Nullable Long to,
+        @RequestParam(required = false) @Nullable Long resolution,
+        @RequestParam(required = false) @Nullable Integer points
+    ) throws StoreException, SystemException {
+        Run entity = runManager.getRun(id);
+
+        //check for project and name match
+        if ((entity != null) && !entity.getProject().equals(project)) {
+            throw new IllegalArgumentException("invalid project");
+        }
+
+        return metricsService.getMetricsRollup(id, name, from, to, resolution, points);
+    }
+
     @RequestMapping(value = "/{id}/proxy")
     public ResponseEntity<String> proxyRequest(
         @PathVariable @Valid @NotNull @Pattern(regexp = Keys.SLUG_PATTERN) String project,
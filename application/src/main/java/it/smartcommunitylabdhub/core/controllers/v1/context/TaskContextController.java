@@ -37,6 +37,7 @@ import it.smartcommunitylabdhub.commons.services.TaskService;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.tasks.filters.TaskEntityFilter;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -105,14 +106,15 @@ public class TaskContextController {
         @ParameterObject @Valid @Nullable TaskEntityFilter filter,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Task> sf = null;
         if (filter != null) {
             sf = filter.toSearchFilter();
         }
 
-        return taskService.searchTasksByProject(project, pageable, sf);
+        return ProjectionUtils.project(taskService.searchTasksByProject(project, pageable, sf), projection);
     }
 
     @Operation(summary = "Retrieve a specific task given the task id")
@@ -35,6 +35,7 @@ import it.smartcommunitylabdhub.commons.services.TriggerManager;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
 import it.smartcommunitylabdhub.core.triggers.filters.TriggerEntityFilter;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.lifecycle.LifecycleManager;
 import it.smartcommunitylabdhub.relationships.RelationshipDetail;
 import it.smartcommunitylabdhub.relationships.RelationshipsAwareEntityService;
@@ -115,14 +116,15 @@ public class TriggerContextController {
         @ParameterObject @Valid @Nullable TriggerEntityFilter filter,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Trigger> sf = null;
         if (filter != null) {
             sf = filter.toSearchFilter();
         }
 
-        return triggerManager.searchTriggersByProject(project, pageable, sf);
+        return ProjectionUtils.project(triggerManager.searchTriggersByProject(project, pageable, sf), projection);
     }
 
     @Operation(summary = "Retrieve a specific trigger given the trigger id")
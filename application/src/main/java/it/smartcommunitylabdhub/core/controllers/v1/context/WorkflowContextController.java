@@ -35,6 +35,7 @@ import it.smartcommunitylabdhub.commons.models.workflow.Workflow;
 import it.smartcommunitylabdhub.commons.services.WorkflowManager;
 import it.smartcommunitylabdhub.core.ApplicationKeys;
 import it.smartcommunitylabdhub.core.annotations.ApiVersion;
+import it.smartcommunitylabdhub.core.utils.ProjectionUtils;
 import it.smartcommunitylabdhub.core.workflows.filter.WorkflowEntityFilter;
 import it.smartcommunitylabdhub.relationships.RelationshipDetail;
 import it.smartcommunitylabdhub.relationships.RelationshipsAwareEntityService;
@@ -110,16 +111,20 @@ public class WorkflowContextController {
         @ParameterObject @RequestParam(required = false, defaultValue = "latest") String versions,
         @ParameterObject @PageableDefault(page = 0, size = ApplicationKeys.DEFAULT_PAGE_SIZE) @SortDefault.SortDefaults(
             { @SortDefault(sort = "created", direction = Direction.DESC) }
-        ) Pageable pageable
+        ) Pageable pageable,
+        @RequestParam(required = false) @Nullable String projection
     ) {
         SearchFilter<Workflow> sf = null;
         if (filter != null) {
             sf = filter.toSearchFilter();
         }
         if ("all".equals(versions)) {
-            return workflowManager.searchWorkflowsByProject(project, pageable, sf);
+            return ProjectionUtils.project(workflowManager.searchWorkflowsByProject(project, pageable, sf), projection);
         } else {
-            return workflowManager.searchLatestWorkflowsByProject(project, pageable, sf);
+            return ProjectionUtils.project(
+                workflowManager.searchLatestWorkflowsByProject(project, pageable, sf),
+                projection
+            );
         }
     }
 
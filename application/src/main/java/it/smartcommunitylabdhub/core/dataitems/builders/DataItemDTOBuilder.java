@@ -25,11 +25,11 @@ package it.smartcommunitylabdhub.core.dataitems.builders;
 
 import it.smartcommunitylabdhub.commons.models.dataitem.DataItem;
 import it.smartcommunitylabdhub.commons.models.metadata.EmbeddableMetadata;
-import it.smartcommunitylabdhub.commons.utils.MapUtils;
 import it.smartcommunitylabdhub.core.dataitems.persistence.DataItemEntity;
 import it.smartcommunitylabdhub.core.metadata.AuditMetadataBuilder;
 import it.smartcommunitylabdhub.core.metadata.BaseMetadataBuilder;
 import it.smartcommunitylabdhub.core.metadata.VersioningMetadataBuilder;
+import it.smartcommunitylabdhub.core.repositories.converters.LazyMap;
 import jakarta.persistence.AttributeConverter;
 import java.io.Serializable;
 import java.util.HashMap;
@@ -70,20 +70,18 @@ public class DataItemDTOBuilder implements Converter<DataItemEntity, DataItem> {
     }
 
     public DataItem build(DataItemEntity entity) {
-        //read metadata map as-is
-        Map<String, Serializable> meta = converter.convertToEntityAttribute(entity.getMetadata());
+        //derived metadata is resolved now, stored metadata is decoded on access
+        Map<String, Serializable> derived = new HashMap<>();
 
-        // build metadata
-        Map<String, Serializable> metadata = new HashMap<>();
-        metadata.putAll(meta);
-
-        EmbeddableMetadata embeddable = EmbeddableMetadata.from(meta);
+        EmbeddableMetadata embeddable = new EmbeddableMetadata();
         embeddable.setEmbedded(entity.getEmbedded());
-        metadata.putAll(embeddable.toMap());
+        derived.putAll(embeddable.toMap());
+
+        derived.putAll(baseMetadataBuilder.derive(entity).toMap());
+        Optional.of(auditingMetadataBuilder.convert(entity)).ifPresent(m -> derived.putAll(m.toMap()));
+        Optional.of(versioningMetadataBuilder.convert(entity)).ifPresent(m -> derived.putAll(m.toMap()));
 
-        Optional.of(baseMetadataBuilder.convert(entity)).ifPresent(m -> metadata.putAll(m.toMap()));
-        Optional.of(auditingMetadataBuilder.convert(entity)).ifPresent(m -> metadata.putAll(m.toMap()));
-        Optional.of(versioningMetadataBuilder.convert(entity)).ifPresent(m -> metadata.putAll(m.toMap()));
+        Map<String, Serializable> metadata = LazyMap.of(baseMetadataBuilder.decoder(entity), derived);
 
         return DataItem
             .builder()
@@ -93,13 +91,8 @@ public class DataItemDTOBuilder implements Converter<DataItemEntity, DataItem> {
             .project(entity.getProject())
             .user(entity.getCreatedBy())
             .metadata(metadata)
-            .spec(converter.convertToEntityAttribute(entity.getSpec()))
-            .status(
-                MapUtils.mergeMultipleMaps(
-                    converter.convertToEntityAttribute(entity.getStatus()),
-                    Map.of("state", entity.getState())
-                )
-            )
+            .spec(LazyMap.of(entity.getSpec(), converter))
+            .status(LazyMap.of(entity.getStatus(), converter, Map.of("state", entity.getState())))
             .build();
     }
 
@@ -31,8 +31,10 @@ import it.smartcommunitylabdhub.commons.models.project.Project;
 import it.smartcommunitylabdhub.commons.repositories.EntityRepository;
 import it.smartcommunitylabdhub.core.dataitems.persistence.DataItemEntity;
 import it.smartcommunitylabdhub.core.events.AbstractEntityListener;
+import it.smartcommunitylabdhub.core.events.BulkEntityEvent;
 import it.smartcommunitylabdhub.core.events.EntityEvent;
 import it.smartcommunitylabdhub.files.service.FilesInfoService;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
@@ -115,6 +117,17 @@ public class DataItemEntityListener extends AbstractEntityListener<DataItemEntit
         }
     }
 
+    @Async
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void receive(BulkEntityEvent<DataItemEntity> event) {
+        //handle
+        super.handle(event);
+
+        //broadcast and notify every entity removed
+        super.broadcast(event);
+    }
+
     @Override
     protected void onDelete(DataItemEntity entity, DataItem dto) {
         super.onDelete(entity, dto);
@@ -128,4 +141,20 @@ public class DataItemEntityListener extends AbstractEntityListener<DataItemEntit
             }
         }
     }
+
+    @Override
+    protected void onDeleteAll(String project, List<String> ids) {
+        super.onDeleteAll(project, ids);
+
+        //delete files info
+        if (filesInfoService != null) {
+            for (String id : ids) {
+                try {
+                    filesInfoService.clearFilesInfo(EntityName.DATAITEM.getValue(), id);
+                } catch (StoreException e) {
+                    log.error("store error", e.getMessage());
+                }
+            }
+        }
+    }
 }
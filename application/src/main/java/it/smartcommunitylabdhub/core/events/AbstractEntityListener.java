@@ -32,6 +32,7 @@ import it.smartcommunitylabdhub.relationships.EntityRelationshipsManager;
 import it.smartcommunitylabdhub.search.indexers.EntityIndexer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
@@ -46,6 +47,7 @@ public abstract class AbstractEntityListener<E extends BaseEntity, D extends Bas
 
     protected EntityIndexer<D> indexer;
     protected EntityRelationshipsManager<D> relationshipsManager;
+    protected IndexingQueue indexingQueue;
 
     protected AbstractEntityListener(Converter<E, D> converter) {
         this.converter = converter;
@@ -62,6 +64,11 @@ public abstract class AbstractEntityListener<E extends BaseEntity, D extends Bas
         this.indexer = indexer;
     }
 
+    @Autowired(required = false)
+    public void setIndexingQueue(IndexingQueue indexingQueue) {
+        this.indexingQueue = indexingQueue;
+    }
+
     @Autowired(required = false)
     public void setRelationshipsManager(EntityRelationshipsManager<D> manager) {
         this.relationshipsManager = manager;
@@ -101,6 +108,20 @@ public abstract class AbstractEntityListener<E extends BaseEntity, D extends Bas
         }
     }
 
+    protected void handle(BulkEntityEvent<E> event) {
+        log.debug("receive bulk event for {} {}: {}", clazz.getSimpleName(), event.getAction(), event.getIds().size());
+
+        switch (event.getAction()) {
+            case DELETE:
+                {
+                    onDeleteAll(event.getProject(), event.getIds());
+                    break;
+                }
+            default:
+                break;
+        }
+    }
+
     protected void broadcast(EntityEvent<E> event) {
         log.debug("broadcast event for {} {}", clazz.getSimpleName(), event.getAction());
         //publish external event
@@ -126,6 +147,24 @@ public abstract class AbstractEntityListener<E extends BaseEntity, D extends Bas
         }
     }
 
+    protected void broadcast(BulkEntityEvent<E> event) {
+        log.debug("broadcast bulk event for {} {}: {}", clazz.getSimpleName(), event.getAction(), event.getIds().size());
+
+        //external consumers expect one event per entity, as for single operations
+        for (E entity : event.getEntities()) {
+            EntityEvent<E> e = new EntityEvent<>(entity, event.getAction());
+            broadcast(e);
+
+            if (entity.getUpdatedBy() != null) {
+                notify(entity.getUpdatedBy(), e);
+
+                if (!entity.getUpdatedBy().equals(entity.getCreatedBy())) {
+                    notify(entity.getCreatedBy(), e);
+                }
+            }
+        }
+    }
+
     protected void notify(String user, EntityEvent<E> event) {
         log.debug("notify event for {} {}", clazz.getSimpleName(), event.getAction());
         //publish external event
@@ -159,14 +198,7 @@ public abstract class AbstractEntityListener<E extends BaseEntity, D extends Bas
     protected void onCreate(E entity, D dto) {
         log.debug("onCreate for {}", entity.getId());
         //index
-        if (indexer != null) {
-            try {
-                log.debug("index document with id {}", dto.getId());
-                indexer.index(dto);
-            } catch (Exception e) {
-                log.error("error with solr: {}", e.getMessage());
-            }
-        }
+        index(dto);
 
         //relationships
         if (relationshipsManager != null) {
@@ -182,14 +214,7 @@ public abstract class AbstractEntityListener<E extends BaseEntity, D extends Bas
     protected void onUpdate(E entity, D dto) {
         log.debug("onUpdate for {}", entity.getId());
         //index
-        if (indexer != null) {
-            try {
-                log.debug("index document with id {}", dto.getId());
-                indexer.index(dto);
-            } catch (Exception e) {
-                log.error("error with solr: {}", e.getMessage());
-            }
-        }
+        index(dto);
 
         //relationships
         if (relationshipsManager != null) {
@@ -208,7 +233,11 @@ public abstract class AbstractEntityListener<E extends BaseEntity, D extends Bas
         if (indexer != null) {
             try {
                 log.debug("remove index for entity with id {}", dto.getId());
-                indexer.remove(dto);
+                if (indexingQueue != null) {
+                    indexingQueue.remove(indexer, dto.getId());
+                } else {
+                    indexer.remove(dto);
+                }
             } catch (Exception e) {
                 log.error("error with indexer: {}", e.getMessage());
             }
@@ -225,6 +254,49 @@ public abstract class AbstractEntityListener<E extends BaseEntity, D extends Bas
         }
     }
 
+    protected void onDeleteAll(String project, List<String> ids) {
+        log.debug("onDeleteAll for {} in project {}", ids.size(), project);
+
+        if (indexer != null) {
+            try {
+                log.debug("remove index for {} entities", ids.size());
+                if (indexingQueue != null) {
+                    indexingQueue.removeAll(indexer, ids);
+                } else {
+                    indexer.removeAll(ids);
+                }
+            } catch (Exception e) {
+                log.error("error with indexer: {}", e.getMessage());
+            }
+        }
+
+        //relationships
+        if (relationshipsManager != null) {
+            try {
+                log.debug("clear relationships for {} entities", ids.size());
+                relationshipsManager.clearAll(project, ids);
+            } catch (StoreException e) {
+                log.error("error with relationshipsManager: {}", e.getMessage());
+            }
+        }
+    }
+
+    protected void index(D dto) {
+        if (indexer != null) {
+            try {
+                log.debug("index document with id {}", dto.getId());
+                //queued when available, coalesced and batched with other changes
+                if (indexingQueue != null) {
+                    indexingQueue.index(indexer, dto);
+                } else {
+                    indexer.index(dto);
+                }
+            } catch (Exception e) {
+                log.error("error with indexer: {}", e.getMessage());
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     protected Class<D> extractClass() {
         // resolve generics type via subclass trick
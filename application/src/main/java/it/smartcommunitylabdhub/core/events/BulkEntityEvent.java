@@ -0,0 +1,86 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.events;
+
+import it.smartcommunitylabdhub.core.persistence.BaseEntity;
+import it.smartcommunitylabdhub.events.EntityAction;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+import org.springframework.util.Assert;
+
+/**
+ * Aggregated event for set-based operations on entities of a project, replacing per-entity events.
+ * Published once per committed batch, with the entities as they were before the operation when available.
+ */
+public class BulkEntityEvent<T extends BaseEntity> extends ApplicationEvent implements ResolvableTypeProvider {
+
+    private final Class<T> type;
+    private final EntityAction action;
+    private final String project;
+    private final List<String> ids;
+    private final List<T> entities;
+
+    public BulkEntityEvent(Class<T> type, String project, List<String> ids, EntityAction action) {
+        this(type, project, ids, null, action);
+    }
+
+    public BulkEntityEvent(Class<T> type, String project, List<String> ids, List<T> entities, EntityAction action) {
+        super(project);
+        Assert.notNull(type, "type can not be null");
+        Assert.notNull(action, "action can not be null");
+        this.type = type;
+        this.action = action;
+        this.project = project;
+        this.ids = ids != null ? Collections.unmodifiableList(ids) : Collections.emptyList();
+        this.entities = entities != null ? Collections.unmodifiableList(entities) : Collections.emptyList();
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public EntityAction getAction() {
+        return action;
+    }
+
+    public String getProject() {
+        return project;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public List<T> getEntities() {
+        return entities;
+    }
+
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(), type);
+    }
+}
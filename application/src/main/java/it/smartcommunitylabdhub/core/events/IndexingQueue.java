@@ -0,0 +1,277 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.events;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import it.smartcommunitylabdhub.commons.models.base.BaseDTO;
+import it.smartcommunitylabdhub.search.indexers.EntityIndexer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/*
+ * In-memory indexing queue, decoupling search indexes from entity events.
+ * Pending operations are keyed by indexer and id: repeated updates for the same entity coalesce into the latest one.
+ * Queued operations are flushed in batches via indexAll/removeAll, failed batches are retried with exponential backoff.
+ * When disabled or full, operations are applied synchronously by the caller.
+ */
+@Slf4j
+@Component
+public class IndexingQueue implements MeterBinder, DisposableBean {
+
+    private final boolean enabled;
+    private final int batch;
+    private final int capacity;
+    private final int retries;
+    private final long backoff;
+
+    private final Map<Key, Operation> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushing = new ReentrantLock();
+
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong removed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public IndexingQueue(
+        @Value("${indexing.async}") boolean enabled,
+        @Value("${indexing.batch}") int batch,
+        @Value("${indexing.capacity}") int capacity,
+        @Value("${indexing.retries}") int retries,
+        @Value("${indexing.backoff}") long backoff
+    ) {
+        Assert.isTrue(batch > 0, "batch size must be positive");
+        Assert.isTrue(backoff > 0, "backoff must be positive");
+        this.enabled = enabled;
+        this.batch = batch;
+        this.capacity = capacity;
+        this.retries = retries;
+        this.backoff = backoff;
+    }
+
+    public <D extends BaseDTO> void index(EntityIndexer<D> indexer, D dto) {
+        Assert.notNull(dto, "dto can not be null");
+        offer(new Operation(cast(indexer), dto.getId(), dto, System.currentTimeMillis(), 0, 0));
+    }
+
+    public <D extends BaseDTO> void remove(EntityIndexer<D> indexer, String id) {
+        offer(new Operation(cast(indexer), id, null, System.currentTimeMillis(), 0, 0));
+    }
+
+    public <D extends BaseDTO> void removeAll(EntityIndexer<D> indexer, Collection<String> ids) {
+        long now = System.currentTimeMillis();
+        ids.forEach(id -> offer(new Operation(cast(indexer), id, null, now, 0, 0)));
+    }
+
+    private void offer(Operation op) {
+        Assert.notNull(op.indexer(), "indexer can not be null");
+        Assert.notNull(op.id(), "id can not be null");
+        Key key = new Key(op.indexer(), op.id());
+
+        if (!enabled || (pending.size() >= capacity && !pending.containsKey(key))) {
+            //apply directly as back-pressure
+            log.debug("direct apply for {}", op.id());
+            apply(op.indexer(), List.of(op));
+            return;
+        }
+
+        //latest state wins, lag is measured from the first pending change
+        pending.merge(key, op, (prev, next) -> next.since(prev.enqueued()));
+    }
+
+    @Scheduled(
+        fixedDelayString = "${indexing.interval}",
+        initialDelayString = "${indexing.interval}",
+        timeUnit = TimeUnit.MILLISECONDS
+    )
+    public void flush() {
+        flush(false);
+    }
+
+    private void flush(boolean all) {
+        if (pending.isEmpty() || !flushing.tryLock()) {
+            return;
+        }
+
+        try {
+            drain(all);
+        } finally {
+            flushing.unlock();
+        }
+    }
+
+    private void drain(boolean all) {
+        long now = System.currentTimeMillis();
+
+        //take due operations, keeping entries replaced meanwhile
+        Map<EntityIndexer<BaseDTO>, List<Operation>> ops = new IdentityHashMap<>();
+        pending.forEach((key, op) -> {
+            if ((all || op.due() <= now) && pending.remove(key, op)) {
+                ops.computeIfAbsent(op.indexer(), k -> new ArrayList<>()).add(op);
+            }
+        });
+
+        ops.forEach((indexer, list) -> {
+            for (int i = 0; i < list.size(); i += batch) {
+                apply(indexer, list.subList(i, Math.min(i + batch, list.size())));
+            }
+        });
+    }
+
+    private void apply(EntityIndexer<BaseDTO> indexer, List<Operation> ops) {
+        List<BaseDTO> docs = ops.stream().filter(o -> o.dto() != null).map(Operation::dto).toList();
+        List<String> ids = ops.stream().filter(o -> o.dto() == null).map(Operation::id).toList();
+
+        if (!docs.isEmpty()) {
+            try {
+                log.debug("index {} documents", docs.size());
+                indexer.indexAll(docs);
+                indexed.addAndGet(docs.size());
+            } catch (RuntimeException e) {
+                log.error("error with indexer: {}", e.getMessage());
+                ops.stream().filter(o -> o.dto() != null).forEach(this::retry);
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            try {
+                log.debug("remove {} documents", ids.size());
+                indexer.removeAll(ids);
+                removed.addAndGet(ids.size());
+            } catch (RuntimeException e) {
+                log.error("error with indexer: {}", e.getMessage());
+                ops.stream().filter(o -> o.dto() == null).forEach(this::retry);
+            }
+        }
+    }
+
+    private void retry(Operation op) {
+        failed.incrementAndGet();
+        if (!enabled || op.attempts() >= retries) {
+            log.error("drop indexing for {} after {} attempts", op.id(), op.attempts() + 1);
+            dropped.incrementAndGet();
+            return;
+        }
+
+        //exponential backoff, newer changes for the same entity take precedence
+        long delay = backoff << Math.min(op.attempts(), 16);
+        Operation next = new Operation(
+            op.indexer(),
+            op.id(),
+            op.dto(),
+            op.enqueued(),
+            op.attempts() + 1,
+            System.currentTimeMillis() + delay
+        );
+        pending.putIfAbsent(new Key(op.indexer(), op.id()), next);
+    }
+
+    /**
+     * Age in milliseconds of the oldest pending change, zero when idle
+     */
+    public long lag() {
+        long now = System.currentTimeMillis();
+        return pending.values().stream().mapToLong(o -> now - o.enqueued()).max().orElse(0);
+    }
+
+    @Override
+    public void destroy() {
+        //wait for an in-flight scheduled flush, then drain ignoring backoff
+        flushing.lock();
+        try {
+            if (!pending.isEmpty()) {
+                log.info("flush {} pending indexing operations", pending.size());
+                drain(true);
+            }
+        } finally {
+            flushing.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge
+            .builder("core.indexing.pending", pending, Map::size)
+            .description("Pending indexing operations")
+            .register(registry);
+        Gauge
+            .builder("core.indexing.lag", this, IndexingQueue::lag)
+            .description("Age of the oldest pending indexing operation")
+            .baseUnit("milliseconds")
+            .register(registry);
+        FunctionCounter
+            .builder("core.indexing.indexed", indexed, AtomicLong::get)
+            .description("Documents indexed")
+            .register(registry);
+        FunctionCounter
+            .builder("core.indexing.removed", removed, AtomicLong::get)
+            .description("Documents removed from indexes")
+            .register(registry);
+        FunctionCounter
+            .builder("core.indexing.failed", failed, AtomicLong::get)
+            .description("Failed indexing attempts")
+            .register(registry);
+        FunctionCounter
+            .builder("core.indexing.dropped", dropped, AtomicLong::get)
+            .description("Indexing operations dropped after retries")
+            .register(registry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EntityIndexer<BaseDTO> cast(EntityIndexer<? extends BaseDTO> indexer) {
+        return (EntityIndexer<BaseDTO>) indexer;
+    }
+
+    private record Key(EntityIndexer<BaseDTO> indexer, String id) {}
+
+    //dto is null for removals
+    private record Operation(
+        EntityIndexer<BaseDTO> indexer,
+        String id,
+        @Nullable BaseDTO dto,
+        long enqueued,
+        int attempts,
+        long due
+    ) {
+        Operation since(long enqueued) {
+            return new Operation(indexer, id, dto, Math.min(enqueued, this.enqueued), attempts, due);
+        }
+    }
+}
@@ -29,6 +29,7 @@ import it.smartcommunitylabdhub.commons.models.function.Function;
 import it.smartcommunitylabdhub.commons.models.project.Project;
 import it.smartcommunitylabdhub.commons.repositories.EntityRepository;
 import it.smartcommunitylabdhub.core.events.AbstractEntityListener;
+import it.smartcommunitylabdhub.core.events.BulkEntityEvent;
 import it.smartcommunitylabdhub.core.events.EntityEvent;
 import it.smartcommunitylabdhub.core.functions.persistence.FunctionEntity;
 import lombok.extern.slf4j.Slf4j;
@@ -81,4 +82,12 @@ public class FunctionEntityListener extends AbstractEntityListener<FunctionEntit
             }
         }
     }
+
+    @Async
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void receive(BulkEntityEvent<FunctionEntity> event) {
+        //handle, no per-entity notification for bulk operations
+        super.handle(event);
+    }
 }
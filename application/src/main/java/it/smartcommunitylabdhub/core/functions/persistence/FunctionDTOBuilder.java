@@ -25,10 +25,10 @@ package it.smartcommunitylabdhub.core.functions.persistence;
 
 import it.smartcommunitylabdhub.commons.models.function.Function;
 import it.smartcommunitylabdhub.commons.models.metadata.EmbeddableMetadata;
-import it.smartcommunitylabdhub.commons.utils.MapUtils;
 import it.smartcommunitylabdhub.core.metadata.AuditMetadataBuilder;
 import it.smartcommunitylabdhub.core.metadata.BaseMetadataBuilder;
 import it.smartcommunitylabdhub.core.metadata.VersioningMetadataBuilder;
+import it.smartcommunitylabdhub.core.repositories.converters.LazyMap;
 import jakarta.persistence.AttributeConverter;
 import java.io.Serializable;
 import java.util.HashMap;
@@ -69,20 +69,18 @@ public class FunctionDTOBuilder implements Converter<FunctionEntity, Function> {
     }
 
     public Function build(FunctionEntity entity) {
-        //read metadata map as-is
-        Map<String, Serializable> meta = converter.convertToEntityAttribute(entity.getMetadata());
+        //derived metadata is resolved now, stored metadata is decoded on access
+        Map<String, Serializable> derived = new HashMap<>();
 
-        // build metadata
-        Map<String, Serializable> metadata = new HashMap<>();
-        metadata.putAll(meta);
-
-        EmbeddableMetadata embeddable = EmbeddableMetadata.from(meta);
+        EmbeddableMetadata embeddable = new EmbeddableMetadata();
         embeddable.setEmbedded(entity.getEmbedded());
-        metadata.putAll(embeddable.toMap());
+        derived.putAll(embeddable.toMap());
+
+        derived.putAll(baseMetadataBuilder.derive(entity).toMap());
+        Optional.of(auditingMetadataBuilder.convert(entity)).ifPresent(m -> derived.putAll(m.toMap()));
+        Optional.of(versioningMetadataBuilder.convert(entity)).ifPresent(m -> derived.putAll(m.toMap()));
 
-        Optional.of(baseMetadataBuilder.convert(entity)).ifPresent(m -> metadata.putAll(m.toMap()));
-        Optional.of(auditingMetadataBuilder.convert(entity)).ifPresent(m -> metadata.putAll(m.toMap()));
-        Optional.of(versioningMetadataBuilder.convert(entity)).ifPresent(m -> metadata.putAll(m.toMap()));
+        Map<String, Serializable> metadata = LazyMap.of(baseMetadataBuilder.decoder(entity), derived);
 
         return Function
             .builder()
@@ -92,13 +90,8 @@ public class FunctionDTOBuilder implements Converter<FunctionEntity, Function> {
             .project(entity.getProject())
             .user(entity.getCreatedBy())
             .metadata(metadata)
-            .spec(converter.convertToEntityAttribute(entity.getSpec()))
-            .status(
-                MapUtils.mergeMultipleMaps(
-                    converter.convertToEntityAttribute(entity.getStatus()),
-                    Map.of("state", entity.getState().toString())
-                )
-            )
+            .spec(LazyMap.of(entity.getSpec(), converter))
+            .status(LazyMap.of(entity.getStatus(), converter, Map.of("state", entity.getState().toString())))
             .build();
     }
 
@@ -37,17 +37,25 @@ import it.smartcommunitylabdhub.commons.repositories.EntityRepository;
 import it.smartcommunitylabdhub.commons.services.EntityService;
 import it.smartcommunitylabdhub.commons.services.LogService;
 import it.smartcommunitylabdhub.core.logs.persistence.LogEntity;
+import it.smartcommunitylabdhub.core.logs.persistence.LogSegmentEntity;
+import it.smartcommunitylabdhub.core.logs.persistence.LogSegmentRepository;
 import it.smartcommunitylabdhub.core.persistence.AbstractEntity_;
 import it.smartcommunitylabdhub.core.queries.specifications.CommonSpecification;
 import it.smartcommunitylabdhub.core.repositories.SearchableEntityRepository;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -65,10 +73,21 @@ import org.springframework.validation.BindException;
 public class LogServiceImpl implements LogService {
 
     public static final int MAX_LENGTH = 2 * 1024 * 1024; //2MB
+    public static final int CHUNK_SIZE = 64 * 1024; //64KB
+    public static final long RETENTION = 16 * 1024 * 1024; //16MB
 
     @Value("${kubernetes.logs.max-length}")
     private int maxLength = MAX_LENGTH;
 
+    @Value("${kubernetes.logs.list-length}")
+    private int listLength = MAX_LENGTH;
+
+    @Value("${kubernetes.logs.chunk-size}")
+    private int chunkSize = CHUNK_SIZE;
+
+    @Value("${kubernetes.logs.retention}")
+    private long retention = RETENTION;
+
     @Autowired
     private EntityService<Log> entityService;
 
@@ -81,11 +100,14 @@ public class LogServiceImpl implements LogService {
     @Autowired
     private EntityRepository<Project> projectService;
 
+    @Autowired
+    private LogSegmentRepository segmentRepository;
+
     @Override
     public Page<Log> listLogs(Pageable pageable) {
         log.debug("list logs page {}", pageable);
         try {
-            return entityService.list(pageable);
+            return entityService.list(pageable).map(this::withTail);
         } catch (StoreException e) {
             log.error("store error: {}", e.getMessage());
             throw new SystemException(e.getMessage());
@@ -96,7 +118,7 @@ public class LogServiceImpl implements LogService {
     public Page<Log> searchLogs(Pageable pageable, @Nullable SearchFilter<Log> filter) {
         log.debug("list logs page {}, filter {}", pageable, String.valueOf(filter));
         try {
-            return entityService.search(filter, pageable);
+            return entityService.search(filter, pageable).map(this::withTail);
         } catch (StoreException e) {
             log.error("store error: {}", e.getMessage());
             throw new SystemException(e.getMessage());
@@ -107,7 +129,7 @@ public class LogServiceImpl implements LogService {
     public List<Log> listLogsByUser(@NotNull String user) {
         log.debug("list all logs for user {}  ", user);
         try {
-            return entityService.listByUser(user);
+            return entityService.listByUser(user).stream().map(this::withTail).toList();
         } catch (StoreException e) {
             log.error("store error: {}", e.getMessage());
             throw new SystemException(e.getMessage());
@@ -118,7 +140,7 @@ public class LogServiceImpl implements LogService {
     public List<Log> listLogsByProject(@NotNull String project) {
         log.debug("list all logs for project {}  ", project);
         try {
-            return entityService.listByProject(project);
+            return entityService.listByProject(project).stream().map(this::withTail).toList();
         } catch (StoreException e) {
             log.error("store error: {}", e.getMessage());
             throw new SystemException(e.getMessage());
@@ -129,7 +151,7 @@ public class LogServiceImpl implements LogService {
     public Page<Log> listLogsByProject(@NotNull String project, Pageable pageable) {
         log.debug("list logs for project {} page {}", project, pageable);
         try {
-            return entityService.listByProject(project, pageable);
+            return entityService.listByProject(project, pageable).map(this::withTail);
         } catch (StoreException e) {
             log.error("store error: {}", e.getMessage());
             throw new SystemException(e.getMessage());
@@ -145,7 +167,7 @@ public class LogServiceImpl implements LogService {
         log.debug("list logs for project {} with {} page {}", project, String.valueOf(filter), pageable);
 
         try {
-            return entityService.searchByProject(project, filter, pageable);
+            return entityService.searchByProject(project, filter, pageable).map(this::withTail);
         } catch (StoreException e) {
             log.error("store error: {}", e.getMessage());
             throw new SystemException(e.getMessage());
@@ -173,7 +195,7 @@ public class LogServiceImpl implements LogService {
                 return where.toPredicate(root, query, builder);
             };
 
-            return entityRepository.searchAll(specification).stream().collect(Collectors.toList());
+            return entityRepository.searchAll(specification).stream().map(this::withTail).toList();
         } catch (StoreException e) {
             log.error("store error: {}", e.getMessage());
             throw new SystemException(e.getMessage());
@@ -184,7 +206,7 @@ public class LogServiceImpl implements LogService {
     public Log findLog(@NotNull String id) {
         log.debug("find log with id {}", String.valueOf(id));
         try {
-            return entityService.find(id);
+            return withContent(entityService.find(id));
         } catch (StoreException e) {
             log.error("store error: {}", e.getMessage());
             throw new SystemException(e.getMessage());
@@ -196,7 +218,7 @@ public class LogServiceImpl implements LogService {
         log.debug("get log with id {}", String.valueOf(id));
 
         try {
-            return entityService.get(id);
+            return withContent(entityService.get(id));
         } catch (NoSuchEntityException e) {
             throw new NoSuchEntityException(EntityName.LOG.toString());
         } catch (StoreException e) {
@@ -277,6 +299,11 @@ public class LogServiceImpl implements LogService {
                 dto.setContent(dto.getContent().substring(dto.getContent().length() - maxLength));
             }
 
+            //inline content replaces chunks, if any
+            if (StringUtils.hasLength(dto.getContent())) {
+                segmentRepository.delete(id);
+            }
+
             //full update, log is modifiable
             return entityRepository.update(id, dto);
         } catch (NoSuchEntityException e) {
@@ -291,9 +318,10 @@ public class LogServiceImpl implements LogService {
     public void deleteLog(@NotNull String id) {
         log.debug("delete log with id {}", String.valueOf(id));
         try {
-            Log log = findLog(id);
+            Log log = entityService.find(id);
             if (log != null) {
-                //delete the log
+                //delete chunks and the log
+                segmentRepository.delete(id);
                 entityService.delete(id, false);
             }
         } catch (StoreException e) {
@@ -306,13 +334,23 @@ public class LogServiceImpl implements LogService {
     public void deleteLogsByRunId(@NotNull String runId) {
         log.debug("delete logs for run {}", runId);
 
-        getLogsByRunId(runId).forEach(log -> deleteLog(log.getId()));
+        try {
+            //delete chunks of every log of the run at once, then the logs
+            segmentRepository.deleteByRun(runId);
+            for (Log l : getLogsByRunId(runId)) {
+                entityService.delete(l.getId(), false);
+            }
+        } catch (StoreException e) {
+            log.error("store error: {}", e.getMessage());
+            throw new SystemException(e.getMessage());
+        }
     }
 
     @Override
     public void deleteLogsByProject(@NotNull String project) {
         log.debug("delete logs for project {}", project);
         try {
+            segmentRepository.deleteByProject(project);
             entityService.deleteByProject(project, false);
         } catch (StoreException e) {
             log.error("store error: {}", e.getMessage());
@@ -320,6 +358,242 @@ public class LogServiceImpl implements LogService {
         }
     }
 
+    @Override
+    public Log appendLog(@NotNull String id, long offset, @NotNull String content)
+        throws NoSuchEntityException, BindException, IllegalArgumentException {
+        log.debug("append to log with id {} at offset {}", String.valueOf(id), offset);
+        try {
+            Log current = entityService.get(id);
+
+            LogBaseSpec spec = new LogBaseSpec();
+            spec.configure(current.getSpec());
+
+            LogSegmentEntity last = null;
+            if (offset <= 0) {
+                //full rewrite: drop chunks and inline content
+                segmentRepository.delete(id);
+                if (StringUtils.hasLength(current.getContent())) {
+                    current.setContent(null);
+                    current = entityRepository.update(id, current);
+                }
+            } else {
+                last = segmentRepository.findLast(id);
+                if (last != null && offset < last.getEnd()) {
+                    //overlapping write, drop everything past offset and trim the chunk holding it
+                    List<LogSegmentEntity> overlap = segmentRepository.findRange(id, offset, offset + 1);
+                    segmentRepository.deleteFrom(id, offset);
+
+                    for (LogSegmentEntity s : overlap) {
+                        if (s.getOffset() < offset) {
+                            byte[] data = Arrays.copyOf(decompress(s.getData()), (int) (offset - s.getOffset()));
+                            s.setLength(data.length);
+                            s.setData(compress(data));
+                            segmentRepository.update(s);
+                        }
+                    }
+
+                    last = segmentRepository.findLast(id);
+                }
+            }
+
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            int pos = 0;
+
+            if (last != null && last.getEnd() == offset && last.getLength() < chunkSize && bytes.length > 0) {
+                //fill the last chunk up to the chunk size
+                int len = Math.min(chunkSize - last.getLength(), bytes.length);
+                byte[] prev = decompress(last.getData());
+                byte[] data = Arrays.copyOf(prev, prev.length + len);
+                System.arraycopy(bytes, 0, data, prev.length, len);
+
+                last.setLength(data.length);
+                last.setData(compress(data));
+                segmentRepository.update(last);
+                pos = len;
+            }
+
+            //append remaining content as new chunks
+            long seq = last != null ? last.getSeq() + 1 : 0;
+            while (pos < bytes.length) {
+                int len = Math.min(chunkSize, bytes.length - pos);
+                LogSegmentEntity segment = LogSegmentEntity
+                    .builder()
+                    .log(id)
+                    .seq(seq++)
+                    .project(current.getProject())
+                    .run(spec.getRun())
+                    .offset(offset + pos)
+                    .length(len)
+                    .data(compress(Arrays.copyOfRange(bytes, pos, pos + len)))
+                    .build();
+
+                segmentRepository.save(segment);
+                pos += len;
+            }
+
+            //apply retention, keep only the latest bytes
+            long end = offset + bytes.length;
+            if (retention > 0 && end > retention) {
+                segmentRepository.deleteBefore(id, end - retention);
+            }
+
+            return current;
+        } catch (NoSuchEntityException e) {
+            throw new NoSuchEntityException(EntityName.LOG.toString());
+        } catch (StoreException | IOException e) {
+            log.error("store error: {}", e.getMessage());
+            throw new SystemException(e.getMessage());
+        }
+    }
+
+    @Override
+    public String readLogTail(@NotNull String id, @Nullable Long length) throws NoSuchEntityException {
+        log.debug("read tail of log with id {}", String.valueOf(id));
+        try {
+            long len = length != null ? length : maxLength;
+            List<LogSegmentEntity> segments = segmentRepository.findTail(id, len);
+            if (segments.isEmpty()) {
+                //inline content
+                byte[] bytes = inline(id);
+                int from = align(bytes, (int) Math.max(bytes.length - len, 0));
+                return new String(bytes, from, bytes.length - from, StandardCharsets.UTF_8);
+            }
+
+            return tail(segments, len);
+        } catch (IOException e) {
+            log.error("store error: {}", e.getMessage());
+            throw new SystemException(e.getMessage());
+        }
+    }
+
+    @Override
+    public String readLogRange(@NotNull String id, long offset, @Nullable Long length) throws NoSuchEntityException {
+        log.debug("read range of log with id {} from offset {}", String.valueOf(id), offset);
+        try {
+            long from = Math.max(offset, 0);
+            long to = length != null ? from + Math.max(length, 0) : Long.MAX_VALUE;
+            List<LogSegmentEntity> segments = segmentRepository.findRange(id, from, to);
+            if (segments.isEmpty() && segmentRepository.findLast(id) == null) {
+                //inline content
+                byte[] bytes = inline(id);
+                int start = (int) Math.min(from, bytes.length);
+                int stop = (int) Math.min(to, bytes.length);
+                return new String(bytes, start, stop - start, StandardCharsets.UTF_8);
+            }
+
+            return read(segments, from, to);
+        } catch (IOException e) {
+            log.error("store error: {}", e.getMessage());
+            throw new SystemException(e.getMessage());
+        }
+    }
+
+    /*
+     * Chunks
+     */
+
+    private Log withContent(Log dto) {
+        return withContent(dto, maxLength);
+    }
+
+    //lists expose a shorter tail, full content is read by range or tail
+    private Log withTail(Log dto) {
+        return withContent(dto, listLength);
+    }
+
+    private Log withContent(Log dto, long length) {
+        if (dto == null || dto.getId() == null) {
+            return dto;
+        }
+
+        try {
+            //expose the tail window of chunked content, if any
+            List<LogSegmentEntity> segments = segmentRepository.findTail(dto.getId(), length);
+            if (!segments.isEmpty()) {
+                dto.setContent(tail(segments, length));
+            } else if (dto.getContent() != null && dto.getContent().length() > length) {
+                dto.setContent(dto.getContent().substring(dto.getContent().length() - (int) length));
+            }
+
+            return dto;
+        } catch (IOException e) {
+            log.error("store error: {}", e.getMessage());
+            throw new SystemException(e.getMessage());
+        }
+    }
+
+    private byte[] inline(String id) throws NoSuchEntityException {
+        try {
+            Log log = entityService.get(id);
+            return log.getContent() != null ? log.getContent().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        } catch (NoSuchEntityException e) {
+            throw new NoSuchEntityException(EntityName.LOG.toString());
+        } catch (StoreException e) {
+            log.error("store error: {}", e.getMessage());
+            throw new SystemException(e.getMessage());
+        }
+    }
+
+    private String read(List<LogSegmentEntity> segments, long from, long to) throws IOException {
+        return read(segments, from, to, false);
+    }
+
+    private String tail(List<LogSegmentEntity> segments, long length) throws IOException {
+        long end = segments.getLast().getEnd();
+        return read(segments, Math.max(end - length, 0), end, true);
+    }
+
+    private String read(List<LogSegmentEntity> segments, long from, long to, boolean align) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (LogSegmentEntity s : segments) {
+            if (s.getEnd() <= from || s.getOffset() >= to) {
+                continue;
+            }
+
+            byte[] data = decompress(s.getData());
+            int start = (int) Math.max(from - s.getOffset(), 0);
+            if (align && out.size() == 0) {
+                //cut on a character boundary, not inside a multi-byte sequence
+                start = align(data, start);
+            }
+            int stop = (int) Math.min(to - s.getOffset(), data.length);
+            if (stop > start) {
+                out.write(data, start, stop - start);
+            }
+        }
+
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    //skip UTF-8 continuation bytes, at most one sequence
+    private static int align(byte[] data, int start) {
+        int pos = start;
+        while (pos < data.length && pos - start < 3 && (data[pos] & 0xC0) == 0x80) {
+            pos++;
+        }
+
+        return pos;
+    }
+
+    private static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] data) throws IOException {
+        if (data == null) {
+            return new byte[0];
+        }
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        }
+    }
+
     private Specification<LogEntity> createRunSpecification(String run) {
         return (root, query, criteriaBuilder) -> {
             return criteriaBuilder.equal(root.get("run"), run);
@@ -24,9 +24,9 @@
 package it.smartcommunitylabdhub.core.logs.persistence;
 
 import it.smartcommunitylabdhub.commons.models.log.Log;
-import it.smartcommunitylabdhub.commons.utils.MapUtils;
 import it.smartcommunitylabdhub.core.metadata.AuditMetadataBuilder;
 import it.smartcommunitylabdhub.core.metadata.BaseMetadataBuilder;
+import it.smartcommunitylabdhub.core.repositories.converters.LazyMap;
 import jakarta.persistence.AttributeConverter;
 import java.io.Serializable;
 import java.util.HashMap;
@@ -65,15 +65,13 @@ public class LogDTOBuilder implements Converter<LogEntity, Log> {
     }
 
     public Log build(LogEntity entity) {
-        //read metadata as-is
-        Map<String, Serializable> meta = converter.convertToEntityAttribute(entity.getMetadata());
+        //derived metadata is resolved now, stored metadata is decoded on access
+        Map<String, Serializable> derived = new HashMap<>();
 
-        // build metadata
-        Map<String, Serializable> metadata = new HashMap<>();
-        metadata.putAll(meta);
+        derived.putAll(baseMetadataBuilder.derive(entity).toMap());
+        Optional.of(auditingMetadataBuilder.convert(entity)).ifPresent(m -> derived.putAll(m.toMap()));
 
-        Optional.of(baseMetadataBuilder.convert(entity)).ifPresent(m -> metadata.putAll(m.toMap()));
-        Optional.of(auditingMetadataBuilder.convert(entity)).ifPresent(m -> metadata.putAll(m.toMap()));
+        Map<String, Serializable> metadata = LazyMap.of(baseMetadataBuilder.decoder(entity), derived);
 
         return Log
             .builder()
@@ -81,13 +79,8 @@ public class LogDTOBuilder implements Converter<LogEntity, Log> {
             .project(entity.getProject())
             .user(entity.getCreatedBy())
             .metadata(metadata)
-            .spec(
-                MapUtils.mergeMultipleMaps(
-                    converter.convertToEntityAttribute(entity.getSpec()),
-                    Map.of("run", entity.getRun())
-                )
-            )
-            .status(converter.convertToEntityAttribute(entity.getStatus()))
+            .spec(LazyMap.of(entity.getSpec(), converter, Map.of("run", entity.getRun())))
+            .status(LazyMap.of(entity.getStatus(), converter))
             .content(stringConverter.convertToEntityAttribute(entity.getContent()))
             .build();
     }
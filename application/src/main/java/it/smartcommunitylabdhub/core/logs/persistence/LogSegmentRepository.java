@@ -0,0 +1,223 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.logs.persistence;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.support.SqlLobValue;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+@Repository
+public class LogSegmentRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO log_segments (_log, _seq, _project, _run, created, updated, _offset, _length, _data) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+        "UPDATE log_segments SET _length = ?, _data = ?, updated = ? WHERE _log = ? AND _seq = ?";
+    private static final String SELECT_LAST_SQL =
+        "SELECT * FROM log_segments WHERE _log = ? AND _seq = (SELECT MAX(_seq) FROM log_segments WHERE _log = ?)";
+    private static final String SELECT_TAIL_SQL =
+        "SELECT * FROM log_segments WHERE _log = ? AND _offset + _length > (SELECT MAX(_offset + _length) FROM log_segments WHERE _log = ?) - ? ORDER BY _seq";
+    private static final String SELECT_RANGE_SQL =
+        "SELECT * FROM log_segments WHERE _log = ? AND _offset < ? AND _offset + _length > ? ORDER BY _seq";
+    private static final String DELETE_FROM_SQL = "DELETE FROM log_segments WHERE _log = ? AND _offset >= ?";
+    private static final String DELETE_BEFORE_SQL = "DELETE FROM log_segments WHERE _log = ? AND _offset + _length <= ?";
+    private static final String DELETE_SQL = "DELETE FROM log_segments WHERE _log = ?";
+    private static final String DELETE_BY_RUN_SQL = "DELETE FROM log_segments WHERE _run = ?";
+    private static final String DELETE_BY_PROJECT_SQL = "DELETE FROM log_segments WHERE _project = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private RowMapper<LogSegmentEntity> rowMapper;
+
+    public LogSegmentRepository(DataSource dataSource) {
+        Assert.notNull(dataSource, "DataSource required");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+
+        this.rowMapper = new LogSegmentEntityRowMapper();
+    }
+
+    public void save(LogSegmentEntity entity) {
+        if (entity == null || entity.getLog() == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        SqlLobValue lob = new SqlLobValue(entity.getData());
+
+        jdbcTemplate.update(
+            INSERT_SQL,
+            new Object[] {
+                entity.getLog(),
+                entity.getSeq(),
+                entity.getProject(),
+                entity.getRun(),
+                now,
+                now,
+                entity.getOffset(),
+                entity.getLength(),
+                lob,
+            },
+            new int[] {
+                Types.VARCHAR,
+                Types.BIGINT,
+                Types.VARCHAR,
+                Types.VARCHAR,
+                Types.TIMESTAMP,
+                Types.TIMESTAMP,
+                Types.BIGINT,
+                Types.INTEGER,
+                Types.BLOB,
+            }
+        );
+    }
+
+    public void update(LogSegmentEntity entity) {
+        if (entity == null || entity.getLog() == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        SqlLobValue lob = new SqlLobValue(entity.getData());
+
+        jdbcTemplate.update(
+            UPDATE_SQL,
+            new Object[] { entity.getLength(), lob, now, entity.getLog(), entity.getSeq() },
+            new int[] { Types.INTEGER, Types.BLOB, Types.TIMESTAMP, Types.VARCHAR, Types.BIGINT }
+        );
+    }
+
+    public LogSegmentEntity findLast(String log) {
+        if (log == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+        try {
+            return jdbcTemplate.queryForObject(
+                SELECT_LAST_SQL,
+                new Object[] { log, log },
+                new int[] { Types.VARCHAR, Types.VARCHAR },
+                rowMapper
+            );
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    public List<LogSegmentEntity> findTail(String log, long length) {
+        if (log == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        return jdbcTemplate.query(
+            SELECT_TAIL_SQL,
+            new Object[] { log, log, length },
+            new int[] { Types.VARCHAR, Types.VARCHAR, Types.BIGINT },
+            rowMapper
+        );
+    }
+
+    public List<LogSegmentEntity> findRange(String log, long from, long to) {
+        if (log == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        return jdbcTemplate.query(
+            SELECT_RANGE_SQL,
+            new Object[] { log, to, from },
+            new int[] { Types.VARCHAR, Types.BIGINT, Types.BIGINT },
+            rowMapper
+        );
+    }
+
+    public void deleteFrom(String log, long offset) {
+        if (log == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        jdbcTemplate.update(DELETE_FROM_SQL, log, offset);
+    }
+
+    public void deleteBefore(String log, long offset) {
+        if (log == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        jdbcTemplate.update(DELETE_BEFORE_SQL, log, offset);
+    }
+
+    public void delete(String log) {
+        if (log == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        jdbcTemplate.update(DELETE_SQL, log);
+    }
+
+    public void deleteByRun(String run) {
+        if (run == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        jdbcTemplate.update(DELETE_BY_RUN_SQL, run);
+    }
+
+    public void deleteByProject(String project) {
+        if (project == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        jdbcTemplate.update(DELETE_BY_PROJECT_SQL, project);
+    }
+
+    private class LogSegmentEntityRowMapper implements RowMapper<LogSegmentEntity> {
+
+        @Override
+        public LogSegmentEntity mapRow(ResultSet rs, int rowNum) throws SQLException {
+            String log = rs.getString("_log");
+            long seq = rs.getLong("_seq");
+            String project = rs.getString("_project");
+            String run = rs.getString("_run");
+            Timestamp created = rs.getTimestamp("created");
+            Timestamp updated = rs.getTimestamp("updated");
+
+            long offset = rs.getLong("_offset");
+            int length = rs.getInt("_length");
+            byte[] data = rs.getBytes("_data");
+
+            if (log == null) {
+                return null;
+            }
+
+            return new LogSegmentEntity(log, seq, project, run, created, updated, offset, length, data);
+        }
+    }
+}
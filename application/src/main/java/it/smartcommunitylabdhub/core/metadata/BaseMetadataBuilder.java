@@ -29,7 +29,9 @@ import jakarta.persistence.AttributeConverter;
 import java.io.Serializable;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
@@ -51,16 +53,24 @@ public class BaseMetadataBuilder implements Converter<BaseEntity, BaseMetadata>
     public BaseMetadata convert(BaseEntity entity) {
         Assert.notNull(entity, "entity can not be null");
         //read metadata map as-is
-        Map<String, Serializable> meta = converter.convertToEntityAttribute(entity.getMetadata());
-
-        BaseMetadata metadata = BaseMetadata.from(meta);
+        BaseMetadata metadata = BaseMetadata.from(decode(entity));
 
         //inflate with values from entity
-        metadata.setProject(entity.getProject());
+        BaseMetadata derived = derive(entity);
+        metadata.setProject(derived.getProject());
+        metadata.setCreated(derived.getCreated());
+        metadata.setUpdated(derived.getUpdated());
+
+        return metadata;
+    }
 
-        if (!StringUtils.hasText(metadata.getName())) {
-            metadata.setName(entity.getName());
-        }
+    /*
+     * Values resolved from entity columns only, stored metadata is not decoded
+     */
+    public BaseMetadata derive(BaseEntity entity) {
+        Assert.notNull(entity, "entity can not be null");
+        BaseMetadata metadata = new BaseMetadata();
+        metadata.setProject(entity.getProject());
 
         metadata.setCreated(
             entity.getCreated() != null
@@ -75,4 +85,32 @@ public class BaseMetadataBuilder implements Converter<BaseEntity, BaseMetadata>
 
         return metadata;
     }
+
+    /*
+     * Stored metadata as-is, with name defaulting to the entity name
+     */
+    public Map<String, Serializable> decode(BaseEntity entity) {
+        Assert.notNull(entity, "entity can not be null");
+        return decoder(entity).get();
+    }
+
+    /*
+     * Deferred decode, bound to the entity values at call time
+     */
+    public Supplier<Map<String, Serializable>> decoder(BaseEntity entity) {
+        Assert.notNull(entity, "entity can not be null");
+        byte[] source = entity.getMetadata();
+        String name = entity.getName();
+
+        return () -> {
+            Map<String, Serializable> meta = converter.convertToEntityAttribute(source);
+            Map<String, Serializable> map = meta != null ? new HashMap<>(meta) : new HashMap<>();
+
+            if (!StringUtils.hasText((String) map.get("name")) && name != null) {
+                map.put("name", name);
+            }
+
+            return map;
+        };
+    }
 }
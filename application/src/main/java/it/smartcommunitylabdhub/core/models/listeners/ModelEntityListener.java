@@ -30,9 +30,11 @@ import it.smartcommunitylabdhub.commons.models.model.Model;
 import it.smartcommunitylabdhub.commons.models.project.Project;
 import it.smartcommunitylabdhub.commons.repositories.EntityRepository;
 import it.smartcommunitylabdhub.core.events.AbstractEntityListener;
+import it.smartcommunitylabdhub.core.events.BulkEntityEvent;
 import it.smartcommunitylabdhub.core.events.EntityEvent;
 import it.smartcommunitylabdhub.core.models.persistence.ModelEntity;
 import it.smartcommunitylabdhub.files.service.FilesInfoService;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
@@ -114,6 +116,17 @@ public class ModelEntityListener extends AbstractEntityListener<ModelEntity, Mod
         }
     }
 
+    @Async
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void receive(BulkEntityEvent<ModelEntity> event) {
+        //handle
+        super.handle(event);
+
+        //broadcast and notify every entity removed
+        super.broadcast(event);
+    }
+
     @Override
     protected void onDelete(ModelEntity entity, Model dto) {
         super.onDelete(entity, dto);
@@ -127,4 +140,20 @@ public class ModelEntityListener extends AbstractEntityListener<ModelEntity, Mod
             }
         }
     }
+
+    @Override
+    protected void onDeleteAll(String project, List<String> ids) {
+        super.onDeleteAll(project, ids);
+
+        //delete files info
+        if (filesInfoService != null) {
+            for (String id : ids) {
+                try {
+                    filesInfoService.clearFilesInfo(EntityName.MODEL.getValue(), id);
+                } catch (StoreException e) {
+                    log.error("store error", e.getMessage());
+                }
+            }
+        }
+    }
 }
@@ -28,17 +28,28 @@ import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.exceptions.SystemException;
 import it.smartcommunitylabdhub.commons.models.entities.EntityName;
 import it.smartcommunitylabdhub.commons.models.metrics.Metrics;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsRollup;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSeries;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSummary;
 import it.smartcommunitylabdhub.commons.models.metrics.NumberOrNumberArray;
 import it.smartcommunitylabdhub.commons.models.model.Model;
 import it.smartcommunitylabdhub.commons.services.EntityService;
 import it.smartcommunitylabdhub.commons.services.MetricsService;
 import it.smartcommunitylabdhub.commons.utils.MapUtils;
+import it.smartcommunitylabdhub.core.events.BulkEntityEvent;
+import it.smartcommunitylabdhub.core.events.EntityEvent;
+import it.smartcommunitylabdhub.core.models.persistence.ModelEntity;
+import it.smartcommunitylabdhub.events.EntityAction;
 import it.smartcommunitylabdhub.metrics.MetricsManager;
+import it.smartcommunitylabdhub.metrics.MetricsRollups;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
+import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -52,8 +63,31 @@ public class ModelMetricsServiceImpl implements MetricsService<Model> {
     @Autowired
     private MetricsManager metricsManager;
 
+    /*
+     * Drop stored metrics along with models
+     */
+    @EventListener
+    public void receive(EntityEvent<ModelEntity> event) {
+        if (event.getAction() == EntityAction.DELETE && event.getEntity() != null) {
+            metricsManager.deleteMetrics(EntityName.MODEL.getValue(), List.of(event.getEntity().getId()));
+        }
+    }
+
+    @EventListener
+    public void receive(BulkEntityEvent<ModelEntity> event) {
+        if (event.getAction() == EntityAction.DELETE) {
+            metricsManager.deleteMetrics(EntityName.MODEL.getValue(), event.getIds());
+        }
+    }
+
     @Override
     public Map<String, NumberOrNumberArray> getMetrics(@NotNull String entityId)
+        throws StoreException, SystemException {
+        return getMetrics(entityId, (Integer) null);
+    }
+
+    @Override
+    public Map<String, NumberOrNumberArray> getMetrics(@NotNull String entityId, @Nullable Integer points)
         throws StoreException, SystemException {
         log.debug("fetch all metrics for model {}", entityId);
         Model entity = entityService.get(entityId);
@@ -63,7 +97,11 @@ public class ModelMetricsServiceImpl implements MetricsService<Model> {
         Map<String, NumberOrNumberArray> embedded = statusFieldAccessor.getMetrics();
 
         //stored metrics
-        Map<String, NumberOrNumberArray> stored = metricsManager.getMetrics(EntityName.MODEL.getValue(), entityId);
+        Map<String, NumberOrNumberArray> stored = metricsManager.getMetrics(
+            EntityName.MODEL.getValue(),
+            entityId,
+            points
+        );
 
         //merge stored and embedded
         Map<String, NumberOrNumberArray> metrics = MapUtils.mergeMultipleMaps(stored, embedded);
@@ -77,6 +115,12 @@ public class ModelMetricsServiceImpl implements MetricsService<Model> {
 
     @Override
     public NumberOrNumberArray getMetrics(@NotNull String entityId, @NotNull String name)
+        throws StoreException, SystemException {
+        return getMetrics(entityId, name, null);
+    }
+
+    @Override
+    public NumberOrNumberArray getMetrics(@NotNull String entityId, @NotNull String name, @Nullable Integer points)
         throws StoreException, SystemException {
         log.debug("fetch metric {} for model {}", name, entityId);
         Model entity = entityService.get(entityId);
@@ -84,11 +128,12 @@ public class ModelMetricsServiceImpl implements MetricsService<Model> {
         //embedded metrics
         StatusFieldAccessor statusFieldAccessor = StatusFieldAccessor.with(entity.getStatus());
         Map<String, NumberOrNumberArray> embedded = statusFieldAccessor.getMetrics();
-        if ((embedded != null) && embedded.containsKey(name)) {
-            return embedded.get(name);
+        if ((embedded != null) && embedded.get(name) != null) {
+            NumberOrNumberArray data = embedded.get(name);
+            return points != null ? MetricsRollups.downsample(data, points) : data;
         } else {
             //stored metrics
-            return metricsManager.getMetrics(EntityName.MODEL.getValue(), entityId, name);
+            return metricsManager.getMetrics(EntityName.MODEL.getValue(), entityId, name, points);
         }
     }
 
@@ -102,4 +147,69 @@ public class ModelMetricsServiceImpl implements MetricsService<Model> {
 
         return metricsManager.saveMetrics(EntityName.MODEL.getValue(), entityId, name, data);
     }
+
+    @Override
+    public long appendMetrics(
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long step,
+        @NotNull NumberOrNumberArray data
+    ) throws StoreException, SystemException {
+        log.debug("append metric {} for model {}", name, entityId);
+        if (log.isTraceEnabled()) {
+            log.trace("data: {}", data);
+        }
+
+        return metricsManager.appendMetrics(EntityName.MODEL.getValue(), entityId, name, step, data);
+    }
+
+    @Override
+    public MetricsSeries getMetricsSeries(
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to
+    ) throws StoreException, SystemException {
+        return getMetricsSeries(entityId, name, from, to, null);
+    }
+
+    @Override
+    public MetricsSeries getMetricsSeries(
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to,
+        @Nullable Integer points
+    ) throws StoreException, SystemException {
+        log.debug("fetch metric series {} for model {}", name, entityId);
+        return metricsManager.getMetricsSeries(EntityName.MODEL.getValue(), entityId, name, from, to, points);
+    }
+
+    @Override
+    public MetricsRollup getMetricsRollup(
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to,
+        @Nullable Long resolution,
+        @Nullable Integer points
+    ) throws StoreException, SystemException {
+        log.debug("fetch metric rollup {} for model {}", name, entityId);
+        return metricsManager.getMetricsRollup(
+            EntityName.MODEL.getValue(),
+            entityId,
+            name,
+            from,
+            to,
+            resolution,
+            points
+        );
+    }
+
+    @Override
+    public MetricsSummary getMetricsSummary(@NotNull String entityId, @NotNull String name)
+        throws StoreException, SystemException {
+        log.debug("fetch metric summary {} for model {}", name, entityId);
+        return metricsManager.getMetricsSummary(EntityName.MODEL.getValue(), entityId, name);
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/*
+ * Marker for the latest version of a versionable entity, grouped by `entity`+`project`+`name`.
+ * Maintained by repositories on create/delete, references the latest version via `ref`
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Entity
+@IdClass(LatestVersionEntity.Key.class)
+@Table(
+    name = "latest_versions",
+    indexes = { @Index(name = "latest_versions_ref_index", columnList = "entity, ref", unique = true) }
+)
+public class LatestVersionEntity implements Serializable {
+
+    @Id
+    @Column(nullable = false)
+    private String entity;
+
+    @Id
+    @Column(nullable = false)
+    private String project;
+
+    @Id
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String ref;
+
+    private Date created;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private String entity;
+        private String project;
+        private String name;
+    }
+}
@@ -62,7 +62,6 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.lang.Nullable;
@@ -225,17 +224,6 @@ public class ProjectManagerImpl implements ProjectManager, RelationshipsAwareEnt
     }
 
     @Override
-    @CacheEvict(
-        value = {
-            "findIdByCreatedBy",
-            "findIdByUpdatedBy",
-            "findIdByProject",
-            "findNameByCreatedBy",
-            "findNameByUpdatedBy",
-            "findNameByProject",
-        },
-        allEntries = true
-    )
     public Project createProject(@NotNull Project dto)
         throws DuplicatedEntityException, BindException, IllegalArgumentException {
         log.debug("create project");
@@ -296,19 +284,6 @@ public class ProjectManagerImpl implements ProjectManager, RelationshipsAwareEnt
     }
 
     @Override
-    @CacheEvict(
-        value = {
-            "findIdByCreatedBy",
-            "findIdByUpdatedBy",
-            "findIdByProject",
-            "findNameByCreatedBy",
-            "findNameByUpdatedBy",
-            "findNameByProject",
-            "findIdsBySharedTo",
-            "findNamesBySharedTo",
-        },
-        allEntries = true
-    )
     public void deleteProject(@NotNull String id, @Nullable Boolean cascade) {
         log.debug("delete project with id {}", String.valueOf(id));
         try {
@@ -24,12 +24,10 @@
 package it.smartcommunitylabdhub.core.projects.builders;
 
 import it.smartcommunitylabdhub.commons.models.project.Project;
-import it.smartcommunitylabdhub.commons.models.project.ProjectBaseSpec;
-import it.smartcommunitylabdhub.commons.utils.MapUtils;
 import it.smartcommunitylabdhub.core.metadata.AuditMetadataBuilder;
 import it.smartcommunitylabdhub.core.metadata.BaseMetadataBuilder;
 import it.smartcommunitylabdhub.core.projects.persistence.ProjectEntity;
-import it.smartcommunitylabdhub.core.projects.specs.ProjectSpec;
+import it.smartcommunitylabdhub.core.repositories.converters.LazyMap;
 import jakarta.persistence.AttributeConverter;
 import java.io.Serializable;
 import java.util.HashMap;
@@ -64,21 +62,13 @@ public class ProjectDTOBuilder implements Converter<ProjectEntity, Project> {
     }
 
     public Project build(ProjectEntity entity) {
-        //read metadata map as-is
-        Map<String, Serializable> meta = converter.convertToEntityAttribute(entity.getMetadata());
+        //derived metadata is resolved now, stored metadata is decoded on access
+        Map<String, Serializable> derived = new HashMap<>();
 
-        // build metadata
-        Map<String, Serializable> metadata = new HashMap<>();
-        metadata.putAll(meta);
+        derived.putAll(baseMetadataBuilder.derive(entity).toMap());
+        Optional.of(auditingMetadataBuilder.convert(entity)).ifPresent(m -> derived.putAll(m.toMap()));
 
-        Optional.of(baseMetadataBuilder.convert(entity)).ifPresent(m -> metadata.putAll(m.toMap()));
-        Optional.of(auditingMetadataBuilder.convert(entity)).ifPresent(m -> metadata.putAll(m.toMap()));
-
-        //transform base spec to full spec
-        ProjectBaseSpec baseSpec = new ProjectBaseSpec();
-        baseSpec.configure(converter.convertToEntityAttribute(entity.getSpec()));
-        ProjectSpec spec = new ProjectSpec();
-        spec.configure(baseSpec.toMap());
+        Map<String, Serializable> metadata = LazyMap.of(baseMetadataBuilder.decoder(entity), derived);
 
         return Project
             .builder()
@@ -86,13 +76,8 @@ public class ProjectDTOBuilder implements Converter<ProjectEntity, Project> {
             .name(entity.getName())
             .user(entity.getCreatedBy())
             .metadata(metadata)
-            .spec(converter.convertToEntityAttribute(entity.getSpec()))
-            .status(
-                MapUtils.mergeMultipleMaps(
-                    converter.convertToEntityAttribute(entity.getStatus()),
-                    Map.of("state", entity.getState().toString())
-                )
-            )
+            .spec(LazyMap.of(entity.getSpec(), converter))
+            .status(LazyMap.of(entity.getStatus(), converter, Map.of("state", entity.getState().toString())))
             .build();
     }
 
@@ -29,6 +29,7 @@ import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.exceptions.SystemException;
 import it.smartcommunitylabdhub.commons.models.entities.EntityName;
 import it.smartcommunitylabdhub.commons.models.project.Project;
+import it.smartcommunitylabdhub.core.events.EntityEvent;
 import it.smartcommunitylabdhub.core.projects.persistence.ProjectEntity;
 import it.smartcommunitylabdhub.core.queries.specifications.CommonSpecification;
 import it.smartcommunitylabdhub.core.repositories.SearchableEntityRepository;
@@ -38,7 +39,10 @@ import java.util.Collections;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -52,6 +56,61 @@ public class AuthorizableAwareProjectServiceImpl implements AuthorizableAwareEnt
     @Autowired
     private ResourceSharingService sharingService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    /*
+     * Evict lookups on project changes, after commit for transaction aware caches
+     */
+    @EventListener
+    public void receive(EntityEvent<ProjectEntity> event) {
+        ProjectEntity project = event.getEntity();
+        if (project == null) {
+            return;
+        }
+
+        switch (event.getAction()) {
+            case CREATE -> {
+                evict(project.getCreatedBy(), "findIdByCreatedBy", "findNameByCreatedBy");
+                evict(project.getUpdatedBy(), "findIdByUpdatedBy", "findNameByUpdatedBy");
+                evict(project.getId(), "findIdByProject", "findNameByProject");
+            }
+            case UPDATE -> {
+                //previous updater is not tracked
+                clear("findIdByUpdatedBy", "findNameByUpdatedBy");
+            }
+            case DELETE -> {
+                evict(project.getCreatedBy(), "findIdByCreatedBy", "findNameByCreatedBy");
+                evict(project.getUpdatedBy(), "findIdByUpdatedBy", "findNameByUpdatedBy");
+                evict(project.getId(), "findIdByProject", "findNameByProject");
+
+                //shares are left in place, users are not known
+                clear("findIdsBySharedTo", "findNamesBySharedTo");
+            }
+            default -> {}
+        }
+    }
+
+    private void evict(String key, String... names) {
+        if (key != null) {
+            for (String name : names) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.evict(key);
+                }
+            }
+        }
+    }
+
+    private void clear(String... names) {
+        for (String name : names) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
     @Override
     @Cacheable("findIdByCreatedBy")
     public List<String> findIdsByCreatedBy(@NotNull String createdBy) {
@@ -17,17 +17,23 @@
 package it.smartcommunitylabdhub.core.projects.service;
 
 import it.smartcommunitylabdhub.commons.exceptions.StoreException;
+import it.smartcommunitylabdhub.commons.exceptions.SystemException;
 import it.smartcommunitylabdhub.commons.models.artifact.Artifact;
 import it.smartcommunitylabdhub.commons.models.base.BaseDTO;
 import it.smartcommunitylabdhub.commons.models.dataitem.DataItem;
 import it.smartcommunitylabdhub.commons.models.function.Function;
 import it.smartcommunitylabdhub.commons.models.model.Model;
 import it.smartcommunitylabdhub.commons.models.project.Project;
+import it.smartcommunitylabdhub.commons.models.run.Run;
+import it.smartcommunitylabdhub.commons.models.task.Task;
 import it.smartcommunitylabdhub.commons.models.workflow.Workflow;
 import it.smartcommunitylabdhub.commons.services.EntityService;
 import it.smartcommunitylabdhub.commons.services.LabelService;
+import it.smartcommunitylabdhub.commons.services.LogService;
 import it.smartcommunitylabdhub.commons.services.SecretService;
+import it.smartcommunitylabdhub.core.repositories.SearchableEntityRepository;
 import it.smartcommunitylabdhub.core.services.EntityFinalizer;
+import it.smartcommunitylabdhub.core.tasks.persistence.TaskEntity;
 import jakarta.validation.constraints.NotNull;
 import java.util.ArrayList;
 import java.util.List;
@@ -40,12 +46,34 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class ProjectEntityFinalizer implements EntityFinalizer<Project>, InitializingBean {
 
+    private static final int BATCH_SIZE = 1000;
+
     //NOTE: we can not autowire becase that will catch ProjectEntityServiceImpl as well
     private List<EntityService<? extends BaseDTO>> entityServices = new ArrayList<>();
 
+    //executions are removed first, in bulk, so that entity finalizers find nothing left to cascade
+    private EntityService<Run> runService;
+    private LogService logService;
+    private SearchableEntityRepository<TaskEntity, Task> taskRepository;
+
     private LabelService labelService;
     private SecretService secretService;
 
+    @Autowired(required = false)
+    public void setRunService(EntityService<Run> runService) {
+        this.runService = runService;
+    }
+
+    @Autowired(required = false)
+    public void setLogService(LogService logService) {
+        this.logService = logService;
+    }
+
+    @Autowired(required = false)
+    public void setTaskRepository(SearchableEntityRepository<TaskEntity, Task> taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
     @Autowired(required = false)
     public void setFunctionService(EntityService<Function> functionService) {
         this.entityServices.add(functionService);
@@ -90,22 +118,39 @@ public class ProjectEntityFinalizer implements EntityFinalizer<Project>, Initial
 
         String id = project.getId();
 
+        //remove runs, logs and tasks in bulk
+        try {
+            if (runService != null) {
+                log.debug("cascade delete runs for project with id {}", id);
+                //logs are removed by project below
+                //active runs are deleted async by their managers, the delete fails until they are gone
+                runService.deleteByProject(id, false);
+            }
+
+            if (logService != null) {
+                log.debug("cascade delete logs for project with id {}", id);
+                logService.deleteLogsByProject(id);
+            }
+
+            if (taskRepository != null) {
+                log.debug("cascade delete tasks for project with id {}", id);
+                //runs are already gone, nothing to cascade
+                taskRepository.deleteByProject(id, null, BATCH_SIZE, null);
+            }
+        } catch (SystemException e) {
+            //abort: the project is kept and a new delete resumes with what is left
+            log.error("error deleting executions for project {}: {}", id, e.getMessage());
+            throw new StoreException(e.getMessage(), e);
+        }
+
         //remove all entities related to the project, with cascade, in sync
-        entityServices.forEach(service -> {
-            try {
-                if (service != null) {
-                    log.debug("cascade delete for project {} with service {}", id, service);
-                    service.deleteByProject(id, true);
-                }
-            } catch (StoreException e) {
-                log.error(
-                    "error deleting entities for project {} in service {}: {}",
-                    id,
-                    service.getClass().getSimpleName(),
-                    e
-                );
+        //errors abort the project delete, as above
+        for (EntityService<? extends BaseDTO> service : entityServices) {
+            if (service != null) {
+                log.debug("cascade delete for project {} with service {}", id, service);
+                service.deleteByProject(id, true);
             }
-        });
+        }
 
         if (secretService != null) {
             log.debug("cascade delete secrets for project with id {}", String.valueOf(id));
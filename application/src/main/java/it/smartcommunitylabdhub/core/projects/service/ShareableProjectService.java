@@ -51,7 +51,7 @@ public class ShareableProjectService implements ShareableAwareEntityService<Proj
     private ResourceSharingService sharingService;
 
     @Override
-    @CacheEvict(value = { "findIdsBySharedTo", "findNamesBySharedTo" }, allEntries = true)
+    @CacheEvict(value = { "findIdsBySharedTo", "findNamesBySharedTo" }, key = "#user")
     public ResourceShareEntity share(@NotNull String id, @NotNull String user) {
         log.debug("share project with id {} to {}", String.valueOf(id), String.valueOf(user));
 
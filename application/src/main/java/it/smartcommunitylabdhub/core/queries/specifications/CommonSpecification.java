@@ -26,6 +26,8 @@ package it.smartcommunitylabdhub.core.queries.specifications;
 import it.smartcommunitylabdhub.commons.Fields;
 import it.smartcommunitylabdhub.core.persistence.AbstractEntity_;
 import it.smartcommunitylabdhub.core.persistence.BaseEntity;
+import it.smartcommunitylabdhub.core.persistence.LatestVersionEntity;
+import it.smartcommunitylabdhub.core.persistence.LatestVersionEntity_;
 import jakarta.persistence.criteria.Root;
 import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
@@ -62,56 +64,79 @@ public class CommonSpecification {
         };
     }
 
+    /*
+     * Latest versions, resolved via markers maintained by repositories
+     */
+
     public static <T extends BaseEntity> Specification<T> latest() {
         return (root, query, criteriaBuilder) -> {
-            Subquery<Number> subquery = query.subquery(Number.class);
-            Root<T> subqueryRoot = (Root<T>) subquery.from(root.getJavaType());
+            Subquery<String> subquery = query.subquery(String.class);
+            Root<LatestVersionEntity> subqueryRoot = subquery.from(LatestVersionEntity.class);
 
-            subquery.select(criteriaBuilder.max(subqueryRoot.get(AbstractEntity_.CREATED)));
-            subquery.where(criteriaBuilder.equal(subqueryRoot.get(Fields.NAME), root.get(Fields.NAME)));
-            subquery.groupBy(subqueryRoot.get(Fields.NAME), subqueryRoot.get(AbstractEntity_.PROJECT));
+            subquery.select(subqueryRoot.get(LatestVersionEntity_.REF));
+            subquery.where(
+                criteriaBuilder.equal(subqueryRoot.get(LatestVersionEntity_.ENTITY), root.getJavaType().getSimpleName())
+            );
 
-            return criteriaBuilder.and(criteriaBuilder.in(root.get(AbstractEntity_.CREATED)).value(subquery));
+            return criteriaBuilder.in(root.get(AbstractEntity_.ID)).value(subquery);
         };
     }
 
     public static <T extends BaseEntity> Specification<T> latestByProject(String project) {
         return (root, query, criteriaBuilder) -> {
-            Subquery<Number> subquery = query.subquery(Number.class);
-            Root<T> subqueryRoot = (Root<T>) subquery.from(root.getJavaType());
+            Subquery<String> subquery = query.subquery(String.class);
+            Root<LatestVersionEntity> subqueryRoot = subquery.from(LatestVersionEntity.class);
 
-            subquery.select(criteriaBuilder.max(subqueryRoot.get(AbstractEntity_.CREATED)));
+            subquery.select(subqueryRoot.get(LatestVersionEntity_.REF));
             subquery.where(
-                criteriaBuilder.equal(subqueryRoot.get(AbstractEntity_.PROJECT), project),
-                criteriaBuilder.equal(subqueryRoot.get(Fields.NAME), root.get(Fields.NAME))
+                criteriaBuilder.equal(subqueryRoot.get(LatestVersionEntity_.ENTITY), root.getJavaType().getSimpleName()),
+                criteriaBuilder.equal(subqueryRoot.get(LatestVersionEntity_.PROJECT), project)
             );
-            subquery.groupBy(subqueryRoot.get(Fields.NAME), subqueryRoot.get(AbstractEntity_.PROJECT));
 
             return criteriaBuilder.and(
                 criteriaBuilder.equal(root.get(AbstractEntity_.PROJECT), project),
-                criteriaBuilder.in(root.get(AbstractEntity_.CREATED)).value(subquery)
+                criteriaBuilder.in(root.get(AbstractEntity_.ID)).value(subquery)
             );
         };
     }
 
     public static <T extends BaseEntity> Specification<T> latestByProject(String project, String name) {
         return (root, query, criteriaBuilder) -> {
-            Subquery<Number> subquery = query.subquery(Number.class);
-            Root<T> subqueryRoot = (Root<T>) subquery.from(root.getJavaType());
+            Subquery<String> subquery = query.subquery(String.class);
+            Root<LatestVersionEntity> subqueryRoot = subquery.from(LatestVersionEntity.class);
 
-            subquery.select(criteriaBuilder.max(subqueryRoot.get(AbstractEntity_.CREATED)));
+            subquery.select(subqueryRoot.get(LatestVersionEntity_.REF));
             subquery.where(
-                criteriaBuilder.equal(subqueryRoot.get(AbstractEntity_.PROJECT), project),
-                criteriaBuilder.equal(subqueryRoot.get(Fields.NAME), name)
+                criteriaBuilder.equal(subqueryRoot.get(LatestVersionEntity_.ENTITY), root.getJavaType().getSimpleName()),
+                criteriaBuilder.equal(subqueryRoot.get(LatestVersionEntity_.PROJECT), project),
+                criteriaBuilder.equal(subqueryRoot.get(LatestVersionEntity_.NAME), name)
             );
 
             return criteriaBuilder.and(
                 criteriaBuilder.equal(root.get(AbstractEntity_.PROJECT), project),
                 criteriaBuilder.equal(root.get(Fields.NAME), name),
-                criteriaBuilder.in(root.get(AbstractEntity_.CREATED)).value(subquery)
+                criteriaBuilder.in(root.get(AbstractEntity_.ID)).value(subquery)
             );
         };
     }
 
+    /*
+     * Latest versions computed from creation dates, used to rebuild markers
+     */
+    public static <T extends BaseEntity> Specification<T> latestByCreated() {
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Number> subquery = query.subquery(Number.class);
+            Root<T> subqueryRoot = (Root<T>) subquery.from(root.getJavaType());
+
+            subquery.select(criteriaBuilder.max(subqueryRoot.get(AbstractEntity_.CREATED)));
+            subquery.where(
+                criteriaBuilder.equal(subqueryRoot.get(Fields.NAME), root.get(Fields.NAME)),
+                criteriaBuilder.equal(subqueryRoot.get(AbstractEntity_.PROJECT), root.get(AbstractEntity_.PROJECT))
+            );
+
+            return criteriaBuilder.equal(root.get(AbstractEntity_.CREATED), subquery);
+        };
+    }
+
     private CommonSpecification() {}
 }
@@ -29,34 +29,65 @@ import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.models.base.BaseDTO;
 import it.smartcommunitylabdhub.commons.models.entities.EntityName;
 import it.smartcommunitylabdhub.commons.utils.EntityUtils;
+import it.smartcommunitylabdhub.core.cache.EntityCache;
+import it.smartcommunitylabdhub.core.cache.EntityCacheManager;
+import it.smartcommunitylabdhub.core.events.BulkEntityEvent;
 import it.smartcommunitylabdhub.core.events.EntityEvent;
 import it.smartcommunitylabdhub.core.persistence.AbstractEntity;
+import it.smartcommunitylabdhub.core.persistence.AbstractEntity_;
 import it.smartcommunitylabdhub.core.persistence.BaseEntity;
+import it.smartcommunitylabdhub.core.persistence.LatestVersionEntity;
+import it.smartcommunitylabdhub.core.queries.specifications.CommonSpecification;
+import it.smartcommunitylabdhub.core.schema.persistence.DataMigrationRepository;
 import it.smartcommunitylabdhub.core.utils.UUIDKeyGenerator;
 import it.smartcommunitylabdhub.events.EntityAction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import jakarta.validation.constraints.NotNull;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.util.Pair;
+import org.springframework.lang.Nullable;
 import org.springframework.security.crypto.keygen.StringKeyGenerator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
 @Slf4j
@@ -68,21 +99,42 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
     public static final int DEFAULT_TIMEOUT = 30;
     protected final JpaRepository<E, String> repository;
     protected final EntityName type;
+    protected final Class<E> entityClass;
 
     protected final Converter<D, E> entityBuilder;
     protected final Converter<E, D> dtoBuilder;
 
     private StringKeyGenerator keyGenerator = new UUIDKeyGenerator();
     private ApplicationEventPublisher eventPublisher;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
 
     private Map<String, Pair<ReentrantLock, Instant>> locks = new ConcurrentHashMap<>();
     private int timeout = DEFAULT_TIMEOUT;
 
-    @SuppressWarnings("unchecked")
+    //latest version tracking for versionable entities
+    private final boolean versionable;
+    private final String entityName;
+    private LatestVersionRepository latestRepository;
+    private DataMigrationRepository migrationRepository;
+
+    //read-through cache of dto snapshots, optional
+    private EntityCache<D> cache;
+
     protected BaseEntityRepository(
         JpaRepository<E, String> repository,
         Converter<D, E> entityBuilder,
         Converter<E, D> dtoBuilder
+    ) {
+        this(repository, entityBuilder, dtoBuilder, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected BaseEntityRepository(
+        JpaRepository<E, String> repository,
+        Converter<D, E> entityBuilder,
+        Converter<E, D> dtoBuilder,
+        boolean versionable
     ) {
         Assert.notNull(repository, "repository can not be null");
         Assert.notNull(entityBuilder, "entity builder can not be null");
@@ -91,10 +143,13 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
         this.repository = repository;
         this.entityBuilder = entityBuilder;
         this.dtoBuilder = dtoBuilder;
+        this.versionable = versionable;
 
         // resolve generics type via subclass trick
-        Type t = ((ParameterizedType) this.getClass().getGenericSuperclass()).getActualTypeArguments()[1];
-        this.type = EntityUtils.getEntityName((Class<D>) t);
+        Type[] types = ((ParameterizedType) this.getClass().getGenericSuperclass()).getActualTypeArguments();
+        this.type = EntityUtils.getEntityName((Class<D>) types[1]);
+        this.entityClass = (Class<E>) types[0];
+        this.entityName = entityClass.getSimpleName();
     }
 
     @Autowired(required = false)
@@ -108,6 +163,31 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
         this.eventPublisher = eventPublisher;
     }
 
+    @Autowired(required = false)
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Autowired(required = false)
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Autowired(required = false)
+    public void setLatestRepository(LatestVersionRepository latestRepository) {
+        this.latestRepository = latestRepository;
+    }
+
+    @Autowired(required = false)
+    public void setMigrationRepository(DataMigrationRepository migrationRepository) {
+        this.migrationRepository = migrationRepository;
+    }
+
+    @Autowired(required = false)
+    public void setCacheManager(EntityCacheManager cacheManager) {
+        this.cache = cacheManager.getCache(type, entityClass);
+    }
+
     @Override
     public EntityName getType() {
         return type;
@@ -178,6 +258,9 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
                     log.trace("entity: {}", entity);
                 }
 
+                //track latest version in the same transaction
+                markLatest(entity);
+
                 //publish
                 if (eventPublisher != null) {
                     log.debug("publish event: create for {}", entity.getId());
@@ -285,6 +368,7 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
                         }
 
                         repository.delete(entity);
+                        unmarkLatest(List.of(entity));
 
                         //publish
                         if (eventPublisher != null) {
@@ -310,16 +394,26 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
     public D find(@NotNull String id) throws StoreException {
         log.debug("find with id {}", id);
 
+        D cached = cache != null ? cache.get(id) : null;
+        if (cached != null) {
+            return cached;
+        }
+
         try {
             //acquire write lock
             getLock(id).tryLock(timeout, TimeUnit.SECONDS);
 
             try {
+                long stamp = cache != null ? cache.stamp(id) : 0;
                 D res = repository.findById(id).map(e -> dtoBuilder.convert(e)).orElse(null);
                 if (log.isTraceEnabled()) {
                     log.trace("res: {}", res);
                 }
 
+                if (cache != null && res != null) {
+                    cache.put(id, res, stamp);
+                }
+
                 return res;
             } finally {
                 getLock(id).unlock();
@@ -333,11 +427,18 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
     @Transactional(readOnly = true)
     public D get(@NotNull String id) throws NoSuchEntityException, StoreException {
         log.debug("get with id {}", id);
+
+        D cached = cache != null ? cache.get(id) : null;
+        if (cached != null) {
+            return cached;
+        }
+
         try {
             //acquire write lock
             getLock(id).tryLock(timeout, TimeUnit.SECONDS);
 
             try {
+                long stamp = cache != null ? cache.stamp(id) : 0;
                 D res = repository
                     .findById(id)
                     .map(e -> dtoBuilder.convert(e))
@@ -346,6 +447,10 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
                     log.trace("res: {}", res);
                 }
 
+                if (cache != null) {
+                    cache.put(id, res, stamp);
+                }
+
                 return res;
             } finally {
                 getLock(id).unlock();
@@ -378,6 +483,69 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
         return repository.findAll().stream().map(e -> dtoBuilder.convert(e)).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<D> listAfter(@Nullable String id, int size) {
+        log.debug("list after {} size {}", id, size);
+
+        return listAfter((root, query, criteriaBuilder) -> criteriaBuilder.conjunction(), id, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<D> listUpdated(long from, long to, @Nullable String id, int size) {
+        log.debug("list updated within {} {} after {} size {}", from, to, id, size);
+
+        Specification<E> updated = (root, query, criteriaBuilder) ->
+            criteriaBuilder.and(
+                criteriaBuilder.greaterThanOrEqualTo(root.<Date>get(AbstractEntity_.UPDATED), new Date(from)),
+                criteriaBuilder.lessThan(root.<Date>get(AbstractEntity_.UPDATED), new Date(to))
+            );
+
+        return listAfter(updated, id, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> findExisting(Collection<String> ids) {
+        log.debug("find existing among {}", ids.size());
+
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        if (ids.size() > PAGE_MAX_SIZE) {
+            throw new IllegalArgumentException("max page size exceeded");
+        }
+
+        return findIds((root, query, criteriaBuilder) -> root.get(AbstractEntity_.ID).in(ids));
+    }
+
+    private List<D> listAfter(Specification<E> specification, @Nullable String id, int size) {
+        if (size > PAGE_MAX_SIZE) {
+            throw new IllegalArgumentException("max page size exceeded");
+        }
+
+        if (repository instanceof JpaSpecificationExecutor) {
+            @SuppressWarnings("unchecked")
+            JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+
+            //seek on primary key, constant cost at any position
+            Specification<E> after = (root, query, criteriaBuilder) ->
+                id != null
+                    ? criteriaBuilder.greaterThan(root.<String>get(AbstractEntity_.ID), id)
+                    : criteriaBuilder.conjunction();
+
+            return executor
+                .findBy(specification.and(after), q -> q.sortBy(Sort.by(AbstractEntity_.ID)).limit(size).all())
+                .stream()
+                .map(e -> dtoBuilder.convert(e))
+                .toList();
+        }
+
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<D> search(Specification<E> specification, Pageable pageable) {
@@ -398,6 +566,75 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<D> search(Specification<E> specification, ScrollPosition position, int size) {
+        log.debug("search with spec {} position {} size {}", specification, position, size);
+
+        if (size > PAGE_MAX_SIZE) {
+            throw new IllegalArgumentException("max page size exceeded");
+        }
+
+        if (repository instanceof JpaSpecificationExecutor) {
+            @SuppressWarnings("unchecked")
+            JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+
+            //seek on created,id: id breaks ties on equal dates
+            Window<E> window = executor.findBy(
+                specification,
+                q ->
+                    q
+                        .sortBy(Sort.by(Sort.Direction.DESC, AbstractEntity_.CREATED, AbstractEntity_.ID))
+                        .limit(size)
+                        .scroll(position != null ? position : ScrollPosition.keyset())
+            );
+
+            return window.map(e -> dtoBuilder.convert(e));
+        }
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long searchAll(Specification<E> specification, int batch, Consumer<List<D>> consumer) {
+        log.debug("stream all with spec {} batch {}", specification, batch);
+
+        if (repository instanceof JpaSpecificationExecutor) {
+            @SuppressWarnings("unchecked")
+            JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+
+            //rows are fetched from the cursor with jdbc fetch size, entities detached once converted
+            long count = 0;
+            List<D> buffer = new ArrayList<>(batch);
+            try (Stream<E> stream = executor.findBy(specification, q -> q.stream())) {
+                Iterator<E> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    E e = iterator.next();
+                    buffer.add(dtoBuilder.convert(e));
+                    if (entityManager != null) {
+                        entityManager.detach(e);
+                    }
+
+                    if (buffer.size() >= batch) {
+                        consumer.accept(buffer);
+                        count += buffer.size();
+                        buffer = new ArrayList<>(batch);
+                    }
+                }
+            }
+
+            if (!buffer.isEmpty()) {
+                consumer.accept(buffer);
+                count += buffer.size();
+            }
+
+            return count;
+        }
+
+        throw new UnsupportedOperationException();
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public List<D> searchAll(Specification<E> specification) {
@@ -421,6 +658,7 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
 
         //remove in batch
         repository.deleteAllInBatch(entities);
+        unmarkLatest(entities);
 
         //publish
         if (eventPublisher != null) {
@@ -449,6 +687,7 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
 
             //remove in batch
             repository.deleteAllInBatch(entities);
+            unmarkLatest(entities);
 
             //publish
             if (eventPublisher != null) {
@@ -468,4 +707,233 @@ public abstract class BaseEntityRepository<E extends BaseEntity, D extends BaseD
 
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deleteByProject(
+        @NotNull String project,
+        @Nullable Specification<E> specification,
+        int batch,
+        @Nullable Consumer<List<D>> consumer
+    ) {
+        log.debug("bulk delete for project {} with spec {} batch {}", project, specification, batch);
+        Assert.hasText(project, "project can not be null or empty");
+        Assert.isTrue(batch > 0, "batch must be positive");
+
+        //resolve ids upfront, rows are then removed by id in batches
+        List<String> ids = findIds(Specification.allOf(CommonSpecification.projectEquals(project), specification));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        log.info("bulk delete {} {} for project {}", ids.size(), type.getValue(), project);
+
+        //each batch is committed on its own: an interrupted delete resumes with what is left
+        long deleted = 0;
+        for (int i = 0; i < ids.size(); i += batch) {
+            List<String> chunk = ids.subList(i, Math.min(i + batch, ids.size()));
+            List<E> res = transactionTemplate != null
+                ? transactionTemplate.execute(status -> deleteBatch(chunk, consumer))
+                : deleteBatch(chunk, consumer);
+
+            if (res != null && !res.isEmpty()) {
+                deleted += res.size();
+
+                //publish a single event per committed batch
+                if (eventPublisher != null) {
+                    log.debug("publish bulk event: delete for {} {}", res.size(), type.getValue());
+                    List<String> batchIds = res.stream().map(E::getId).toList();
+                    eventPublisher.publishEvent(
+                        new BulkEntityEvent<>(entityClass, project, batchIds, res, EntityAction.DELETE)
+                    );
+                }
+            }
+
+            log.info("bulk delete {} for project {}: {}/{}", type.getValue(), project, deleted, ids.size());
+        }
+
+        return deleted;
+    }
+
+    private List<E> deleteBatch(List<String> ids, @Nullable Consumer<List<D>> consumer) {
+        //load to let the consumer finalize, entities may be gone already
+        List<E> entities = repository.findAllById(ids);
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+
+        if (consumer != null) {
+            consumer.accept(entities.stream().map(e -> dtoBuilder.convert(e)).collect(Collectors.toList()));
+        }
+
+        repository.deleteAllByIdInBatch(entities.stream().map(E::getId).toList());
+        unmarkLatest(entities);
+
+        return entities;
+    }
+
+    private List<String> findIds(Specification<E> specification) {
+        if (entityManager == null) {
+            //fallback to full entities
+            return searchAll(specification).stream().map(D::getId).toList();
+        }
+
+        //select only ids, no entity is loaded
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = builder.createQuery(String.class);
+        Root<E> root = query.from(entityClass);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        query.select(root.get(AbstractEntity_.ID));
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /*
+     * Latest versions
+     */
+
+    /**
+     * Rebuild latest version markers for existing data, once: completion is recorded when the whole table
+     * has been scanned, an interrupted rebuild is repeated on next startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void initLatest() {
+        if (!versionable || latestRepository == null || !(repository instanceof JpaSpecificationExecutor)) {
+            return;
+        }
+
+        String migration = "latest_versions_" + entityName;
+        if (migrationRepository != null && migrationRepository.isCompleted(migration)) {
+            //already rebuilt
+            return;
+        }
+
+        log.info("rebuild latest versions for {}", entityName);
+
+        @SuppressWarnings("unchecked")
+        JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+        Specification<E> spec = CommonSpecification.latestByCreated();
+
+        Set<LatestVersionEntity.Key> keys = new HashSet<>();
+        Page<E> page = executor.findAll(spec, PageRequest.of(0, PAGE_MAX_SIZE, Sort.by(AbstractEntity_.ID)));
+        while (true) {
+            //on ties keep the first one
+            List<E> latest = page.stream().filter(e -> keys.add(latestKey(e))).toList();
+
+            //guarded writes: markers set by live writes or other replicas are kept when newer
+            if (transactionTemplate != null) {
+                transactionTemplate.executeWithoutResult(status -> latest.forEach(this::markLatest));
+            } else {
+                latest.forEach(this::markLatest);
+            }
+
+            if (!page.hasNext()) {
+                break;
+            }
+
+            page = executor.findAll(spec, page.nextPageable());
+        }
+
+        if (migrationRepository != null) {
+            migrationRepository.complete(migration);
+        }
+
+        log.info("rebuilt {} latest versions for {}", keys.size(), entityName);
+    }
+
+    private void markLatest(E entity) {
+        if (!versionable || latestRepository == null) {
+            return;
+        }
+
+        //replace marker unless the current one is newer, as a single conditional update
+        if (
+            entity.getCreated() != null &&
+            latestRepository.updateIfNotNewer(
+                entityName,
+                entity.getProject(),
+                entity.getName(),
+                entity.getId(),
+                entity.getCreated()
+            ) >
+            0
+        ) {
+            return;
+        }
+
+        if (entity.getCreated() == null || !latestRepository.existsById(latestKey(entity))) {
+            //first version, the primary key rejects concurrent duplicates
+            latestRepository.save(latestMarker(entity));
+        }
+    }
+
+    private void unmarkLatest(List<E> entities) {
+        if (!versionable || latestRepository == null || entities.isEmpty()) {
+            return;
+        }
+
+        Set<String> ids = entities.stream().map(E::getId).collect(Collectors.toSet());
+        Set<LatestVersionEntity.Key> keys = entities.stream().map(e -> latestKey(e)).collect(Collectors.toSet());
+
+        for (LatestVersionEntity.Key key : keys) {
+            LatestVersionEntity current = latestRepository.findById(key).orElse(null);
+            if (current != null && !ids.contains(current.getRef())) {
+                //latest is still there
+                continue;
+            }
+
+            //promote the newest remaining version, if any
+            E latest = null;
+            if (repository instanceof JpaSpecificationExecutor) {
+                @SuppressWarnings("unchecked")
+                JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+                latest =
+                    executor
+                        .findAll(
+                            Specification
+                                .where(CommonSpecification.<E>projectEquals(key.getProject()))
+                                .and(CommonSpecification.nameEquals(key.getName())),
+                            PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, AbstractEntity_.CREATED))
+                        )
+                        .stream()
+                        .findFirst()
+                        .orElse(null);
+            }
+
+            //replace only the removed marker, a version created meanwhile wins
+            if (latest == null && current != null) {
+                latestRepository.deleteByRef(entityName, current.getRef());
+            } else if (latest != null && current != null) {
+                latestRepository.replace(
+                    entityName,
+                    key.getProject(),
+                    key.getName(),
+                    current.getRef(),
+                    latest.getId(),
+                    latest.getCreated()
+                );
+            } else if (latest != null) {
+                markLatest(latest);
+            }
+        }
+    }
+
+    private LatestVersionEntity.Key latestKey(E entity) {
+        return new LatestVersionEntity.Key(entityName, entity.getProject(), entity.getName());
+    }
+
+    private LatestVersionEntity latestMarker(E entity) {
+        return LatestVersionEntity
+            .builder()
+            .entity(entityName)
+            .project(entity.getProject())
+            .name(entity.getName())
+            .ref(entity.getId())
+            .created(entity.getCreated())
+            .build();
+    }
 }
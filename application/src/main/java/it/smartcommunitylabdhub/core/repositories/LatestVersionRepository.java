@@ -0,0 +1,71 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.repositories;
+
+import it.smartcommunitylabdhub.core.persistence.LatestVersionEntity;
+import java.util.Date;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LatestVersionRepository extends JpaRepository<LatestVersionEntity, LatestVersionEntity.Key> {
+    long countByEntity(String entity);
+
+    /*
+     * Conditional updates: the row is the lock, concurrent writers never overwrite a newer marker
+     */
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "UPDATE LatestVersionEntity l SET l.ref = :ref, l.created = :created " +
+        "WHERE l.entity = :entity AND l.project = :project AND l.name = :name " +
+        "AND (l.created IS NULL OR l.created <= :created)"
+    )
+    int updateIfNotNewer(
+        @Param("entity") String entity,
+        @Param("project") String project,
+        @Param("name") String name,
+        @Param("ref") String ref,
+        @Param("created") Date created
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "UPDATE LatestVersionEntity l SET l.ref = :ref, l.created = :created " +
+        "WHERE l.entity = :entity AND l.project = :project AND l.name = :name AND l.ref = :previous"
+    )
+    int replace(
+        @Param("entity") String entity,
+        @Param("project") String project,
+        @Param("name") String name,
+        @Param("previous") String previous,
+        @Param("ref") String ref,
+        @Param("created") Date created
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM LatestVersionEntity l WHERE l.entity = :entity AND l.ref = :ref")
+    int deleteByRef(@Param("entity") String entity, @Param("ref") String ref);
+}
@@ -28,13 +28,37 @@ import it.smartcommunitylabdhub.commons.models.base.BaseDTO;
 import it.smartcommunitylabdhub.commons.repositories.EntityRepository;
 import it.smartcommunitylabdhub.core.persistence.BaseEntity;
 import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 
 public interface SearchableEntityRepository<E extends BaseEntity, D extends BaseDTO> extends EntityRepository<D> {
     List<D> searchAll(Specification<E> specification) throws StoreException;
     Page<D> search(Specification<E> specification, Pageable page) throws StoreException;
 
+    /*
+     * Keyset search, ordered by `created,id` descending: no count and constant cost for deep positions
+     */
+    Window<D> search(Specification<E> specification, ScrollPosition position, int size) throws StoreException;
+
+    /*
+     * Stream all results in batches without materializing the whole result set
+     */
+    long searchAll(Specification<E> specification, int batch, Consumer<List<D>> consumer) throws StoreException;
+
     long deleteAll(Specification<E> specification) throws StoreException;
+
+    /*
+     * Set-based delete for a project, in batches committed one by one: the consumer receives every batch
+     * before removal and a single bulk event replaces per-entity events
+     */
+    long deleteByProject(
+        String project,
+        Specification<E> specification,
+        int batch,
+        Consumer<List<D>> consumer
+    ) throws StoreException;
 }
@@ -0,0 +1,183 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.repositories.converters;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Versioned envelope for stored blobs.
+ *
+ * Encoded values start with a header made of a marker, the format version and the codec, followed
+ * by the payload. Payloads above the threshold are compressed when smaller than the original.
+ * The marker (0xFF) never starts a valid CBOR item nor a JSON document, so legacy values written
+ * before the envelope are detected and returned as they are.
+ * Writing envelopes is a switch: replicas of previous releases can not read them, the legacy
+ * format is written until every replica reads both.
+ */
+public class BinaryEnvelope {
+
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    public static final byte MARKER = (byte) 0xFF;
+    public static final byte VERSION = 1;
+    public static final int HEADER_LENGTH = 3;
+
+    public static final byte CODEC_NONE = 0;
+    public static final byte CODEC_DEFLATE = 1;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final boolean enabled;
+    private final boolean compression;
+    private final int threshold;
+
+    /*
+     * Legacy writes, values are stored unwrapped
+     */
+    public BinaryEnvelope() {
+        this(false, false, DEFAULT_THRESHOLD);
+    }
+
+    public BinaryEnvelope(boolean enabled, boolean compression, int threshold) {
+        Assert.isTrue(threshold >= 0, "threshold must be positive");
+        this.enabled = enabled;
+        this.compression = compression;
+        this.threshold = threshold;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /*
+     * Wrap raw bytes, compressing when enabled and worth it. Legacy mode returns them as-is
+     */
+    public @Nullable byte[] encode(@Nullable byte[] data) {
+        if (data == null || !enabled) {
+            return data;
+        }
+
+        if (compression && data.length > threshold) {
+            byte[] compressed = deflate(data);
+            if (compressed.length < data.length) {
+                return wrap(CODEC_DEFLATE, compressed);
+            }
+        }
+
+        return wrap(CODEC_NONE, data);
+    }
+
+    /*
+     * Unwrap stored bytes, legacy values are returned unchanged
+     */
+    public static @Nullable byte[] decode(@Nullable byte[] value) throws IOException {
+        if (value == null || !isEnveloped(value)) {
+            return value;
+        }
+
+        if (value[1] != VERSION) {
+            throw new IOException("unsupported envelope version " + value[1]);
+        }
+
+        byte[] payload = Arrays.copyOfRange(value, HEADER_LENGTH, value.length);
+        return switch (value[2]) {
+            case CODEC_NONE -> payload;
+            case CODEC_DEFLATE -> inflate(payload);
+            default -> throw new IOException("unsupported envelope codec " + value[2]);
+        };
+    }
+
+    public static boolean isEnveloped(@Nullable byte[] value) {
+        return value != null && value.length >= HEADER_LENGTH && value[0] == MARKER;
+    }
+
+    private static byte[] wrap(byte codec, byte[] payload) {
+        byte[] value = new byte[HEADER_LENGTH + payload.length];
+        value[0] = MARKER;
+        value[1] = VERSION;
+        value[2] = codec;
+        System.arraycopy(payload, 0, value, HEADER_LENGTH, payload.length);
+
+        return value;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        //favor speed: blobs are written on every update
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("truncated compressed value");
+                }
+
+                out.write(buffer, 0, count);
+            }
+
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("invalid compressed value: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+}
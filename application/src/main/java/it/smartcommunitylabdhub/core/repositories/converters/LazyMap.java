@@ -0,0 +1,188 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.repositories.converters;
+
+import jakarta.persistence.AttributeConverter;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Map decoded on first access.
+ *
+ * DTO builders wrap stored blobs so that entities converted only for id, kind or state never
+ * pay for decoding. Entries given as overlay take precedence over the decoded ones and are
+ * served without decoding, an undecoded map keeps the source bytes for writes.
+ */
+public class LazyMap extends AbstractMap<String, Serializable> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient Supplier<Map<String, Serializable>> loader;
+    private final transient byte[] source;
+    private final Map<String, Serializable> overlay;
+
+    private transient volatile Map<String, Serializable> map;
+
+    private LazyMap(
+        @Nullable byte[] source,
+        Supplier<Map<String, Serializable>> loader,
+        Map<String, Serializable> overlay
+    ) {
+        Assert.notNull(loader, "loader can not be null");
+        this.source = source;
+        this.loader = loader;
+        this.overlay = overlay != null ? overlay : Collections.emptyMap();
+    }
+
+    /*
+     * Decode the source on access, null for a null source
+     */
+    public static @Nullable LazyMap of(
+        @Nullable byte[] source,
+        AttributeConverter<Map<String, Serializable>, byte[]> converter
+    ) {
+        return of(source, converter, null);
+    }
+
+    public static @Nullable LazyMap of(
+        @Nullable byte[] source,
+        AttributeConverter<Map<String, Serializable>, byte[]> converter,
+        @Nullable Map<String, Serializable> overlay
+    ) {
+        if (source == null && overlay == null) {
+            return null;
+        }
+
+        return new LazyMap(source, () -> converter.convertToEntityAttribute(source), overlay);
+    }
+
+    public static LazyMap of(Supplier<Map<String, Serializable>> loader, @Nullable Map<String, Serializable> overlay) {
+        return new LazyMap(null, loader, overlay);
+    }
+
+    public boolean isDecoded() {
+        return map != null;
+    }
+
+    /*
+     * Source bytes when the content matches them, ie no overlay and no access yet
+     */
+    public @Nullable byte[] getSource() {
+        return map == null && overlay.isEmpty() ? source : null;
+    }
+
+    /*
+     * Entries served without decoding
+     */
+    public Map<String, Serializable> overlay() {
+        return new HashMap<>(overlay);
+    }
+
+    /*
+     * Independent copy sharing the source, decoded on its own access.
+     * Null once decoded, content may have changed since
+     */
+    public @Nullable LazyMap copy() {
+        return map == null ? new LazyMap(source, loader, overlay) : null;
+    }
+
+    private Map<String, Serializable> map() {
+        Map<String, Serializable> m = map;
+        if (m == null) {
+            synchronized (this) {
+                m = map;
+                if (m == null) {
+                    m = new HashMap<>();
+                    Map<String, Serializable> loaded = loader.get();
+                    if (loaded != null) {
+                        m.putAll(loaded);
+                    }
+
+                    m.putAll(overlay);
+                    map = m;
+                }
+            }
+        }
+
+        return m;
+    }
+
+    @Override
+    public Serializable get(Object key) {
+        if (map == null && overlay.containsKey(key)) {
+            return overlay.get(key);
+        }
+
+        return map().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (map == null && overlay.containsKey(key)) {
+            return true;
+        }
+
+        return map().containsKey(key);
+    }
+
+    @Override
+    public Serializable put(String key, Serializable value) {
+        return map().put(key, value);
+    }
+
+    @Override
+    public Serializable remove(Object key) {
+        return map().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        map().clear();
+    }
+
+    @Override
+    public int size() {
+        return map().size();
+    }
+
+    @Override
+    public Set<Entry<String, Serializable>> entrySet() {
+        return map().entrySet();
+    }
+
+    @Serial
+    private Object writeReplace() {
+        //serialize as plain map
+        return new HashMap<>(map());
+    }
+}
@@ -34,7 +34,9 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
 
 @Slf4j
 @Component("cborMapConverter")
@@ -46,12 +48,26 @@ public class MapToCborAttributeConverter implements AttributeConverter<Map<Strin
         HashMap<String, Serializable>
     >() {};
 
+    private BinaryEnvelope envelope = new BinaryEnvelope();
+
+    @Autowired(required = false)
+    public void setEnvelope(BinaryEnvelope envelope) {
+        Assert.notNull(envelope, "envelope can not be null");
+        this.envelope = envelope;
+    }
+
     @Override
     public byte[] convertToDatabaseColumn(Map<String, Serializable> map) {
         byte[] value = null;
+        if (map instanceof LazyMap lazy && lazy.getSource() != null) {
+            //untouched, keep stored bytes and upgrade legacy ones without decoding
+            byte[] source = lazy.getSource();
+            return BinaryEnvelope.isEnveloped(source) ? source : envelope.encode(source);
+        }
+
         if (map != null) {
             try {
-                value = mapper.writeValueAsBytes(map);
+                value = envelope.encode(mapper.writeValueAsBytes(map));
             } catch (JsonProcessingException e) {
                 log.error("error converting map: {}", e.getMessage());
             }
@@ -66,7 +82,7 @@ public class MapToCborAttributeConverter implements AttributeConverter<Map<Strin
 
         if (source != null) {
             try {
-                value = mapper.readValue(source, typeRef);
+                value = mapper.readValue(BinaryEnvelope.decode(source), typeRef);
             } catch (IOException e) {
                 log.error("error reading map from bytes: {}", e.getMessage());
             }
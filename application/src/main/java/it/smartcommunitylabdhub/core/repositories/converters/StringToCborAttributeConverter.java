@@ -30,7 +30,9 @@ import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import java.io.IOException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
 
 @Slf4j
 @Component("cborStringConverter")
@@ -39,12 +41,20 @@ public class StringToCborAttributeConverter implements AttributeConverter<String
 
     private static final ObjectMapper mapper = JacksonMapper.CBOR_OBJECT_MAPPER;
 
+    private BinaryEnvelope envelope = new BinaryEnvelope();
+
+    @Autowired(required = false)
+    public void setEnvelope(BinaryEnvelope envelope) {
+        Assert.notNull(envelope, "envelope can not be null");
+        this.envelope = envelope;
+    }
+
     @Override
     public byte[] convertToDatabaseColumn(String value) {
         byte[] bytes = null;
         if (value != null) {
             try {
-                bytes = mapper.writeValueAsBytes(value);
+                bytes = envelope.encode(mapper.writeValueAsBytes(value));
             } catch (JsonProcessingException e) {
                 log.error("error converting string: {}", e.getMessage());
             }
@@ -59,7 +69,7 @@ public class StringToCborAttributeConverter implements AttributeConverter<String
 
         if (bytes != null) {
             try {
-                value = mapper.readValue(bytes, String.class);
+                value = mapper.readValue(BinaryEnvelope.decode(bytes), String.class);
             } catch (IOException e) {
                 log.error("error reading string from bytes: {}", e.getMessage());
             }
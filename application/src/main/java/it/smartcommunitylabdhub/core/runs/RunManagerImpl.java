@@ -55,6 +55,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
@@ -155,6 +157,34 @@ public class RunManagerImpl implements RunManager {
         }
     }
 
+    @Override
+    public Window<Run> searchRuns(ScrollPosition position, int size, @Nullable SearchFilter<Run> filter) {
+        log.debug("list runs after {} size {}, filter {}", position, size, String.valueOf(filter));
+        try {
+            return entityService.search(filter, position, size);
+        } catch (StoreException e) {
+            log.error("store error: {}", e.getMessage());
+            throw new SystemException(e.getMessage());
+        }
+    }
+
+    @Override
+    public Window<Run> searchRunsByProject(
+        @NotNull String project,
+        ScrollPosition position,
+        int size,
+        @Nullable SearchFilter<Run> filter
+    ) {
+        log.debug("list runs for project {} with {} after {} size {}", project, String.valueOf(filter), position, size);
+
+        try {
+            return entityService.searchByProject(project, filter, position, size);
+        } catch (StoreException e) {
+            log.error("store error: {}", e.getMessage());
+            throw new SystemException(e.getMessage());
+        }
+    }
+
     @Override
     public List<Run> getRunsByTaskId(@NotNull String taskId) {
         log.debug("list runs for task {}", taskId);
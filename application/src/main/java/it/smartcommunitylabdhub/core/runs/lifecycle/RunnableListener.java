@@ -23,21 +23,24 @@
 
 package it.smartcommunitylabdhub.core.runs.lifecycle;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.infrastructure.RunRunnable;
 import it.smartcommunitylabdhub.commons.models.run.Run;
 import it.smartcommunitylabdhub.commons.services.RunManager;
 import it.smartcommunitylabdhub.commons.services.RunnableStore;
+import it.smartcommunitylabdhub.core.utils.KeyPartitionedExecutor;
 import it.smartcommunitylabdhub.runtimes.events.RunnableChangedEvent;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiConsumer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -47,25 +50,33 @@ import org.springframework.util.Assert;
 
 @Component
 @Slf4j
-public class RunnableListener {
+public class RunnableListener implements MeterBinder, DisposableBean {
 
     private final RunManager runService;
     private final KindAwareRunLifecycleManager runManager;
-    private final ThreadPoolTaskExecutor executor;
+    private final KeyPartitionedExecutor executor;
     private Collection<RunnableStore<?>> stores = Collections.emptyList();
 
-    public RunnableListener(RunManager runService, KindAwareRunLifecycleManager runManager) {
+    public RunnableListener(
+        RunManager runService,
+        KindAwareRunLifecycleManager runManager,
+        @Value("${runs.listener.lanes}") Integer lanes,
+        @Value("${runs.listener.capacity}") Integer capacity,
+        @Value("${runs.listener.timeout}") Long timeout
+    ) {
         Assert.notNull(runManager, "run manager is required");
         Assert.notNull(runService, "run service is required");
         this.runService = runService;
         this.runManager = runManager;
 
-        //create local executor pool to delegate+inject user context in async tasks
-        executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setThreadNamePrefix("runlm-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        executor.initialize();
+        //create local executor lanes: events for the same run are handled in order on a single lane
+        executor =
+            new KeyPartitionedExecutor(
+                "runlm",
+                lanes != null && lanes > 0 ? lanes : KeyPartitionedExecutor.DEFAULT_LANES,
+                capacity != null && capacity > 0 ? capacity : KeyPartitionedExecutor.DEFAULT_CAPACITY,
+                timeout != null && timeout >= 0 ? timeout : KeyPartitionedExecutor.DEFAULT_TIMEOUT
+            );
     }
 
     @Autowired(required = false)
@@ -92,14 +103,13 @@ public class RunnableListener {
                 () -> lambda.accept(run, runnable),
                 new TransientSecurityContext(auth)
             );
-            executor.execute(wrapped);
+            wrapped.run();
         } else {
             //run as system
-            executor.execute(() -> lambda.accept(run, runnable));
+            lambda.accept(run, runnable);
         }
     }
 
-    @Async
     @EventListener
     public void receive(RunnableChangedEvent<RunRunnable> event) {
         if (event.getState() == null) {
@@ -111,6 +121,16 @@ public class RunnableListener {
             log.trace("event: {}", event);
         }
 
+        //dispatch to the lane of the run, preserving event order per run
+        try {
+            executor.execute(event.getId(), () -> handle(event));
+        } catch (RejectedExecutionException e) {
+            //lanes block when full and reject only once shut down
+            log.error("Runnable changed event for run {} not handled: {}", event.getId(), e.getMessage());
+        }
+    }
+
+    private void handle(RunnableChangedEvent<RunRunnable> event) {
         try {
             //read event
             String id = event.getId();
@@ -162,4 +182,14 @@ public class RunnableListener {
             log.error("Error handling runnable changed event: {}", e.getMessage(), e);
         }
     }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        executor.bindTo(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
 }
@@ -25,6 +25,7 @@ package it.smartcommunitylabdhub.core.runs.listeners;
 
 import it.smartcommunitylabdhub.commons.models.run.Run;
 import it.smartcommunitylabdhub.core.events.AbstractEntityListener;
+import it.smartcommunitylabdhub.core.events.BulkEntityEvent;
 import it.smartcommunitylabdhub.core.events.EntityEvent;
 import it.smartcommunitylabdhub.core.runs.persistence.RunEntity;
 import lombok.extern.slf4j.Slf4j;
@@ -80,4 +81,15 @@ public class RunEntityListener extends AbstractEntityListener<RunEntity, Run> {
             }
         }
     }
+
+    @Async
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void receive(BulkEntityEvent<RunEntity> event) {
+        //handle
+        super.handle(event);
+
+        //broadcast and notify every entity removed
+        super.broadcast(event);
+    }
 }
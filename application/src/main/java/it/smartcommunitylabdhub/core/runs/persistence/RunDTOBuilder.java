@@ -25,9 +25,9 @@ package it.smartcommunitylabdhub.core.runs.persistence;
 
 import it.smartcommunitylabdhub.commons.accessors.spec.RunSpecAccessor;
 import it.smartcommunitylabdhub.commons.models.run.Run;
-import it.smartcommunitylabdhub.commons.utils.MapUtils;
 import it.smartcommunitylabdhub.core.metadata.AuditMetadataBuilder;
 import it.smartcommunitylabdhub.core.metadata.BaseMetadataBuilder;
+import it.smartcommunitylabdhub.core.repositories.converters.LazyMap;
 import jakarta.persistence.AttributeConverter;
 import java.io.Serializable;
 import java.util.HashMap;
@@ -63,12 +63,12 @@ public class RunDTOBuilder implements Converter<RunEntity, Run> {
     }
 
     public Run build(RunEntity entity) {
-        //extract spec now
-        Map<String, Serializable> spec = converter.convertToEntityAttribute(entity.getSpec());
-        RunSpecAccessor accessor = RunSpecAccessor.with(spec);
+        //spec is decoded on access, ie only when name is missing
+        Map<String, Serializable> spec = LazyMap.of(entity.getSpec(), converter);
         //derive name if missing
         String name = entity.getName();
         if (!StringUtils.hasText(name)) {
+            RunSpecAccessor accessor = RunSpecAccessor.with(spec);
             name = entity.getId();
             if (StringUtils.hasText(accessor.getFunction())) {
                 name = accessor.getFunction() + "/" + entity.getId();
@@ -78,15 +78,13 @@ public class RunDTOBuilder implements Converter<RunEntity, Run> {
             }
         }
 
-        //read metadata map as-is
-        Map<String, Serializable> meta = converter.convertToEntityAttribute(entity.getMetadata());
+        //derived metadata is resolved now, stored metadata is decoded on access
+        Map<String, Serializable> derived = new HashMap<>();
 
-        // build metadata
-        Map<String, Serializable> metadata = new HashMap<>();
-        metadata.putAll(meta);
+        derived.putAll(baseMetadataBuilder.derive(entity).toMap());
+        Optional.of(auditingMetadataBuilder.convert(entity)).ifPresent(m -> derived.putAll(m.toMap()));
 
-        Optional.of(baseMetadataBuilder.convert(entity)).ifPresent(m -> metadata.putAll(m.toMap()));
-        Optional.of(auditingMetadataBuilder.convert(entity)).ifPresent(m -> metadata.putAll(m.toMap()));
+        Map<String, Serializable> metadata = LazyMap.of(baseMetadataBuilder.decoder(entity), derived);
 
         return Run
             .builder()
@@ -97,12 +95,7 @@ public class RunDTOBuilder implements Converter<RunEntity, Run> {
             .user(entity.getCreatedBy())
             .metadata(metadata)
             .spec(spec)
-            .status(
-                MapUtils.mergeMultipleMaps(
-                    converter.convertToEntityAttribute(entity.getStatus()),
-                    Map.of("state", entity.getState().toString())
-                )
-            )
+            .status(LazyMap.of(entity.getStatus(), converter, Map.of("state", entity.getState().toString())))
             .build();
     }
 
@@ -47,5 +47,9 @@ public class RunnableEntity {
 
     private String clazz;
 
+    private String state;
+
+    private String hash;
+
     private byte[] data;
 }
@@ -28,8 +28,13 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import javax.sql.DataSource;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -41,11 +46,27 @@ import org.springframework.util.Assert;
 public class RunnableRepository {
 
     private static final String INSERT_SQL =
-        "INSERT INTO runnables (id, _user, created, updated, _clazz, _data) VALUES (?, ?, ?, ?, ?, ?)";
-    private static final String UPDATE_SQL = "UPDATE runnables SET _data = ?, updated = ? WHERE id = ? AND _clazz = ?";
+        "INSERT INTO runnables (id, _user, created, updated, _clazz, _state, _hash, _data) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+        "UPDATE runnables SET _data = ?, _state = ?, _hash = ?, updated = ? WHERE id = ? AND _clazz = ?";
+    //write only when content differs from the stored one
+    private static final String UPDATE_CHANGED_SQL =
+        "UPDATE runnables SET _data = ?, _state = ?, _hash = ?, updated = ? WHERE id = ? AND _clazz = ? AND (_hash IS NULL OR _hash <> ?)";
+    private static final String EXISTS_SQL = "SELECT COUNT(id) FROM runnables WHERE id = ? AND _clazz = ?";
+    private static final String UPDATE_STATE_SQL = "UPDATE runnables SET _state = ? WHERE id = ? AND _clazz = ?";
     private static final String SELECT_SQL = "SELECT * FROM runnables WHERE id = ? and _clazz = ?";
     private static final String SELECT_ALL_SQL = "SELECT * FROM runnables WHERE _clazz = ?";
+    //rows written before the introduction of _state are included to be decoded and backfilled
+    private static final String SELECT_BY_STATES_SQL =
+        "SELECT * FROM runnables WHERE _clazz = ? AND (_state IS NULL OR _state IN (%s))";
     private static final String DELETE_SQL = "DELETE FROM runnables WHERE id = ? AND _clazz = ?";
+    //keyset scan over all classes, for maintenance
+    private static final String SELECT_PAGE_SQL = "SELECT * FROM runnables WHERE id > ? ORDER BY id LIMIT ?";
+    //replace encoding only when content is unchanged since read, updated is preserved
+    private static final String UPDATE_DATA_SQL =
+        "UPDATE runnables SET _data = ?, _hash = ? WHERE id = ? AND _clazz = ? AND _hash = ?";
+    private static final String UPDATE_DATA_UNHASHED_SQL =
+        "UPDATE runnables SET _data = ?, _hash = ? WHERE id = ? AND _clazz = ? AND _hash IS NULL";
 
     private final JdbcTemplate jdbcTemplate;
     private RowMapper<RunnableEntity> rowMapper;
@@ -67,12 +88,30 @@ public class RunnableRepository {
 
         jdbcTemplate.update(
             INSERT_SQL,
-            new Object[] { entity.getId(), entity.getUser(), now, now, clazz, lob },
-            new int[] { Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.VARCHAR, Types.BLOB }
+            new Object[] {
+                entity.getId(),
+                entity.getUser(),
+                now,
+                now,
+                clazz,
+                entity.getState(),
+                entity.getHash(),
+                lob,
+            },
+            new int[] {
+                Types.VARCHAR,
+                Types.VARCHAR,
+                Types.TIMESTAMP,
+                Types.TIMESTAMP,
+                Types.VARCHAR,
+                Types.VARCHAR,
+                Types.VARCHAR,
+                Types.BLOB,
+            }
         );
     }
 
-    public void update(String clazz, String id, RunnableEntity entity) {
+    public int update(String clazz, String id, RunnableEntity entity) {
         if (clazz == null || id == null || entity == null) {
             throw new IllegalArgumentException("invalid data");
         }
@@ -80,11 +119,99 @@ public class RunnableRepository {
         Timestamp now = Timestamp.from(Instant.now());
         SqlLobValue lob = new SqlLobValue(entity.getData());
 
-        jdbcTemplate.update(
+        return jdbcTemplate.update(
             UPDATE_SQL,
-            new Object[] { lob, now, id, clazz },
-            new int[] { Types.BLOB, Types.TIMESTAMP, Types.VARCHAR, Types.VARCHAR }
+            new Object[] { lob, entity.getState(), entity.getHash(), now, id, clazz },
+            new int[] { Types.BLOB, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.VARCHAR, Types.VARCHAR }
+        );
+    }
+
+    /*
+     * Insert or update without reading the stored row
+     */
+    public void upsert(String clazz, RunnableEntity entity) {
+        if (clazz == null || entity == null || entity.getId() == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        if (update(clazz, entity.getId(), entity) == 0) {
+            try {
+                save(clazz, entity);
+            } catch (DuplicateKeyException e) {
+                //concurrent insert, update instead
+                update(clazz, entity.getId(), entity);
+            }
+        }
+    }
+
+    /*
+     * Insert or update only when the hash differs from the stored one.
+     * Returns false when the stored row is unchanged
+     */
+    public boolean upsertIfChanged(String clazz, RunnableEntity entity) {
+        if (clazz == null || entity == null || entity.getId() == null || entity.getHash() == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        SqlLobValue lob = new SqlLobValue(entity.getData());
+
+        int count = jdbcTemplate.update(
+            UPDATE_CHANGED_SQL,
+            new Object[] {
+                lob,
+                entity.getState(),
+                entity.getHash(),
+                now,
+                entity.getId(),
+                clazz,
+                entity.getHash(),
+            },
+            new int[] {
+                Types.BLOB,
+                Types.VARCHAR,
+                Types.VARCHAR,
+                Types.TIMESTAMP,
+                Types.VARCHAR,
+                Types.VARCHAR,
+                Types.VARCHAR,
+            }
+        );
+
+        if (count > 0) {
+            return true;
+        }
+
+        if (exists(clazz, entity.getId())) {
+            //unchanged
+            return false;
+        }
+
+        upsert(clazz, entity);
+        return true;
+    }
+
+    public boolean exists(String clazz, String id) {
+        if (clazz == null || id == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        Integer count = jdbcTemplate.queryForObject(
+            EXISTS_SQL,
+            new Object[] { id, clazz },
+            new int[] { Types.VARCHAR, Types.VARCHAR },
+            Integer.class
         );
+
+        return count != null && count > 0;
+    }
+
+    public void updateState(String clazz, String id, String state) {
+        if (clazz == null || id == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        jdbcTemplate.update(UPDATE_STATE_SQL, state, id, clazz);
     }
 
     public RunnableEntity find(String clazz, String id) {
@@ -111,6 +238,23 @@ public class RunnableRepository {
         return jdbcTemplate.query(SELECT_ALL_SQL, new Object[] { clazz }, new int[] { Types.VARCHAR }, rowMapper);
     }
 
+    public List<RunnableEntity> findByStates(String clazz, Collection<String> states) {
+        if (clazz == null || states == null || states.isEmpty()) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        String sql = String.format(SELECT_BY_STATES_SQL, String.join(", ", Collections.nCopies(states.size(), "?")));
+
+        List<Object> args = new ArrayList<>();
+        args.add(clazz);
+        args.addAll(states);
+
+        int[] types = new int[args.size()];
+        Arrays.fill(types, Types.VARCHAR);
+
+        return jdbcTemplate.query(sql, args.toArray(), types, rowMapper);
+    }
+
     public void delete(String clazz, String id) {
         if (clazz == null || id == null) {
             throw new IllegalArgumentException("invalid data");
@@ -119,6 +263,47 @@ public class RunnableRepository {
         jdbcTemplate.update(DELETE_SQL, id, clazz);
     }
 
+    /*
+     * Rows of any class with id after the given one, ordered by id
+     */
+    public List<RunnableEntity> findPage(String after, int limit) {
+        if (after == null || limit <= 0) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        return jdbcTemplate.query(
+            SELECT_PAGE_SQL,
+            new Object[] { after, limit },
+            new int[] { Types.VARCHAR, Types.INTEGER },
+            rowMapper
+        );
+    }
+
+    /*
+     * Replace the stored data with an equivalent encoding, when the row still matches the given hash.
+     * Returns false when the row was changed or removed in the meantime
+     */
+    public boolean rewrite(String clazz, String id, String expected, String hash, byte[] data) {
+        if (clazz == null || id == null || hash == null || data == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        SqlLobValue lob = new SqlLobValue(data);
+        int count = expected != null
+            ? jdbcTemplate.update(
+                UPDATE_DATA_SQL,
+                new Object[] { lob, hash, id, clazz, expected },
+                new int[] { Types.BLOB, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR }
+            )
+            : jdbcTemplate.update(
+                UPDATE_DATA_UNHASHED_SQL,
+                new Object[] { lob, hash, id, clazz },
+                new int[] { Types.BLOB, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR }
+            );
+
+        return count > 0;
+    }
+
     private class RunnableEntityRowMapper implements RowMapper<RunnableEntity> {
 
         @Override
@@ -129,13 +314,15 @@ public class RunnableRepository {
             Timestamp updated = rs.getTimestamp("updated");
 
             String clazz = rs.getString("_clazz");
+            String state = rs.getString("_state");
+            String hash = rs.getString("_hash");
             byte[] data = rs.getBytes("_data");
 
             if (id == null || clazz == null) {
                 return null;
             }
 
-            return new RunnableEntity(id, user, created, updated, clazz, data);
+            return new RunnableEntity(id, user, created, updated, clazz, state, hash, data);
         }
     }
 }
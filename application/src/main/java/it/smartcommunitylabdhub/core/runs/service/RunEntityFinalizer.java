@@ -32,7 +32,7 @@ public class RunEntityFinalizer implements EntityFinalizer<Run>, InitializingBea
 
     private LogService logService;
 
-    //TODO remove metrics
+    //metrics are removed on delete events, see RunMetricsServiceImpl
 
     @Autowired(required = false)
     public void setLogService(LogService logService) {
@@ -23,17 +23,27 @@
 
 package it.smartcommunitylabdhub.core.runs.service;
 
+import it.smartcommunitylabdhub.commons.accessors.fields.StatusFieldAccessor;
 import it.smartcommunitylabdhub.commons.exceptions.DuplicatedEntityException;
 import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.models.run.Run;
+import it.smartcommunitylabdhub.core.queries.specifications.CommonSpecification;
 import it.smartcommunitylabdhub.core.runs.persistence.RunEntity;
 import it.smartcommunitylabdhub.core.services.BaseEntityServiceImpl;
 import it.smartcommunitylabdhub.core.utils.NamesGenerator;
+import it.smartcommunitylabdhub.events.EntityAction;
+import it.smartcommunitylabdhub.events.EntityOperation;
 import it.smartcommunitylabdhub.lifecycle.LifecycleManager;
+import it.smartcommunitylabdhub.runtimes.lifecycle.RunState;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.BindException;
@@ -43,13 +53,27 @@ import org.springframework.validation.BindException;
 @Slf4j
 public class RunEntityServiceImpl extends BaseEntityServiceImpl<Run, RunEntity> {
 
+    //runs in these states hold no resources and can be removed in bulk
+    private static final List<String> SETTLED_STATES = List.of(
+        RunState.CREATED.name(),
+        RunState.COMPLETED.name(),
+        RunState.ERROR.name(),
+        RunState.DELETED.name()
+    );
+
     private NamesGenerator nameGenerator;
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired(required = false)
     public void setNameGenerator(NamesGenerator nameGenerator) {
         this.nameGenerator = nameGenerator;
     }
 
+    @Autowired
+    public void setEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
     @Override
     public Run create(@NotNull Run dto)
         throws IllegalArgumentException, BindException, DuplicatedEntityException, StoreException {
@@ -61,6 +85,41 @@ public class RunEntityServiceImpl extends BaseEntityServiceImpl<Run, RunEntity>
         return super.create(dto);
     }
 
+    @Override
+    public void deleteByProject(@NotNull String project, @Nullable Boolean cascade) throws StoreException {
+        log.debug("delete all runs by project {}", project);
+
+        //active runs are deleted via async event to let manager do cleanups
+        AtomicLong active = new AtomicLong();
+        repository.searchAll(
+            Specification.allOf(CommonSpecification.projectEquals(project), Specification.not(settled())),
+            PAGE_MAX_SIZE,
+            list ->
+                list.forEach(run -> {
+                    active.incrementAndGet();
+                    if (!RunState.DELETING.name().equals(StatusFieldAccessor.with(run.getStatus()).getState())) {
+                        log.debug("publish op: delete for {}", run.getId());
+                        eventPublisher.publishEvent(new EntityOperation<>(run, EntityAction.DELETE));
+                    }
+                })
+        );
+
+        //abort until cleanups are done: removing the project now would race with them
+        if (active.get() > 0) {
+            throw new StoreException(
+                "project " + project + " has " + active.get() + " active runs being deleted, retry once removed"
+            );
+        }
+
+        //settled runs are removed in bulk
+        long count = deleteByProject(project, settled(), cascade);
+        log.debug("deleted {} runs", count);
+    }
+
+    private Specification<RunEntity> settled() {
+        return (root, query, criteriaBuilder) -> root.get("state").in(SETTLED_STATES);
+    }
+
     @Override
     protected LifecycleManager<Run> getLifecycleManager() {
         //disable direct lm access to avoid triggering on externally managed
@@ -21,16 +21,36 @@ import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.exceptions.SystemException;
 import it.smartcommunitylabdhub.commons.models.entities.EntityName;
 import it.smartcommunitylabdhub.commons.models.metrics.Metrics;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsRollup;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSeries;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSummary;
 import it.smartcommunitylabdhub.commons.models.metrics.NumberOrNumberArray;
 import it.smartcommunitylabdhub.commons.models.run.Run;
 import it.smartcommunitylabdhub.commons.services.EntityService;
 import it.smartcommunitylabdhub.commons.services.MetricsService;
+import it.smartcommunitylabdhub.components.cloud.CloudInvalidationEvent;
+import it.smartcommunitylabdhub.core.events.BulkEntityEvent;
+import it.smartcommunitylabdhub.core.events.EntityEvent;
+import it.smartcommunitylabdhub.core.runs.persistence.RunEntity;
+import it.smartcommunitylabdhub.events.EntityAction;
 import it.smartcommunitylabdhub.metrics.MetricsManager;
+import it.smartcommunitylabdhub.metrics.MetricsRollups;
+import it.smartcommunitylabdhub.runtimes.lifecycle.RunState;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -38,14 +58,113 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class RunMetricsServiceImpl implements MetricsService<Run> {
 
+    public static final String CACHE_NAME = "metricsRollups";
+
+    //runs in these states do not record metrics anymore, downsampled views are computed once
+    private static final Set<String> FINAL_STATES = Set.of(
+        RunState.COMPLETED.name(),
+        RunState.ERROR.name(),
+        RunState.STOPPED.name()
+    );
+
     @Autowired
     private EntityService<Run> entityService;
 
     @Autowired
     private MetricsManager metricsManager;
 
+    private CacheManager cacheManager;
+    private AsyncTaskExecutor executor;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired(required = false)
+    public void setCacheManager(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Autowired(required = false)
+    public void setExecutor(@Qualifier("taskExecutor") AsyncTaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Autowired(required = false)
+    public void setEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /*
+     * Precompute rollups when runs reach a final state, drop metrics on removal and evict on every replica
+     */
+    @EventListener
+    public void receive(EntityEvent<RunEntity> event) {
+        RunEntity run = event.getEntity();
+        if (run == null) {
+            return;
+        }
+
+        if (event.getAction() == EntityAction.DELETE) {
+            metricsManager.deleteMetrics(EntityName.RUN.getValue(), List.of(run.getId()));
+        }
+
+        if (cacheManager == null) {
+            return;
+        }
+
+        if (event.getAction() == EntityAction.DELETE) {
+            evict(run.getId());
+        } else if (
+            event.getAction() == EntityAction.UPDATE &&
+            FINAL_STATES.contains(run.getState()) &&
+            (event.getPrev() == null || !FINAL_STATES.contains(event.getPrev().getState()))
+        ) {
+            //state changes are not re-entrant, drop stale views recorded while running
+            evict(run.getId());
+
+            if (executor != null) {
+                String id = run.getId();
+                executor.execute(() -> precompute(id));
+            }
+        }
+    }
+
+    @EventListener
+    public void receive(BulkEntityEvent<RunEntity> event) {
+        if (event.getAction() == EntityAction.DELETE && !event.getIds().isEmpty()) {
+            metricsManager.deleteMetrics(EntityName.RUN.getValue(), event.getIds());
+
+            if (cacheManager != null) {
+                evict(event.getIds());
+            }
+        }
+    }
+
+    @EventListener
+    public void receive(CloudInvalidationEvent event) {
+        if (event.isRemote() && event.getEntity() == EntityName.RUN && cacheManager != null) {
+            event.getIds().forEach(this::evictLocal);
+        }
+    }
+
+    private void precompute(String entityId) {
+        try {
+            for (String name : metricsManager.getSeriesNames(EntityName.RUN.getValue(), entityId)) {
+                cached(entityId, key("rollup", name, null, null, null, null), () ->
+                    metricsManager.getMetricsRollup(EntityName.RUN.getValue(), entityId, name, null, null, null, null)
+                );
+            }
+        } catch (StoreException | SystemException | IllegalArgumentException e) {
+            log.error("error precomputing metrics for run {}: {}", entityId, e.getMessage());
+        }
+    }
+
     @Override
     public Map<String, NumberOrNumberArray> getMetrics(@NotNull String entityId)
+        throws StoreException, SystemException {
+        return getMetrics(entityId, (Integer) null);
+    }
+
+    @Override
+    public Map<String, NumberOrNumberArray> getMetrics(@NotNull String entityId, @Nullable Integer points)
         throws StoreException, SystemException {
         log.debug("fetch all metrics {} for run {}", entityId);
 
@@ -55,19 +174,29 @@ public class RunMetricsServiceImpl implements MetricsService<Run> {
         if (metrics != null) {
             Map<String, NumberOrNumberArray> entityMetrics = metricsManager.getMetrics(
                 EntityName.RUN.getValue(),
-                entityId
+                entityId,
+                points
             );
+            if (points != null) {
+                metrics.replaceAll((k, v) -> v != null ? MetricsRollups.downsample(v, points) : v);
+            }
             for (Map.Entry<String, NumberOrNumberArray> entry : entityMetrics.entrySet()) {
                 if (metrics.containsKey(entry.getKey())) continue;
                 metrics.put(entry.getKey(), entry.getValue());
             }
             return metrics;
         }
-        return metricsManager.getMetrics(EntityName.RUN.getValue(), entityId);
+        return metricsManager.getMetrics(EntityName.RUN.getValue(), entityId, points);
     }
 
     @Override
     public NumberOrNumberArray getMetrics(@NotNull String entityId, @NotNull String name)
+        throws StoreException, SystemException {
+        return getMetrics(entityId, name, null);
+    }
+
+    @Override
+    public NumberOrNumberArray getMetrics(@NotNull String entityId, @NotNull String name, @Nullable Integer points)
         throws StoreException, SystemException {
         log.debug("fetch metric {} for run {}", name, entityId);
         Run entity = entityService.get(entityId);
@@ -75,8 +204,18 @@ public class RunMetricsServiceImpl implements MetricsService<Run> {
         //embedded metrics
         StatusFieldAccessor statusFieldAccessor = StatusFieldAccessor.with(entity.getStatus());
         Map<String, NumberOrNumberArray> metrics = statusFieldAccessor.getMetrics();
-        if ((metrics != null) && metrics.containsKey(name)) return metrics.get(name);
-        return metricsManager.getMetrics(EntityName.RUN.getValue(), entityId, name);
+        if ((metrics != null) && metrics.get(name) != null) {
+            NumberOrNumberArray data = metrics.get(name);
+            return points != null ? MetricsRollups.downsample(data, points) : data;
+        }
+
+        if (points != null && isCacheable(entity)) {
+            return cached(entityId, key("values", name, null, null, null, points), () ->
+                metricsManager.getMetrics(EntityName.RUN.getValue(), entityId, name, points)
+            );
+        }
+
+        return metricsManager.getMetrics(EntityName.RUN.getValue(), entityId, name, points);
     }
 
     @Override
@@ -87,6 +226,157 @@ public class RunMetricsServiceImpl implements MetricsService<Run> {
             log.trace("data: {}", data);
         }
 
+        evictFinal(entityId);
         return metricsManager.saveMetrics(EntityName.RUN.getValue(), entityId, name, data);
     }
+
+    @Override
+    public long appendMetrics(
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long step,
+        @NotNull NumberOrNumberArray data
+    ) throws StoreException, SystemException {
+        log.debug("append metric {} for run {}", name, entityId);
+        if (log.isTraceEnabled()) {
+            log.trace("data: {}", data);
+        }
+
+        evictFinal(entityId);
+        return metricsManager.appendMetrics(EntityName.RUN.getValue(), entityId, name, step, data);
+    }
+
+    @Override
+    public MetricsSeries getMetricsSeries(
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to
+    ) throws StoreException, SystemException {
+        return getMetricsSeries(entityId, name, from, to, null);
+    }
+
+    @Override
+    public MetricsSeries getMetricsSeries(
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to,
+        @Nullable Integer points
+    ) throws StoreException, SystemException {
+        log.debug("fetch metric series {} for run {}", name, entityId);
+        if (points != null && isCacheable(entityService.get(entityId))) {
+            return cached(entityId, key("series", name, from, to, null, points), () ->
+                metricsManager.getMetricsSeries(EntityName.RUN.getValue(), entityId, name, from, to, points)
+            );
+        }
+
+        return metricsManager.getMetricsSeries(EntityName.RUN.getValue(), entityId, name, from, to, points);
+    }
+
+    @Override
+    public MetricsRollup getMetricsRollup(
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to,
+        @Nullable Long resolution,
+        @Nullable Integer points
+    ) throws StoreException, SystemException {
+        log.debug("fetch metric rollup {} for run {}", name, entityId);
+        if (isCacheable(entityService.get(entityId))) {
+            return cached(entityId, key("rollup", name, from, to, resolution, points), () ->
+                metricsManager.getMetricsRollup(EntityName.RUN.getValue(), entityId, name, from, to, resolution, points)
+            );
+        }
+
+        return metricsManager.getMetricsRollup(EntityName.RUN.getValue(), entityId, name, from, to, resolution, points);
+    }
+
+    @Override
+    public MetricsSummary getMetricsSummary(@NotNull String entityId, @NotNull String name)
+        throws StoreException, SystemException {
+        log.debug("fetch metric summary {} for run {}", name, entityId);
+        return metricsManager.getMetricsSummary(EntityName.RUN.getValue(), entityId, name);
+    }
+
+    /*
+     * Cache: one entry per view, keyed by run, generation and view parameters.
+     * Every view is bounded by the cache size, eviction drops the generation of the run:
+     * stale views are never read again and age out.
+     */
+
+    @FunctionalInterface
+    private interface Loader<T> {
+        T load() throws StoreException, SystemException;
+    }
+
+    //views of runs in final states never change
+    private boolean isCacheable(Run run) {
+        return cacheManager != null && FINAL_STATES.contains(StatusFieldAccessor.with(run.getStatus()).getState());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String entityId, String key, Loader<T> loader) throws StoreException, SystemException {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return loader.load();
+        }
+
+        String generation = cache.get(entityId, () -> UUID.randomUUID().toString());
+        String view = String.join("|", entityId, generation, key);
+
+        Cache.ValueWrapper wrapper = cache.get(view);
+        if (wrapper != null && wrapper.get() != null) {
+            return (T) wrapper.get();
+        }
+
+        T value = loader.load();
+        if (value != null) {
+            cache.put(view, value);
+        }
+
+        return value;
+    }
+
+    //writes to runs not in a final state have nothing cached anywhere
+    private void evictFinal(String entityId) throws StoreException {
+        if (cacheManager != null && isCacheable(entityService.get(entityId))) {
+            evict(entityId);
+        }
+    }
+
+    private void evict(String entityId) {
+        evict(List.of(entityId));
+    }
+
+    private void evict(List<String> entityIds) {
+        if (cacheManager != null) {
+            entityIds.forEach(this::evictLocal);
+
+            //forward to other replicas
+            if (eventPublisher != null) {
+                eventPublisher.publishEvent(new CloudInvalidationEvent(EntityName.RUN, entityIds, false));
+            }
+        }
+    }
+
+    private void evictLocal(String entityId) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.evict(entityId);
+        }
+    }
+
+    private static String key(String type, String name, Long from, Long to, Long resolution, Integer points) {
+        return String.join(
+            "|",
+            type,
+            name,
+            String.valueOf(from),
+            String.valueOf(to),
+            String.valueOf(resolution),
+            String.valueOf(points)
+        );
+    }
 }
@@ -24,20 +24,23 @@
 package it.smartcommunitylabdhub.core.runs.store;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.infrastructure.RunRunnable;
 import it.smartcommunitylabdhub.commons.jackson.JacksonMapper;
 import it.smartcommunitylabdhub.commons.services.RunnableStore;
+import it.smartcommunitylabdhub.core.repositories.converters.BinaryEnvelope;
 import it.smartcommunitylabdhub.core.runs.persistence.RunnableEntity;
 import it.smartcommunitylabdhub.core.runs.persistence.RunnableRepository;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ResolvableType;
 import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
 
 @Slf4j
 public class RunnableStoreImpl<T extends RunRunnable> implements RunnableStore<T> {
@@ -45,6 +48,7 @@ public class RunnableStoreImpl<T extends RunRunnable> implements RunnableStore<T
     private final Class<T> clazz;
     private final RunnableRepository runnableRepository;
     private ObjectMapper objectMapper;
+    private BinaryEnvelope envelope = new BinaryEnvelope();
 
     public RunnableStoreImpl(Class<T> clazz, RunnableRepository runnableRepository) {
         this.clazz = clazz;
@@ -59,6 +63,11 @@ public class RunnableStoreImpl<T extends RunRunnable> implements RunnableStore<T
         this.objectMapper = objectMapper;
     }
 
+    public void setEnvelope(BinaryEnvelope envelope) {
+        Assert.notNull(envelope, "envelope can not be null");
+        this.envelope = envelope;
+    }
+
     @Override
     public T find(String id) throws StoreException {
         log.debug("find runnable {} with id {}", clazz.getName(), id);
@@ -69,7 +78,7 @@ public class RunnableStoreImpl<T extends RunRunnable> implements RunnableStore<T
         }
 
         try {
-            return objectMapper.readValue(runnableEntity.getData(), clazz);
+            return read(runnableEntity);
         } catch (IOException ex) {
             // Handle serialization error
             log.error("error deserializing runnable: {}", ex.getMessage());
@@ -86,7 +95,7 @@ public class RunnableStoreImpl<T extends RunRunnable> implements RunnableStore<T
             .stream()
             .map(entity -> {
                 try {
-                    return objectMapper.readValue(entity.getData(), clazz);
+                    return read(entity);
                 } catch (IOException e) {
                     // Handle deserialization error
                     log.error("error deserializing runnable: {}", e.getMessage());
@@ -97,19 +106,63 @@ public class RunnableStoreImpl<T extends RunRunnable> implements RunnableStore<T
             .collect(Collectors.toList());
     }
 
+    @Override
+    public List<T> findByStates(Collection<String> states) {
+        log.debug("find runnable {} with states {}", clazz.getName(), states);
+
+        List<RunnableEntity> entities = runnableRepository.findByStates(clazz.getName(), states);
+        return entities
+            .stream()
+            .map(entity -> {
+                try {
+                    T runnable = read(entity);
+                    if (entity.getState() == null && runnable.getState() != null) {
+                        //backfill state for rows stored before state indexing
+                        runnableRepository.updateState(clazz.getName(), entity.getId(), runnable.getState());
+                    }
+
+                    return runnable;
+                } catch (IOException e) {
+                    // Handle deserialization error
+                    log.error("error deserializing runnable: {}", e.getMessage());
+                    return null;
+                }
+            })
+            .filter(r -> r != null && r.getState() != null && states.contains(r.getState()))
+            .collect(Collectors.toList());
+    }
+
     @Override
     public void store(String id, T e) throws StoreException {
         log.debug("store runnable {} with id {}", clazz.getName(), id);
+        runnableRepository.upsert(clazz.getName(), build(id, e));
+    }
+
+    @Override
+    public boolean storeIfChanged(String id, T e) throws StoreException {
+        log.debug("store runnable {} with id {} if changed", clazz.getName(), id);
+        boolean changed = runnableRepository.upsertIfChanged(clazz.getName(), build(id, e));
+        if (!changed) {
+            log.debug("runnable {} with id {} unchanged", clazz.getName(), id);
+        }
+
+        return changed;
+    }
+
+    private RunnableEntity build(String id, T e) throws StoreException {
         try {
-            byte[] data = objectMapper.writeValueAsBytes(e);
-            RunnableEntity entity = RunnableEntity.builder().id(id).user(e.getUser()).data(data).build();
-
-            Optional
-                .ofNullable(find(id))
-                .ifPresentOrElse(
-                    r -> runnableRepository.update(clazz.getName(), r.getId(), entity),
-                    () -> runnableRepository.save(clazz.getName(), entity)
-                );
+            //sort map keys for a stable serialization, hash identifies the content before encoding
+            byte[] data = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsBytes(e);
+            String hash = DigestUtils.md5DigestAsHex(data);
+
+            return RunnableEntity
+                .builder()
+                .id(id)
+                .user(e.getUser())
+                .state(e.getState())
+                .hash(hash)
+                .data(envelope.encode(data))
+                .build();
         } catch (IOException ex) {
             // Handle serialization error
             log.error("error deserializing runnable: {}", ex.getMessage());
@@ -117,6 +170,11 @@ public class RunnableStoreImpl<T extends RunRunnable> implements RunnableStore<T
         }
     }
 
+    private T read(RunnableEntity entity) throws IOException {
+        //legacy rows are stored without envelope
+        return objectMapper.readValue(BinaryEnvelope.decode(entity.getData()), clazz);
+    }
+
     @Override
     public void remove(String id) throws StoreException {
         log.debug("remove runnable {} with id {}", clazz.getName(), id);
@@ -0,0 +1,317 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.schema;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import it.smartcommunitylabdhub.core.logs.persistence.LogEntity;
+import it.smartcommunitylabdhub.core.persistence.BaseEntity;
+import it.smartcommunitylabdhub.core.persistence.SpecEntity;
+import it.smartcommunitylabdhub.core.persistence.StatusEntity;
+import it.smartcommunitylabdhub.core.repositories.converters.BinaryEnvelope;
+import it.smartcommunitylabdhub.core.runs.persistence.RunnableEntity;
+import it.smartcommunitylabdhub.core.runs.persistence.RunnableRepository;
+import it.smartcommunitylabdhub.core.schema.persistence.DataMigrationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.support.SqlLobValue;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+/*
+ * Background rewrite of blobs stored before the binary envelope, disabled by default: enable on a single replica.
+ * Rows are scanned by id in batches and rewritten only when unchanged since read, leaving audit fields untouched:
+ * the job is safe to run concurrently with writes. Each table is recorded as a data migration once fully scanned,
+ * so completed tables are skipped on restart and an interrupted table is scanned again.
+ */
+@Slf4j
+@Component
+public class BlobRewriter implements MeterBinder {
+
+    private static final int BATCH_SIZE = 100;
+    private static final String MIGRATION_PREFIX = "blobs_envelope_";
+
+    //blob columns, by the interface declaring them
+    private static final Map<Class<?>, String> COLUMNS = Map.of(
+        BaseEntity.class,
+        "metadata",
+        SpecEntity.class,
+        "spec",
+        StatusEntity.class,
+        "status",
+        LogEntity.class,
+        "content"
+    );
+
+    private static final String SELECT_SQL = "SELECT id, updated, %s FROM %s WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE_SQL = "UPDATE %s SET %s WHERE id = ? AND updated = ?";
+    private static final String UPDATE_UNDATED_SQL = "UPDATE %s SET %s WHERE id = ? AND updated IS NULL";
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final RunnableRepository runnableRepository;
+    private final BinaryEnvelope envelope;
+    private final DataMigrationRepository migrationRepository;
+
+    private AsyncTaskExecutor executor;
+    private boolean enabled = false;
+
+    private final AtomicLong rewritten = new AtomicLong();
+
+    public BlobRewriter(
+        DataSource dataSource,
+        EntityManagerFactory entityManagerFactory,
+        RunnableRepository runnableRepository,
+        BinaryEnvelope envelope,
+        DataMigrationRepository migrationRepository
+    ) {
+        Assert.notNull(dataSource, "DataSource required");
+        Assert.notNull(entityManagerFactory, "entity manager factory required");
+        Assert.notNull(runnableRepository, "runnable repository required");
+        Assert.notNull(envelope, "envelope required");
+        Assert.notNull(migrationRepository, "migration repository required");
+
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.runnableRepository = runnableRepository;
+        this.envelope = envelope;
+        this.migrationRepository = migrationRepository;
+    }
+
+    @Autowired
+    public void setEnabled(@Value("${jdbc.blobs.rewrite}") Boolean enabled) {
+        this.enabled = Boolean.TRUE.equals(enabled);
+    }
+
+    @Autowired
+    public void setExecutor(@Qualifier("taskExecutor") AsyncTaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.debug("blob rewrite disabled");
+            return;
+        }
+
+        if (!envelope.isEnabled()) {
+            log.warn("blob rewrite requires envelope writes, skip");
+            return;
+        }
+
+        //run in background, startup is not delayed
+        executor.execute(this::rewrite);
+    }
+
+    private void rewrite() {
+        log.info("rewrite legacy blobs");
+        long count = 0;
+
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            for (Map.Entry<String, List<String>> table : tables().entrySet()) {
+                String migration = MIGRATION_PREFIX + table.getKey();
+                if (!migrationRepository.isCompleted(migration)) {
+                    count += rewriteTable(jdbcTemplate, table.getKey(), table.getValue());
+                    migrationRepository.complete(migration);
+                }
+            }
+
+            String migration = MIGRATION_PREFIX + "runnables";
+            if (!migrationRepository.isCompleted(migration)) {
+                count += rewriteRunnables();
+                migrationRepository.complete(migration);
+            }
+        } catch (DataAccessException e) {
+            log.error("error rewriting legacy blobs: {}", e.getMessage());
+        }
+
+        log.info("rewritten {} legacy blobs", count);
+    }
+
+    private Map<String, List<String>> tables() {
+        Map<String, List<String>> tables = new LinkedHashMap<>();
+        for (EntityType<?> type : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> clazz = type.getJavaType();
+            Table table = AnnotationUtils.findAnnotation(clazz, Table.class);
+            if (table == null || !StringUtils.hasText(table.name())) {
+                continue;
+            }
+
+            List<String> columns = COLUMNS
+                .entrySet()
+                .stream()
+                .filter(e -> e.getKey().isAssignableFrom(clazz))
+                .map(Map.Entry::getValue)
+                .sorted()
+                .toList();
+            if (!columns.isEmpty()) {
+                tables.put(table.name(), columns);
+            }
+        }
+
+        return tables;
+    }
+
+    private long rewriteTable(JdbcTemplate jdbcTemplate, String table, List<String> columns) {
+        log.debug("rewrite legacy blobs for {}", table);
+
+        String select = String.format(SELECT_SQL, String.join(", ", columns), table);
+        long count = 0;
+        String last = "";
+
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(select, last, BATCH_SIZE);
+            for (Map<String, Object> row : rows) {
+                last = (String) row.get("id");
+
+                //collect legacy values only
+                Map<String, byte[]> values = new LinkedHashMap<>();
+                for (String column : columns) {
+                    if (row.get(column) instanceof byte[] value && !BinaryEnvelope.isEnveloped(value)) {
+                        values.put(column, envelope.encode(value));
+                    }
+                }
+
+                if (values.isEmpty()) {
+                    continue;
+                }
+
+                //compare with the value as read, whatever the driver type
+                Object updated = row.get("updated");
+                String set = String.join(", ", values.keySet().stream().map(c -> c + " = ?").toList());
+
+                List<Object> args = new ArrayList<>();
+                List<Integer> types = new ArrayList<>();
+                values
+                    .values()
+                    .forEach(v -> {
+                        args.add(new SqlLobValue(v));
+                        types.add(Types.BLOB);
+                    });
+                args.add(last);
+                types.add(Types.VARCHAR);
+                if (updated != null) {
+                    args.add(updated);
+                    types.add(SqlTypeValue.TYPE_UNKNOWN);
+                }
+
+                //rows updated in the meantime have been written with the envelope already
+                int updates = jdbcTemplate.update(
+                    String.format(updated != null ? UPDATE_SQL : UPDATE_UNDATED_SQL, table, set),
+                    args.toArray(),
+                    types.stream().mapToInt(Integer::intValue).toArray()
+                );
+                if (updates > 0) {
+                    count += values.size();
+                    rewritten.addAndGet(values.size());
+                }
+            }
+
+            if (rows.size() < BATCH_SIZE) {
+                break;
+            }
+        }
+
+        if (count > 0) {
+            log.debug("rewritten {} legacy blobs for {}", count, table);
+        }
+
+        return count;
+    }
+
+    private long rewriteRunnables() {
+        log.debug("rewrite legacy runnables");
+
+        long count = 0;
+        String last = "";
+
+        while (true) {
+            List<RunnableEntity> entities = runnableRepository.findPage(last, BATCH_SIZE);
+            for (RunnableEntity entity : entities) {
+                if (entity == null) {
+                    continue;
+                }
+
+                last = entity.getId();
+                byte[] data = entity.getData();
+                if (data == null || BinaryEnvelope.isEnveloped(data)) {
+                    continue;
+                }
+
+                //hash identifies the content before encoding, backfill when missing
+                String hash = entity.getHash() != null ? entity.getHash() : DigestUtils.md5DigestAsHex(data);
+                if (
+                    runnableRepository.rewrite(
+                        entity.getClazz(),
+                        entity.getId(),
+                        entity.getHash(),
+                        hash,
+                        envelope.encode(data)
+                    )
+                ) {
+                    count++;
+                    rewritten.incrementAndGet();
+                }
+            }
+
+            if (entities.size() < BATCH_SIZE) {
+                break;
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge
+            .builder("core.blobs.rewritten", rewritten, AtomicLong::get)
+            .description("Legacy blobs rewritten with the binary envelope")
+            .register(registry);
+    }
+}
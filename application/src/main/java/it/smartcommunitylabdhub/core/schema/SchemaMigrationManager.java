@@ -0,0 +1,255 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.schema;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import it.smartcommunitylabdhub.core.schema.persistence.SchemaMigrationRepository;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+
+/*
+ * Versioned schema migrations for tables managed by JPA.
+ * Scripts are applied in order once all singletons (and thus the schema) are ready, before serving requests.
+ * Indexes declared by migrations are checked against the database at startup.
+ */
+@Slf4j
+@Component
+public class SchemaMigrationManager implements SmartInitializingSingleton, MeterBinder {
+
+    private static final Pattern SCRIPT_PATTERN = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final Pattern INDEX_PATTERN = Pattern.compile(
+        "CREATE\\s+INDEX\\s+IF\\s+NOT\\s+EXISTS\\s+(\\w+)\\s+ON\\s+(?:\\w+\\.)?(\\w+)",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    private final DataSource dataSource;
+    private final SchemaMigrationRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+    private boolean enabled = true;
+    private String location;
+
+    private final AtomicInteger version = new AtomicInteger();
+    private final AtomicInteger missing = new AtomicInteger();
+
+    public SchemaMigrationManager(
+        DataSource dataSource,
+        SchemaMigrationRepository repository,
+        PlatformTransactionManager transactionManager
+    ) {
+        Assert.notNull(dataSource, "DataSource required");
+        Assert.notNull(repository, "repository required");
+        Assert.notNull(transactionManager, "transaction manager required");
+
+        this.dataSource = dataSource;
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Autowired
+    public void setEnabled(@Value("${jdbc.migrations.enable}") Boolean enabled) {
+        this.enabled = Boolean.TRUE.equals(enabled);
+    }
+
+    @Autowired
+    public void setLocation(@Value("${jdbc.migrations.location}") String location) {
+        this.location = location;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled || location == null) {
+            log.info("schema migrations disabled");
+            return;
+        }
+
+        List<Migration> migrations = load();
+        migrate(migrations);
+        check(migrations);
+    }
+
+    private List<Migration> load() {
+        try {
+            List<Migration> migrations = new ArrayList<>();
+            for (Resource resource : resolver.getResources(location + "/V*__*.sql")) {
+                Matcher matcher = SCRIPT_PATTERN.matcher(String.valueOf(resource.getFilename()));
+                if (!matcher.matches()) {
+                    log.warn("invalid migration name {}, skip", resource.getFilename());
+                    continue;
+                }
+
+                String content = resource.getContentAsString(StandardCharsets.UTF_8);
+                migrations.add(
+                    new Migration(
+                        Integer.parseInt(matcher.group(1)),
+                        matcher.group(2).replace('_', ' '),
+                        resource,
+                        content,
+                        DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8))
+                    )
+                );
+            }
+
+            migrations.sort(Comparator.comparingInt(Migration::version));
+            return migrations;
+        } catch (IOException e) {
+            throw new IllegalStateException("error reading schema migrations: " + e.getMessage());
+        }
+    }
+
+    private void migrate(List<Migration> migrations) {
+        Map<Integer, String> applied = repository.findApplied();
+
+        for (Migration migration : migrations) {
+            if (applied.containsKey(migration.version())) {
+                if (!migration.checksum().equals(applied.get(migration.version()))) {
+                    log.warn("schema migration {} changed after being applied", migration.version());
+                }
+
+                continue;
+            }
+
+            log.info("apply schema migration {}: {}", migration.version(), migration.description());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Connection connection = DataSourceUtils.getConnection(dataSource);
+                    ScriptUtils.executeSqlScript(
+                        connection,
+                        new EncodedResource(migration.resource(), StandardCharsets.UTF_8)
+                    );
+
+                    repository.save(migration.version(), migration.description(), migration.checksum());
+                });
+            } catch (DuplicateKeyException e) {
+                //applied concurrently by another replica
+                log.debug("schema migration {} already applied", migration.version());
+            } catch (RuntimeException e) {
+                log.error("error applying schema migration {}: {}", migration.version(), e.getMessage());
+                throw new IllegalStateException("schema migration " + migration.version() + " failed", e);
+            }
+        }
+
+        version.set(repository.findApplied().keySet().stream().mapToInt(Integer::intValue).max().orElse(0));
+        log.debug("schema version {}", version.get());
+    }
+
+    private void check(List<Migration> migrations) {
+        //collect indexes declared by migrations, grouped by table
+        Map<String, Set<String>> expected = new LinkedHashMap<>();
+        for (Migration migration : migrations) {
+            Matcher matcher = INDEX_PATTERN.matcher(migration.content());
+            while (matcher.find()) {
+                expected
+                    .computeIfAbsent(matcher.group(2).toLowerCase(), k -> new HashSet<>())
+                    .add(matcher.group(1).toLowerCase());
+            }
+        }
+
+        int count = 0;
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, Set<String>> entry : expected.entrySet()) {
+                String table = metaData.storesUpperCaseIdentifiers()
+                    ? entry.getKey().toUpperCase()
+                    : entry.getKey();
+
+                Set<String> found = new HashSet<>();
+                try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, true)) {
+                    while (rs.next()) {
+                        String name = rs.getString("INDEX_NAME");
+                        if (name != null) {
+                            found.add(name.toLowerCase());
+                        }
+                    }
+                }
+
+                for (String index : entry.getValue()) {
+                    if (!found.contains(index)) {
+                        log.warn("missing index {} on table {}", index, entry.getKey());
+                        count++;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.error("error checking schema indexes: {}", e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        missing.set(count);
+        if (count == 0) {
+            log.info("schema indexes verified");
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge
+            .builder("core.schema.version", version, AtomicInteger::get)
+            .description("Latest applied schema migration")
+            .register(registry);
+
+        Gauge
+            .builder("core.schema.indexes.missing", missing, AtomicInteger::get)
+            .description("Number of indexes declared by migrations missing from the database")
+            .register(registry);
+    }
+
+    private record Migration(int version, String description, Resource resource, String content, String checksum) {}
+}
@@ -0,0 +1,72 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.schema.persistence;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import javax.sql.DataSource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+/*
+ * Completion records for one-shot data migrations (backfills, rewrites) run by the application.
+ * A migration is recorded only once fully completed, so an interrupted run is repeated on next startup.
+ */
+@Repository
+public class DataMigrationRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO data_migrations (name, completed) VALUES (?, ?)";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM data_migrations WHERE name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DataMigrationRepository(DataSource dataSource) {
+        Assert.notNull(dataSource, "DataSource required");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public boolean isCompleted(String name) {
+        Integer count = jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, name);
+        return count != null && count > 0;
+    }
+
+    public void complete(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        try {
+            jdbcTemplate.update(
+                INSERT_SQL,
+                new Object[] { name, Timestamp.from(Instant.now()) },
+                new int[] { Types.VARCHAR, Types.TIMESTAMP }
+            );
+        } catch (DuplicateKeyException e) {
+            //completed concurrently by another replica
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.schema.persistence;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+@Repository
+public class SchemaMigrationRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO schema_migrations (version, description, checksum, applied) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_SQL = "SELECT version, checksum FROM schema_migrations ORDER BY version";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaMigrationRepository(DataSource dataSource) {
+        Assert.notNull(dataSource, "DataSource required");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public Map<Integer, String> findApplied() {
+        Map<Integer, String> applied = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            applied.put(rs.getInt("version"), rs.getString("checksum"));
+        });
+
+        return applied;
+    }
+
+    public void save(int version, String description, String checksum) {
+        if (description == null || checksum == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        jdbcTemplate.update(
+            INSERT_SQL,
+            new Object[] { version, description, checksum, Timestamp.from(Instant.now()) },
+            new int[] { Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP }
+        );
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.search;
+
+import it.smartcommunitylabdhub.search.service.IndexableEntityService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * Periodic incremental sync of search indexes, covering events lost by listeners or during indexer outages.
+ * Every entity type syncs as an async task from its own watermark.
+ * Disabled by default: each run scans every indexed id, enable on a single replica.
+ */
+@Slf4j
+@Component
+public class IndexSynchronizer {
+
+    @Value("${indexing.sync.enabled}")
+    private boolean enabled;
+
+    private List<IndexableEntityService<?>> services;
+
+    @Autowired(required = false)
+    public void setServices(List<IndexableEntityService<?>> services) {
+        this.services = services;
+    }
+
+    @Scheduled(
+        fixedDelayString = "${indexing.sync.interval}",
+        initialDelayString = "${indexing.sync.interval}",
+        timeUnit = TimeUnit.MILLISECONDS
+    )
+    public void sync() {
+        if (!enabled || services == null) {
+            return;
+        }
+
+        log.debug("sync search indexes");
+        services.forEach(service -> service.syncIndex());
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.search.persistence;
+
+import it.smartcommunitylabdhub.search.indexers.ReindexCheckpoint;
+import it.smartcommunitylabdhub.search.service.ReindexCheckpointStore;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+@Repository
+public class ReindexCheckpointRepository implements ReindexCheckpointStore {
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private static final String SELECT_SQL =
+        "SELECT id, updated, _status, started, finished, _position, _count, _total, _error, watermark, owner FROM reindex_checkpoints";
+    private static final String FIND_SQL = SELECT_SQL + " WHERE id = ?";
+    private static final String FIND_ALL_SQL = SELECT_SQL + " ORDER BY id";
+    private static final String INSERT_SQL =
+        "INSERT INTO reindex_checkpoints (updated, _status, started, finished, _position, _count, _total, _error, watermark, owner, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ABSENT_SQL =
+        "INSERT INTO reindex_checkpoints (updated, _status, started, finished, _position, _count, _total, _error, watermark, owner, id) SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM reindex_checkpoints WHERE id = ?)";
+    private static final String UPDATE_SQL =
+        "UPDATE reindex_checkpoints SET updated = ?, _status = ?, started = ?, finished = ?, _position = ?, _count = ?, _total = ?, _error = ?, watermark = ?, owner = ? WHERE id = ?";
+    private static final String UPDATE_WATERMARK_SQL =
+        "UPDATE reindex_checkpoints SET updated = ?, watermark = ? WHERE id = ? AND (watermark IS NULL OR watermark < ?)";
+    private static final String CLAIM_SQL =
+        "UPDATE reindex_checkpoints SET updated = ?, owner = ?, _status = 'RUNNING' WHERE id = ? AND (_status = 'FAILED' OR (_status = 'RUNNING' AND (owner = ? OR updated IS NULL OR updated < ?)))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RowMapper<ReindexCheckpoint> rowMapper = new ReindexCheckpointRowMapper();
+
+    public ReindexCheckpointRepository(DataSource dataSource) {
+        Assert.notNull(dataSource, "DataSource required");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public ReindexCheckpoint find(String type) {
+        if (type == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        List<ReindexCheckpoint> list = jdbcTemplate.query(FIND_SQL, rowMapper, type);
+        return list.isEmpty() ? null : list.getFirst();
+    }
+
+    @Override
+    public List<ReindexCheckpoint> findAll() {
+        return jdbcTemplate.query(FIND_ALL_SQL, rowMapper);
+    }
+
+    @Override
+    public void save(ReindexCheckpoint checkpoint) {
+        if (checkpoint == null || checkpoint.getType() == null || checkpoint.getStatus() == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        //same argument order for both statements
+        Object[] values = values(checkpoint);
+        int[] types = types();
+
+        int count = jdbcTemplate.update(UPDATE_SQL, values, types);
+        if (count == 0) {
+            jdbcTemplate.update(INSERT_SQL, values, types);
+        }
+    }
+
+    @Override
+    public boolean insert(ReindexCheckpoint checkpoint) {
+        if (checkpoint == null || checkpoint.getType() == null || checkpoint.getStatus() == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        //insert arguments followed by the id for the existence check
+        Object[] values = Arrays.copyOf(values(checkpoint), 12);
+        values[11] = checkpoint.getType();
+        int[] types = Arrays.copyOf(types(), 12);
+        types[11] = Types.VARCHAR;
+
+        try {
+            return jdbcTemplate.update(INSERT_ABSENT_SQL, values, types) > 0;
+        } catch (DuplicateKeyException e) {
+            //inserted concurrently
+            return false;
+        }
+    }
+
+    private Object[] values(ReindexCheckpoint checkpoint) {
+        Timestamp now = Timestamp.from(Instant.now());
+        String error = checkpoint.getError() != null && checkpoint.getError().length() > MAX_ERROR_LENGTH
+            ? checkpoint.getError().substring(0, MAX_ERROR_LENGTH)
+            : checkpoint.getError();
+
+        return new Object[] {
+            now,
+            checkpoint.getStatus().name(),
+            checkpoint.getStarted(),
+            checkpoint.getFinished(),
+            checkpoint.getPosition(),
+            checkpoint.getCount(),
+            checkpoint.getTotal(),
+            error,
+            checkpoint.getWatermark(),
+            checkpoint.getOwner(),
+            checkpoint.getType(),
+        };
+    }
+
+    private int[] types() {
+        return new int[] {
+            Types.TIMESTAMP,
+            Types.VARCHAR,
+            Types.BIGINT,
+            Types.BIGINT,
+            Types.VARCHAR,
+            Types.BIGINT,
+            Types.BIGINT,
+            Types.VARCHAR,
+            Types.BIGINT,
+            Types.VARCHAR,
+            Types.VARCHAR,
+        };
+    }
+
+    @Override
+    public boolean updateWatermark(String type, long watermark) {
+        if (type == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        return (
+            jdbcTemplate.update(
+                UPDATE_WATERMARK_SQL,
+                new Object[] { Timestamp.from(Instant.now()), watermark, type, watermark },
+                new int[] { Types.TIMESTAMP, Types.BIGINT, Types.VARCHAR, Types.BIGINT }
+            ) >
+            0
+        );
+    }
+
+    @Override
+    public boolean claim(String type, String owner, long staleBefore) {
+        if (type == null || owner == null) {
+            throw new IllegalArgumentException("invalid data");
+        }
+
+        //conditional update: concurrent claims are serialized on the row, one wins
+        return (
+            jdbcTemplate.update(
+                CLAIM_SQL,
+                new Object[] {
+                    Timestamp.from(Instant.now()),
+                    owner,
+                    type,
+                    owner,
+                    Timestamp.from(Instant.ofEpochMilli(staleBefore)),
+                },
+                new int[] { Types.TIMESTAMP, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP }
+            ) >
+            0
+        );
+    }
+
+    private static class ReindexCheckpointRowMapper implements RowMapper<ReindexCheckpoint> {
+
+        @Override
+        public ReindexCheckpoint mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return ReindexCheckpoint
+                .builder()
+                .type(rs.getString("id"))
+                .status(ReindexCheckpoint.Status.valueOf(rs.getString("_status")))
+                .started(rs.getLong("started"))
+                .finished(rs.getObject("finished", Long.class))
+                .position(rs.getString("_position"))
+                .count(rs.getLong("_count"))
+                .total(rs.getObject("_total", Long.class))
+                .error(rs.getString("_error"))
+                .watermark(rs.getObject("watermark", Long.class))
+                .owner(rs.getString("owner"))
+                .updated(rs.getTimestamp("updated") != null ? rs.getTimestamp("updated").getTime() : null)
+                .build();
+        }
+    }
+}
@@ -51,6 +51,7 @@ import jakarta.validation.constraints.NotNull;
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -59,6 +60,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.annotation.Transactional;
@@ -451,15 +454,7 @@ public abstract class BaseEntityServiceImpl<D extends BaseDTO & SpecDTO & Status
         log.debug("delete all");
         if (Boolean.TRUE.equals(cascade)) {
             //delete one by one with cascade
-            repository
-                .listAll()
-                .forEach(e -> {
-                    try {
-                        delete(e.getId(), cascade);
-                    } catch (StoreException ex) {
-                        log.error("Error deleting {}: {}", e.getId(), ex.getMessage());
-                    }
-                });
+            deleteAll(Specification.allOf(), cascade);
         } else {
             //bulk delete
             long count = repository.deleteAll();
@@ -467,20 +462,26 @@ public abstract class BaseEntityServiceImpl<D extends BaseDTO & SpecDTO & Status
         }
     }
 
+    private void deleteAll(Specification<E> specification, @Nullable Boolean cascade) throws StoreException {
+        //stream ids only, entities are deleted one by one afterwards
+        List<String> ids = new ArrayList<>();
+        repository.searchAll(specification, PAGE_MAX_SIZE, list -> list.forEach(e -> ids.add(e.getId())));
+
+        ids.forEach(id -> {
+            try {
+                delete(id, cascade);
+            } catch (StoreException ex) {
+                log.error("Error deleting {}: {}", id, ex.getMessage());
+            }
+        });
+    }
+
     @Override
     public void deleteByUser(@NotNull String user, @Nullable Boolean cascade) throws StoreException {
         log.debug("delete all by user {}", user);
         if (Boolean.TRUE.equals(cascade)) {
             //delete one by one with cascade
-            repository
-                .searchAll(CommonSpecification.createdByEquals(user))
-                .forEach(e -> {
-                    try {
-                        delete(e.getId(), cascade);
-                    } catch (StoreException ex) {
-                        log.error("Error deleting {}: {}", e.getId(), ex.getMessage());
-                    }
-                });
+            deleteAll(CommonSpecification.createdByEquals(user), cascade);
         } else {
             //bulk delete
             long count = repository.deleteAll(CommonSpecification.createdByEquals(user));
@@ -491,22 +492,35 @@ public abstract class BaseEntityServiceImpl<D extends BaseDTO & SpecDTO & Status
     @Override
     public void deleteByProject(@NotNull String project, @Nullable Boolean cascade) throws StoreException {
         log.debug("delete all by project {}", project);
-        if (Boolean.TRUE.equals(cascade)) {
-            //delete one by one with cascade
-            repository
-                .searchAll(CommonSpecification.projectEquals(project))
-                .forEach(e -> {
-                    try {
-                        delete(e.getId(), cascade);
-                    } catch (StoreException ex) {
-                        log.error("Error deleting {}: {}", e.getId(), ex.getMessage());
-                    }
-                });
-        } else {
-            //bulk delete
-            long count = repository.deleteAll(CommonSpecification.projectEquals(project));
-            log.debug("deleted {} entities", count);
-        }
+
+        //set-based delete, cascade via finalizer on every batch
+        long count = deleteByProject(project, null, cascade);
+        log.debug("deleted {} entities", count);
+    }
+
+    protected long deleteByProject(
+        @NotNull String project,
+        @Nullable Specification<E> specification,
+        @Nullable Boolean cascade
+    ) throws StoreException {
+        //lifecycle is skipped: entities are removed along with the project
+        return repository.deleteByProject(
+            project,
+            specification,
+            PAGE_MAX_SIZE,
+            list -> {
+                if (Boolean.TRUE.equals(cascade) && getFinalizer() != null) {
+                    list.forEach(dto -> {
+                        try {
+                            //perform gc
+                            getFinalizer().finalize(dto);
+                        } catch (StoreException e) {
+                            log.error("error deleting side effect for {}: {}", dto.getId(), e.getMessage());
+                        }
+                    });
+                }
+            }
+        );
     }
 
     @Override
@@ -514,15 +528,7 @@ public abstract class BaseEntityServiceImpl<D extends BaseDTO & SpecDTO & Status
         log.debug("delete all by kind {}", kind);
         if (Boolean.TRUE.equals(cascade)) {
             //delete one by one with cascade
-            repository
-                .searchAll(CommonSpecification.kindEquals(kind))
-                .forEach(e -> {
-                    try {
-                        delete(e.getId(), cascade);
-                    } catch (StoreException ex) {
-                        log.error("Error deleting {}: {}", e.getId(), ex.getMessage());
-                    }
-                });
+            deleteAll(CommonSpecification.kindEquals(kind), cascade);
         } else {
             //bulk delete
             long count = repository.deleteAll(CommonSpecification.kindEquals(kind));
@@ -622,6 +628,24 @@ public abstract class BaseEntityServiceImpl<D extends BaseDTO & SpecDTO & Status
         return page;
     }
 
+    @Override
+    public Window<D> search(SearchFilter<D> filter, ScrollPosition position, int size) throws StoreException {
+        log.debug("search all after {} by filter", position);
+        if (log.isTraceEnabled()) {
+            log.trace("filter {}", filter);
+        }
+
+        //convert filter
+        SearchFilter<E> ef = filter != null ? getFilterConverter().convert(filter) : null;
+
+        Specification<E> spec = Specification.allOf(ef != null ? ef.toSpecification() : null);
+
+        Window<D> window = repository.search(spec, position, size);
+        log.debug("found {} entities", window.size());
+
+        return window;
+    }
+
     @Override
     public List<D> searchByProject(@NotNull String project, SearchFilter<D> filter) throws StoreException {
         log.debug("search all by filter for project {}", project);
@@ -666,4 +690,31 @@ public abstract class BaseEntityServiceImpl<D extends BaseDTO & SpecDTO & Status
 
         return page;
     }
+
+    @Override
+    public Window<D> searchByProject(
+        @NotNull String project,
+        SearchFilter<D> filter,
+        ScrollPosition position,
+        int size
+    ) throws StoreException {
+        log.debug("search all after {} by filter for project {}", position, project);
+        if (log.isTraceEnabled()) {
+            log.trace("filter {}", filter);
+        }
+
+        //convert filter
+        SearchFilter<E> ef = filter != null ? getFilterConverter().convert(filter) : null;
+
+        //convert filter to spec
+        Specification<E> spec = Specification.allOf(
+            CommonSpecification.projectEquals(project),
+            ef != null ? ef.toSpecification() : null
+        );
+
+        Window<D> window = repository.search(spec, position, size);
+        log.debug("found {} entities", window.size());
+
+        return window;
+    }
 }
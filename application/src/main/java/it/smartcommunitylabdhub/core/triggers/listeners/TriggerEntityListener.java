@@ -25,6 +25,7 @@ package it.smartcommunitylabdhub.core.triggers.listeners;
 
 import it.smartcommunitylabdhub.commons.models.trigger.Trigger;
 import it.smartcommunitylabdhub.core.events.AbstractEntityListener;
+import it.smartcommunitylabdhub.core.events.BulkEntityEvent;
 import it.smartcommunitylabdhub.core.events.EntityEvent;
 import it.smartcommunitylabdhub.core.triggers.persistence.TriggerEntity;
 import lombok.extern.slf4j.Slf4j;
@@ -80,4 +81,15 @@ public class TriggerEntityListener extends AbstractEntityListener<TriggerEntity,
             }
         }
     }
+
+    @Async
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void receive(BulkEntityEvent<TriggerEntity> event) {
+        //handle
+        super.handle(event);
+
+        //broadcast and notify every entity removed
+        super.broadcast(event);
+    }
 }
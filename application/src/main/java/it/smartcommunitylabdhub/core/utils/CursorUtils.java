@@ -0,0 +1,130 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.utils;
+
+import it.smartcommunitylabdhub.core.ApplicationKeys;
+import it.smartcommunitylabdhub.core.persistence.AbstractEntity_;
+import jakarta.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+
+/*
+ * Opaque cursors for keyset positions on `created,id`
+ */
+public class CursorUtils {
+
+    private static final String SEPARATOR = ":";
+
+    public static @Nullable String encode(@Nullable ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+
+        Object created = keyset.getKeys().get(AbstractEntity_.CREATED);
+        Object id = keyset.getKeys().get(AbstractEntity_.ID);
+        if (!(created instanceof Date) || id == null) {
+            throw new IllegalArgumentException("invalid position");
+        }
+
+        String value = ((Date) created).getTime() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static @Nullable String next(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+
+        return encode(window.positionAt(window.size() - 1));
+    }
+
+    /*
+     * Wrap a window as slice: totals are not known in keyset mode, the next cursor is returned as header
+     */
+    public static <T> ResponseEntity<Slice<T>> toResponse(Window<T> window, int size) {
+        Slice<T> slice = new SliceImpl<>(window.getContent(), PageRequest.of(0, size), window.hasNext());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        String next = next(window);
+        if (next != null) {
+            response.header(ApplicationKeys.CURSOR_HEADER, next);
+        }
+
+        return response.body(slice);
+    }
+
+    /*
+     * Keyset pages have a fixed order: only the default created,id desc is accepted
+     */
+    public static void checkSort(@Nullable Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return;
+        }
+
+        if (
+            !sort.equals(Sort.by(Sort.Direction.DESC, AbstractEntity_.CREATED)) &&
+            !sort.equals(Sort.by(Sort.Direction.DESC, AbstractEntity_.CREATED, AbstractEntity_.ID))
+        ) {
+            throw new IllegalArgumentException("cursor pages are ordered by created,id desc: sort not supported");
+        }
+    }
+
+    public static ScrollPosition decode(@Nullable String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            //first page
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int i = value.indexOf(SEPARATOR);
+            if (i <= 0 || i == value.length() - 1) {
+                throw new IllegalArgumentException("invalid cursor");
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(AbstractEntity_.CREATED, new Date(Long.parseLong(value.substring(0, i))));
+            keys.put(AbstractEntity_.ID, value.substring(i + 1));
+
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException e) {
+            //also covers number format errors
+            throw new IllegalArgumentException("invalid cursor");
+        }
+    }
+
+    private CursorUtils() {}
+}
@@ -0,0 +1,237 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.utils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+/**
+ * Executor with a fixed number of single-threaded lanes.
+ *
+ * Tasks are assigned to a lane by hashing their key, so tasks sharing a key run one at a
+ * time in submission order while unrelated keys proceed in parallel on other lanes.
+ * Submitting to a full lane blocks the caller until there is room, tasks are never dropped.
+ * Tasks submitted from a lane thread are always enqueued, beyond capacity when needed,
+ * since a blocked lane could not make room for itself or for another blocked lane.
+ */
+@Slf4j
+public class KeyPartitionedExecutor implements MeterBinder {
+
+    public static final int DEFAULT_LANES = 8;
+    public static final int DEFAULT_CAPACITY = 1000;
+    public static final long DEFAULT_TIMEOUT = 30000L;
+
+    private final String name;
+    private final long timeout;
+    private final ThreadPoolExecutor[] lanes;
+    private final Semaphore[] permits;
+    private final Thread[] threads;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+
+    public KeyPartitionedExecutor(String name, int lanes, int capacity) {
+        this(name, lanes, capacity, DEFAULT_TIMEOUT);
+    }
+
+    /*
+     * Timeout is the interval between warnings while a caller waits for a full lane, 0 waits silently
+     */
+    public KeyPartitionedExecutor(String name, int lanes, int capacity, long timeout) {
+        Assert.hasText(name, "name is required");
+        Assert.isTrue(lanes > 0, "lanes must be greater than 0");
+        Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+        Assert.isTrue(timeout >= 0, "timeout must be positive or 0");
+
+        this.name = name;
+        this.timeout = timeout;
+        this.lanes = new ThreadPoolExecutor[lanes];
+        this.permits = new Semaphore[lanes];
+        this.threads = new Thread[lanes];
+        for (int i = 0; i < lanes; i++) {
+            int lane = i;
+            String threadName = name + "-" + i;
+            //queue is unbounded, capacity is enforced on submit via permits
+            this.permits[i] = new Semaphore(capacity);
+            this.lanes[i] =
+                new ThreadPoolExecutor(
+                    1,
+                    1,
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(),
+                    r -> {
+                        Thread t = new Thread(r, threadName);
+                        t.setDaemon(true);
+                        threads[lane] = t;
+                        return t;
+                    }
+                );
+        }
+    }
+
+    public void execute(String key, Runnable task) {
+        Assert.notNull(task, "task is required");
+        submitted.incrementAndGet();
+
+        int i = lane(key);
+        Semaphore semaphore = permits[i];
+        boolean acquired = isLaneThread() ? semaphore.tryAcquire() : acquire(i);
+        if (!acquired) {
+            //enqueue beyond capacity rather than block a lane or drop the task
+            spilled.incrementAndGet();
+        }
+
+        //permits count queued tasks, released once the task leaves the queue
+        Runnable r = acquired
+            ? () -> {
+                semaphore.release();
+                task.run();
+            }
+            : task;
+
+        try {
+            lanes[i].execute(r);
+        } catch (RejectedExecutionException e) {
+            //shut down
+            if (acquired) {
+                semaphore.release();
+            }
+            throw e;
+        }
+    }
+
+    private boolean acquire(int i) {
+        Semaphore semaphore = permits[i];
+        if (semaphore.tryAcquire()) {
+            return true;
+        }
+
+        blocked.incrementAndGet();
+        try {
+            if (timeout == 0) {
+                semaphore.acquire();
+                return true;
+            }
+
+            long waited = 0;
+            while (!semaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                if (lanes[i].isShutdown()) {
+                    throw new RejectedExecutionException("executor " + name + "-" + i + " is shut down");
+                }
+
+                waited += timeout;
+                log.warn("lane {}-{} is full, waiting for {} ms", name, i, waited);
+            }
+
+            return true;
+        } catch (InterruptedException e) {
+            //keep the task, let the caller observe the interrupt
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean isLaneThread() {
+        Thread current = Thread.currentThread();
+        for (Thread t : threads) {
+            if (t == current) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public int lane(String key) {
+        return key != null ? Math.floorMod(key.hashCode(), lanes.length) : 0;
+    }
+
+    public int getLanes() {
+        return lanes.length;
+    }
+
+    public int getQueueSize() {
+        int size = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            size += lane.getQueue().size();
+        }
+
+        return size;
+    }
+
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < lanes.length; i++) {
+            BlockingQueue<Runnable> queue = lanes[i].getQueue();
+            Gauge
+                .builder("executor.lane.queued", queue, BlockingQueue::size)
+                .tag("name", name)
+                .tag("lane", String.valueOf(i))
+                .description("Number of tasks waiting in the lane")
+                .register(registry);
+        }
+
+        Gauge
+            .builder("executor.queued", this, KeyPartitionedExecutor::getQueueSize)
+            .tag("name", name)
+            .description("Number of tasks waiting in all lanes")
+            .register(registry);
+
+        FunctionCounter
+            .builder("executor.submitted", submitted, AtomicLong::get)
+            .tag("name", name)
+            .description("Number of tasks submitted")
+            .register(registry);
+
+        FunctionCounter
+            .builder("executor.blocked", blocked, AtomicLong::get)
+            .tag("name", name)
+            .description("Number of submits that waited for a full lane")
+            .register(registry);
+
+        FunctionCounter
+            .builder("executor.spilled", spilled, AtomicLong::get)
+            .tag("name", name)
+            .description("Number of tasks enqueued beyond lane capacity")
+            .register(registry);
+    }
+}
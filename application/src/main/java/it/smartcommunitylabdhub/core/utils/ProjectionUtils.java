@@ -0,0 +1,76 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.utils;
+
+import it.smartcommunitylabdhub.commons.models.metadata.MetadataDTO;
+import it.smartcommunitylabdhub.commons.models.specs.SpecDTO;
+import it.smartcommunitylabdhub.commons.models.status.StatusDTO;
+import it.smartcommunitylabdhub.core.repositories.converters.LazyMap;
+import jakarta.annotation.Nullable;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.data.domain.Page;
+
+/*
+ * Lightweight projections for list APIs: spec is dropped, status is reduced to state and
+ * metadata to the entries derived from entity columns, lazily decoded maps are never read
+ */
+public class ProjectionUtils {
+
+    public static final String SUMMARY = "summary";
+
+    public static boolean isSummary(@Nullable String projection) {
+        return SUMMARY.equalsIgnoreCase(projection);
+    }
+
+    public static <T> Page<T> project(Page<T> page, @Nullable String projection) {
+        return isSummary(projection) ? page.map(ProjectionUtils::summary) : page;
+    }
+
+    public static <T> T summary(T dto) {
+        if (dto instanceof SpecDTO s) {
+            s.setSpec(null);
+        }
+
+        if (dto instanceof StatusDTO s && s.getStatus() != null) {
+            Serializable state = s.getStatus().get("state");
+            Map<String, Serializable> status = new HashMap<>();
+            if (state != null) {
+                status.put("state", state);
+            }
+
+            s.setStatus(status);
+        }
+
+        if (dto instanceof MetadataDTO m && m.getMetadata() instanceof LazyMap l && !l.isDecoded()) {
+            //stored metadata (labels, description...) is left out
+            m.setMetadata(l.overlay());
+        }
+
+        return dto;
+    }
+
+    private ProjectionUtils() {}
+}
@@ -29,6 +29,7 @@ import it.smartcommunitylabdhub.commons.models.project.Project;
 import it.smartcommunitylabdhub.commons.models.workflow.Workflow;
 import it.smartcommunitylabdhub.commons.repositories.EntityRepository;
 import it.smartcommunitylabdhub.core.events.AbstractEntityListener;
+import it.smartcommunitylabdhub.core.events.BulkEntityEvent;
 import it.smartcommunitylabdhub.core.events.EntityEvent;
 import it.smartcommunitylabdhub.core.workflows.persistence.WorkflowEntity;
 import lombok.extern.slf4j.Slf4j;
@@ -81,4 +82,12 @@ public class WorkflowEntityListener extends AbstractEntityListener<WorkflowEntit
             }
         }
     }
+
+    @Async
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void receive(BulkEntityEvent<WorkflowEntity> event) {
+        //handle, no per-entity notification for bulk operations
+        super.handle(event);
+    }
 }
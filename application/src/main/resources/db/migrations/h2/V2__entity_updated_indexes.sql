@@ -0,0 +1,6 @@
+-- indexable entities: incremental search sync scans by update time
+CREATE INDEX IF NOT EXISTS artifacts_updated_index ON artifacts (updated);
+CREATE INDEX IF NOT EXISTS dataitems_updated_index ON dataitems (updated);
+CREATE INDEX IF NOT EXISTS models_updated_index ON models (updated);
+CREATE INDEX IF NOT EXISTS functions_updated_index ON functions (updated);
+CREATE INDEX IF NOT EXISTS workflows_updated_index ON workflows (updated);
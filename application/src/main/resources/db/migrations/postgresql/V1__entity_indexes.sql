@@ -0,0 +1,30 @@
+-- versionable entities: listed by project and date, versions by name and date
+CREATE INDEX IF NOT EXISTS artifacts_project_created_index ON public.artifacts (project, created);
+CREATE INDEX IF NOT EXISTS artifacts_project_name_created_index ON public.artifacts (project, name, created);
+CREATE INDEX IF NOT EXISTS dataitems_project_created_index ON public.dataitems (project, created);
+CREATE INDEX IF NOT EXISTS dataitems_project_name_created_index ON public.dataitems (project, name, created);
+CREATE INDEX IF NOT EXISTS models_project_created_index ON public.models (project, created);
+CREATE INDEX IF NOT EXISTS models_project_name_created_index ON public.models (project, name, created);
+CREATE INDEX IF NOT EXISTS functions_project_created_index ON public.functions (project, created);
+CREATE INDEX IF NOT EXISTS functions_project_name_created_index ON public.functions (project, name, created);
+CREATE INDEX IF NOT EXISTS workflows_project_created_index ON public.workflows (project, created);
+CREATE INDEX IF NOT EXISTS workflows_project_name_created_index ON public.workflows (project, name, created);
+
+-- runs: listed by project, looked up by task, function, workflow and state
+CREATE INDEX IF NOT EXISTS runs_project_created_index ON public.runs (project, created);
+CREATE INDEX IF NOT EXISTS runs_task_index ON public.runs (task);
+CREATE INDEX IF NOT EXISTS runs_function_index ON public.runs (function);
+CREATE INDEX IF NOT EXISTS runs_workflow_index ON public.runs (workflow);
+CREATE INDEX IF NOT EXISTS runs_state_index ON public.runs (state);
+
+-- tasks, triggers and logs
+CREATE INDEX IF NOT EXISTS tasks_project_index ON public.tasks (project);
+CREATE INDEX IF NOT EXISTS triggers_project_index ON public.triggers (project);
+CREATE INDEX IF NOT EXISTS logs_project_created_index ON public.logs (project, created);
+CREATE INDEX IF NOT EXISTS logs_run_index ON public.logs (run);
+
+-- metrics and relationships, also declared on entities
+CREATE INDEX IF NOT EXISTS metrics_type_id_index ON public.metrics (entity_name, entity_id);
+CREATE INDEX IF NOT EXISTS relationships_project_index ON public.relationships (project);
+CREATE INDEX IF NOT EXISTS relationships_source_index ON public.relationships (source_id);
+CREATE INDEX IF NOT EXISTS relationships_dest_index ON public.relationships (dest_id);
@@ -0,0 +1,6 @@
+-- indexable entities: incremental search sync scans by update time
+CREATE INDEX IF NOT EXISTS artifacts_updated_index ON public.artifacts (updated);
+CREATE INDEX IF NOT EXISTS dataitems_updated_index ON public.dataitems (updated);
+CREATE INDEX IF NOT EXISTS models_updated_index ON public.models (updated);
+CREATE INDEX IF NOT EXISTS functions_updated_index ON public.functions (updated);
+CREATE INDEX IF NOT EXISTS workflows_updated_index ON public.workflows (updated);
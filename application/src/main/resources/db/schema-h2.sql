@@ -5,10 +5,16 @@ CREATE TABLE
         created TIMESTAMP,
         updated TIMESTAMP,
         _clazz VARCHAR(255),
+        _state VARCHAR(255),
+        _hash VARCHAR(255),
         _data BINARY LARGE OBJECT
     );
 
+ALTER TABLE runnables ADD COLUMN IF NOT EXISTS _state VARCHAR(255);
+ALTER TABLE runnables ADD COLUMN IF NOT EXISTS _hash VARCHAR(255);
+
 CREATE INDEX IF NOT EXISTS runnables_id_index ON runnables (id, _clazz);
+CREATE INDEX IF NOT EXISTS runnables_state_index ON runnables (_clazz, _state);
 
 CREATE TABLE
     IF NOT EXISTS trigger_jobs (
@@ -22,6 +28,63 @@ CREATE TABLE
 
 CREATE INDEX IF NOT EXISTS trigger_jobs_id_index ON trigger_jobs (id, _clazz);
 
+CREATE TABLE
+    IF NOT EXISTS log_segments (
+        _log VARCHAR(255) NOT NULL,
+        _seq BIGINT NOT NULL,
+        _project VARCHAR(255),
+        _run VARCHAR(255),
+        created TIMESTAMP,
+        updated TIMESTAMP,
+        _offset BIGINT NOT NULL,
+        _length INTEGER NOT NULL,
+        _data BINARY LARGE OBJECT,
+        PRIMARY KEY (_log, _seq)
+    );
+
+CREATE INDEX IF NOT EXISTS log_segments_run_index ON log_segments (_run);
+CREATE INDEX IF NOT EXISTS log_segments_project_index ON log_segments (_project);
+
+CREATE TABLE
+    IF NOT EXISTS monitor_replicas (
+        id VARCHAR(255) NOT NULL PRIMARY KEY,
+        created TIMESTAMP,
+        updated TIMESTAMP,
+        expires_at TIMESTAMP
+    );
+
+CREATE TABLE
+    IF NOT EXISTS reindex_checkpoints (
+        id VARCHAR(255) NOT NULL PRIMARY KEY,
+        updated TIMESTAMP,
+        _status VARCHAR(255),
+        started BIGINT,
+        finished BIGINT,
+        _position VARCHAR(255),
+        _count BIGINT,
+        _total BIGINT,
+        _error VARCHAR(1024),
+        watermark BIGINT,
+        owner VARCHAR(255)
+    );
+
+ALTER TABLE reindex_checkpoints ADD COLUMN IF NOT EXISTS watermark BIGINT;
+ALTER TABLE reindex_checkpoints ADD COLUMN IF NOT EXISTS owner VARCHAR(255);
+
+CREATE TABLE
+    IF NOT EXISTS schema_migrations (
+        version INTEGER NOT NULL PRIMARY KEY,
+        description VARCHAR(255),
+        checksum VARCHAR(255),
+        applied TIMESTAMP
+    );
+
+CREATE TABLE
+    IF NOT EXISTS data_migrations (
+        name VARCHAR(255) NOT NULL PRIMARY KEY,
+        completed TIMESTAMP
+    );
+
 CREATE TABLE
     IF NOT EXISTS refresh_tokens (
         id VARCHAR(255) NOT NULL PRIMARY KEY,
@@ -5,10 +5,16 @@ CREATE TABLE
         created TIMESTAMP(6) WITH TIME ZONE,
         updated TIMESTAMP(6) WITH TIME ZONE,
         _clazz VARCHAR(255) NOT NULL,
+        _state VARCHAR(255),
+        _hash VARCHAR(255),
         _data BYTEA
     );
 
+ALTER TABLE public.runnables ADD COLUMN IF NOT EXISTS _state VARCHAR(255);
+ALTER TABLE public.runnables ADD COLUMN IF NOT EXISTS _hash VARCHAR(255);
+
 CREATE INDEX IF NOT EXISTS runnables_id_index ON public.runnables (id, _clazz);
+CREATE INDEX IF NOT EXISTS runnables_state_index ON public.runnables (_clazz, _state);
 
 
 CREATE TABLE
@@ -23,6 +29,63 @@ CREATE TABLE
 
 CREATE INDEX IF NOT EXISTS trigger_jobs_id_index ON public.trigger_jobs (id, _clazz);
 
+CREATE TABLE
+    IF NOT EXISTS public.log_segments (
+        _log VARCHAR(255) NOT NULL,
+        _seq BIGINT NOT NULL,
+        _project VARCHAR(255),
+        _run VARCHAR(255),
+        created TIMESTAMP(6) WITH TIME ZONE,
+        updated TIMESTAMP(6) WITH TIME ZONE,
+        _offset BIGINT NOT NULL,
+        _length INTEGER NOT NULL,
+        _data BYTEA,
+        PRIMARY KEY (_log, _seq)
+    );
+
+CREATE INDEX IF NOT EXISTS log_segments_run_index ON public.log_segments (_run);
+CREATE INDEX IF NOT EXISTS log_segments_project_index ON public.log_segments (_project);
+
+CREATE TABLE
+    IF NOT EXISTS public.monitor_replicas (
+        id VARCHAR(255) NOT NULL PRIMARY KEY,
+        created TIMESTAMP(6) WITH TIME ZONE,
+        updated TIMESTAMP(6) WITH TIME ZONE,
+        expires_at TIMESTAMP(6) WITH TIME ZONE
+    );
+
+CREATE TABLE
+    IF NOT EXISTS public.reindex_checkpoints (
+        id VARCHAR(255) NOT NULL PRIMARY KEY,
+        updated TIMESTAMP(6) WITH TIME ZONE,
+        _status VARCHAR(255),
+        started BIGINT,
+        finished BIGINT,
+        _position VARCHAR(255),
+        _count BIGINT,
+        _total BIGINT,
+        _error VARCHAR(1024),
+        watermark BIGINT,
+        owner VARCHAR(255)
+    );
+
+ALTER TABLE public.reindex_checkpoints ADD COLUMN IF NOT EXISTS watermark BIGINT;
+ALTER TABLE public.reindex_checkpoints ADD COLUMN IF NOT EXISTS owner VARCHAR(255);
+
+CREATE TABLE
+    IF NOT EXISTS public.schema_migrations (
+        version INTEGER NOT NULL PRIMARY KEY,
+        description VARCHAR(255),
+        checksum VARCHAR(255),
+        applied TIMESTAMP(6) WITH TIME ZONE
+    );
+
+CREATE TABLE
+    IF NOT EXISTS public.data_migrations (
+        name VARCHAR(255) NOT NULL PRIMARY KEY,
+        completed TIMESTAMP(6) WITH TIME ZONE
+    );
+
 CREATE TABLE
     IF NOT EXISTS refresh_tokens (
         id VARCHAR(255) NOT NULL PRIMARY KEY,
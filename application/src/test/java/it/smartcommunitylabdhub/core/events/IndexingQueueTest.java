@@ -0,0 +1,266 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.smartcommunitylabdhub.commons.models.artifact.Artifact;
+import it.smartcommunitylabdhub.search.indexers.EntityIndexer;
+import it.smartcommunitylabdhub.search.indexers.IndexField;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+public class IndexingQueueTest {
+
+    //backoff long enough to keep retries pending until an explicit drain
+    private static final long BACKOFF = 60 * 1000L;
+
+    private static Artifact artifact(String id, String name) {
+        return Artifact.builder().id(id).name(name).kind("artifact").project("test").build();
+    }
+
+    private static IndexingQueue queue(boolean enabled, int batch, int capacity, int retries) {
+        return new IndexingQueue(enabled, batch, capacity, retries, BACKOFF);
+    }
+
+    @Test
+    public void coalescesUpdates() {
+        IndexingQueue queue = queue(true, 10, 100, 3);
+        RecordingIndexer indexer = new RecordingIndexer();
+
+        queue.index(indexer, artifact("a", "first"));
+        queue.index(indexer, artifact("a", "second"));
+        queue.index(indexer, artifact("a", "third"));
+        assertTrue(indexer.indexed.isEmpty());
+
+        queue.flush();
+
+        assertEquals(1, indexer.indexed.size());
+        assertEquals(1, indexer.indexed.get(0).size());
+        assertEquals("third", indexer.indexed.get(0).get(0).getName());
+        assertEquals(0, queue.lag());
+    }
+
+    @Test
+    public void removalReplacesPendingUpdate() {
+        IndexingQueue queue = queue(true, 10, 100, 3);
+        RecordingIndexer indexer = new RecordingIndexer();
+
+        queue.index(indexer, artifact("a", "first"));
+        queue.remove(indexer, "a");
+        queue.flush();
+
+        assertTrue(indexer.indexed.isEmpty());
+        assertEquals(List.of(List.of("a")), indexer.removed);
+    }
+
+    @Test
+    public void flushesInBatches() {
+        IndexingQueue queue = queue(true, 2, 100, 3);
+        RecordingIndexer indexer = new RecordingIndexer();
+
+        for (int i = 0; i < 5; i++) {
+            queue.index(indexer, artifact("a" + i, "name"));
+        }
+        queue.flush();
+
+        assertEquals(List.of(2, 2, 1), indexer.indexed.stream().map(List::size).toList());
+    }
+
+    @Test
+    public void appliesDirectlyWhenDisabled() {
+        IndexingQueue queue = queue(false, 10, 100, 3);
+        RecordingIndexer indexer = new RecordingIndexer();
+
+        queue.index(indexer, artifact("a", "first"));
+
+        assertEquals(1, indexer.indexed.size());
+        assertEquals(0, queue.lag());
+    }
+
+    @Test
+    public void appliesDirectlyWhenFull() {
+        IndexingQueue queue = queue(true, 10, 1, 3);
+        RecordingIndexer indexer = new RecordingIndexer();
+
+        queue.index(indexer, artifact("a", "first"));
+        queue.index(indexer, artifact("b", "first"));
+        assertEquals("b", indexer.indexed.get(0).get(0).getId());
+
+        //pending entries still coalesce when full
+        queue.index(indexer, artifact("a", "second"));
+        assertEquals(1, indexer.indexed.size());
+
+        queue.flush();
+        assertEquals("second", indexer.indexed.get(1).get(0).getName());
+    }
+
+    @Test
+    public void retriesFailedBatchesWithBackoff() {
+        IndexingQueue queue = queue(true, 10, 100, 3);
+        RecordingIndexer indexer = new RecordingIndexer();
+        indexer.failures = 1;
+
+        queue.index(indexer, artifact("a", "first"));
+        queue.flush();
+        assertTrue(indexer.indexed.isEmpty());
+
+        //not due yet
+        queue.flush();
+        assertTrue(indexer.indexed.isEmpty());
+
+        //drain ignores backoff
+        queue.destroy();
+        assertEquals(1, indexer.indexed.size());
+        assertEquals(0, queue.lag());
+    }
+
+    @Test
+    public void newerChangeWinsOverRetry() {
+        IndexingQueue queue = queue(true, 10, 100, 3);
+        RecordingIndexer indexer = new RecordingIndexer();
+        indexer.failures = 1;
+
+        queue.index(indexer, artifact("a", "first"));
+        queue.flush();
+        queue.index(indexer, artifact("a", "second"));
+        queue.destroy();
+
+        assertEquals(1, indexer.indexed.size());
+        assertEquals("second", indexer.indexed.get(0).get(0).getName());
+    }
+
+    @Test
+    public void dropsAfterRetries() {
+        IndexingQueue queue = queue(true, 10, 100, 0);
+        RecordingIndexer indexer = new RecordingIndexer();
+        indexer.failures = 1;
+
+        queue.index(indexer, artifact("a", "first"));
+        queue.flush();
+        queue.destroy();
+
+        assertTrue(indexer.indexed.isEmpty());
+        assertEquals(0, queue.lag());
+    }
+
+    @Test
+    public void destroyWaitsForInFlightFlush() throws InterruptedException {
+        IndexingQueue queue = queue(true, 10, 100, 3);
+        RecordingIndexer indexer = new RecordingIndexer();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        indexer.blocking = () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        queue.index(indexer, artifact("a", "first"));
+        Thread flush = new Thread(queue::flush);
+        flush.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        //enqueued while the scheduled flush is still applying
+        queue.index(indexer, artifact("b", "first"));
+        Thread destroy = new Thread(queue::destroy);
+        destroy.start();
+        destroy.join(200);
+        assertTrue(destroy.isAlive());
+
+        release.countDown();
+        destroy.join(5000);
+        flush.join(5000);
+        assertFalse(destroy.isAlive());
+
+        assertEquals(List.of("a", "b"), indexer.indexed.stream().map(l -> l.get(0).getId()).toList());
+        assertEquals(0, queue.lag());
+    }
+
+    private static class RecordingIndexer implements EntityIndexer<Artifact> {
+
+        private final List<List<Artifact>> indexed = new ArrayList<>();
+        private final List<List<String>> removed = new ArrayList<>();
+        private int failures = 0;
+        private Runnable blocking = null;
+
+        @Override
+        public void index(Artifact entity) {
+            indexAll(List.of(entity));
+        }
+
+        @Override
+        public void indexAll(Collection<Artifact> entities) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("index unavailable");
+            }
+
+            if (blocking != null) {
+                Runnable block = blocking;
+                blocking = null;
+                block.run();
+            }
+
+            indexed.add(new ArrayList<>(entities));
+        }
+
+        @Override
+        public Collection<IndexField> fields() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void clearIndex() {}
+
+        @Override
+        public void clearIndexBefore(long timestamp) {}
+
+        @Override
+        public long scanIds(int batch, Consumer<List<String>> consumer) {
+            return 0;
+        }
+
+        @Override
+        public void remove(Artifact entity) {
+            removeAll(List.of(entity.getId()));
+        }
+
+        @Override
+        public void removeAll(Collection<String> ids) {
+            removed.add(new ArrayList<>(ids));
+        }
+    }
+}
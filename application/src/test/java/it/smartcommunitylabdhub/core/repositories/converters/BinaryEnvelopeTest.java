@@ -0,0 +1,147 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.repositories.converters;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class BinaryEnvelopeTest {
+
+    private static byte[] repeated(int length) {
+        byte[] data = new byte[length];
+        Arrays.fill(data, (byte) 'a');
+        return data;
+    }
+
+    @Test
+    public void roundTripSmallValue() throws IOException {
+        BinaryEnvelope envelope = new BinaryEnvelope(true, true, BinaryEnvelope.DEFAULT_THRESHOLD);
+        byte[] data = "{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8);
+
+        byte[] encoded = envelope.encode(data);
+
+        assertTrue(BinaryEnvelope.isEnveloped(encoded));
+        assertEquals(BinaryEnvelope.CODEC_NONE, encoded[2]);
+        assertEquals(data.length + BinaryEnvelope.HEADER_LENGTH, encoded.length);
+        assertArrayEquals(data, BinaryEnvelope.decode(encoded));
+    }
+
+    @Test
+    public void roundTripCompressedValue() throws IOException {
+        BinaryEnvelope envelope = new BinaryEnvelope(true, true, BinaryEnvelope.DEFAULT_THRESHOLD);
+        byte[] data = repeated(BinaryEnvelope.DEFAULT_THRESHOLD * 10);
+
+        byte[] encoded = envelope.encode(data);
+
+        assertEquals(BinaryEnvelope.CODEC_DEFLATE, encoded[2]);
+        assertTrue(encoded.length < data.length);
+        assertArrayEquals(data, BinaryEnvelope.decode(encoded));
+    }
+
+    @Test
+    public void keepsIncompressibleValuesPlain() throws IOException {
+        BinaryEnvelope envelope = new BinaryEnvelope(true, true, 0);
+        byte[] data = new byte[2048];
+        new Random(42).nextBytes(data);
+
+        byte[] encoded = envelope.encode(data);
+
+        assertEquals(BinaryEnvelope.CODEC_NONE, encoded[2]);
+        assertArrayEquals(data, BinaryEnvelope.decode(encoded));
+    }
+
+    @Test
+    public void skipsCompressionWhenDisabled() throws IOException {
+        BinaryEnvelope envelope = new BinaryEnvelope(true, false, 0);
+        byte[] data = repeated(4096);
+
+        byte[] encoded = envelope.encode(data);
+
+        assertEquals(BinaryEnvelope.CODEC_NONE, encoded[2]);
+        assertArrayEquals(data, BinaryEnvelope.decode(encoded));
+    }
+
+    @Test
+    public void writesLegacyFormatWhenDisabled() throws IOException {
+        BinaryEnvelope envelope = new BinaryEnvelope();
+        byte[] data = repeated(4096);
+
+        byte[] encoded = envelope.encode(data);
+
+        assertFalse(BinaryEnvelope.isEnveloped(encoded));
+        assertSame(data, encoded);
+        assertSame(data, BinaryEnvelope.decode(encoded));
+    }
+
+    @Test
+    public void roundTripEmptyAndNull() throws IOException {
+        BinaryEnvelope envelope = new BinaryEnvelope(true, true, BinaryEnvelope.DEFAULT_THRESHOLD);
+
+        assertNull(envelope.encode(null));
+        assertNull(BinaryEnvelope.decode(null));
+        assertArrayEquals(new byte[0], BinaryEnvelope.decode(envelope.encode(new byte[0])));
+    }
+
+    @Test
+    public void decodesLegacyValuesAsIs() throws IOException {
+        //json documents and cbor maps written before the envelope
+        byte[] json = "{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] cbor = new byte[] { (byte) 0xA1, 0x61, 0x6B, 0x61, 0x76 };
+        byte[] shorter = new byte[] { BinaryEnvelope.MARKER, BinaryEnvelope.VERSION };
+
+        assertFalse(BinaryEnvelope.isEnveloped(json));
+        assertSame(json, BinaryEnvelope.decode(json));
+        assertSame(cbor, BinaryEnvelope.decode(cbor));
+        assertSame(shorter, BinaryEnvelope.decode(shorter));
+    }
+
+    @Test
+    public void rejectsUnknownHeaders() {
+        byte[] version = new byte[] { BinaryEnvelope.MARKER, 2, BinaryEnvelope.CODEC_NONE, 1 };
+        byte[] codec = new byte[] { BinaryEnvelope.MARKER, BinaryEnvelope.VERSION, 9, 1 };
+
+        assertThrows(IOException.class, () -> BinaryEnvelope.decode(version));
+        assertThrows(IOException.class, () -> BinaryEnvelope.decode(codec));
+    }
+
+    @Test
+    public void rejectsTruncatedPayloads() {
+        BinaryEnvelope envelope = new BinaryEnvelope(true, true, BinaryEnvelope.DEFAULT_THRESHOLD);
+        byte[] encoded = envelope.encode(repeated(BinaryEnvelope.DEFAULT_THRESHOLD * 10));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+
+        assertThrows(IOException.class, () -> BinaryEnvelope.decode(truncated));
+    }
+}
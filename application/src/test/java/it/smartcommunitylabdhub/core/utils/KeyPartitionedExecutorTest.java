@@ -0,0 +1,135 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+public class KeyPartitionedExecutorTest {
+
+    @Test
+    public void keepsOrderPerKey() throws InterruptedException {
+        KeyPartitionedExecutor executor = new KeyPartitionedExecutor("test", 4, 2);
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            int n = i;
+            executor.execute(
+                "run",
+                () -> {
+                    seen.add(n);
+                    done.countDown();
+                }
+            );
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, seen.get(i));
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void blocksCallerOnFullLane() throws InterruptedException {
+        KeyPartitionedExecutor executor = new KeyPartitionedExecutor("test", 1, 1, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        AtomicBoolean submitted = new AtomicBoolean();
+
+        //first task holds the lane, second fills the queue
+        executor.execute(
+            "a",
+            () -> {
+                await(release);
+                done.countDown();
+            }
+        );
+        executor.execute("a", done::countDown);
+
+        Thread caller = new Thread(() -> {
+            executor.execute("a", done::countDown);
+            submitted.set(true);
+        });
+        caller.start();
+        caller.join(200);
+        assertTrue(!submitted.get());
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(submitted.get());
+        executor.shutdown();
+    }
+
+    @Test
+    public void enqueuesReentrantTasksOnFullLane() throws InterruptedException {
+        KeyPartitionedExecutor executor = new KeyPartitionedExecutor("test", 1, 1, 0);
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+
+        executor.execute(
+            "a",
+            () -> {
+                //lane is full while this task runs: nested tasks are queued, not run inline
+                executor.execute(
+                    "a",
+                    () -> {
+                        seen.add("second");
+                        done.countDown();
+                    }
+                );
+                executor.execute(
+                    "a",
+                    () -> {
+                        seen.add("third");
+                        done.countDown();
+                    }
+                );
+                seen.add("first");
+                done.countDown();
+            }
+        );
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("first", "second", "third"), seen);
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
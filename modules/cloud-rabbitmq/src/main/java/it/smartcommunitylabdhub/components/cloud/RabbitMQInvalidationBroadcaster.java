@@ -0,0 +1,103 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.components.cloud;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.smartcommunitylabdhub.commons.jackson.JacksonMapper;
+import it.smartcommunitylabdhub.commons.models.entities.EntityName;
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exchange cache invalidations between replicas over a fanout exchange.
+ *
+ * Every replica consumes from its own anonymous queue, messages carry the origin so that
+ * invalidations sent by this replica are skipped on receive.
+ */
+@Component
+@ConditionalOnProperty(
+    name = { "event-queue.enabled", "event-queue.services.rabbit.enabled" },
+    havingValue = "true",
+    matchIfMissing = false
+)
+@Slf4j
+public class RabbitMQInvalidationBroadcaster {
+
+    private static final ObjectMapper mapper = JacksonMapper.OBJECT_MAPPER;
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${event-queue.services.rabbit.invalidation-topic}")
+    private String topic;
+
+    public RabbitMQInvalidationBroadcaster(RabbitTemplate rabbitTemplate, ApplicationEventPublisher eventPublisher) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Async
+    @EventListener
+    public void send(CloudInvalidationEvent event) {
+        if (event.isRemote()) {
+            //never forward received invalidations
+            return;
+        }
+
+        try {
+            String message = mapper.writeValueAsString(new Invalidation(origin, event.getEntity(), event.getIds()));
+            rabbitTemplate.convertAndSend(topic, "", message);
+        } catch (JsonProcessingException | AmqpException e) {
+            log.error("Error sending invalidation for {}: {}", event.getEntity(), e.getMessage());
+        }
+    }
+
+    @RabbitListener(queues = "#{invalidationQueue.name}")
+    public void receive(String message) {
+        try {
+            Invalidation invalidation = mapper.readValue(message, Invalidation.class);
+            if (!origin.equals(invalidation.origin()) && invalidation.entity() != null && invalidation.ids() != null) {
+                eventPublisher.publishEvent(new CloudInvalidationEvent(invalidation.entity(), invalidation.ids(), true));
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Error reading invalidation from rabbit: {}", e.getMessage());
+        }
+    }
+
+    private record Invalidation(String origin, EntityName entity, List<String> ids) implements Serializable {}
+}
@@ -24,8 +24,10 @@
 package it.smartcommunitylabdhub.components.cloud.config;
 
 import java.util.Map;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
@@ -53,6 +55,9 @@ public class RabbitMQConfig {
     @Value("${event-queue.services.rabbit.entity-routing-key}")
     private String ENTITY_ROUTING_KEY;
 
+    @Value("${event-queue.services.rabbit.invalidation-topic}")
+    private String INVALIDATION_TOPIC;
+
     @Value("${event-queue.services.rabbit.connection.host}")
     private String HOST;
 
@@ -85,6 +90,22 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(myQueue).to(topicExchange).with(ENTITY_ROUTING_KEY);
     }
 
+    @Bean
+    public FanoutExchange invalidationExchange() {
+        return new FanoutExchange(INVALIDATION_TOPIC, true, false);
+    }
+
+    @Bean
+    public AnonymousQueue invalidationQueue() {
+        //exclusive, auto-delete queue per replica
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding invalidationBinding(AnonymousQueue invalidationQueue, FanoutExchange invalidationExchange) {
+        return BindingBuilder.bind(invalidationQueue).to(invalidationExchange);
+    }
+
     @Bean
     public ConnectionFactory connectionFactory() {
         CachingConnectionFactory connectionFactory = new CachingConnectionFactory();
@@ -29,9 +29,11 @@ import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.models.base.BaseDTO;
 import it.smartcommunitylabdhub.commons.models.entities.EntityName;
 import jakarta.validation.constraints.NotNull;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
 
 public interface EntityRepository<D extends BaseDTO> {
     EntityName getType();
@@ -47,4 +49,19 @@ public interface EntityRepository<D extends BaseDTO> {
 
     List<D> listAll() throws StoreException;
     Page<D> list(Pageable page) throws StoreException;
+
+    /*
+     * Keyset scan ordered by id: entities with id greater than the given one, if any
+     */
+    List<D> listAfter(@Nullable String id, int size) throws StoreException;
+
+    /*
+     * Keyset scan ordered by id, limited to entities updated within [from, to) in ms
+     */
+    List<D> listUpdated(long from, long to, @Nullable String id, int size) throws StoreException;
+
+    /*
+     * Ids among the given ones still stored
+     */
+    List<String> findExisting(Collection<String> ids) throws StoreException;
 }
@@ -33,6 +33,8 @@ import jakarta.validation.constraints.NotNull;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.BindException;
 
@@ -77,4 +79,11 @@ public interface EntityService<D extends BaseDTO> {
 
     List<D> searchByProject(@NotNull String project, SearchFilter<D> filter) throws StoreException;
     Page<D> searchByProject(@NotNull String project, SearchFilter<D> filter, Pageable page) throws StoreException;
+
+    /*
+     * Keyset (cursor) search, ordered by creation date descending, without counting
+     */
+    Window<D> search(SearchFilter<D> filter, ScrollPosition position, int size) throws StoreException;
+    Window<D> searchByProject(@NotNull String project, SearchFilter<D> filter, ScrollPosition position, int size)
+        throws StoreException;
 }
@@ -29,6 +29,7 @@ import it.smartcommunitylabdhub.commons.exceptions.SystemException;
 import it.smartcommunitylabdhub.commons.models.log.Log;
 import it.smartcommunitylabdhub.commons.models.queries.SearchFilter;
 import jakarta.validation.constraints.NotNull;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -128,6 +129,61 @@ public interface LogService {
     Log updateLog(@NotNull String id, @NotNull Log logDTO)
         throws NoSuchEntityException, BindException, IllegalArgumentException, SystemException;
 
+    /**
+     * Append content to a log, at the given byte offset of the full content.
+     * Any content stored past the offset is replaced.
+     * @param id
+     * @param offset
+     * @param content
+     * @return
+     * @throws NoSuchEntityException
+     */
+    default Log appendLog(@NotNull String id, long offset, @NotNull String content)
+        throws NoSuchEntityException, BindException, IllegalArgumentException, SystemException {
+        Log log = getLog(id);
+        byte[] bytes = log.getContent() != null ? log.getContent().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        String prefix = new String(bytes, 0, (int) Math.min(Math.max(offset, 0), bytes.length), StandardCharsets.UTF_8);
+        log.setContent(prefix + content);
+
+        return updateLog(id, log);
+    }
+
+    /**
+     * Read the tail of a log content, up to the given length in bytes
+     * @param id
+     * @param length
+     * @return
+     * @throws NoSuchEntityException
+     */
+    default String readLogTail(@NotNull String id, @Nullable Long length)
+        throws NoSuchEntityException, SystemException {
+        byte[] bytes = content(getLog(id));
+        int from = length != null ? (int) Math.max(bytes.length - length, 0) : 0;
+        return new String(bytes, from, bytes.length - from, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a byte range of a log content, starting at offset up to the given length in bytes
+     * @param id
+     * @param offset
+     * @param length
+     * @return
+     * @throws NoSuchEntityException
+     */
+    default String readLogRange(@NotNull String id, long offset, @Nullable Long length)
+        throws NoSuchEntityException, SystemException {
+        byte[] bytes = content(getLog(id));
+        int from = (int) Math.min(Math.max(offset, 0), bytes.length);
+        int to = length != null ? (int) Math.min(from + Math.max(length, 0), bytes.length) : bytes.length;
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] content(Log log) {
+        return log != null && log.getContent() != null
+            ? log.getContent().getBytes(StandardCharsets.UTF_8)
+            : new byte[0];
+    }
+
     /**
      * Delete a specific log (version) via unique ID
      * @param id
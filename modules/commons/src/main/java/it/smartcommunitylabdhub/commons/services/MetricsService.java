@@ -27,9 +27,13 @@ import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.exceptions.SystemException;
 import it.smartcommunitylabdhub.commons.models.base.BaseDTO;
 import it.smartcommunitylabdhub.commons.models.metrics.Metrics;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsRollup;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSeries;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSummary;
 import it.smartcommunitylabdhub.commons.models.metrics.NumberOrNumberArray;
 import jakarta.validation.constraints.NotNull;
 import java.util.Map;
+import org.springframework.lang.Nullable;
 
 public interface MetricsService<T extends BaseDTO> {
     public Map<String, NumberOrNumberArray> getMetrics(@NotNull String entityId) throws StoreException, SystemException;
@@ -37,6 +41,58 @@ public interface MetricsService<T extends BaseDTO> {
     public NumberOrNumberArray getMetrics(@NotNull String entityId, @NotNull String name)
         throws StoreException, SystemException;
 
+    /*
+     * Downsampled: at most the given number of points per metric, shape preserving
+     */
+
+    public Map<String, NumberOrNumberArray> getMetrics(@NotNull String entityId, @Nullable Integer points)
+        throws StoreException, SystemException;
+
+    public NumberOrNumberArray getMetrics(@NotNull String entityId, @NotNull String name, @Nullable Integer points)
+        throws StoreException, SystemException;
+
     public Metrics saveMetrics(@NotNull String entityId, @NotNull String name, NumberOrNumberArray data)
         throws StoreException, SystemException;
+
+    /*
+     * Series: append-only, ordered by step
+     */
+
+    public long appendMetrics(
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long step,
+        @NotNull NumberOrNumberArray data
+    ) throws StoreException, SystemException;
+
+    public MetricsSeries getMetricsSeries(
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to
+    ) throws StoreException, SystemException;
+
+    public MetricsSeries getMetricsSeries(
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to,
+        @Nullable Integer points
+    ) throws StoreException, SystemException;
+
+    /*
+     * Rollup: min, max, avg and last per bucket of steps
+     */
+
+    public MetricsRollup getMetricsRollup(
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to,
+        @Nullable Long resolution,
+        @Nullable Integer points
+    ) throws StoreException, SystemException;
+
+    public MetricsSummary getMetricsSummary(@NotNull String entityId, @NotNull String name)
+        throws StoreException, SystemException;
 }
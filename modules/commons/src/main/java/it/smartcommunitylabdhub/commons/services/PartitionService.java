@@ -0,0 +1,50 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.commons.services;
+
+import jakarta.validation.constraints.NotNull;
+
+/*
+ * Service for partitioning work across core replicas
+ */
+public interface PartitionService {
+    /**
+     * Check if the current replica owns the given key
+     * @param key
+     * @return
+     */
+    boolean owns(@NotNull String key);
+
+    /**
+     * Index of the current replica among the active ones
+     * @return
+     */
+    int getIndex();
+
+    /**
+     * Number of active replicas
+     * @return
+     */
+    int getSize();
+}
@@ -32,6 +32,8 @@ import jakarta.validation.constraints.NotNull;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.BindException;
 
@@ -97,6 +99,31 @@ public interface RunManager {
     Page<Run> searchRunsByProject(@NotNull String project, Pageable pageable, @Nullable SearchFilter<Run> filter)
         throws SystemException;
 
+    /**
+     * List all runs after the given cursor position, with optional filters
+     * @param position
+     * @param size
+     * @param filter
+     * @return
+     */
+    Window<Run> searchRuns(ScrollPosition position, int size, @Nullable SearchFilter<Run> filter)
+        throws SystemException;
+
+    /**
+     * List the runs for a given project after the given cursor position, with optional filters
+     * @param project
+     * @param position
+     * @param size
+     * @param filter
+     * @return
+     */
+    Window<Run> searchRunsByProject(
+        @NotNull String project,
+        ScrollPosition position,
+        int size,
+        @Nullable SearchFilter<Run> filter
+    ) throws SystemException;
+
     /**
      * Find a specific run via unique ID. Returns null if not found
      *
@@ -26,18 +26,36 @@ package it.smartcommunitylabdhub.commons.services;
 import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.infrastructure.RunRunnable;
 import jakarta.validation.constraints.NotNull;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.core.ResolvableTypeProvider;
 
 public interface RunnableStore<T extends RunRunnable> extends ResolvableTypeProvider {
     void store(@NotNull String id, @NotNull T e) throws StoreException;
 
+    /*
+     * Store the runnable only when its content differs from the stored one.
+     * Returns false when nothing changed and no write was performed
+     */
+    default boolean storeIfChanged(@NotNull String id, @NotNull T e) throws StoreException {
+        store(id, e);
+        return true;
+    }
+
     void remove(@NotNull String id) throws StoreException;
 
     T find(@NotNull String id) throws StoreException;
 
     List<T> findAll();
 
+    /*
+     * Find runnables by state: stores backed by an indexed state should override
+     * to avoid loading and decoding every stored runnable
+     */
+    default List<T> findByStates(@NotNull Collection<String> states) {
+        return findAll().stream().filter(r -> r.getState() != null && states.contains(r.getState())).toList();
+    }
+
     @FunctionalInterface
     interface StoreSupplier {
         <T extends RunRunnable> RunnableStore<T> get(Class<T> clazz);
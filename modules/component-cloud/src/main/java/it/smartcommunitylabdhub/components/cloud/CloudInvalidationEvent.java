@@ -0,0 +1,64 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.components.cloud;
+
+import it.smartcommunitylabdhub.commons.models.entities.EntityName;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.util.Assert;
+
+/**
+ * Invalidation of cached entities, exchanged between replicas.
+ *
+ * Local events are forwarded to the other replicas by the active bus, events received from
+ * the bus are republished locally as remote and never forwarded again.
+ */
+public class CloudInvalidationEvent extends ApplicationEvent {
+
+    private final EntityName entity;
+    private final List<String> ids;
+    private final boolean remote;
+
+    public CloudInvalidationEvent(EntityName entity, List<String> ids, boolean remote) {
+        super(entity);
+        Assert.notNull(entity, "entity can not be null");
+        Assert.notNull(ids, "ids can not be null");
+        this.entity = entity;
+        this.ids = Collections.unmodifiableList(ids);
+        this.remote = remote;
+    }
+
+    public EntityName getEntity() {
+        return entity;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+}
@@ -26,30 +26,55 @@ package it.smartcommunitylabdhub.metrics;
 import it.smartcommunitylabdhub.commons.exceptions.StoreException;
 import it.smartcommunitylabdhub.commons.exceptions.SystemException;
 import it.smartcommunitylabdhub.commons.models.metrics.Metrics;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsRollup;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSeries;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSummary;
 import it.smartcommunitylabdhub.commons.models.metrics.NumberOrNumberArray;
+import it.smartcommunitylabdhub.metrics.persistence.MetricsChunkEntity;
+import it.smartcommunitylabdhub.metrics.persistence.MetricsChunkRepository;
+import it.smartcommunitylabdhub.metrics.persistence.MetricsChunkRepository.MetricsChunkStats;
 import it.smartcommunitylabdhub.metrics.persistence.MetricsDTOBuilder;
 import it.smartcommunitylabdhub.metrics.persistence.MetricsEntity;
 import it.smartcommunitylabdhub.metrics.persistence.MetricsEntityBuilder;
 import it.smartcommunitylabdhub.metrics.persistence.MetricsRepository;
 import jakarta.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
 import org.springframework.security.crypto.keygen.StringKeyGenerator;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 @Component
 @Slf4j
 public class MetricsManager {
 
+    public static final int DEFAULT_POINTS = 500;
+
+    //step, timestamp and value
+    private static final int POINT_BYTES = Long.BYTES + Long.BYTES + Double.BYTES;
+
     @Value("${files.max-column-size}")
     private int maxColumnSize;
 
+    @Value("${metrics.chunk-size}")
+    private int chunkSize;
+
+    @Value("${metrics.max-points}")
+    private int maxPoints;
+
     @Autowired
     private MetricsEntityBuilder entityBuilder;
 
@@ -59,6 +84,9 @@ public class MetricsManager {
     @Autowired
     private MetricsRepository repository;
 
+    @Autowired
+    private MetricsChunkRepository chunkRepository;
+
     private StringKeyGenerator keyGenerator = () -> UUID.randomUUID().toString().replace("-", "");
 
     @Autowired(required = false)
@@ -69,24 +97,68 @@ public class MetricsManager {
 
     public NumberOrNumberArray getMetrics(@NotNull String entityName, @NotNull String entityId, @NotNull String name)
         throws StoreException, SystemException {
+        return getMetrics(entityName, entityId, name, null);
+    }
+
+    /**
+     * Metric values, downsampled to at most the given number of points when set.
+     * Series longer than the configured maximum are always downsampled: full resolution is served as series.
+     */
+    public NumberOrNumberArray getMetrics(
+        @NotNull String entityName,
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Integer points
+    ) throws StoreException, SystemException {
         log.debug("get {} metrics info for entity {} id {}", name, entityName, entityId);
+        MetricsSeries series = readSeries(entityName, entityId, name, null, null);
+        if (series != null) {
+            return values(MetricsRollups.downsample(series, points != null ? points : maxPoints));
+        }
+
         MetricsEntity entity = repository.findByEntityNameAndEntityIdAndName(entityName, entityId, name);
         if (entity != null) {
             Metrics dto = dtoBuilder.convert(entity);
-            return dto.getData();
+            NumberOrNumberArray data = dto.getData();
+            return data != null && points != null ? MetricsRollups.downsample(data, points) : data;
         }
         return null;
     }
 
     public Map<String, NumberOrNumberArray> getMetrics(@NotNull String entityName, @NotNull String entityId)
         throws StoreException, SystemException {
+        return getMetrics(entityName, entityId, (Integer) null);
+    }
+
+    /**
+     * All metric values, each downsampled to at most the given number of points when set.
+     * Series longer than the configured maximum are always downsampled.
+     */
+    public Map<String, NumberOrNumberArray> getMetrics(
+        @NotNull String entityName,
+        @NotNull String entityId,
+        @Nullable Integer points
+    ) throws StoreException, SystemException {
         log.debug("get metrics info for entity {} id {}", entityName, entityId);
         List<MetricsEntity> list = repository.findByEntityNameAndEntityId(entityName, entityId);
         Map<String, NumberOrNumberArray> response = new HashMap<>();
         for (MetricsEntity entity : list) {
             Metrics dto = dtoBuilder.convert(entity);
-            response.put(dto.getName(), dto.getData());
+            NumberOrNumberArray data = dto.getData();
+            if (data != null && points != null) {
+                data = MetricsRollups.downsample(data, points);
+            }
+            response.put(dto.getName(), data);
         }
+
+        //series replace stored values
+        for (String name : chunkRepository.findNames(entityName, entityId)) {
+            MetricsSeries series = readSeries(entityName, entityId, name, null, null);
+            if (series != null) {
+                response.put(name, values(MetricsRollups.downsample(series, points != null ? points : maxPoints)));
+            }
+        }
+
         return response;
     }
 
@@ -115,7 +187,397 @@ public class MetricsManager {
             throw new IllegalArgumentException("files column exceeds maximum size " + String.valueOf(maxColumnSize));
         }
 
+        //whole values replace any series
+        chunkRepository.deleteSeries(entityName, entityId, name);
+
         entity = repository.save(entity);
         return dtoBuilder.build(entity);
     }
+
+    /**
+     * Remove all metrics and series of the given entities
+     */
+    @Transactional
+    public void deleteMetrics(@NotNull String entityName, @NotNull Collection<String> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+
+        log.debug("delete metrics for {} entities {}", entityIds.size(), entityName);
+        chunkRepository.deleteByEntity(entityName, entityIds);
+        repository.deleteByEntity(entityName, entityIds);
+    }
+
+    /*
+     * Series
+     */
+
+    /**
+     * Append values to a series, with consecutive steps starting from the given one or after the last stored.
+     * Only the last chunk is rewritten, so the cost of an append does not depend on the series length.
+     * Values stored as a whole become the head of the series on the first append.
+     */
+    public long appendMetrics(
+        @NotNull String entityName,
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long step,
+        @NotNull NumberOrNumberArray data
+    ) throws StoreException, SystemException {
+        log.debug("append {} metrics for entity {} id {}", name, entityName, entityId);
+
+        List<Double> values = values(data);
+        if (values.isEmpty()) {
+            return 0;
+        }
+
+        if (values.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("invalid null value");
+        }
+
+        long now = System.currentTimeMillis();
+        MetricsChunkEntity last = chunkRepository.findFirstByEntityNameAndEntityIdAndNameOrderBySeqDesc(
+            entityName,
+            entityId,
+            name
+        );
+
+        if (last == null) {
+            MetricsEntity stored = repository.findByEntityNameAndEntityIdAndName(entityName, entityId, name);
+            if (stored != null) {
+                List<Double> head = values(dtoBuilder.convert(stored).getData());
+                if (!head.isEmpty() && head.stream().noneMatch(Objects::isNull)) {
+                    last = append(last, entityName, entityId, name, 0, now, head);
+                }
+
+                repository.delete(stored);
+            }
+        }
+
+        long start = step != null ? step : (last != null ? last.getStepEnd() + 1 : 0);
+        if (last != null && start <= last.getStepEnd()) {
+            throw new IllegalArgumentException("step must follow the last one " + String.valueOf(last.getStepEnd()));
+        }
+
+        append(last, entityName, entityId, name, start, now, values);
+        return values.size();
+    }
+
+    /**
+     * Points with step in the given range, both ends included and optional
+     */
+    public MetricsSeries getMetricsSeries(
+        @NotNull String entityName,
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to
+    ) throws StoreException, SystemException {
+        return getMetricsSeries(entityName, entityId, name, from, to, null);
+    }
+
+    /**
+     * Points with step in the given range, downsampled to at most the given number of points when set
+     */
+    public MetricsSeries getMetricsSeries(
+        @NotNull String entityName,
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to,
+        @Nullable Integer points
+    ) throws StoreException, SystemException {
+        MetricsSeries series = loadSeries(entityName, entityId, name, from, to);
+        return series != null && points != null ? MetricsRollups.downsample(series, points) : series;
+    }
+
+    /**
+     * Min, max, average and last value over buckets of steps in the given range.
+     * Bucket width is the given resolution or, when missing, the one fitting the given number of points.
+     */
+    public MetricsRollup getMetricsRollup(
+        @NotNull String entityName,
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to,
+        @Nullable Long resolution,
+        @Nullable Integer points
+    ) throws StoreException, SystemException {
+        log.debug("get {} metrics rollup for entity {} id {}", name, entityName, entityId);
+
+        MetricsSeries series = loadSeries(entityName, entityId, name, from, to);
+        if (series == null) {
+            return null;
+        }
+
+        long width = resolution != null
+            ? resolution
+            : MetricsRollups.resolution(series, points != null ? points : DEFAULT_POINTS);
+        return MetricsRollups.rollup(series, width);
+    }
+
+    /**
+     * Names of metrics stored as series
+     */
+    public List<String> getSeriesNames(@NotNull String entityName, @NotNull String entityId) {
+        return chunkRepository.findNames(entityName, entityId);
+    }
+
+    private MetricsSeries loadSeries(
+        @NotNull String entityName,
+        @NotNull String entityId,
+        @NotNull String name,
+        @Nullable Long from,
+        @Nullable Long to
+    ) {
+        log.debug("get {} metrics series for entity {} id {} from {} to {}", name, entityName, entityId, from, to);
+
+        MetricsSeries series = readSeries(entityName, entityId, name, from, to);
+        if (series != null) {
+            return series;
+        }
+
+        //fallback to stored values, steps are positions
+        MetricsEntity entity = repository.findByEntityNameAndEntityIdAndName(entityName, entityId, name);
+        if (entity == null) {
+            return null;
+        }
+
+        List<Double> values = values(dtoBuilder.convert(entity).getData());
+        long start = Math.max(from != null ? from : 0, 0);
+        long end = Math.min(to != null ? to : Long.MAX_VALUE, values.size() - 1L);
+        int count = (int) Math.max(end - start + 1, 0);
+
+        long[] steps = new long[count];
+        double[] array = new double[count];
+        for (int i = 0; i < count; i++) {
+            steps[i] = start + i;
+            Double value = values.get((int) start + i);
+            array[i] = value != null ? value : Double.NaN;
+        }
+
+        return MetricsSeries.builder().name(name).steps(steps).values(array).build();
+    }
+
+    /**
+     * Aggregates over the whole series, computed from chunk columns without decoding points
+     */
+    public MetricsSummary getMetricsSummary(@NotNull String entityName, @NotNull String entityId, @NotNull String name)
+        throws StoreException, SystemException {
+        log.debug("get {} metrics summary for entity {} id {}", name, entityName, entityId);
+
+        MetricsChunkStats stats = chunkRepository.findStats(entityName, entityId, name);
+        if (stats != null && stats.getPoints() != null && stats.getPoints() > 0) {
+            MetricsChunkEntity last = chunkRepository.findFirstByEntityNameAndEntityIdAndNameOrderBySeqDesc(
+                entityName,
+                entityId,
+                name
+            );
+
+            return MetricsSummary
+                .builder()
+                .name(name)
+                .count(stats.getPoints())
+                .first(stats.getStepStart())
+                .last(stats.getStepEnd())
+                .min(stats.getMinValue())
+                .max(stats.getMaxValue())
+                .mean(stats.getSumValue() / stats.getPoints())
+                .value(last != null ? last.getLastValue() : null)
+                .build();
+        }
+
+        //fallback to stored values
+        MetricsSeries series = getMetricsSeries(entityName, entityId, name, null, null);
+        if (series == null) {
+            return null;
+        }
+
+        double[] values = series.getValues();
+        MetricsSummary summary = MetricsSummary.builder().name(name).count(values.length).build();
+        if (values.length > 0) {
+            summary.setFirst(series.getSteps()[0]);
+            summary.setLast(series.getSteps()[values.length - 1]);
+            summary.setMin(Arrays.stream(values).min().getAsDouble());
+            summary.setMax(Arrays.stream(values).max().getAsDouble());
+            summary.setMean(Arrays.stream(values).average().getAsDouble());
+            summary.setValue(values[values.length - 1]);
+        }
+
+        return summary;
+    }
+
+    private @Nullable MetricsSeries readSeries(
+        String entityName,
+        String entityId,
+        String name,
+        @Nullable Long from,
+        @Nullable Long to
+    ) {
+        long start = from != null ? from : Long.MIN_VALUE;
+        long end = to != null ? to : Long.MAX_VALUE;
+
+        List<MetricsChunkEntity> chunks = chunkRepository.findRange(entityName, entityId, name, start, end);
+        if (chunks.isEmpty()) {
+            if (chunkRepository.findFirstByEntityNameAndEntityIdAndNameOrderBySeqDesc(entityName, entityId, name) == null) {
+                return null;
+            }
+
+            //series exists, range is empty
+            return MetricsSeries
+                .builder()
+                .name(name)
+                .steps(new long[0])
+                .timestamps(new long[0])
+                .values(new double[0])
+                .build();
+        }
+
+        int capacity = chunks.stream().mapToInt(MetricsChunkEntity::getPoints).sum();
+        long[] steps = new long[capacity];
+        long[] timestamps = new long[capacity];
+        double[] values = new double[capacity];
+
+        int count = 0;
+        for (MetricsChunkEntity chunk : chunks) {
+            Points points = unpack(chunk.getData());
+            for (int i = 0; i < points.size(); i++) {
+                long step = points.steps()[i];
+                if (step >= start && step <= end) {
+                    steps[count] = step;
+                    timestamps[count] = points.timestamps()[i];
+                    values[count] = points.values()[i];
+                    count++;
+                }
+            }
+        }
+
+        return MetricsSeries
+            .builder()
+            .name(name)
+            .steps(Arrays.copyOf(steps, count))
+            .timestamps(Arrays.copyOf(timestamps, count))
+            .values(Arrays.copyOf(values, count))
+            .build();
+    }
+
+    private MetricsChunkEntity append(
+        @Nullable MetricsChunkEntity last,
+        String entityName,
+        String entityId,
+        String name,
+        long start,
+        long timestamp,
+        List<Double> values
+    ) {
+        List<MetricsChunkEntity> chunks = new ArrayList<>();
+        MetricsChunkEntity chunk = last;
+        long step = start;
+        int index = 0;
+
+        while (index < values.size()) {
+            if (chunk == null || chunk.getPoints() >= chunkSize) {
+                chunk =
+                    MetricsChunkEntity
+                        .builder()
+                        .id(keyGenerator.generateKey())
+                        .entityName(entityName)
+                        .entityId(entityId)
+                        .name(name)
+                        .seq(chunk != null ? chunk.getSeq() + 1 : 0)
+                        .points(0)
+                        .stepStart(step)
+                        .minValue(Double.POSITIVE_INFINITY)
+                        .maxValue(Double.NEGATIVE_INFINITY)
+                        .sumValue(0)
+                        .build();
+            }
+
+            //fill the chunk up to capacity, primitive arrays are copied once per chunk
+            Points points = unpack(chunk.getData());
+            int size = points.size();
+            int count = Math.min(chunkSize - size, values.size() - index);
+
+            long[] steps = Arrays.copyOf(points.steps(), size + count);
+            long[] timestamps = Arrays.copyOf(points.timestamps(), size + count);
+            double[] array = Arrays.copyOf(points.values(), size + count);
+
+            double min = chunk.getMinValue();
+            double max = chunk.getMaxValue();
+            double sum = chunk.getSumValue();
+
+            for (int i = size; i < size + count; i++) {
+                double value = values.get(index++);
+                steps[i] = step++;
+                timestamps[i] = timestamp;
+                array[i] = value;
+
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                sum += value;
+            }
+
+            chunk.setPoints(size + count);
+            chunk.setStepEnd(steps[size + count - 1]);
+            chunk.setMinValue(min);
+            chunk.setMaxValue(max);
+            chunk.setSumValue(sum);
+            chunk.setLastValue(array[size + count - 1]);
+            chunk.setData(pack(new Points(steps, timestamps, array)));
+
+            chunks.add(chunk);
+        }
+
+        chunkRepository.saveAll(chunks);
+        return chunk;
+    }
+
+    private static NumberOrNumberArray values(MetricsSeries series) {
+        return new NumberOrNumberArray(Arrays.stream(series.getValues()).boxed().toList());
+    }
+
+    private static List<Double> values(@Nullable NumberOrNumberArray data) {
+        if (data == null) {
+            return Collections.emptyList();
+        }
+
+        if (data.getValues() != null) {
+            return data.getValues();
+        }
+
+        return data.getValue() != null ? List.of(data.getValue()) : Collections.emptyList();
+    }
+
+    private static byte[] pack(Points points) {
+        int size = points.size();
+        ByteBuffer buffer = ByteBuffer.allocate(size * POINT_BYTES);
+        buffer.asLongBuffer().put(points.steps(), 0, size);
+        buffer.position(size * Long.BYTES).asLongBuffer().put(points.timestamps(), 0, size);
+        buffer.position(size * 2 * Long.BYTES).asDoubleBuffer().put(points.values(), 0, size);
+
+        return buffer.array();
+    }
+
+    private static Points unpack(@Nullable byte[] data) {
+        int size = data != null ? data.length / POINT_BYTES : 0;
+        long[] steps = new long[size];
+        long[] timestamps = new long[size];
+        double[] values = new double[size];
+
+        if (size > 0) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            buffer.asLongBuffer().get(steps);
+            buffer.position(size * Long.BYTES).asLongBuffer().get(timestamps);
+            buffer.position(size * 2 * Long.BYTES).asDoubleBuffer().get(values);
+        }
+
+        return new Points(steps, timestamps, values);
+    }
+
+    private record Points(long[] steps, long[] timestamps, double[] values) {
+        int size() {
+            return values.length;
+        }
+    }
 }
@@ -0,0 +1,232 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.metrics;
+
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsRollup;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSeries;
+import it.smartcommunitylabdhub.commons.models.metrics.NumberOrNumberArray;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.springframework.util.Assert;
+
+/*
+ * Downsampling and rollups over metric series
+ */
+public class MetricsRollups {
+
+    public static final int MIN_POINTS = 2;
+
+    private MetricsRollups() {}
+
+    /**
+     * Downsample with Largest-Triangle-Three-Buckets: the shape of the curve, including peaks, is preserved
+     * with at most the given number of points. First and last points are always kept.
+     */
+    public static MetricsSeries downsample(MetricsSeries series, int points) {
+        Assert.notNull(series, "series can not be null");
+        Assert.isTrue(points >= MIN_POINTS, "points must be at least " + MIN_POINTS);
+
+        double[] values = series.getValues();
+        if (values == null || values.length <= points) {
+            return series;
+        }
+
+        long[] steps = series.getSteps();
+        int[] indexes = lttb(steps, values, points);
+
+        return MetricsSeries
+            .builder()
+            .name(series.getName())
+            .steps(pick(steps, indexes))
+            .timestamps(series.getTimestamps() != null ? pick(series.getTimestamps(), indexes) : null)
+            .values(Arrays.stream(indexes).mapToDouble(i -> values[i]).toArray())
+            .build();
+    }
+
+    /**
+     * Downsample metric data, single values are returned as is
+     */
+    public static NumberOrNumberArray downsample(NumberOrNumberArray data, int points) {
+        Assert.notNull(data, "data can not be null");
+        if (data.getValues() == null) {
+            return data;
+        }
+
+        return new NumberOrNumberArray(downsample(data.getValues(), points));
+    }
+
+    /**
+     * Downsample plain values, positions are used as steps
+     */
+    public static List<Double> downsample(List<Double> values, int points) {
+        Assert.notNull(values, "values can not be null");
+        Assert.isTrue(points >= MIN_POINTS, "points must be at least " + MIN_POINTS);
+
+        if (values.size() <= points) {
+            return values;
+        }
+
+        long[] steps = IntStream.range(0, values.size()).asLongStream().toArray();
+        double[] array = values.stream().mapToDouble(v -> v != null ? v : Double.NaN).toArray();
+
+        return Arrays.stream(lttb(steps, array, points)).mapToObj(values::get).toList();
+    }
+
+    /**
+     * Aggregate min, max, average and last value over buckets of the given width in steps.
+     * Missing values (NaN) are not counted: buckets holding only missing values report NaN.
+     */
+    public static MetricsRollup rollup(MetricsSeries series, long resolution) {
+        Assert.notNull(series, "series can not be null");
+        Assert.isTrue(resolution > 0, "resolution must be positive");
+
+        long[] steps = series.getSteps() != null ? series.getSteps() : new long[0];
+        double[] values = series.getValues() != null ? series.getValues() : new double[0];
+
+        //at most one bucket per point
+        int capacity = values.length;
+        long[] starts = new long[capacity];
+        int[] counts = new int[capacity];
+        double[] min = new double[capacity];
+        double[] max = new double[capacity];
+        double[] avg = new double[capacity];
+        double[] last = new double[capacity];
+
+        int bucket = -1;
+        for (int i = 0; i < values.length; i++) {
+            long start = Math.floorDiv(steps[i], resolution) * resolution;
+            double value = values[i];
+
+            if (bucket < 0 || starts[bucket] != start) {
+                bucket++;
+                starts[bucket] = start;
+                min[bucket] = Double.NaN;
+                max[bucket] = Double.NaN;
+                last[bucket] = Double.NaN;
+            }
+
+            if (Double.isNaN(value)) {
+                continue;
+            }
+
+            min[bucket] = counts[bucket] == 0 ? value : Math.min(min[bucket], value);
+            max[bucket] = counts[bucket] == 0 ? value : Math.max(max[bucket], value);
+            counts[bucket]++;
+            //sum for now, averaged at the end
+            avg[bucket] += value;
+            last[bucket] = value;
+        }
+
+        int size = bucket + 1;
+        for (int i = 0; i < size; i++) {
+            avg[i] = counts[i] > 0 ? avg[i] / counts[i] : Double.NaN;
+        }
+
+        return MetricsRollup
+            .builder()
+            .name(series.getName())
+            .resolution(resolution)
+            .steps(Arrays.copyOf(starts, size))
+            .counts(Arrays.copyOf(counts, size))
+            .min(Arrays.copyOf(min, size))
+            .max(Arrays.copyOf(max, size))
+            .avg(Arrays.copyOf(avg, size))
+            .last(Arrays.copyOf(last, size))
+            .build();
+    }
+
+    /**
+     * Bucket width covering the series steps with at most the given number of buckets
+     */
+    public static long resolution(MetricsSeries series, int points) {
+        Assert.isTrue(points > 0, "points must be positive");
+
+        long[] steps = series.getSteps();
+        if (steps == null || steps.length == 0) {
+            return 1;
+        }
+
+        long span = steps[steps.length - 1] - steps[0] + 1;
+        return Math.max(1, (span + points - 1) / points);
+    }
+
+    private static int[] lttb(long[] steps, double[] values, int threshold) {
+        int size = values.length;
+        if (threshold <= MIN_POINTS) {
+            return new int[] { 0, size - 1 };
+        }
+
+        int[] sampled = new int[threshold];
+        int count = 0;
+
+        //buckets exclude first and last point
+        double every = (double) (size - 2) / (threshold - 2);
+        int a = 0;
+        sampled[count++] = a;
+
+        for (int i = 0; i < threshold - 2; i++) {
+            //average of the next bucket is the third vertex, missing values are skipped
+            int avgStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, size);
+            double avgX = 0;
+            double avgY = 0;
+            int avgLength = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                if (!Double.isNaN(values[j])) {
+                    avgX += steps[j];
+                    avgY += values[j];
+                    avgLength++;
+                }
+            }
+            avgX = avgLength > 0 ? avgX / avgLength : steps[Math.min(avgStart, size - 1)];
+            avgY = avgLength > 0 ? avgY / avgLength : Double.isNaN(values[a]) ? 0 : values[a];
+
+            //pick the point of the current bucket with the largest triangle, missing values never win
+            int rangeStart = (int) Math.floor(i * every) + 1;
+            int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+            double ax = steps[a];
+            double ay = Double.isNaN(values[a]) ? avgY : values[a];
+            double maxArea = -1;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((ax - avgX) * (values[j] - ay) - (ax - steps[j]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+
+            sampled[count++] = next;
+            a = next;
+        }
+
+        sampled[count++] = size - 1;
+        return Arrays.copyOf(sampled, count);
+    }
+
+    private static long[] pick(long[] array, int[] indexes) {
+        return Arrays.stream(indexes).mapToLong(i -> array[i]).toArray();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.metrics.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import java.io.Serializable;
+import java.sql.Types;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+
+/*
+ * A chunk of consecutive points of a metric series.
+ * Points are packed as primitive arrays (steps, timestamps, values), bounds and aggregates are kept
+ * as columns to select and summarize chunks without decoding them.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@ToString
+@Entity
+@Table(
+    name = "metrics_chunks",
+    uniqueConstraints = { @UniqueConstraint(columnNames = { "entityName", "entityId", "name", "seq" }) }
+)
+public class MetricsChunkEntity implements Serializable {
+
+    @Id
+    @Column(unique = true)
+    private String id;
+
+    @Column(nullable = false)
+    private String entityName;
+
+    @Column(nullable = false)
+    private String entityId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private int seq;
+
+    @Column(nullable = false)
+    private int points;
+
+    private long stepStart;
+
+    private long stepEnd;
+
+    private double minValue;
+
+    private double maxValue;
+
+    private double sumValue;
+
+    private double lastValue;
+
+    //concurrent appends to the same series conflict on the last chunk
+    @Version
+    private Long version;
+
+    @JdbcTypeCode(Types.LONGVARBINARY)
+    @ToString.Exclude
+    private byte[] data;
+}
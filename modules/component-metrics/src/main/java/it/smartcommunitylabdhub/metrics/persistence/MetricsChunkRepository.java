@@ -0,0 +1,98 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.metrics.persistence;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MetricsChunkRepository extends JpaRepository<MetricsChunkEntity, String> {
+    MetricsChunkEntity findFirstByEntityNameAndEntityIdAndNameOrderBySeqDesc(
+        String entityName,
+        String entityId,
+        String name
+    );
+
+    @Query(
+        "SELECT c FROM MetricsChunkEntity c WHERE c.entityName = :entityName AND c.entityId = :entityId AND c.name = :name " +
+        "AND c.stepEnd >= :from AND c.stepStart <= :to ORDER BY c.seq"
+    )
+    List<MetricsChunkEntity> findRange(
+        @Param("entityName") String entityName,
+        @Param("entityId") String entityId,
+        @Param("name") String name,
+        @Param("from") long from,
+        @Param("to") long to
+    );
+
+    @Query(
+        "SELECT DISTINCT c.name FROM MetricsChunkEntity c WHERE c.entityName = :entityName AND c.entityId = :entityId"
+    )
+    List<String> findNames(@Param("entityName") String entityName, @Param("entityId") String entityId);
+
+    @Query(
+        "SELECT SUM(c.points) AS points, MIN(c.stepStart) AS stepStart, MAX(c.stepEnd) AS stepEnd, " +
+        "MIN(c.minValue) AS minValue, MAX(c.maxValue) AS maxValue, SUM(c.sumValue) AS sumValue " +
+        "FROM MetricsChunkEntity c WHERE c.entityName = :entityName AND c.entityId = :entityId AND c.name = :name"
+    )
+    MetricsChunkStats findStats(
+        @Param("entityName") String entityName,
+        @Param("entityId") String entityId,
+        @Param("name") String name
+    );
+
+    @Modifying
+    @Query(
+        "DELETE FROM MetricsChunkEntity c WHERE c.entityName = :entityName AND c.entityId = :entityId AND c.name = :name"
+    )
+    void deleteSeries(
+        @Param("entityName") String entityName,
+        @Param("entityId") String entityId,
+        @Param("name") String name
+    );
+
+    @Modifying
+    @Query("DELETE FROM MetricsChunkEntity c WHERE c.entityName = :entityName AND c.entityId IN :entityIds")
+    void deleteByEntity(@Param("entityName") String entityName, @Param("entityIds") Collection<String> entityIds);
+
+    /*
+     * Aggregates computed over chunk columns
+     */
+    interface MetricsChunkStats {
+        Long getPoints();
+
+        Long getStepStart();
+
+        Long getStepEnd();
+
+        Double getMinValue();
+
+        Double getMaxValue();
+
+        Double getSumValue();
+    }
+}
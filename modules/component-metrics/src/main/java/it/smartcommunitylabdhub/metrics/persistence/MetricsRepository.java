@@ -23,13 +23,21 @@
 
 package it.smartcommunitylabdhub.metrics.persistence;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MetricsRepository
     extends JpaRepository<MetricsEntity, String>, JpaSpecificationExecutor<MetricsEntity> {
     MetricsEntity findByEntityNameAndEntityIdAndName(String entityName, String entityId, String name);
 
     List<MetricsEntity> findByEntityNameAndEntityId(String entityName, String entityId);
+
+    @Modifying
+    @Query("DELETE FROM MetricsEntity m WHERE m.entityName = :entityName AND m.entityId IN :entityIds")
+    void deleteByEntity(@Param("entityName") String entityName, @Param("entityIds") Collection<String> entityIds);
 }
@@ -0,0 +1,138 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsRollup;
+import it.smartcommunitylabdhub.commons.models.metrics.MetricsSeries;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+public class MetricsRollupsTest {
+
+    private static MetricsSeries series(double... values) {
+        long[] steps = LongStream.range(0, values.length).toArray();
+        return MetricsSeries.builder().name("test").steps(steps).values(values).build();
+    }
+
+    @Test
+    public void downsampleKeepsShortSeries() {
+        MetricsSeries series = series(1, 2, 3);
+        assertSame(series, MetricsRollups.downsample(series, 3));
+        assertSame(series, MetricsRollups.downsample(series, 10));
+    }
+
+    @Test
+    public void downsampleToMinPointsKeepsBounds() {
+        MetricsSeries result = MetricsRollups.downsample(series(5, 1, 9, 3, 7), MetricsRollups.MIN_POINTS);
+
+        assertArrayEquals(new long[] { 0, 4 }, result.getSteps());
+        assertArrayEquals(new double[] { 5, 7 }, result.getValues());
+    }
+
+    @Test
+    public void downsampleBelowMinPointsFails() {
+        assertThrows(IllegalArgumentException.class, () -> MetricsRollups.downsample(series(1, 2, 3), 1));
+        assertThrows(IllegalArgumentException.class, () -> MetricsRollups.downsample(List.of(1.0, 2.0, 3.0), 0));
+    }
+
+    @Test
+    public void downsampleKeepsPeaks() {
+        double[] values = new double[100];
+        values[42] = 1000;
+        MetricsSeries result = MetricsRollups.downsample(series(values), 10);
+
+        assertEquals(10, result.getValues().length);
+        assertEquals(0, result.getSteps()[0]);
+        assertEquals(99, result.getSteps()[9]);
+        assertTrue(Arrays.stream(result.getValues()).anyMatch(v -> v == 1000));
+    }
+
+    @Test
+    public void downsampleSkipsMissingValues() {
+        //null values are read as NaN and must not hide peaks nor be picked over valid points
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add(i % 3 == 0 ? null : 1.0);
+        }
+        values.set(50, 1000.0);
+
+        List<Double> result = MetricsRollups.downsample(values, 10);
+
+        assertEquals(10, result.size());
+        assertEquals(null, result.get(0));
+        assertTrue(result.contains(1000.0));
+        assertTrue(result.subList(1, result.size() - 1).stream().allMatch(v -> v != null));
+    }
+
+    @Test
+    public void rollupSingleBucket() {
+        MetricsRollup rollup = MetricsRollups.rollup(series(4, 2, 8, 6), 100);
+
+        assertArrayEquals(new long[] { 0 }, rollup.getSteps());
+        assertArrayEquals(new int[] { 4 }, rollup.getCounts());
+        assertArrayEquals(new double[] { 2 }, rollup.getMin());
+        assertArrayEquals(new double[] { 8 }, rollup.getMax());
+        assertArrayEquals(new double[] { 5 }, rollup.getAvg());
+        assertArrayEquals(new double[] { 6 }, rollup.getLast());
+    }
+
+    @Test
+    public void rollupSkipsMissingValues() {
+        MetricsRollup rollup = MetricsRollups.rollup(series(Double.NaN, 2, 4, Double.NaN, Double.NaN, Double.NaN), 2);
+
+        assertArrayEquals(new long[] { 0, 2, 4 }, rollup.getSteps());
+        assertArrayEquals(new int[] { 1, 1, 0 }, rollup.getCounts());
+        assertArrayEquals(new double[] { 2, 4, Double.NaN }, rollup.getMin());
+        assertArrayEquals(new double[] { 2, 4, Double.NaN }, rollup.getMax());
+        assertArrayEquals(new double[] { 2, 4, Double.NaN }, rollup.getAvg());
+        assertArrayEquals(new double[] { 2, 4, Double.NaN }, rollup.getLast());
+    }
+
+    @Test
+    public void rollupEmptySeries() {
+        MetricsRollup rollup = MetricsRollups.rollup(series(), 10);
+
+        assertEquals(0, rollup.getSteps().length);
+        assertEquals(1, MetricsRollups.resolution(series(), 10));
+    }
+
+    @Test
+    public void resolutionFitsPoints() {
+        MetricsSeries series = series(new double[1000]);
+
+        assertEquals(1, MetricsRollups.resolution(series, 1000));
+        assertEquals(2, MetricsRollups.resolution(series, 500));
+        assertEquals(4, MetricsRollups.resolution(series, 300));
+        assertEquals(1000, MetricsRollups.resolution(series, 1));
+    }
+}
@@ -113,6 +113,20 @@ public class BaseEntityRelationshipsManager<D extends BaseDTO & MetadataDTO>
         }
     }
 
+    @Override
+    public void clearAll(String project, List<String> ids) {
+        Assert.notNull(project, "project can not be null");
+        Assert.notNull(ids, "ids can not be null");
+
+        try {
+            log.debug("clear all for {}: {} in project {}", getType(), ids.size(), project);
+
+            service.clearAll(project, getType(), ids);
+        } catch (StoreException e) {
+            log.error("error with service: {}", e.getMessage());
+        }
+    }
+
     @Override
     public List<RelationshipDetail> getRelationships(D item) throws StoreException {
         Assert.notNull(item, "entity can not be null");
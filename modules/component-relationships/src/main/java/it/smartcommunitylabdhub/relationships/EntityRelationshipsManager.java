@@ -33,5 +33,7 @@ public interface EntityRelationshipsManager<T extends BaseDTO> {
 
     void clear(@NotNull T entity) throws StoreException;
 
+    void clearAll(@NotNull String project, @NotNull List<String> ids) throws StoreException;
+
     List<RelationshipDetail> getRelationships(@NotNull T entity) throws StoreException;
 }
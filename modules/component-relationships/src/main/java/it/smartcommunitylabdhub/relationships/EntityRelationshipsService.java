@@ -44,6 +44,8 @@ import org.springframework.util.Assert;
 @Slf4j
 public class EntityRelationshipsService {
 
+    private static final int BATCH_SIZE = 1000;
+
     private final RelationshipRepository repository;
     private StringKeyGenerator keyGenerator = () -> UUID.randomUUID().toString().replace("-", "");
 
@@ -194,4 +196,22 @@ public class EntityRelationshipsService {
             repository.deleteAllInBatch(list);
         }
     }
+
+    public long clearAll(@NotNull String project, @NotNull EntityName entityName, @NotNull List<String> ids)
+        throws StoreException {
+        log.debug("clear relationships for project {} entity type {} ids {}", project, entityName, ids.size());
+
+        //set-based delete, split to keep statements bounded
+        long count = 0;
+        for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+            count +=
+                repository.deleteByProjectAndEntityIds(
+                    project,
+                    entityName.getValue(),
+                    ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()))
+                );
+        }
+
+        return count;
+    }
 }
@@ -23,9 +23,11 @@
 
 package it.smartcommunitylabdhub.relationships.persistence;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 public interface RelationshipRepository
@@ -46,4 +48,11 @@ public interface RelationshipRepository
     List<RelationshipEntity> findByProjectAndEntity(String project, String type);
 
     List<RelationshipEntity> findByProject(String project);
+
+    @Modifying
+    @Query(
+        "DELETE FROM RelationshipEntity r WHERE r.project=:project " +
+        " AND ((r.sourceId IN :entityIds AND r.sourceType=:type) OR (r.destId IN :entityIds AND r.destType=:type))"
+    )
+    int deleteByProjectAndEntityIds(String project, String type, Collection<String> entityIds);
 }
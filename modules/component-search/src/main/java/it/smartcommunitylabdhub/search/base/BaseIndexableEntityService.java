@@ -29,29 +29,62 @@ import it.smartcommunitylabdhub.commons.exceptions.SystemException;
 import it.smartcommunitylabdhub.commons.models.base.BaseDTO;
 import it.smartcommunitylabdhub.commons.repositories.EntityRepository;
 import it.smartcommunitylabdhub.search.indexers.EntityIndexer;
+import it.smartcommunitylabdhub.search.indexers.ReindexCheckpoint;
 import it.smartcommunitylabdhub.search.service.IndexableEntityService;
+import it.smartcommunitylabdhub.search.service.ReindexCheckpointStore;
 import jakarta.validation.constraints.NotNull;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 @Transactional(readOnly = true)
 @Slf4j
 public class BaseIndexableEntityService<D extends BaseDTO> implements IndexableEntityService<D>, InitializingBean {
 
+    //margin (ms) on the watermark for transactions committed after a sync started
+    public static final long SYNC_OVERLAP = 60000;
+
+    //running reindex without heartbeat (ms) for this long is considered abandoned by its owner
+    public static final long REINDEX_STALE_TIMEOUT = 300000;
+
+    //replica identifier, owner of checkpoints written by this instance: stable across restarts of the same pod
+    private static final String OWNER = owner();
+
     protected EntityRepository<D> entityService;
     private EntityIndexer<D> indexer;
+    private ReindexCheckpointStore checkpointStore;
+
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+
+    //interrupted reindex not resumed yet, retried after sync and periodically
+    private volatile boolean resumePending = false;
 
     @Autowired(required = false)
     public void setIndexer(EntityIndexer<D> indexer) {
         this.indexer = indexer;
     }
 
+    @Autowired(required = false)
+    public void setCheckpointStore(ReindexCheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+    }
+
     @Autowired
     public void setEntityService(EntityRepository<D> entityService) {
         this.entityService = entityService;
@@ -79,29 +112,282 @@ public class BaseIndexableEntityService<D extends BaseDTO> implements IndexableE
 
     @Async
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void reindexAll() {
         if (indexer != null) {
             log.debug("reindex all");
 
-            //clear index
-            indexer.clearIndex();
+            //start over, current documents stay searchable until replaced
+            reindex(null);
+        }
+    }
 
-            //use pagination and batch
-            boolean hasMore = false;
-            int pageNumber = 0;
+    @Async
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void resumeReindex() {
+        if (indexer != null && checkpointStore != null) {
+            resume();
+        }
+    }
+
+    /*
+     * Retry a resume skipped while another owner looked alive or a local run was active
+     */
+    @Async
+    @Scheduled(fixedDelay = REINDEX_STALE_TIMEOUT, initialDelay = REINDEX_STALE_TIMEOUT)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void retryReindex() {
+        if (resumePending && indexer != null && checkpointStore != null) {
+            resume();
+        }
+    }
+
+    protected void resume() {
+        ReindexCheckpoint checkpoint = checkpointStore.find(type());
+        if (checkpoint == null || checkpoint.getStatus() == ReindexCheckpoint.Status.COMPLETED) {
+            resumePending = false;
+            return;
+        }
+
+        //check local runs before claiming: a claimed checkpoint is always worked on
+        if (!reindexing.compareAndSet(false, true)) {
+            log.debug("indexing of {} running, resume later", type());
+            resumePending = true;
+            return;
+        }
+
+        try {
+            //resume failed, abandoned or own runs, live owners keep going
+            try {
+                if (!checkpointStore.claim(type(), OWNER, System.currentTimeMillis() - REINDEX_STALE_TIMEOUT)) {
+                    log.debug("reindex of {} running on {}, resume later", type(), checkpoint.getOwner());
+                    resumePending = true;
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.error("error claiming reindex checkpoint for {}: {}", type(), e.getMessage());
+                resumePending = true;
+                return;
+            }
+
+            resumePending = false;
+            log.info("resume reindex of {} after {}", type(), checkpoint.getPosition());
+            run(checkpoint);
+        } finally {
+            reindexing.set(false);
+        }
+    }
+
+    protected void reindex(@Nullable ReindexCheckpoint checkpoint) {
+        if (!reindexing.compareAndSet(false, true)) {
+            log.warn("reindex of {} already running", type());
+            return;
+        }
+
+        try {
+            run(checkpoint);
+        } finally {
+            reindexing.set(false);
+        }
+    }
+
+    /*
+     * Full reindex as a keyset scan by id, without clearing the index first.
+     * Documents are replaced in place and those not refreshed since start are removed at the end,
+     * progress is saved after every batch to resume from the last position.
+     */
+    private void run(@Nullable ReindexCheckpoint checkpoint) {
+        try {
+            if (checkpoint == null) {
+                checkpoint =
+                    ReindexCheckpoint
+                        .builder()
+                        .type(type())
+                        .status(ReindexCheckpoint.Status.RUNNING)
+                        .started(System.currentTimeMillis())
+                        .total(entityService.list(PageRequest.of(0, 1)).getTotalElements())
+                        .build();
+            } else {
+                checkpoint.setStatus(ReindexCheckpoint.Status.RUNNING);
+                checkpoint.setError(null);
+            }
+            checkpoint.setOwner(OWNER);
+            save(checkpoint);
+
+            List<D> batch;
             do {
-                try {
-                    log.trace("index page {}", pageNumber);
-                    Page<D> page = entityService.list(PageRequest.of(pageNumber, EntityIndexer.PAGE_MAX_SIZE));
-                    indexer.indexAll(page.getContent());
-                    hasMore = page.hasNext();
-                    pageNumber++;
-                } catch (IllegalArgumentException | StoreException | SystemException e) {
-                    hasMore = false;
-                    log.error("error with indexing: {}", e.getMessage());
+                log.trace("index {} after {}", type(), checkpoint.getPosition());
+                batch = entityService.listAfter(checkpoint.getPosition(), EntityIndexer.PAGE_MAX_SIZE);
+                if (!batch.isEmpty()) {
+                    indexer.indexAll(batch);
+
+                    checkpoint.setPosition(batch.get(batch.size() - 1).getId());
+                    checkpoint.setCount(checkpoint.getCount() + batch.size());
+                    save(checkpoint);
                 }
-            } while (hasMore);
+            } while (batch.size() == EntityIndexer.PAGE_MAX_SIZE);
+
+            //swap: drop leftovers of entities no longer available
+            indexer.clearIndexBefore(checkpoint.getStarted());
+
+            checkpoint.setStatus(ReindexCheckpoint.Status.COMPLETED);
+            checkpoint.setFinished(System.currentTimeMillis());
+            checkpoint.setWatermark(checkpoint.getStarted());
+            save(checkpoint);
+
+            log.info("reindex of {} completed with {} entities", type(), checkpoint.getCount());
+        } catch (IllegalArgumentException | StoreException | SystemException e) {
+            log.error("error with indexing: {}", e.getMessage());
+            if (checkpoint != null) {
+                checkpoint.setStatus(ReindexCheckpoint.Status.FAILED);
+                checkpoint.setError(e.getMessage());
+                save(checkpoint);
+            }
+        }
+    }
+
+    @Async
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void syncIndex() {
+        if (indexer != null) {
+            sync();
+
+            //resume skipped while this sync was running
+            if (resumePending && checkpointStore != null) {
+                resume();
+            }
+        }
+    }
+
+    /*
+     * Incremental sync from the watermark: entities updated since then are indexed again
+     * and documents without a matching entity are removed.
+     * Without a watermark every entity is indexed, as in a full reindex.
+     */
+    protected void sync() {
+        if (!reindexing.compareAndSet(false, true)) {
+            log.debug("reindex of {} running, skip sync", type());
+            return;
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+            ReindexCheckpoint checkpoint = checkpointStore != null ? checkpointStore.find(type()) : null;
+            long since = checkpoint != null && checkpoint.getWatermark() != null
+                ? Math.max(0, checkpoint.getWatermark() - SYNC_OVERLAP)
+                : 0;
+
+            log.debug("sync {} updated since {}", type(), since);
+
+            //keyset scan by id, bounded to the time window
+            long count = 0;
+            String position = null;
+            List<D> batch;
+            do {
+                batch = entityService.listUpdated(since, now, position, EntityIndexer.PAGE_MAX_SIZE);
+                if (!batch.isEmpty()) {
+                    indexer.indexAll(batch);
+
+                    position = batch.get(batch.size() - 1).getId();
+                    count += batch.size();
+                }
+            } while (batch.size() == EntityIndexer.PAGE_MAX_SIZE);
+
+            //deleted entities: check indexed ids against the store
+            AtomicLong removed = new AtomicLong();
+            indexer.scanIds(
+                EntityIndexer.PAGE_MAX_SIZE,
+                ids -> {
+                    try {
+                        Set<String> existing = new HashSet<>(entityService.findExisting(ids));
+                        List<String> missing = ids.stream().filter(id -> !existing.contains(id)).toList();
+                        if (!missing.isEmpty()) {
+                            indexer.removeAll(missing);
+                            removed.addAndGet(missing.size());
+                        }
+                    } catch (StoreException e) {
+                        throw new SystemException(e.getMessage(), e);
+                    }
+                }
+            );
+
+            if (checkpoint == null) {
+                //first pass covers every entity, a checkpoint inserted meanwhile by another replica is kept
+                create(
+                    ReindexCheckpoint
+                        .builder()
+                        .type(type())
+                        .status(ReindexCheckpoint.Status.COMPLETED)
+                        .started(now)
+                        .finished(System.currentTimeMillis())
+                        .count(count)
+                        .total(count)
+                        .watermark(now)
+                        .build()
+                );
+            }
+
+            //progress may have been updated meanwhile by a reindex on another replica
+            updateWatermark(now);
+
+            log.info("sync of {} completed with {} updated and {} removed", type(), count, removed.get());
+        } catch (IllegalArgumentException | StoreException | SystemException e) {
+            //watermark is unchanged, next sync covers the same window
+            log.error("error with indexing: {}", e.getMessage());
+        } finally {
+            reindexing.set(false);
+        }
+    }
+
+    private void save(ReindexCheckpoint checkpoint) {
+        if (checkpointStore != null) {
+            try {
+                checkpointStore.save(checkpoint);
+            } catch (RuntimeException e) {
+                //progress is lost on restart only
+                log.error("error saving reindex checkpoint for {}: {}", type(), e.getMessage());
+            }
+        }
+    }
+
+    private void create(ReindexCheckpoint checkpoint) {
+        if (checkpointStore != null) {
+            try {
+                checkpointStore.insert(checkpoint);
+            } catch (RuntimeException e) {
+                //next sync covers every entity again
+                log.error("error creating reindex checkpoint for {}: {}", type(), e.getMessage());
+            }
+        }
+    }
+
+    private void updateWatermark(long watermark) {
+        if (checkpointStore != null) {
+            try {
+                checkpointStore.updateWatermark(type(), watermark);
+            } catch (RuntimeException e) {
+                //next sync covers the same window
+                log.error("error saving sync watermark for {}: {}", type(), e.getMessage());
+            }
+        }
+    }
+
+    private String type() {
+        return entityService.getType().getValue();
+    }
+
+    private static String owner() {
+        String host = System.getenv("HOSTNAME");
+        if (StringUtils.hasText(host)) {
+            return host;
+        }
+
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return UUID.randomUUID().toString();
         }
     }
 }
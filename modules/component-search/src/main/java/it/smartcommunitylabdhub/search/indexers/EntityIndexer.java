@@ -25,6 +25,8 @@ package it.smartcommunitylabdhub.search.indexers;
 
 import it.smartcommunitylabdhub.commons.models.base.BaseDTO;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface EntityIndexer<T extends BaseDTO> {
     public static final int PAGE_MAX_SIZE = 100;
@@ -37,5 +39,17 @@ public interface EntityIndexer<T extends BaseDTO> {
 
     public void clearIndex();
 
+    /*
+     * Remove documents of this type indexed before the given time (ms)
+     */
+    public void clearIndexBefore(long timestamp);
+
+    /*
+     * Stream ids of documents of this type in batches
+     */
+    public long scanIds(int batch, Consumer<List<String>> consumer);
+
     public void remove(T entity);
+
+    public void removeAll(Collection<String> ids);
 }
@@ -0,0 +1,72 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.search.indexers;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/*
+ * Progress of a full reindex for an entity type.
+ * Entities are scanned by id: position is the last id indexed, a restart resumes right after it.
+ * The replica running the reindex is the owner, every saved batch refreshes the heartbeat.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ReindexCheckpoint {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+
+    private String type;
+    private Status status;
+
+    //start time in ms: documents indexed before are stale once completed
+    private long started;
+    private Long finished;
+
+    private String position;
+    private long count;
+    private Long total;
+
+    private String error;
+
+    //entities updated before this time (ms) are in the index, advanced by incremental syncs
+    private Long watermark;
+
+    private String owner;
+
+    //last write time (ms), set by the store
+    private Long updated;
+}
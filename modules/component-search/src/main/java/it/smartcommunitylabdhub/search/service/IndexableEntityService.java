@@ -34,4 +34,16 @@ public interface IndexableEntityService<T extends BaseDTO> {
 
     @Async
     public void reindexAll() throws SystemException;
+
+    /*
+     * Continue a full reindex interrupted before completion, if any
+     */
+    @Async
+    public void resumeReindex() throws SystemException;
+
+    /*
+     * Index entities updated since the last sync and remove deleted ones
+     */
+    @Async
+    public void syncIndex() throws SystemException;
 }
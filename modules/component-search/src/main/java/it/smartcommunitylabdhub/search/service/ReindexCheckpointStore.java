@@ -0,0 +1,61 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.search.service;
+
+import it.smartcommunitylabdhub.search.indexers.ReindexCheckpoint;
+import java.util.List;
+import org.springframework.lang.Nullable;
+
+public interface ReindexCheckpointStore {
+    @Nullable
+    ReindexCheckpoint find(String type);
+
+    List<ReindexCheckpoint> findAll();
+
+    void save(ReindexCheckpoint checkpoint);
+
+    /**
+     * Store a new checkpoint, leaving an existing one for the same type untouched.
+     *
+     * @return false when a checkpoint already exists
+     */
+    boolean insert(ReindexCheckpoint checkpoint);
+
+    /**
+     * Advance the watermark only, leaving progress written by a concurrent reindex untouched.
+     * A watermark is never moved backwards.
+     *
+     * @return false when no checkpoint exists or the stored watermark is newer
+     */
+    boolean updateWatermark(String type, long watermark);
+
+    /**
+     * Take over a failed reindex, a running one without heartbeat since the given time (ms),
+     * or one left running by the same owner before a restart.
+     * Only one replica can claim the same checkpoint.
+     *
+     * @return true when the checkpoint is now running for the owner
+     */
+    boolean claim(String type, String owner, long staleBefore);
+}
@@ -26,6 +26,7 @@ package it.smartcommunitylabdhub.framework.k8s.config;
 import io.kubernetes.client.openapi.ApiClient;
 import it.smartcommunitylabdhub.commons.services.RunnableStore;
 import it.smartcommunitylabdhub.framework.k8s.annotations.ConditionalOnKubernetes;
+import it.smartcommunitylabdhub.framework.k8s.infrastructure.cache.K8sMetricsCache;
 import it.smartcommunitylabdhub.framework.k8s.infrastructure.k8s.K8sCRFramework;
 import it.smartcommunitylabdhub.framework.k8s.infrastructure.k8s.K8sDeploymentFramework;
 import it.smartcommunitylabdhub.framework.k8s.infrastructure.k8s.K8sJobFramework;
@@ -39,6 +40,8 @@ import it.smartcommunitylabdhub.framework.k8s.runnables.K8sCRRunnable;
 import it.smartcommunitylabdhub.framework.k8s.runnables.K8sDeploymentRunnable;
 import it.smartcommunitylabdhub.framework.k8s.runnables.K8sJobRunnable;
 import it.smartcommunitylabdhub.framework.k8s.runnables.K8sServeRunnable;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -79,6 +82,22 @@ public class K8sFrameworkConfig {
         return storeSupplier.get(K8sCRRunnable.class);
     }
 
+    @Bean
+    @ConditionalOnKubernetes
+    public K8sMetricsCache k8sMetricsCache(
+        ApiClient apiClient,
+        @Value("${kubernetes.namespace}") String namespace,
+        @Value("${kubernetes.cache.metrics-ttl}") Integer ttlSeconds
+    ) {
+        K8sMetricsCache cache = new K8sMetricsCache(apiClient);
+        cache.setNamespace(namespace);
+        if (ttlSeconds != null) {
+            cache.setTtl(Duration.ofSeconds(ttlSeconds));
+        }
+
+        return cache;
+    }
+
     @Bean
     @ConditionalOnKubernetes
     public K8sJobFramework k8sJobFramework(ApiClient apiClient) {
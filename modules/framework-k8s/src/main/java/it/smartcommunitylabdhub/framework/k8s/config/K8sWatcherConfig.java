@@ -24,17 +24,25 @@
 package it.smartcommunitylabdhub.framework.k8s.config;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.util.ClientBuilder;
+import it.smartcommunitylabdhub.commons.config.ApplicationProperties;
 import it.smartcommunitylabdhub.framework.k8s.annotations.ConditionalOnKubernetes;
+import it.smartcommunitylabdhub.framework.k8s.infrastructure.cache.K8sInformerCache;
 import it.smartcommunitylabdhub.framework.k8s.infrastructure.monitor.K8sDeploymentMonitor;
 import it.smartcommunitylabdhub.framework.k8s.infrastructure.monitor.K8sJobMonitor;
 import it.smartcommunitylabdhub.framework.k8s.infrastructure.monitor.K8sServeMonitor;
 import it.smartcommunitylabdhub.framework.k8s.infrastructure.watcher.K8sDeploymentWatcher;
 import it.smartcommunitylabdhub.framework.k8s.infrastructure.watcher.K8sJobWatcher;
 import it.smartcommunitylabdhub.framework.k8s.infrastructure.watcher.K8sServeWatcher;
+import it.smartcommunitylabdhub.framework.k8s.kubernetes.K8sBuilderHelper;
 import it.smartcommunitylabdhub.framework.k8s.kubernetes.K8sLabelHelper;
+import java.io.IOException;
+import java.time.Duration;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -54,6 +62,28 @@ public class K8sWatcherConfig {
     @Value("${kubernetes.namespace}")
     private String namespace;
 
+    @Bean
+    @ConditionalOnKubernetes
+    @ConditionalOnProperty(name = "kubernetes.cache.enable", havingValue = "true", matchIfMissing = false)
+    public K8sInformerCache k8sInformerCache(
+        ApplicationProperties applicationProperties,
+        @Value("${kubernetes.cache.resync}") Integer resyncSeconds
+    ) throws IOException {
+        //dedicated client: watches are long-running calls and require no read timeout
+        ApiClient apiClient = ClientBuilder.standard().setReadTimeout(Duration.ZERO).build();
+
+        K8sInformerCache cache = new K8sInformerCache(apiClient);
+        cache.setNamespace(namespace);
+        cache.setLabelSelector(
+            "app.kubernetes.io/managed-by=" + K8sBuilderHelper.sanitizeNames(applicationProperties.getName())
+        );
+        if (resyncSeconds != null) {
+            cache.setResyncPeriod(Duration.ofSeconds(resyncSeconds));
+        }
+
+        return cache;
+    }
+
     @Bean
     @ConditionalOnKubernetes
     public K8sJobWatcher k8sJobWatcher(K8sJobMonitor k8sJobMonitor) {
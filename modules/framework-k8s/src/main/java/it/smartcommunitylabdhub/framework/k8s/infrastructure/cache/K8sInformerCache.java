@@ -0,0 +1,422 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.framework.k8s.infrastructure.cache;
+
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.informer.cache.Lister;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.apis.BatchV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.apis.EventsV1Api;
+import io.kubernetes.client.openapi.models.EventsV1Event;
+import io.kubernetes.client.openapi.models.EventsV1EventList;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1DeploymentList;
+import io.kubernetes.client.openapi.models.V1Job;
+import io.kubernetes.client.openapi.models.V1JobList;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1ServiceList;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Local cache of kubernetes objects managed by core, backed by shared informers.
+ *
+ * A single list-watch stream per resource type keeps the cache up to date: frameworks
+ * consult the cache first and fall back to the API when the cache is not synced or
+ * the object is missing (for example right after creation).
+ */
+@Slf4j
+public class K8sInformerCache implements MeterBinder, InitializingBean, DisposableBean {
+
+    public static final String INSTANCE_LABEL = "app.kubernetes.io/instance";
+    public static final String INDEX_INSTANCE = "instance";
+    public static final String INDEX_REGARDING = "regarding";
+    public static final String EVENTS_FIELD_SELECTOR = "regarding.kind=Pod";
+    public static final long DEFAULT_RESYNC_PERIOD = 300 * 1000L;
+
+    private final ApiClient apiClient;
+    private final SharedInformerFactory factory;
+
+    private String namespace;
+    private String labelSelector;
+    private long resyncPeriod = DEFAULT_RESYNC_PERIOD;
+
+    private SharedIndexInformer<V1Job> jobInformer;
+    private SharedIndexInformer<V1Deployment> deploymentInformer;
+    private SharedIndexInformer<V1Pod> podInformer;
+    private SharedIndexInformer<V1Service> serviceInformer;
+    private SharedIndexInformer<EventsV1Event> eventInformer;
+
+    //track last update and resyncs per type for staleness metrics
+    private final Map<String, AtomicLong> lastUpdates = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> resyncs = new ConcurrentHashMap<>();
+
+    public K8sInformerCache(ApiClient apiClient) {
+        Assert.notNull(apiClient, "k8s api client is required");
+        this.apiClient = apiClient;
+        this.factory = new SharedInformerFactory(apiClient);
+    }
+
+    public void setNamespace(String namespace) {
+        this.namespace = namespace;
+    }
+
+    public void setLabelSelector(String labelSelector) {
+        this.labelSelector = labelSelector;
+    }
+
+    public void setResyncPeriod(Duration resyncPeriod) {
+        if (resyncPeriod != null && !resyncPeriod.isNegative()) {
+            this.resyncPeriod = resyncPeriod.toMillis();
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Assert.hasText(namespace, "k8s namespace required");
+        Assert.hasText(labelSelector, "label selector required");
+
+        CoreV1Api coreV1Api = new CoreV1Api(apiClient);
+        BatchV1Api batchV1Api = new BatchV1Api(apiClient);
+        AppsV1Api appsV1Api = new AppsV1Api(apiClient);
+        EventsV1Api eventsV1Api = new EventsV1Api(apiClient);
+
+        //objects are selected via managed-by label
+        jobInformer =
+            factory.sharedIndexInformerFor(
+                params ->
+                    batchV1Api.listNamespacedJobCall(
+                        namespace,
+                        null,
+                        null,
+                        null,
+                        null,
+                        labelSelector,
+                        null,
+                        params.resourceVersion,
+                        null,
+                        null,
+                        params.timeoutSeconds,
+                        params.watch,
+                        null
+                    ),
+                V1Job.class,
+                V1JobList.class,
+                resyncPeriod
+            );
+
+        deploymentInformer =
+            factory.sharedIndexInformerFor(
+                params ->
+                    appsV1Api.listNamespacedDeploymentCall(
+                        namespace,
+                        null,
+                        null,
+                        null,
+                        null,
+                        labelSelector,
+                        null,
+                        params.resourceVersion,
+                        null,
+                        null,
+                        params.timeoutSeconds,
+                        params.watch,
+                        null
+                    ),
+                V1Deployment.class,
+                V1DeploymentList.class,
+                resyncPeriod
+            );
+
+        podInformer =
+            factory.sharedIndexInformerFor(
+                params ->
+                    coreV1Api.listNamespacedPodCall(
+                        namespace,
+                        null,
+                        null,
+                        null,
+                        null,
+                        labelSelector,
+                        null,
+                        params.resourceVersion,
+                        null,
+                        null,
+                        params.timeoutSeconds,
+                        params.watch,
+                        null
+                    ),
+                V1Pod.class,
+                V1PodList.class,
+                resyncPeriod
+            );
+
+        serviceInformer =
+            factory.sharedIndexInformerFor(
+                params ->
+                    coreV1Api.listNamespacedServiceCall(
+                        namespace,
+                        null,
+                        null,
+                        null,
+                        null,
+                        labelSelector,
+                        null,
+                        params.resourceVersion,
+                        null,
+                        null,
+                        params.timeoutSeconds,
+                        params.watch,
+                        null
+                    ),
+                V1Service.class,
+                V1ServiceList.class,
+                resyncPeriod
+            );
+
+        //events carry no labels: restrict the namespace watch to pod events via field selector
+        //other kinds are far less frequent and are read from the API on demand
+        eventInformer =
+            factory.sharedIndexInformerFor(
+                params ->
+                    eventsV1Api.listNamespacedEventCall(
+                        namespace,
+                        null,
+                        null,
+                        null,
+                        EVENTS_FIELD_SELECTOR,
+                        null,
+                        null,
+                        params.resourceVersion,
+                        null,
+                        null,
+                        params.timeoutSeconds,
+                        params.watch,
+                        null
+                    ),
+                EventsV1Event.class,
+                EventsV1EventList.class,
+                resyncPeriod
+            );
+
+        //index pods by instance label, as per framework selectors
+        podInformer.addIndexers(
+            Map.of(
+                INDEX_INSTANCE,
+                pod ->
+                    Optional
+                        .ofNullable(pod.getMetadata())
+                        .map(m -> m.getLabels())
+                        .map(l -> l.get(INSTANCE_LABEL))
+                        .map(List::of)
+                        .orElse(Collections.emptyList())
+            )
+        );
+
+        //index events by regarding object name
+        eventInformer.addIndexers(
+            Map.of(
+                INDEX_REGARDING,
+                event ->
+                    Optional
+                        .ofNullable(event.getRegarding())
+                        .map(r -> r.getName())
+                        .map(List::of)
+                        .orElse(Collections.emptyList())
+            )
+        );
+
+        track("job", jobInformer);
+        track("deployment", deploymentInformer);
+        track("pod", podInformer);
+        track("service", serviceInformer);
+        track("event", eventInformer);
+
+        log.info("start k8s informers for {} with selector {}", namespace, labelSelector);
+        factory.startAllRegisteredInformers();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        log.info("stop k8s informers...");
+        factory.stopAllRegisteredInformers();
+    }
+
+    /*
+     * Cache access: null means the cache can not answer and callers should query the API
+     */
+
+    public @Nullable V1Job getJob(String name) {
+        return get(jobInformer, name);
+    }
+
+    public @Nullable V1Deployment getDeployment(String name) {
+        return get(deploymentInformer, name);
+    }
+
+    public @Nullable V1Service getService(String name) {
+        return get(serviceInformer, name);
+    }
+
+    public @Nullable List<V1Pod> getPods(String instance) {
+        if (podInformer == null || !podInformer.hasSynced()) {
+            return null;
+        }
+
+        return podInformer.getIndexer().byIndex(INDEX_INSTANCE, instance);
+    }
+
+    public @Nullable List<EventsV1Event> getEvents(KubernetesObject regarding) {
+        if (eventInformer == null || !eventInformer.hasSynced() || regarding.getMetadata() == null) {
+            return null;
+        }
+
+        //only events for pods selected by core are answered from cache
+        String name = regarding.getMetadata().getName();
+        if (!(regarding instanceof V1Pod) || get(podInformer, name) == null) {
+            return null;
+        }
+
+        return eventInformer.getIndexer().byIndex(INDEX_REGARDING, name);
+    }
+
+    public boolean hasSynced() {
+        return Stream
+            .of(jobInformer, deploymentInformer, podInformer, serviceInformer, eventInformer)
+            .allMatch(i -> i != null && i.hasSynced());
+    }
+
+    private <T extends KubernetesObject> T get(SharedIndexInformer<T> informer, String name) {
+        if (informer == null || !informer.hasSynced() || name == null) {
+            return null;
+        }
+
+        return new Lister<>(informer.getIndexer(), namespace).get(name);
+    }
+
+    private <T extends KubernetesObject> void track(String type, SharedIndexInformer<T> informer) {
+        AtomicLong lastUpdate = lastUpdates.computeIfAbsent(type, k -> new AtomicLong(System.currentTimeMillis()));
+        AtomicLong resync = resyncs.computeIfAbsent(type, k -> new AtomicLong());
+
+        informer.addEventHandler(
+            new ResourceEventHandler<T>() {
+                @Override
+                public void onAdd(T obj) {
+                    lastUpdate.set(System.currentTimeMillis());
+                }
+
+                @Override
+                public void onUpdate(T oldObj, T newObj) {
+                    lastUpdate.set(System.currentTimeMillis());
+
+                    //same resource version means a periodic resync
+                    if (
+                        oldObj.getMetadata() != null &&
+                        newObj.getMetadata() != null &&
+                        Objects.equals(
+                            oldObj.getMetadata().getResourceVersion(),
+                            newObj.getMetadata().getResourceVersion()
+                        )
+                    ) {
+                        resync.incrementAndGet();
+                    }
+                }
+
+                @Override
+                public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+                    lastUpdate.set(System.currentTimeMillis());
+                }
+            }
+        );
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Map<String, SharedIndexInformer<? extends KubernetesObject>> informers = Map.of(
+            "job",
+            jobInformer,
+            "deployment",
+            deploymentInformer,
+            "pod",
+            podInformer,
+            "service",
+            serviceInformer,
+            "event",
+            eventInformer
+        );
+
+        informers.forEach((type, informer) -> {
+            Gauge
+                .builder("k8s.cache.size", informer, i -> i.getIndexer().list().size())
+                .tag("type", type)
+                .description("Number of objects in the k8s informer cache")
+                .register(registry);
+
+            Gauge
+                .builder("k8s.cache.synced", informer, i -> i.hasSynced() ? 1 : 0)
+                .tag("type", type)
+                .description("Sync status of the k8s informer cache")
+                .register(registry);
+
+            Gauge
+                .builder(
+                    "k8s.cache.staleness",
+                    lastUpdates.get(type),
+                    l -> (System.currentTimeMillis() - l.get()) / 1000.0
+                )
+                .tag("type", type)
+                .baseUnit("seconds")
+                .description("Time since the last update received by the k8s informer cache")
+                .register(registry);
+
+            Gauge
+                .builder("k8s.cache.resyncs", resyncs.get(type), AtomicLong::get)
+                .tag("type", type)
+                .description("Number of periodic resyncs observed by the k8s informer cache")
+                .register(registry);
+        });
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.framework.k8s.infrastructure.cache;
+
+import it.smartcommunitylabdhub.framework.k8s.objects.CoreLogCursor;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Log cursors of active runnables, indexed by runnable id and pod/container.
+ *
+ * Entries are loaded from the log store on a miss and advanced only once a delta has been
+ * persisted, so monitors avoid reading every log of every active runnable on each sweep.
+ */
+@Component
+public class K8sLogCursorCache {
+
+    private final Map<String, Map<String, CoreLogCursor>> cursors = new ConcurrentHashMap<>();
+
+    public static String key(String pod, String container) {
+        return pod + "/" + container;
+    }
+
+    /**
+     * Cursors for the runnable, loading them via loader on a miss.
+     * Loader errors are propagated and nothing is cached.
+     */
+    public Map<String, CoreLogCursor> get(String id, Function<String, Map<String, CoreLogCursor>> loader) {
+        Assert.notNull(id, "id can not be null");
+        Map<String, CoreLogCursor> map = cursors.computeIfAbsent(id, k -> new ConcurrentHashMap<>(loader.apply(k)));
+        return new HashMap<>(map);
+    }
+
+    /**
+     * Advance a persisted cursor, only for runnables already cached:
+     * a partial entry would hide cursors of other containers on the next load
+     */
+    public void put(String id, String pod, String container, CoreLogCursor cursor) {
+        if (id == null || cursor == null) {
+            return;
+        }
+
+        cursors.computeIfPresent(
+            id,
+            (k, map) -> {
+                map.put(key(pod, container), cursor);
+                return map;
+            }
+        );
+    }
+
+    public void evict(String id) {
+        if (id != null) {
+            cursors.remove(id);
+        }
+    }
+
+    //keep only runnables still monitored
+    public void retain(Collection<String> ids) {
+        cursors.keySet().retainAll(ids);
+    }
+}
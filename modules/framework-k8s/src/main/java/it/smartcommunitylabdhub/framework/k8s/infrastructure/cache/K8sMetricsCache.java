@@ -0,0 +1,155 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 DSLab - Fondazione Bruno Kessler
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package it.smartcommunitylabdhub.framework.k8s.infrastructure.cache;
+
+import io.kubernetes.client.Metrics;
+import io.kubernetes.client.custom.PodMetrics;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Snapshot of pod metrics for the whole namespace, indexed by pod name.
+ *
+ * Metrics are listed once and shared by every framework and monitor until the ttl
+ * expires, so a monitor sweep costs a single metrics call instead of one per runnable.
+ */
+@Slf4j
+public class K8sMetricsCache implements MeterBinder, InitializingBean {
+
+    public static final long DEFAULT_TTL = 5 * 1000L;
+
+    private final Metrics metricsApi;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private String namespace;
+    private long ttl = DEFAULT_TTL;
+
+    private volatile Snapshot snapshot;
+
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+
+    public K8sMetricsCache(ApiClient apiClient) {
+        Assert.notNull(apiClient, "k8s api client is required");
+        this.metricsApi = new Metrics(apiClient);
+    }
+
+    public void setNamespace(String namespace) {
+        this.namespace = namespace;
+    }
+
+    public void setTtl(Duration ttl) {
+        if (ttl != null && !ttl.isNegative()) {
+            this.ttl = ttl.toMillis();
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Assert.hasText(namespace, "k8s namespace required");
+    }
+
+    public @Nullable PodMetrics get(String pod) throws ApiException {
+        return pod != null ? snapshot().get(pod) : null;
+    }
+
+    public Map<String, PodMetrics> snapshot() throws ApiException {
+        Snapshot s = snapshot;
+        if (s != null && !s.isExpired(ttl)) {
+            hits.incrementAndGet();
+            return s.metrics();
+        }
+
+        //single refresh for concurrent callers
+        lock.lock();
+        try {
+            s = snapshot;
+            if (s == null || s.isExpired(ttl)) {
+                log.debug("refresh pod metrics snapshot for namespace {}", namespace);
+                List<PodMetrics> items = metricsApi.getPodMetrics(namespace).getItems();
+
+                Map<String, PodMetrics> metrics = new HashMap<>();
+                if (items != null) {
+                    items
+                        .stream()
+                        .filter(m -> m.getMetadata() != null && m.getMetadata().getName() != null)
+                        .forEach(m -> metrics.put(m.getMetadata().getName(), m));
+                }
+
+                s = new Snapshot(System.currentTimeMillis(), Collections.unmodifiableMap(metrics));
+                snapshot = s;
+                refreshes.incrementAndGet();
+            } else {
+                hits.incrementAndGet();
+            }
+
+            return s.metrics();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter
+            .builder("k8s.metrics.snapshot.refresh", refreshes, AtomicLong::get)
+            .description("Number of pod metrics listings")
+            .register(registry);
+
+        FunctionCounter
+            .builder("k8s.metrics.snapshot.hit", hits, AtomicLong::get)
+            .description("Number of pod metrics reads served by the snapshot")
+            .register(registry);
+
+        Gauge
+            .builder("k8s.metrics.snapshot.size", this, c -> c.snapshot != null ? c.snapshot.metrics().size() : 0)
+            .description("Number of pods in the metrics snapshot")
+            .register(registry);
+    }
+
+    private record Snapshot(long timestamp, Map<String, PodMetrics> metrics) {
+        boolean isExpired(long ttl) {
+            return System.currentTimeMillis() - timestamp >= ttl;
+        }
+    }
+}
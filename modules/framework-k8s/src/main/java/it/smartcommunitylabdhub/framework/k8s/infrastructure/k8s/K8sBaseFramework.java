@@ -62,6 +62,8 @@ import it.smartcommunitylabdhub.commons.infrastructure.Framework;
 import it.smartcommunitylabdhub.commons.utils.MapUtils;
 import it.smartcommunitylabdhub.framework.k8s.config.KubernetesProperties;
 import it.smartcommunitylabdhub.framework.k8s.exceptions.K8sFrameworkException;
+import it.smartcommunitylabdhub.framework.k8s.infrastructure.cache.K8sInformerCache;
+import it.smartcommunitylabdhub.framework.k8s.infrastructure.cache.K8sMetricsCache;
 import it.smartcommunitylabdhub.framework.k8s.jackson.KubernetesMapper;
 import it.smartcommunitylabdhub.framework.k8s.kubernetes.K8sBuilderHelper;
 import it.smartcommunitylabdhub.framework.k8s.kubernetes.K8sLabelHelper;
@@ -71,6 +73,7 @@ import it.smartcommunitylabdhub.framework.k8s.model.ContextSource;
 import it.smartcommunitylabdhub.framework.k8s.model.K8sTemplate;
 import it.smartcommunitylabdhub.framework.k8s.objects.CoreLabel;
 import it.smartcommunitylabdhub.framework.k8s.objects.CoreLog;
+import it.smartcommunitylabdhub.framework.k8s.objects.CoreLogCursor;
 import it.smartcommunitylabdhub.framework.k8s.objects.CoreMetric;
 import it.smartcommunitylabdhub.framework.k8s.objects.CoreNodeSelector;
 import it.smartcommunitylabdhub.framework.k8s.objects.CoreResourceDefinition;
@@ -81,6 +84,9 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
@@ -108,6 +114,7 @@ public abstract class K8sBaseFramework<T extends K8sRunnable, K extends Kubernet
     public static final String DEFAULT_TEMPLATE = "default";
     public static final float DEFAULT_MEM_TOLERATION = 1.1f;
     public static final int MIN_MEM = 64 * 1024 * 1024; //64Mi
+    public static final int LOG_CURSOR_SKEW_SECONDS = 5;
 
     //custom object mapper with mixIn for IntOrString
     protected static final ObjectMapper mapper = KubernetesMapper.OBJECT_MAPPER;
@@ -163,6 +170,8 @@ public abstract class K8sBaseFramework<T extends K8sRunnable, K extends Kubernet
     protected K8sBuilderHelper k8sBuilderHelper;
     protected K8sSecretHelper k8sSecretHelper;
     protected K8sLabelHelper k8sLabelHelper;
+    protected K8sInformerCache informerCache;
+    protected K8sMetricsCache metricsCache;
 
     protected K8sBaseFramework(ApiClient apiClient) {
         Assert.notNull(apiClient, "k8s api client is required");
@@ -396,6 +405,16 @@ public abstract class K8sBaseFramework<T extends K8sRunnable, K extends Kubernet
         this.k8sLabelHelper = k8sLabelHelper;
     }
 
+    @Autowired(required = false)
+    public void setInformerCache(K8sInformerCache informerCache) {
+        this.informerCache = informerCache;
+    }
+
+    @Autowired(required = false)
+    public void setMetricsCache(K8sMetricsCache metricsCache) {
+        this.metricsCache = metricsCache;
+    }
+
     @Override
     public void afterPropertiesSet() throws Exception {
         Assert.notNull(k8sBuilderHelper, "k8s helper is required");
@@ -468,6 +487,20 @@ public abstract class K8sBaseFramework<T extends K8sRunnable, K extends Kubernet
 
     public abstract K get(K obj) throws K8sFrameworkException;
 
+    /*
+     * Read object from the local cache when available, fallback to k8s api.
+     * Use only for status reads: write paths should always call get
+     */
+    public K find(K obj) throws K8sFrameworkException {
+        K cached = informerCache != null ? cached(obj) : null;
+        return cached != null ? cached : get(obj);
+    }
+
+    protected @Nullable K cached(K obj) {
+        //no cache by default
+        return null;
+    }
+
     /*
      * K8s methods
      */
@@ -477,6 +510,13 @@ public abstract class K8sBaseFramework<T extends K8sRunnable, K extends Kubernet
             return null;
         }
 
+        if (informerCache != null) {
+            List<EventsV1Event> cached = informerCache.getEvents(object);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         String fieldSelector = "regarding.name=" + object.getMetadata().getName();
         try {
             EventsV1Api eventsApi = new EventsV1Api(coreV1Api.getApiClient());
@@ -521,6 +561,14 @@ public abstract class K8sBaseFramework<T extends K8sRunnable, K extends Kubernet
             return null;
         }
 
+        if (informerCache != null) {
+            //cache holds only managed pods: on miss ask the api
+            List<V1Pod> cached = informerCache.getPods(labelValue);
+            if (cached != null && !cached.isEmpty()) {
+                return cached;
+            }
+        }
+
         String labelSelector = "app.kubernetes.io/instance=" + labelValue;
         try {
             log.debug("load pods for {}", labelSelector);
@@ -550,11 +598,18 @@ public abstract class K8sBaseFramework<T extends K8sRunnable, K extends Kubernet
         }
     }
 
-    //TODO support sinceTime when implemented by api
-    //https://github.com/kubernetes-client/java/issues/2648
-    // public Map<String, String> logs(K object, @Nullable Long sinceTime) throws K8sFrameworkException {
-
     public List<CoreLog> logs(K object) throws K8sFrameworkException {
+        return logs(object, null);
+    }
+
+    /*
+     * Read logs for every init and main container of the object's pods.
+     * When cursors are provided only lines past the cursor are fetched and
+     * returned as a delta at the given offset, along with the next cursor:
+     * cursors are not modified, callers advance them once the delta is persisted
+     */
+    public List<CoreLog> logs(K object, @Nullable Map<String, CoreLogCursor> cursors)
+        throws K8sFrameworkException {
         if (object == null || object.getMetadata() == null) {
             return null;
         }
@@ -565,79 +620,33 @@ public abstract class K8sBaseFramework<T extends K8sRunnable, K extends Kubernet
 
         List<CoreLog> logs = new ArrayList<>();
         List<V1Pod> pods = pods(object);
+        if (pods == null) {
+            return logs;
+        }
 
         for (V1Pod p : pods) {
             if (p.getMetadata() != null && p.getStatus() != null) {
                 String pod = p.getMetadata().getName();
 
                 //read init-containers first
+                List<String> containers = new ArrayList<>();
                 if (p.getStatus().getInitContainerStatuses() != null) {
-                    List<String> containers = p
-                        .getStatus()
-                        .getInitContainerStatuses()
-                        .stream()
-                        .map(s -> s.getName())
-                        .collect(Collectors.toList());
-                    for (String c : containers) {
-                        try {
-                            String log = coreV1Api.readNamespacedPodLog(
-                                pod,
-                                namespace,
-                                c,
-                                Boolean.FALSE,
-                                null,
-                                null,
-                                null,
-                                null,
-                                null,
-                                null,
-                                null,
-                                null
-                            );
-
-                            logs.add(new CoreLog(pod, log, c, namespace));
-                        } catch (ApiException e) {
-                            //catch and skip this container's logs
-                            log.error("Error with k8s: {}", e.getMessage());
-                            if (log.isTraceEnabled()) {
-                                log.trace("k8s api response: {}", e.getResponseBody());
-                            }
-                        }
-                    }
+                    p.getStatus().getInitContainerStatuses().forEach(s -> containers.add(s.getName()));
                 }
 
                 //read container
                 if (p.getStatus().getContainerStatuses() != null) {
-                    List<String> containers = p
-                        .getStatus()
-                        .getContainerStatuses()
-                        .stream()
-                        .map(s -> s.getName())
-                        .collect(Collectors.toList());
-                    for (String c : containers) {
-                        try {
-                            String log = coreV1Api.readNamespacedPodLog(
-                                pod,
-                                namespace,
-                                c,
-                                Boolean.FALSE,
-                                null,
-                                null,
-                                null,
-                                null,
-                                null,
-                                null,
-                                null,
-                                null
-                            );
-
-                            logs.add(new CoreLog(pod, log, c, namespace));
-                        } catch (ApiException e) {
-                            //catch and skip this container's logs
-                            log.error("Error with k8s: {}", e.getMessage());
-                            if (log.isTraceEnabled()) {
-                                log.trace("k8s api response: {}", e.getResponseBody());
-                            }
+                    p.getStatus().getContainerStatuses().forEach(s -> containers.add(s.getName()));
+                }
+
+                for (String c : containers) {
+                    try {
+                        logs.add(cursors != null ? readLog(pod, c, cursors) : readLog(pod, c));
+                    } catch (ApiException e) {
+                        //catch and skip this container's logs
+                        log.error("Error with k8s: {}", e.getMessage());
+                        if (log.isTraceEnabled()) {
+                            log.trace("k8s api response: {}", e.getResponseBody());
                         }
                     }
                 }
@@ -647,6 +656,108 @@ public abstract class K8sBaseFramework<T extends K8sRunnable, K extends Kubernet
         return logs;
     }
 
+    private CoreLog readLog(String pod, String container) throws ApiException {
+        String log = coreV1Api.readNamespacedPodLog(
+            pod,
+            namespace,
+            container,
+            Boolean.FALSE,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+
+        return new CoreLog(pod, log, container, namespace);
+    }
+
+    private CoreLog readLog(String pod, String container, Map<String, CoreLogCursor> cursors) throws ApiException {
+        String key = pod + "/" + container;
+        CoreLogCursor cursor = cursors.get(key);
+
+        //api supports only a relative window: ask for the interval since the cursor
+        //plus a margin for clock skew, overlapping lines are dropped via the cursor
+        Instant since = cursor != null ? cursor.instant() : null;
+        Integer sinceSeconds = since != null
+            ? (int) Math.max(1, Duration.between(since, Instant.now()).getSeconds() + LOG_CURSOR_SKEW_SECONDS)
+            : null;
+
+        String raw = coreV1Api.readNamespacedPodLog(
+            pod,
+            namespace,
+            container,
+            Boolean.FALSE,
+            null,
+            null,
+            null,
+            null,
+            sinceSeconds,
+            null,
+            null,
+            Boolean.TRUE
+        );
+
+        long offset = cursor != null && cursor.offset() != null ? cursor.offset() : 0L;
+        if (!StringUtils.hasLength(raw)) {
+            //nothing new, report an empty delta
+            return new CoreLog(pod, "", container, namespace, offset, cursor);
+        }
+
+        //lines are prefixed with the RFC3339 timestamp
+        StringBuilder sb = new StringBuilder();
+        Instant last = since;
+        int seen = cursor != null && cursor.lines() != null ? cursor.lines() : 0;
+        int lines = cursor != null && cursor.lines() != null ? cursor.lines() : 0;
+
+        for (String line : raw.split("\n")) {
+            int idx = line.indexOf(' ');
+            Instant ts = null;
+            if (idx > 0) {
+                try {
+                    ts = Instant.parse(line.substring(0, idx));
+                } catch (DateTimeParseException e) {
+                    //not a timestamp, keep the whole line
+                }
+            }
+
+            if (ts != null && since != null) {
+                if (ts.isBefore(since)) {
+                    //already collected
+                    continue;
+                }
+                if (ts.equals(since) && seen > 0) {
+                    //same instant as cursor, skip lines already collected
+                    seen--;
+                    continue;
+                }
+            }
+
+            if (ts != null) {
+                lines = ts.equals(last) ? lines + 1 : 1;
+                last = ts;
+            }
+
+            sb.append(ts != null ? line.substring(idx + 1) : line).append("\n");
+        }
+
+        if (sb.isEmpty()) {
+            return new CoreLog(pod, "", container, namespace, offset, cursor);
+        }
+
+        String value = sb.toString();
+        CoreLogCursor next = new CoreLogCursor(
+            last != null ? last.toString() : null,
+            lines,
+            offset + value.getBytes(StandardCharsets.UTF_8).length
+        );
+
+        return new CoreLog(pod, value, container, namespace, offset, next);
+    }
+
     public List<CoreMetric> metrics(K object) throws K8sFrameworkException {
         if (object == null || object.getMetadata() == null) {
             return null;
@@ -660,17 +771,25 @@ public abstract class K8sBaseFramework<T extends K8sRunnable, K extends Kubernet
             List<CoreMetric> metrics = new ArrayList<>();
             List<V1Pod> pods = pods(object);
 
-            List<PodMetrics> podMetrics = metricsApi.getPodMetrics(namespace).getItems();
+            if (pods == null || pods.isEmpty()) {
+                return metrics;
+            }
+
+            //use the shared snapshot when available
+            Map<String, PodMetrics> podMetrics = metricsCache != null
+                ? metricsCache.snapshot()
+                : metricsApi
+                    .getPodMetrics(namespace)
+                    .getItems()
+                    .stream()
+                    .filter(m -> m.getMetadata() != null && m.getMetadata().getName() != null)
+                    .collect(Collectors.toMap(m -> m.getMetadata().getName(), m -> m, (a, b) -> b));
 
             for (V1Pod p : pods) {
                 if (p.getMetadata() != null && p.getStatus() != null) {
                     String pod = p.getMetadata().getName();
 
-                    PodMetrics metric = podMetrics
-                        .stream()
-                        .filter(m -> pod.equals(m.getMetadata().getName()))
-                        .findFirst()
-                        .orElse(null);
+                    PodMetrics metric = podMetrics.get(pod);
 
                     if (metric != null && metric.getContainers() != null) {
                         metrics.add(
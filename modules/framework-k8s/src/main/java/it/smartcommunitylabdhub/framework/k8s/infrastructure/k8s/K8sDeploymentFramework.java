@@ -619,6 +619,13 @@ public class K8sDeploymentFramework extends K8sBaseFramework<K8sDeploymentRunnab
         }
     }
 
+    @Override
+    protected V1Deployment cached(@NotNull V1Deployment deployment) {
+        return deployment.getMetadata() != null
+            ? informerCache.getDeployment(deployment.getMetadata().getName())
+            : null;
+    }
+
     public V1Deployment get(@NotNull V1Deployment deployment) throws K8sFrameworkException {
         Assert.notNull(deployment.getMetadata(), "metadata can not be null");
 
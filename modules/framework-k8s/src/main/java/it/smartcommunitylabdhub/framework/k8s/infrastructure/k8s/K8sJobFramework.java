@@ -626,6 +626,11 @@ public class K8sJobFramework extends K8sBaseFramework<K8sJobRunnable, V1Job> {
      * K8s
      */
 
+    @Override
+    protected V1Job cached(@NotNull V1Job job) {
+        return job.getMetadata() != null ? informerCache.getJob(job.getMetadata().getName()) : null;
+    }
+
     public V1Job get(@NotNull V1Job job) throws K8sFrameworkException {
         Assert.notNull(job.getMetadata(), "metadata can not be null");
 
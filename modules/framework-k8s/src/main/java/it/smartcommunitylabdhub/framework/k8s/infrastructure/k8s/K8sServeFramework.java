@@ -651,6 +651,11 @@ public class K8sServeFramework extends K8sBaseFramework<K8sServeRunnable, V1Serv
      * K8s
      */
 
+    @Override
+    protected V1Service cached(@NotNull V1Service service) {
+        return service.getMetadata() != null ? informerCache.getService(service.getMetadata().getName()) : null;
+    }
+
     public V1Service get(@NotNull V1Service service) throws K8sFrameworkException {
         Assert.notNull(service.getMetadata(), "metadata can not be null");
 
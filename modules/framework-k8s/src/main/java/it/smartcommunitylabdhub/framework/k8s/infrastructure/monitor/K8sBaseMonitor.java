@@ -25,9 +25,21 @@ package it.smartcommunitylabdhub.framework.k8s.infrastructure.monitor;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import it.smartcommunitylabdhub.commons.exceptions.StoreException;
+import it.smartcommunitylabdhub.commons.exceptions.SystemException;
+import it.smartcommunitylabdhub.commons.models.log.Log;
+import it.smartcommunitylabdhub.commons.services.LogService;
+import it.smartcommunitylabdhub.commons.services.PartitionService;
 import it.smartcommunitylabdhub.commons.services.RunnableStore;
 import it.smartcommunitylabdhub.framework.k8s.jackson.KubernetesMapper;
+import it.smartcommunitylabdhub.framework.k8s.model.K8sLogStatus;
+import it.smartcommunitylabdhub.framework.k8s.infrastructure.cache.K8sLogCursorCache;
+import it.smartcommunitylabdhub.framework.k8s.objects.CoreLogCursor;
 import it.smartcommunitylabdhub.framework.k8s.runnables.K8sRunnable;
 import it.smartcommunitylabdhub.framework.k8s.runnables.K8sRunnableState;
 import it.smartcommunitylabdhub.runtimes.events.RunnableChangedEvent;
@@ -35,15 +47,31 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.stream.Stream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 @Slf4j
-public abstract class K8sBaseMonitor<T extends K8sRunnable> implements Runnable {
+public abstract class K8sBaseMonitor<T extends K8sRunnable> implements Runnable, MeterBinder, DisposableBean {
 
     //custom object mapper with mixIn for IntOrString
     protected static final ObjectMapper mapper = KubernetesMapper.OBJECT_MAPPER;
@@ -60,13 +88,36 @@ public abstract class K8sBaseMonitor<T extends K8sRunnable> implements Runnable
         K8sRunnableState.DELETING.name(),
     };
 
+    public static final int DEFAULT_PARALLELISM = 4;
+    public static final long DEFAULT_TIMEOUT = 60 * 1000L;
+
     protected final RunnableStore<T> store;
     protected ApplicationEventPublisher eventPublisher;
+    protected PartitionService partitionService;
+    protected LogService logService;
+    protected K8sLogCursorCache cursorCache;
 
     protected Boolean collectLogs = Boolean.TRUE;
     protected Boolean collectMetrics = Boolean.TRUE;
     protected String collectResults = "default";
 
+    //sweep engine
+    protected int parallelism = DEFAULT_PARALLELISM;
+    protected long timeout = DEFAULT_TIMEOUT;
+    private ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    //sweep stats
+    private Timer sweepTimer;
+    private final AtomicLong lastSweep = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong lastSize = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+
+    //last metrics sample seen per runnable, metrics are not persisted with the runnable
+    private final Map<String, String> samples = new ConcurrentHashMap<>();
+
     protected K8sBaseMonitor(RunnableStore<T> runnableStore) {
         Assert.notNull(runnableStore, "runnable store is required");
 
@@ -78,6 +129,21 @@ public abstract class K8sBaseMonitor<T extends K8sRunnable> implements Runnable
         this.eventPublisher = eventPublisher;
     }
 
+    @Autowired(required = false)
+    public void setPartitionService(PartitionService partitionService) {
+        this.partitionService = partitionService;
+    }
+
+    @Autowired(required = false)
+    public void setLogService(LogService logService) {
+        this.logService = logService;
+    }
+
+    @Autowired(required = false)
+    public void setCursorCache(K8sLogCursorCache cursorCache) {
+        this.cursorCache = cursorCache;
+    }
+
     @Autowired
     public void setCollectLogs(@Value("${kubernetes.logs.enable}") Boolean collectLogs) {
         this.collectLogs = collectLogs;
@@ -93,46 +159,207 @@ public abstract class K8sBaseMonitor<T extends K8sRunnable> implements Runnable
         this.collectResults = collectResults;
     }
 
+    @Autowired
+    public void setParallelism(@Value("${monitors.parallelism}") Integer parallelism) {
+        if (parallelism != null && parallelism > 0) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    @Autowired
+    public void setTimeout(@Value("${monitors.timeout}") Integer timeout) {
+        if (timeout != null && timeout > 0) {
+            this.timeout = timeout * 1000L;
+        }
+    }
+
     @Override
     public void run() {
         monitor();
     }
 
     public void monitor() {
-        log.debug("monitor all active...");
-        store
-            .findAll()
-            .stream()
-            .filter(runnable -> runnable.getState() != null && Arrays.asList(STATES).contains(runnable.getState()))
-            .flatMap(runnable -> {
-                log.debug("monitor run {}", runnable.getId());
+        //skip when the previous sweep is still running
+        if (!running.compareAndSet(false, true)) {
+            log.warn("monitor sweep still running, skip");
+            skipped.incrementAndGet();
+            return;
+        }
 
-                if (log.isTraceEnabled()) {
-                    log.trace("runnable: {}", runnable);
-                }
-                return Stream.of(refresh(runnable));
-            })
-            .forEach(runnable -> {
-                if (log.isTraceEnabled()) {
-                    log.trace("refreshed: {}", runnable);
+        long start = System.nanoTime();
+        try {
+            log.debug("monitor all active...");
+            //refresh only runnables owned by this replica
+            List<T> runnables = store
+                .findByStates(Arrays.asList(STATES))
+                .stream()
+                .filter(r -> owns(r.getId()))
+                .toList();
+            lastSize.set(runnables.size());
+
+            //drop samples for runnables no longer monitored here
+            Set<String> ids = runnables.stream().map(T::getId).collect(Collectors.toSet());
+            samples.keySet().retainAll(ids);
+            if (cursorCache != null) {
+                cursorCache.retain(ids);
+            }
+
+            if (parallelism <= 1) {
+                runnables.forEach(this::sweep);
+            } else {
+                //refresh concurrently on a bounded pool, each runnable under its own timeout
+                Map<String, Long> started = new ConcurrentHashMap<>();
+                Map<T, Future<?>> futures = new LinkedHashMap<>();
+                for (T runnable : runnables) {
+                    futures.put(
+                        runnable,
+                        executor().submit(() -> {
+                            started.put(runnable.getId(), System.currentTimeMillis());
+                            sweep(runnable);
+                        })
+                    );
                 }
 
-                // Update the runnable
-                try {
-                    log.debug("store run {}", runnable.getId());
-                    store.store(runnable.getId(), runnable);
+                futures.forEach((runnable, future) -> await(runnable, future, started));
+            }
+
+            log.debug("monitor completed.");
+        } finally {
+            lastSweep.set(System.currentTimeMillis());
+            if (sweepTimer != null) {
+                sweepTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+
+            running.set(false);
+        }
+    }
+
+    private void sweep(T runnable) {
+        log.debug("monitor run {}", runnable.getId());
+        if (log.isTraceEnabled()) {
+            log.trace("runnable: {}", runnable);
+        }
+
+        T refreshed = refresh(runnable);
+        if (log.isTraceEnabled()) {
+            log.trace("refreshed: {}", refreshed);
+        }
+
+        // Update the runnable
+        try {
+            log.debug("store run {}", refreshed.getId());
+            update(refreshed);
+        } catch (StoreException e) {
+            log.error("Error with runnable store: {}", e.getMessage());
+        }
+    }
+
+    private void await(T runnable, Future<?> future, Map<String, Long> started) {
+        while (true) {
+            //timeout counts from task start, queued tasks wait a full timeout to be picked up
+            Long begin = started.get(runnable.getId());
+            long wait = begin != null ? begin + timeout - System.currentTimeMillis() : timeout;
 
-                    publish(runnable);
-                } catch (StoreException e) {
-                    log.error("Error with runnable store: {}", e.getMessage());
+            try {
+                future.get(Math.max(wait, 0), TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) {
+                if (begin == null && started.containsKey(runnable.getId())) {
+                    //started meanwhile, wait for its own timeout
+                    continue;
                 }
-            });
 
-        log.debug("monitor completed.");
+                log.warn("monitor run {} timed out after {} ms", runnable.getId(), timeout);
+                timeouts.incrementAndGet();
+                future.cancel(true);
+                return;
+            } catch (ExecutionException e) {
+                log.error("Error monitoring run {}: {}", runnable.getId(), e.getCause().getMessage());
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                return;
+            }
+        }
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            String prefix = getClass().getSimpleName().toLowerCase() + "-";
+            AtomicInteger count = new AtomicInteger();
+            executor =
+                Executors.newFixedThreadPool(
+                    parallelism,
+                    r -> {
+                        Thread t = new Thread(r, prefix + count.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    }
+                );
+        }
+
+        return executor;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        String name = getClass().getSimpleName();
+
+        sweepTimer =
+            Timer
+                .builder("k8s.monitor.sweep")
+                .tag("monitor", name)
+                .description("Duration of monitor sweeps")
+                .register(registry);
+
+        Gauge
+            .builder("k8s.monitor.sweep.lag", lastSweep, l -> (System.currentTimeMillis() - l.get()) / 1000.0)
+            .tag("monitor", name)
+            .description("Seconds since the last completed monitor sweep")
+            .register(registry);
+
+        Gauge
+            .builder("k8s.monitor.sweep.size", lastSize, AtomicLong::get)
+            .tag("monitor", name)
+            .description("Number of runnables refreshed by the last monitor sweep")
+            .register(registry);
+
+        FunctionCounter
+            .builder("k8s.monitor.sweep.skipped", skipped, AtomicLong::get)
+            .tag("monitor", name)
+            .description("Number of sweeps skipped because the previous one was still running")
+            .register(registry);
+
+        FunctionCounter
+            .builder("k8s.monitor.refresh.timeout", timeouts, AtomicLong::get)
+            .tag("monitor", name)
+            .description("Number of runnable refreshes interrupted by timeout")
+            .register(registry);
+
+        FunctionCounter
+            .builder("k8s.monitor.refresh.unchanged", unchanged, AtomicLong::get)
+            .tag("monitor", name)
+            .description("Number of runnable refreshes skipped as unchanged")
+            .register(registry);
     }
 
     public void monitor(String id) throws StoreException {
         try {
+            if (!owns(id)) {
+                //monitored by another replica
+                log.debug("runnable {} not owned, skip", id);
+                return;
+            }
+
             T runnable = store.find(id);
             if (runnable == null) {
                 //nothing to do
@@ -146,9 +373,7 @@ public abstract class K8sBaseMonitor<T extends K8sRunnable> implements Runnable
 
             // Update the runnable
             log.debug("store run {}", runnable.getId());
-            store.store(runnable.getId(), runnable);
-
-            publish(runnable);
+            update(runnable);
         } catch (StoreException e) {
             log.error("Error with runnable store: {}", e.getMessage());
             throw e;
@@ -157,6 +382,79 @@ public abstract class K8sBaseMonitor<T extends K8sRunnable> implements Runnable
 
     public abstract T refresh(T runnable);
 
+    /*
+     * Store the refreshed runnable and publish only when something changed:
+     * persisted content, a new metrics sample or logs read in full
+     */
+    protected void update(T runnable) throws StoreException {
+        boolean changed = store.storeIfChanged(runnable.getId(), runnable);
+        boolean sampled = sampled(runnable);
+        boolean logs =
+            runnable.getLogs() != null && runnable.getLogs().stream().anyMatch(l -> StringUtils.hasLength(l.value()));
+
+        if (changed || sampled || logs) {
+            publish(runnable);
+        } else {
+            log.debug("run {} unchanged, skip publish", runnable.getId());
+            unchanged.incrementAndGet();
+        }
+    }
+
+    private boolean sampled(T runnable) {
+        if (runnable.getMetrics() == null || runnable.getMetrics().isEmpty()) {
+            return false;
+        }
+
+        String sample = runnable
+            .getMetrics()
+            .stream()
+            .map(m -> m.pod() + "@" + m.timestamp())
+            .sorted()
+            .collect(Collectors.joining(","));
+
+        return !sample.equals(samples.put(runnable.getId(), sample));
+    }
+
+    /*
+     * Read cursors from the persisted logs: cursors are stored along with the content
+     * so a failed write is read again, and containers without a log are read in full.
+     * When the cursor cache is available logs are read only on a miss.
+     */
+    protected Map<String, CoreLogCursor> cursors(T runnable) {
+        if (logService == null) {
+            return new HashMap<>();
+        }
+
+        try {
+            if (cursorCache != null) {
+                return cursorCache.get(runnable.getId(), this::loadCursors);
+            }
+
+            return loadCursors(runnable.getId());
+        } catch (SystemException e) {
+            log.error("error reading log cursors for {}: {}", runnable.getId(), e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private Map<String, CoreLogCursor> loadCursors(String id) throws SystemException {
+        Map<String, CoreLogCursor> cursors = new HashMap<>();
+        for (Log l : logService.getLogsByRunId(id)) {
+            K8sLogStatus status = new K8sLogStatus();
+            status.configure(l.getStatus());
+
+            if (status.getCursor() != null) {
+                cursors.put(K8sLogCursorCache.key(status.getPod(), status.getContainer()), status.getCursor());
+            }
+        }
+
+        return cursors;
+    }
+
+    protected boolean owns(String id) {
+        return partitionService == null || id == null || partitionService.owns(id);
+    }
+
     protected void publish(T runnable) {
         if (eventPublisher != null) {
             log.debug("publish run {}", runnable.getId());
@@ -149,7 +149,7 @@ public class K8sCRMonitor extends K8sBaseMonitor<K8sCRRunnable> {
             try {
                 // TODO add sinceTime when available
                 // TODO read native argo logs
-                runnable.setLogs(framework.logs(cr));
+                runnable.setLogs(framework.logs(cr, cursors(runnable)));
             } catch (K8sFrameworkException e1) {
                 log.error("error collecting logs for {}: {}", runnable.getId(), e1.getMessage());
             }
@@ -70,8 +70,8 @@ public class K8sServeMonitor extends K8sBaseMonitor<K8sServeRunnable> {
     @Override
     public K8sServeRunnable refresh(K8sServeRunnable runnable) {
         try {
-            V1Deployment deployment = deploymentFramework.get(serveFramework.buildDeployment(runnable));
-            V1Service service = serveFramework.get(serveFramework.build(runnable));
+            V1Deployment deployment = deploymentFramework.find(serveFramework.buildDeployment(runnable));
+            V1Service service = serveFramework.find(serveFramework.build(runnable));
 
             // check status
             // if ERROR signal, otherwise let RUNNING
@@ -225,8 +225,7 @@ public class K8sServeMonitor extends K8sBaseMonitor<K8sServeRunnable> {
                         deployment.getMetadata().getName(),
                         runnable.getId()
                     );
-                    //TODO add sinceTime when available
-                    runnable.setLogs(deploymentFramework.logs(deployment));
+                    runnable.setLogs(deploymentFramework.logs(deployment, cursors(runnable)));
                 } catch (K8sFrameworkException e1) {
                     log.error("error collecting logs for {}: {}", runnable.getId(), e1.getMessage());
                 }
@@ -35,6 +35,8 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.InitializingBean;
@@ -46,16 +48,21 @@ import org.springframework.util.Assert;
 public abstract class K8sBaseWatcher<T extends K8sRunnable> implements InitializingBean {
 
     protected final ExecutorService executor = Executors.newCachedThreadPool();
+    protected final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "k8s-watcher-debounce");
+        t.setDaemon(true);
+        return t;
+    });
     protected final KubernetesClient client;
     protected final K8sBaseMonitor<T> k8sMonitor;
 
     protected String namespace;
     protected K8sLabelHelper k8sLabelHelper;
 
-    // Debounce map and interval
-    // TODO add cleanup for expired entries
-    private final Map<String, Long> debounceMap = new ConcurrentHashMap<>();
+    // Debounce map, interval and ttl for idle entries
+    private final Map<String, Debounce> debounceMap = new ConcurrentHashMap<>();
     private static final long DEBOUNCE_INTERVAL_MS = 1000;
+    private static final long DEBOUNCE_TTL_MS = 60 * 1000;
 
     public K8sBaseWatcher(KubernetesClient client, K8sBaseMonitor<T> k8sMonitor) {
         Assert.notNull(k8sMonitor, "k8s monitor is required");
@@ -79,6 +86,9 @@ public abstract class K8sBaseWatcher<T extends K8sRunnable> implements Initializ
     public void afterPropertiesSet() throws Exception {
         Assert.notNull(k8sLabelHelper, "k8s label helper is required");
         Assert.notNull(namespace, "k8s namespace required");
+
+        //evict idle entries
+        scheduler.scheduleWithFixedDelay(this::evict, DEBOUNCE_TTL_MS, DEBOUNCE_TTL_MS, TimeUnit.MILLISECONDS);
     }
 
     public abstract void start();
@@ -150,26 +160,105 @@ public abstract class K8sBaseWatcher<T extends K8sRunnable> implements Initializ
         };
     }
 
-    //TODO replace simple debounce with debounce+comparison logic to avoid ignoring final states
+    /*
+     * Coalesce events per runnable: at most one refresh per interval runs on the executor,
+     * events received meanwhile are merged into a single trailing refresh so the last
+     * state is always observed
+     */
     protected void debounceAndRefresh(String runnableId, Runnable refreshAction) {
         long now = System.currentTimeMillis();
         debounceMap.compute(
             runnableId,
-            (key, lastExecutionTime) -> {
-                if (lastExecutionTime == null || (now - lastExecutionTime) > DEBOUNCE_INTERVAL_MS) {
-                    refreshAction.run();
-                    // Update the last execution time
-                    return now;
+            (key, d) -> {
+                Debounce debounce = d != null ? d : new Debounce();
+                debounce.action = refreshAction;
+
+                if (debounce.running) {
+                    //refresh in progress, run again once completed
+                    debounce.pending = true;
+                } else if (!debounce.scheduled) {
+                    long wait = Math.max(debounce.last + DEBOUNCE_INTERVAL_MS - now, 0);
+                    debounce.scheduled = true;
+                    schedule(key, wait);
                 }
 
-                return lastExecutionTime;
+                return debounce;
             }
         );
     }
 
+    private void schedule(String runnableId, long wait) {
+        Runnable task = () -> executor.execute(() -> execute(runnableId));
+        if (wait > 0) {
+            scheduler.schedule(task, wait, TimeUnit.MILLISECONDS);
+        } else {
+            task.run();
+        }
+    }
+
+    private void execute(String runnableId) {
+        Debounce debounce = debounceMap.computeIfPresent(
+            runnableId,
+            (key, d) -> {
+                d.scheduled = false;
+                d.running = true;
+                return d;
+            }
+        );
+
+        if (debounce == null || debounce.action == null) {
+            return;
+        }
+
+        try {
+            debounce.action.run();
+        } catch (RuntimeException e) {
+            log.error("Error refreshing {}: {}", runnableId, e.getMessage());
+        } finally {
+            debounceMap.computeIfPresent(
+                runnableId,
+                (key, d) -> {
+                    d.running = false;
+                    d.last = System.currentTimeMillis();
+
+                    //trailing refresh for events received while running
+                    if (d.pending) {
+                        d.pending = false;
+                        d.scheduled = true;
+                        schedule(key, DEBOUNCE_INTERVAL_MS);
+                    }
+
+                    return d;
+                }
+            );
+        }
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        debounceMap
+            .keySet()
+            .forEach(key ->
+                debounceMap.computeIfPresent(
+                    key,
+                    (k, d) -> (!d.running && !d.scheduled && (now - d.last) > DEBOUNCE_TTL_MS) ? null : d
+                )
+            );
+    }
+
     @PreDestroy
     public void shutdown() {
         log.info("Shutting down watchers...");
+        scheduler.shutdownNow();
         executor.shutdownNow();
     }
+
+    private static class Debounce {
+
+        private long last = 0;
+        private boolean running = false;
+        private boolean pending = false;
+        private boolean scheduled = false;
+        private Runnable action;
+    }
 }
@@ -26,6 +26,7 @@ package it.smartcommunitylabdhub.framework.k8s.model;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import it.smartcommunitylabdhub.commons.models.base.BaseSpec;
 import it.smartcommunitylabdhub.commons.models.status.Status;
+import it.smartcommunitylabdhub.framework.k8s.objects.CoreLogCursor;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +48,9 @@ public class K8sLogStatus extends BaseSpec implements Status {
     private String pod;
     private String container;
 
+    //read cursor for the persisted content
+    private CoreLogCursor cursor;
+
     private List<Serializable> metrics;
 
     @Override
@@ -56,6 +60,7 @@ public class K8sLogStatus extends BaseSpec implements Status {
         this.namespace = spec.getNamespace();
         this.pod = spec.getPod();
         this.container = spec.getContainer();
+        this.cursor = spec.getCursor();
 
         this.metrics = spec.getMetrics();
     }
@@ -26,5 +26,18 @@ package it.smartcommunitylabdhub.framework.k8s.objects;
 import jakarta.validation.constraints.NotBlank;
 import java.io.Serializable;
 
-public record CoreLog(@NotBlank String pod, @NotBlank String value, String container, String namespace)
-    implements Serializable {}
+public record CoreLog(
+    @NotBlank String pod,
+    @NotBlank String value,
+    String container,
+    String namespace,
+    //byte offset of value in the full container log, null when value is the full log
+    Long offset,
+    //cursor past value, to be persisted only once value is stored
+    CoreLogCursor cursor
+)
+    implements Serializable {
+    public CoreLog(String pod, String value, String container, String namespace) {
+        this(pod, value, container, namespace, null, null);
+    }
+}
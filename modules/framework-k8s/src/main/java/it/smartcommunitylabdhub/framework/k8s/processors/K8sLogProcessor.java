@@ -35,6 +35,7 @@ import it.smartcommunitylabdhub.commons.models.run.Run;
 import it.smartcommunitylabdhub.commons.models.run.RunBaseStatus;
 import it.smartcommunitylabdhub.commons.models.status.Status;
 import it.smartcommunitylabdhub.commons.services.LogService;
+import it.smartcommunitylabdhub.framework.k8s.infrastructure.cache.K8sLogCursorCache;
 import it.smartcommunitylabdhub.framework.k8s.model.K8sLogStatus;
 import it.smartcommunitylabdhub.framework.k8s.objects.CoreLog;
 import it.smartcommunitylabdhub.framework.k8s.objects.CoreMetric;
@@ -42,11 +43,12 @@ import it.smartcommunitylabdhub.framework.k8s.runnables.K8sRunnable;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -64,12 +66,18 @@ public class K8sLogProcessor implements Processor<Run, RunBaseStatus> {
     public static final int MAX_METRICS = 300;
 
     private final LogService logService;
+    private K8sLogCursorCache cursorCache;
 
     public K8sLogProcessor(LogService logService) {
         Assert.notNull(logService, "log service is required to persist logs");
         this.logService = logService;
     }
 
+    @Autowired(required = false)
+    public void setCursorCache(K8sLogCursorCache cursorCache) {
+        this.cursorCache = cursorCache;
+    }
+
     @Override
     public <I> RunBaseStatus process(String stage, Run run, I input) throws CoreRuntimeException {
         if (input instanceof K8sRunnable) {
@@ -150,39 +158,64 @@ public class K8sLogProcessor implements Processor<Run, RunBaseStatus> {
             try {
                 String key = l.namespace() + l.pod() + l.container();
 
+                //incremental reads are appended as chunks at offset
+                boolean append = l.offset() != null;
+
                 if (entries.get(key) != null) {
                     //update
                     Log log = entries.get(key);
-                    log.setContent(l.value());
+                    if (append) {
+                        if (StringUtils.hasLength(l.value())) {
+                            logService.appendLog(log.getId(), l.offset(), l.value());
+                        }
+
+                        //keep stored chunks on update
+                        log.setContent(null);
+                    } else {
+                        log.setContent(l.value());
+                    }
 
                     //check if metric is available
-                    if (mmetrics.containsKey(key)) {
+                    //snapshots are shared between sweeps, skip samples already recorded
+                    K8sLogStatus logStatus = new K8sLogStatus();
+                    logStatus.configure(log.getStatus());
+
+                    boolean sampled =
+                        mmetrics.containsKey(key) &&
+                        (logStatus.getMetrics() == null ||
+                            logStatus.getMetrics().isEmpty() ||
+                            !(logStatus.getMetrics().getLast() instanceof Map<?, ?> last) ||
+                            !Objects.equals(last.get("timestamp"), mmetrics.get(key).get("timestamp")));
+
+                    if (sampled) {
                         HashMap<String, Serializable> metric = mmetrics.get(key);
 
                         //append to status
-                        K8sLogStatus logStatus = new K8sLogStatus();
-                        logStatus.configure(log.getStatus());
-
                         List<Serializable> list = logStatus.getMetrics() != null
                             ? new ArrayList<>(logStatus.getMetrics())
                             : new ArrayList<>();
 
                         list.addLast(metric);
-                        logStatus.setMetrics(list);
-
-                        //check if we need to slice
-                        //TODO cleanup
-                        if (list.size() > MAX_METRICS) {
-                            Collections.reverse(list);
-                            List<Serializable> slice = new ArrayList<>(list.subList(0, MAX_METRICS));
-                            Collections.reverse(slice);
-                            logStatus.setMetrics(slice);
-                        }
+                        logStatus.setMetrics(thin(list));
+                    }
+
+                    //advance the cursor only after the delta is stored
+                    boolean advanced = append && l.cursor() != null && !Objects.equals(l.cursor(), logStatus.getCursor());
+                    if (advanced) {
+                        logStatus.setCursor(l.cursor());
+                    }
 
+                    if (sampled || advanced) {
                         log.setStatus(logStatus.toMap());
                     }
 
-                    logService.updateLog(log.getId(), log);
+                    if (!append || sampled || advanced) {
+                        logService.updateLog(log.getId(), log);
+                    }
+
+                    if (advanced) {
+                        advance(runId, l);
+                    }
                 } else {
                     //add as new
                     LogSpec logSpec = new LogSpec();
@@ -203,16 +236,7 @@ public class K8sLogProcessor implements Processor<Run, RunBaseStatus> {
                             ? new ArrayList<>(logStatus.getMetrics())
                             : new ArrayList<>();
                         list.addLast(metric);
-                        logStatus.setMetrics(list);
-
-                        //check if we need to slice
-                        //TODO cleanup
-                        if (list.size() > MAX_METRICS) {
-                            Collections.reverse(list);
-                            List<Serializable> slice = new ArrayList<>(list.subList(0, MAX_METRICS));
-                            Collections.reverse(slice);
-                            logStatus.setMetrics(slice);
-                        }
+                        logStatus.setMetrics(thin(list));
                     }
 
                     Log log = Log
@@ -220,10 +244,20 @@ public class K8sLogProcessor implements Processor<Run, RunBaseStatus> {
                         .project(run.getProject())
                         .spec(logSpec.toMap())
                         .status(logStatus.toMap())
-                        .content(l.value())
+                        .content(append ? null : l.value())
                         .build();
 
-                    logService.createLog(log);
+                    log = logService.createLog(log);
+                    if (append && StringUtils.hasLength(l.value())) {
+                        logService.appendLog(log.getId(), l.offset(), l.value());
+
+                        //store the cursor once content is written
+                        logStatus.setCursor(l.cursor());
+                        log.setStatus(logStatus.toMap());
+                        log.setContent(null);
+                        logService.updateLog(log.getId(), log);
+                        advance(runId, l);
+                    }
                 }
             } catch (
                 NoSuchEntityException
@@ -237,4 +271,35 @@ public class K8sLogProcessor implements Processor<Run, RunBaseStatus> {
             }
         });
     }
+
+    //share the stored cursor with monitors
+    private void advance(String runId, CoreLog l) {
+        if (cursorCache != null) {
+            cursorCache.put(runId, l.pod(), l.container(), l.cursor());
+        }
+    }
+
+    /*
+     * Keep samples within MAX_METRICS by halving the resolution of the older half:
+     * recent usage stays at full rate while the whole run remains covered
+     */
+    private static List<Serializable> thin(List<Serializable> list) {
+        if (list.size() <= MAX_METRICS) {
+            return list;
+        }
+
+        int recent = MAX_METRICS / 2;
+        int older = list.size() - recent;
+
+        List<Serializable> slice = new ArrayList<>(MAX_METRICS);
+        for (int i = 0; i < older; i += 2) {
+            slice.add(list.get(i));
+        }
+        slice.addAll(list.subList(older, list.size()));
+
+        //drop oldest when still above limit
+        return slice.size() > MAX_METRICS
+            ? new ArrayList<>(slice.subList(slice.size() - MAX_METRICS, slice.size()))
+            : slice;
+    }
 }
@@ -61,7 +61,7 @@ public class K8sContainerBuilderMonitor extends K8sBaseMonitor<K8sContainerBuild
         }
 
         try {
-            V1Job job = framework.get(framework.build(runnable));
+            V1Job job = framework.find(framework.build(runnable));
 
             if (job == null || job.getStatus() == null) {
                 // something is missing, no recovery
@@ -106,8 +106,7 @@ public class K8sContainerBuilderMonitor extends K8sBaseMonitor<K8sContainerBuild
 
             //collect logs, optional
             try {
-                //TODO add sinceTime when available
-                runnable.setLogs(framework.logs(job));
+                runnable.setLogs(framework.logs(job, cursors(runnable)));
             } catch (K8sFrameworkException e1) {
                 log.error("error collecting logs for job {}: {}", runnable.getId(), e1.getMessage());
             }
@@ -31,7 +31,9 @@ import it.smartcommunitylabdhub.search.indexers.SearchGroupResult;
 import it.smartcommunitylabdhub.search.indexers.SearchPage;
 import it.smartcommunitylabdhub.search.service.SearchService;
 import jakarta.annotation.PreDestroy;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.lucene.document.Document;
 import org.springframework.beans.factory.InitializingBean;
@@ -100,6 +102,13 @@ public class LuceneComponent implements SearchService, InitializingBean {
         }
     }
 
+    public void removeDocs(Collection<String> ids) throws IndexerException {
+        Assert.notNull(ids, "ids can not be null");
+        if (indexManager != null && !ids.isEmpty()) {
+            indexManager.removeDocs(ids);
+        }
+    }
+
     public void indexBounce(Iterable<Document> docs) throws IndexerException {
         Assert.notNull(docs, "docs can not be null");
         if (indexManager != null) {
@@ -142,4 +151,19 @@ public class LuceneComponent implements SearchService, InitializingBean {
             indexManager.clearIndexByType(type);
         }
     }
+
+    public void clearIndexByTypeBefore(String type, long timestamp) throws IndexerException {
+        if (indexManager != null) {
+            indexManager.clearIndexByTypeBefore(type, timestamp);
+        }
+    }
+
+    public long scanIds(String type, int batch, Consumer<List<String>> consumer) throws IndexerException {
+        Assert.notNull(consumer, "consumer can not be null");
+        if (indexManager != null) {
+            return indexManager.scanIds(type, batch, consumer);
+        }
+
+        return 0;
+    }
 }
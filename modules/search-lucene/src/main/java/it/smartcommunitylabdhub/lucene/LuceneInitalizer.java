@@ -55,9 +55,19 @@ public class LuceneInitalizer implements ApplicationListener<ApplicationStartedE
     @Override
     public void onApplicationEvent(ApplicationStartedEvent event) {
         // trigger reindex if required
-        if (services != null && "always".equals(properties.getReindex())) {
-            //reindex
-            services.forEach(service -> service.reindexAll());
+        if (services != null) {
+            if ("always".equals(properties.getReindex())) {
+                //reindex
+                services.forEach(service -> service.reindexAll());
+            } else {
+                //complete interrupted reindex, if any
+                services.forEach(service -> service.resumeReindex());
+
+                if ("incremental".equals(properties.getReindex())) {
+                    //catch up with changes since the last sync
+                    services.forEach(service -> service.syncIndex());
+                }
+            }
         }
     }
 }
@@ -25,6 +25,7 @@ package it.smartcommunitylabdhub.lucene.base;
 
 import it.smartcommunitylabdhub.commons.accessors.fields.StatusFieldAccessor;
 import it.smartcommunitylabdhub.commons.exceptions.StoreException;
+import it.smartcommunitylabdhub.commons.exceptions.SystemException;
 import it.smartcommunitylabdhub.commons.models.base.BaseDTO;
 import it.smartcommunitylabdhub.commons.models.entities.EntityName;
 import it.smartcommunitylabdhub.commons.models.metadata.AuditMetadata;
@@ -45,10 +46,12 @@ import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
@@ -115,6 +118,9 @@ public abstract class LuceneBaseEntityIndexer<D extends BaseDTO> implements Enti
         //base doc
         doc.add(new StringField("id", item.getId(), Field.Store.YES));
 
+        //indexing time, used to drop leftovers after a full reindex
+        doc.add(new LongPoint("indexed", System.currentTimeMillis()));
+
         doc.add(new StringField("kind", item.getKind(), Field.Store.YES));
         doc.add(new SortedDocValuesField("kind", new BytesRef(doc.get("kind"))));
 
@@ -249,7 +255,9 @@ public abstract class LuceneBaseEntityIndexer<D extends BaseDTO> implements Enti
             List<Document> docs = items.stream().map(e -> parse(e)).collect(Collectors.toList());
             lucene.indexBounce(docs);
         } catch (StoreException e) {
-            log.error("error with solr: {}", e.getMessage());
+            //surface batch failures to let callers retry
+            log.error("error with lucene: {}", e.getMessage());
+            throw new SystemException(e.getMessage(), e);
         }
     }
 
@@ -263,6 +271,27 @@ public abstract class LuceneBaseEntityIndexer<D extends BaseDTO> implements Enti
         }
     }
 
+    @Override
+    public void clearIndexBefore(long timestamp) {
+        log.debug("clear index for {} before {}", type, timestamp);
+        try {
+            lucene.clearIndexByTypeBefore(type.name().toLowerCase(), timestamp);
+        } catch (StoreException e) {
+            log.error("error with lucene: {}", e.getMessage());
+            throw new SystemException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long scanIds(int batch, Consumer<List<String>> consumer) {
+        try {
+            return lucene.scanIds(type.name().toLowerCase(), batch, consumer);
+        } catch (StoreException e) {
+            log.error("error with lucene: {}", e.getMessage());
+            throw new SystemException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public void remove(D item) {
         Assert.notNull(item, "entity can not be null");
@@ -273,4 +302,16 @@ public abstract class LuceneBaseEntityIndexer<D extends BaseDTO> implements Enti
             log.error("error with lucene: {}", e.getMessage());
         }
     }
+
+    @Override
+    public void removeAll(Collection<String> ids) {
+        Assert.notNull(ids, "ids can not be null");
+        try {
+            log.debug("lucene remove index {}: {}", type, ids.size());
+            lucene.removeDocs(ids);
+        } catch (StoreException e) {
+            log.error("error with lucene: {}", e.getMessage());
+            throw new SystemException(e.getMessage(), e);
+        }
+    }
 }
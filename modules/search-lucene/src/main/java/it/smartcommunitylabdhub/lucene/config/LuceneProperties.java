@@ -38,4 +38,11 @@ public class LuceneProperties {
 
     private String indexPath;
     private String reindex;
+
+    //searchers see changes after refresh, durability after commit (ms)
+    private long refreshInterval = 1000;
+    private long commitInterval = 30000;
+
+    //pending changes triggering an early commit
+    private long commitSize = 1000;
 }
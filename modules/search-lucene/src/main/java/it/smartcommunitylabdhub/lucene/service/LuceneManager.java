@@ -36,17 +36,26 @@ import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
-import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.StoredFields;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
@@ -54,12 +63,17 @@ import org.apache.lucene.queryparser.flexible.standard.StandardQueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.BooleanQuery.Builder;
+import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.Weight;
 import org.apache.lucene.search.grouping.GroupDocs;
 import org.apache.lucene.search.grouping.GroupingSearch;
 import org.apache.lucene.search.grouping.TopGroups;
@@ -70,6 +84,7 @@ import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
 import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.BytesRef;
 import org.springframework.data.domain.Pageable;
 import org.springframework.util.Assert;
@@ -82,9 +97,16 @@ public class LuceneManager {
     private Analyzer analyzer;
     private Directory directory;
     private IndexWriterConfig config;
-    private DirectoryReader ireader;
     private IndexWriter iwriter;
 
+    //near-real-time searchers, refreshed from the writer without commits
+    private SearcherManager searcherManager;
+
+    //durability is handled in background, by time or by number of pending changes
+    private ScheduledExecutorService scheduler;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicBoolean committing = new AtomicBoolean();
+
     public LuceneManager(LuceneProperties properties) {
         Assert.notNull(properties, "lucene properties can not be null");
         this.properties = properties;
@@ -102,7 +124,26 @@ public class LuceneManager {
             config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
             iwriter = new IndexWriter(directory, config);
             iwriter.commit();
-            ireader = DirectoryReader.open(directory);
+            searcherManager = new SearcherManager(iwriter, null);
+
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "lucene-index");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(
+                this::refresh,
+                properties.getRefreshInterval(),
+                properties.getRefreshInterval(),
+                TimeUnit.MILLISECONDS
+            );
+            scheduler.scheduleWithFixedDelay(
+                this::commit,
+                properties.getCommitInterval(),
+                properties.getCommitInterval(),
+                TimeUnit.MILLISECONDS
+            );
+
             log.info("Lucene index initialized");
         } catch (Exception e) {
             throw new IndexerException(e.getMessage());
@@ -111,8 +152,13 @@ public class LuceneManager {
 
     public synchronized void close() throws IndexerException {
         try {
+            scheduler.shutdown();
+            scheduler.awaitTermination(properties.getCommitInterval(), TimeUnit.MILLISECONDS);
+
+            //flush pending changes before closing
+            iwriter.commit();
+            searcherManager.close();
             iwriter.close();
-            ireader.close();
             directory.close();
             log.info("Lucene index closed");
         } catch (Exception e) {
@@ -120,21 +166,52 @@ public class LuceneManager {
         }
     }
 
-    public synchronized DirectoryReader getReader() throws IOException {
-        DirectoryReader newReader = DirectoryReader.openIfChanged(ireader);
-        if (newReader != null) ireader = newReader;
-        return ireader;
+    /*
+     * Make pending changes visible to searchers, without fsync
+     */
+    private void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            log.error("error refreshing lucene searcher: {}", e.getMessage());
+        }
     }
 
-    public void indexDoc(Document doc) throws IndexerException {
-        log.debug("index doc");
+    /*
+     * Persist pending changes, a single commit at a time
+     */
+    private void commit() {
+        if (!committing.compareAndSet(false, true)) {
+            //already running, changes will be picked up
+            return;
+        }
+
         try {
-            synchronized (iwriter) {
-                Term term = new Term("id", doc.get("id"));
-                iwriter.deleteDocuments(term);
-                iwriter.addDocument(doc);
+            long count = pending.getAndSet(0);
+            if (iwriter.hasUncommittedChanges()) {
+                log.debug("commit {} changes", count);
                 iwriter.commit();
             }
+        } catch (IOException | RuntimeException e) {
+            log.error("error committing lucene index: {}", e.getMessage());
+        } finally {
+            committing.set(false);
+        }
+    }
+
+    private void changed(long count) {
+        //commit early when too many changes are pending
+        if (pending.addAndGet(count) >= properties.getCommitSize() && !scheduler.isShutdown()) {
+            scheduler.execute(this::commit);
+        }
+    }
+
+    public void indexDoc(Document doc) throws IndexerException {
+        log.debug("index doc");
+        try {
+            //atomic delete+add, writers are thread safe
+            iwriter.updateDocument(new Term("id", doc.get("id")), doc);
+            changed(1);
         } catch (Exception e) {
             throw new IndexerException(e.getMessage());
         }
@@ -143,11 +220,20 @@ public class LuceneManager {
     public void removeDoc(String id) throws IndexerException {
         log.debug("remove doc {}", String.valueOf(id));
         try {
-            synchronized (iwriter) {
-                Term term = new Term("id", id);
-                iwriter.deleteDocuments(term);
-                iwriter.commit();
-            }
+            iwriter.deleteDocuments(new Term("id", id));
+            changed(1);
+        } catch (Exception e) {
+            throw new IndexerException(e.getMessage());
+        }
+    }
+
+    public void removeDocs(Collection<String> ids) throws IndexerException {
+        log.debug("remove docs {}", ids.size());
+        try {
+            //single delete for the whole set
+            Term[] terms = ids.stream().map(id -> new Term("id", id)).toArray(Term[]::new);
+            iwriter.deleteDocuments(terms);
+            changed(terms.length);
         } catch (Exception e) {
             throw new IndexerException(e.getMessage());
         }
@@ -156,14 +242,12 @@ public class LuceneManager {
     public void indexBounce(Iterable<Document> docs) throws IndexerException {
         log.debug("index bounce docs");
         try {
-            synchronized (iwriter) {
-                for (Document doc : docs) {
-                    Term term = new Term("id", doc.get("id"));
-                    iwriter.deleteDocuments(term);
-                    iwriter.addDocument(doc);
-                }
-                iwriter.commit();
+            long count = 0;
+            for (Document doc : docs) {
+                iwriter.updateDocument(new Term("id", doc.get("id")), doc);
+                count++;
             }
+            changed(count);
         } catch (Exception e) {
             throw new IndexerException(e.getMessage());
         }
@@ -172,10 +256,10 @@ public class LuceneManager {
     public void clearIndex() throws IndexerException {
         log.debug("clear index");
         try {
-            synchronized (iwriter) {
-                iwriter.deleteAll();
-                iwriter.commit();
-            }
+            //destructive, persist and expose right away
+            iwriter.deleteAll();
+            iwriter.commit();
+            searcherManager.maybeRefresh();
         } catch (Exception e) {
             throw new IndexerException(e.getMessage());
         }
@@ -184,21 +268,87 @@ public class LuceneManager {
     public void clearIndexByType(String type) throws IndexerException {
         log.debug("clear index {}", type);
         try {
-            synchronized (iwriter) {
-                Term term = new Term("type", type);
-                iwriter.deleteDocuments(term);
-                iwriter.commit();
-            }
+            iwriter.deleteDocuments(new Term("type", type));
+            iwriter.commit();
+            searcherManager.maybeRefresh();
+        } catch (Exception e) {
+            throw new IndexerException(e.getMessage());
+        }
+    }
+
+    public void clearIndexByTypeBefore(String type, long timestamp) throws IndexerException {
+        log.debug("clear index {} before {}", type, timestamp);
+        try {
+            //keep documents indexed since timestamp
+            Query query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term("type", type)), BooleanClause.Occur.MUST)
+                .add(LongPoint.newRangeQuery("indexed", timestamp, Long.MAX_VALUE), BooleanClause.Occur.MUST_NOT)
+                .build();
+
+            iwriter.deleteDocuments(query);
+            iwriter.commit();
+            searcherManager.maybeRefresh();
         } catch (Exception e) {
             throw new IndexerException(e.getMessage());
         }
     }
 
+    public long scanIds(String type, int batch, Consumer<List<String>> consumer) throws IndexerException {
+        log.debug("scan ids for {}", type);
+
+        IndexSearcher isearcher = null;
+        try {
+            isearcher = searcherManager.acquire();
+
+            //walk matches segment by segment, reading only the stored id
+            Query query = isearcher.rewrite(new TermQuery(new Term("type", type)));
+            Weight weight = isearcher.createWeight(query, ScoreMode.COMPLETE_NO_SCORES, 1f);
+            Set<String> fields = Set.of("id");
+
+            long count = 0;
+            List<String> ids = new ArrayList<>(batch);
+            for (LeafReaderContext leaf : isearcher.getIndexReader().leaves()) {
+                Scorer scorer = weight.scorer(leaf);
+                if (scorer == null) {
+                    continue;
+                }
+
+                Bits liveDocs = leaf.reader().getLiveDocs();
+                StoredFields storedFields = leaf.reader().storedFields();
+                DocIdSetIterator iterator = scorer.iterator();
+                for (int doc = iterator.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = iterator.nextDoc()) {
+                    if (liveDocs != null && !liveDocs.get(doc)) {
+                        continue;
+                    }
+
+                    ids.add(storedFields.document(doc, fields).get("id"));
+                    if (ids.size() == batch) {
+                        consumer.accept(ids);
+                        count += ids.size();
+                        ids = new ArrayList<>(batch);
+                    }
+                }
+            }
+
+            if (!ids.isEmpty()) {
+                consumer.accept(ids);
+                count += ids.size();
+            }
+
+            return count;
+        } catch (IOException e) {
+            throw new IndexerException(e.getMessage());
+        } finally {
+            release(isearcher);
+        }
+    }
+
     public SearchPage<ItemResult> itemSearch(String q, List<String> fq, Pageable pageRequest) throws IndexerException {
         log.debug("item search for {} {}", q, fq);
 
+        IndexSearcher isearcher = null;
         try {
-            IndexSearcher isearcher = new IndexSearcher(getReader());
+            isearcher = searcherManager.acquire();
 
             Map<String, List<String>> filters = new HashMap<>();
             QueryMapper queryMapper = prepareQuery(q, fq, pageRequest, filters, false);
@@ -222,7 +372,7 @@ public class LuceneManager {
             highlighter.setTextFragmenter(fragmenter);
 
             TopGroups<BytesRef> topGroups = groupingSearch.search(isearcher, queryMapper.getCompleteQuery(), 0, 1);
-            StoredFields storedFields = getReader().storedFields();
+            StoredFields storedFields = isearcher.getIndexReader().storedFields();
             List<ItemResult> result = new ArrayList<>();
             long total = 0;
             for (GroupDocs<BytesRef> groupDocs : topGroups.groups) {
@@ -239,6 +389,8 @@ public class LuceneManager {
             return new SearchPageImpl<ItemResult>(result, pageRequest, total, filters);
         } catch (Exception e) {
             throw new IndexerException(e.getMessage());
+        } finally {
+            release(isearcher);
         }
     }
 
@@ -246,8 +398,9 @@ public class LuceneManager {
         throws IndexerException {
         log.debug("group search for {} {}", q, fq);
 
+        IndexSearcher isearcher = null;
         try {
-            IndexSearcher isearcher = new IndexSearcher(getReader());
+            isearcher = searcherManager.acquire();
 
             Map<String, List<String>> filters = new HashMap<>();
             QueryMapper queryMapper = prepareQuery(q, fq, pageRequest, filters, true);
@@ -275,7 +428,7 @@ public class LuceneManager {
                 (int) pageRequest.getOffset(),
                 pageRequest.getPageSize()
             );
-            StoredFields storedFields = getReader().storedFields();
+            StoredFields storedFields = isearcher.getIndexReader().storedFields();
             List<SearchGroupResult> result = new ArrayList<>();
             for (GroupDocs<BytesRef> groupDocs : topGroups.groups) {
                 SearchGroupResult groupResult = new SearchGroupResult();
@@ -297,6 +450,18 @@ public class LuceneManager {
             return new SearchPageImpl<SearchGroupResult>(result, pageRequest, topGroups.totalGroupCount, filters);
         } catch (Exception e) {
             throw new IndexerException(e.getMessage());
+        } finally {
+            release(isearcher);
+        }
+    }
+
+    private void release(IndexSearcher isearcher) {
+        if (isearcher != null) {
+            try {
+                searcherManager.release(isearcher);
+            } catch (IOException e) {
+                log.error("error releasing lucene searcher: {}", e.getMessage());
+            }
         }
     }
 
@@ -32,7 +32,9 @@ import it.smartcommunitylabdhub.search.service.SearchService;
 import it.smartcommunitylabdhub.solr.config.SolrProperties;
 import it.smartcommunitylabdhub.solr.service.SolrIndexManager;
 import jakarta.annotation.PreDestroy;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.solr.common.SolrInputDocument;
 import org.springframework.beans.factory.InitializingBean;
@@ -101,6 +103,13 @@ public class SolrComponent implements SearchService, InitializingBean {
         }
     }
 
+    public void removeDocs(Collection<String> ids) throws IndexerException {
+        Assert.notNull(ids, "ids can not be null");
+        if (indexManager != null && !ids.isEmpty()) {
+            indexManager.removeDocs(ids);
+        }
+    }
+
     public void indexBounce(Iterable<SolrInputDocument> docs) throws IndexerException {
         Assert.notNull(docs, "docs can not be null");
         if (indexManager != null) {
@@ -143,4 +152,19 @@ public class SolrComponent implements SearchService, InitializingBean {
             indexManager.clearIndexByType(type);
         }
     }
+
+    public void clearIndexByTypeBefore(String type, long timestamp) throws IndexerException {
+        if (indexManager != null) {
+            indexManager.clearIndexByTypeBefore(type, timestamp);
+        }
+    }
+
+    public long scanIds(String type, int batch, Consumer<List<String>> consumer) throws IndexerException {
+        Assert.notNull(consumer, "consumer can not be null");
+        if (indexManager != null) {
+            return indexManager.scanIds(type, batch, consumer);
+        }
+
+        return 0;
+    }
 }
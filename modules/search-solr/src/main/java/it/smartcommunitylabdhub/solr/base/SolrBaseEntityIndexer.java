@@ -25,6 +25,7 @@ package it.smartcommunitylabdhub.solr.base;
 
 import it.smartcommunitylabdhub.commons.accessors.fields.StatusFieldAccessor;
 import it.smartcommunitylabdhub.commons.exceptions.StoreException;
+import it.smartcommunitylabdhub.commons.exceptions.SystemException;
 import it.smartcommunitylabdhub.commons.models.base.BaseDTO;
 import it.smartcommunitylabdhub.commons.models.entities.EntityName;
 import it.smartcommunitylabdhub.commons.models.metadata.AuditMetadata;
@@ -42,6 +43,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.solr.common.SolrInputDocument;
@@ -107,6 +109,9 @@ public abstract class SolrBaseEntityIndexer<D extends BaseDTO> implements Entity
         doc.addField("name", item.getName());
         doc.addField("user", item.getUser());
 
+        //indexing time, used to drop leftovers after a full reindex
+        doc.addField("indexed", System.currentTimeMillis());
+
         //status
         if (item instanceof StatusDTO) {
             StatusFieldAccessor status = StatusFieldAccessor.with(((StatusDTO) item).getStatus());
@@ -146,6 +151,7 @@ public abstract class SolrBaseEntityIndexer<D extends BaseDTO> implements Entity
         fields.add(new IndexField("id", "string", true, false, true, true));
         fields.add(new IndexField("keyGroup", "string", true, false, true, true));
         fields.add(new IndexField("type", "string", true, false, true, true));
+        fields.add(new IndexField("indexed", "plong", true, false, true, true));
 
         fields.add(new IndexField("kind", "string", true, false, true, true));
         fields.add(new IndexField("project", "string", true, false, true, true));
@@ -200,7 +206,9 @@ public abstract class SolrBaseEntityIndexer<D extends BaseDTO> implements Entity
 
                 solr.indexBounce(docs);
             } catch (StoreException e) {
+                //surface batch failures to let callers retry
                 log.error("error with solr: {}", e.getMessage());
+                throw new SystemException(e.getMessage(), e);
             }
         }
     }
@@ -215,6 +223,27 @@ public abstract class SolrBaseEntityIndexer<D extends BaseDTO> implements Entity
         }
     }
 
+    @Override
+    public void clearIndexBefore(long timestamp) {
+        log.debug("clear index for {} before {}", type, timestamp);
+        try {
+            solr.clearIndexByTypeBefore(type.name(), timestamp);
+        } catch (StoreException e) {
+            log.error("error with solr: {}", e.getMessage());
+            throw new SystemException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long scanIds(int batch, Consumer<List<String>> consumer) {
+        try {
+            return solr.scanIds(type.name(), batch, consumer);
+        } catch (StoreException e) {
+            log.error("error with solr: {}", e.getMessage());
+            throw new SystemException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public void remove(D item) {
         Assert.notNull(item, "entity can not be null");
@@ -225,4 +254,16 @@ public abstract class SolrBaseEntityIndexer<D extends BaseDTO> implements Entity
             log.error("error with solr: {}", e.getMessage());
         }
     }
+
+    @Override
+    public void removeAll(Collection<String> ids) {
+        Assert.notNull(ids, "ids can not be null");
+        try {
+            log.debug("solr remove index {}: {}", type, ids.size());
+            solr.removeDocs(ids);
+        } catch (StoreException e) {
+            log.error("error with solr: {}", e.getMessage());
+            throw new SystemException(e.getMessage(), e);
+        }
+    }
 }
@@ -48,4 +48,15 @@ public class SolrProperties {
     private Integer replicas;
 
     private String reindex;
+
+    //updates are visible within the given ms, explicit commits when not positive
+    private Integer commitWithin = 1000;
+    private Boolean softCommit = true;
+
+    //documents per update request, buffered up to flush interval ms (0 disables buffering)
+    private Integer batchSize = 500;
+    private Integer flushInterval = 1000;
+
+    //max buffered documents while solr is unavailable, oldest are dropped beyond
+    private Integer bufferSize = 10000;
 }
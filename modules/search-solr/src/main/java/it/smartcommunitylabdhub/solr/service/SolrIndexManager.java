@@ -42,11 +42,22 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.Http2SolrClient;
 import org.apache.solr.client.solrj.impl.Http2SolrClient.Builder;
@@ -59,6 +70,7 @@ import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.MultiMapSolrParams;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpEntity;
@@ -85,6 +97,19 @@ public class SolrIndexManager {
     private ObjectMapper mapper = new ObjectMapper()
         .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
+    //docs waiting for the next flush, by id, oldest first
+    private final Map<String, SolrInputDocument> buffer = new LinkedHashMap<>();
+
+    //early flush requested by writers, run on the scheduler
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private volatile boolean failing = false;
+    private final AtomicLong dropped = new AtomicLong();
+    private long droppedSince = 0;
+
+    //serializes flushes with removals: a removal never overlaps an in-flight batch or its retry
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private ScheduledExecutorService scheduler;
+
     public SolrIndexManager(SolrProperties props) {
         Assert.notNull(props, "solr properties can not be null");
         Assert.hasText(props.getUrl(), "solr url can not be null or empty");
@@ -166,6 +191,21 @@ public class SolrIndexManager {
         } catch (SolrException | RestClientException | JsonProcessingException e) {
             log.warn("can not initialize solr: {}", e.getMessage());
         }
+
+        //background flush for buffered writes
+        if (scheduler == null && props.getFlushInterval() != null && props.getFlushInterval() > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "solr-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(
+                this::flushQuietly,
+                props.getFlushInterval(),
+                props.getFlushInterval(),
+                TimeUnit.MILLISECONDS
+            );
+        }
     }
 
     /*
@@ -239,11 +279,56 @@ public class SolrIndexManager {
     }
 
     public void close() throws IndexerException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            //write out buffered docs
+            flush();
+        }
+
         if (solrClient != null) {
             solrClient.close();
         }
     }
 
+    public long scanIds(String type, int batch, Consumer<List<String>> consumer) throws IndexerException {
+        log.debug("scan ids for type {}", String.valueOf(type));
+
+        //cursor on id: stable while documents are removed
+        SolrQuery query = new SolrQuery("*:*");
+        query.addFilterQuery("type:" + type.trim());
+        query.setFields("id");
+        query.setRows(batch);
+        query.setSort(SolrQuery.SortClause.asc("id"));
+
+        try {
+            long count = 0;
+            String cursor = CursorMarkParams.CURSOR_MARK_START;
+            while (true) {
+                query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursor);
+                QueryResponse response = solrClient.query(props.getCollection(), query);
+
+                List<String> ids = response
+                    .getResults()
+                    .stream()
+                    .map(doc -> String.valueOf(doc.getFieldValue("id")))
+                    .toList();
+                if (!ids.isEmpty()) {
+                    consumer.accept(ids);
+                    count += ids.size();
+                }
+
+                String next = response.getNextCursorMark();
+                if (next == null || cursor.equals(next)) {
+                    return count;
+                }
+
+                cursor = next;
+            }
+        } catch (SolrServerException | SolrException | IOException e) {
+            throw new IndexerException(e.getMessage());
+        }
+    }
+
     public SearchPage<SearchGroupResult> groupSearch(String q, List<String> fq, Pageable pageRequest)
         throws IndexerException {
         log.debug("group search for {} {}", q, fq);
@@ -318,56 +403,234 @@ public class SolrIndexManager {
             log.trace("doc: {}", doc);
         }
 
-        try {
-            solrClient.add(props.getCollection(), doc);
-            solrClient.commit(props.getCollection());
-        } catch (SolrServerException | SolrException | IOException e) {
-            throw new IndexerException(e.getMessage());
+        if (scheduler == null) {
+            add(List.of(doc));
+            return;
+        }
+
+        //buffer, latest version of a doc wins
+        boolean full;
+        synchronized (buffer) {
+            buffer.put(String.valueOf(doc.getFieldValue("id")), doc);
+            trim();
+            full = buffer.size() >= props.getBatchSize();
         }
+
+        //flush a full batch early on the scheduler, failed flushes wait for the next interval
+        if (full && !failing && flushRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(() -> {
+                    flushRequested.set(false);
+                    flushQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                //shutting down, close flushes
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    public long getDropped() {
+        return dropped.get();
     }
 
     public void removeDoc(String id) throws IndexerException {
         log.debug("remove doc {}", String.valueOf(id));
+        removeDocs(List.of(id));
+    }
+
+    public void removeDocs(Collection<String> ids) throws IndexerException {
+        log.debug("remove docs {}", ids.size());
+        writeLock.lock();
         try {
-            solrClient.deleteById(props.getCollection(), id);
-            solrClient.commit(props.getCollection());
+            synchronized (buffer) {
+                //buffered docs must not be re-added after removal
+                ids.forEach(buffer::remove);
+            }
+
+            solrClient.deleteById(props.getCollection(), new ArrayList<>(ids), commitWithin());
+            commit();
         } catch (SolrServerException | SolrException | IOException e) {
             throw new IndexerException(e.getMessage());
+        } finally {
+            writeLock.unlock();
         }
     }
 
     public void clearIndex() throws IndexerException {
         log.debug("clear index");
+        writeLock.lock();
         try {
-            solrClient.deleteByQuery(props.getCollection(), "*:*");
-            solrClient.commit(props.getCollection());
+            synchronized (buffer) {
+                buffer.clear();
+            }
+
+            solrClient.deleteByQuery(props.getCollection(), "*:*", commitWithin());
+            commit();
         } catch (SolrServerException | SolrException | IOException e) {
             throw new IndexerException(e.getMessage());
+        } finally {
+            writeLock.unlock();
         }
     }
 
     public void clearIndexByType(String type) throws IndexerException {
         log.debug("clear index for type {}", String.valueOf(type));
+        writeLock.lock();
         try {
-            solrClient.deleteByQuery(props.getCollection(), "type:" + type.trim());
-            solrClient.commit(props.getCollection());
+            synchronized (buffer) {
+                buffer.values().removeIf(doc -> type.trim().equals(doc.getFieldValue("type")));
+            }
+
+            solrClient.deleteByQuery(props.getCollection(), "type:" + type.trim(), commitWithin());
+            commit();
         } catch (SolrServerException | SolrException | IOException e) {
             throw new IndexerException(e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void clearIndexByTypeBefore(String type, long timestamp) throws IndexerException {
+        log.debug("clear index for type {} before {}", String.valueOf(type), timestamp);
+
+        writeLock.lock();
+        try {
+            //pending documents are newer, write them before deleting
+            flush();
+
+            solrClient.deleteByQuery(
+                props.getCollection(),
+                "type:" + type.trim() + " AND -indexed:[" + timestamp + " TO *]",
+                commitWithin()
+            );
+            commit();
+        } catch (SolrServerException | SolrException | IOException e) {
+            throw new IndexerException(e.getMessage());
+        } finally {
+            writeLock.unlock();
         }
     }
 
     public void indexBounce(Iterable<SolrInputDocument> docs) throws IndexerException {
         log.debug("index bounce docs");
+        List<SolrInputDocument> list = new ArrayList<>();
+        docs.forEach(list::add);
+        add(list);
+    }
+
+    /*
+     * Buffered writes
+     */
+
+    public void flush() throws IndexerException {
+        //removals wait for the batch and its retry, so they always apply after
+        writeLock.lock();
+        try {
+            List<SolrInputDocument> docs;
+            synchronized (buffer) {
+                if (buffer.isEmpty()) {
+                    return;
+                }
+
+                docs = new ArrayList<>(buffer.values());
+                buffer.clear();
+            }
+
+            try {
+                add(docs);
+                failing = false;
+
+                synchronized (buffer) {
+                    if (droppedSince > 0) {
+                        log.warn("solr buffer recovered, {} docs dropped", droppedSince);
+                        droppedSince = 0;
+                    }
+                }
+            } catch (IndexerException e) {
+                failing = true;
+
+                //keep for next flush ahead of newer docs, unless replaced meanwhile
+                synchronized (buffer) {
+                    Map<String, SolrInputDocument> map = new LinkedHashMap<>();
+                    docs.forEach(doc -> map.put(String.valueOf(doc.getFieldValue("id")), doc));
+                    buffer.forEach((id, doc) -> {
+                        map.remove(id);
+                        map.put(id, doc);
+                    });
+                    buffer.clear();
+                    buffer.putAll(map);
+                    trim();
+                }
+                throw e;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IndexerException | RuntimeException e) {
+            log.error("error flushing solr docs: {}", e.getMessage());
+        }
+    }
+
+    //drop the oldest docs beyond the buffer size, sync restores them once solr is back
+    private void trim() {
+        int max = props.getBufferSize() != null && props.getBufferSize() > 0
+            ? props.getBufferSize()
+            : Integer.MAX_VALUE;
+        if (buffer.size() <= max) {
+            return;
+        }
+
+        Iterator<String> iter = buffer.keySet().iterator();
+        int count = 0;
+        while (buffer.size() > max && iter.hasNext()) {
+            iter.next();
+            iter.remove();
+            count++;
+        }
+
+        //warn once per outage, the count is reported on recovery
+        if (droppedSince == 0) {
+            log.warn("solr buffer full, dropping oldest docs");
+        }
+        droppedSince += count;
+        dropped.addAndGet(count);
+    }
+
+    private void add(List<SolrInputDocument> docs) throws IndexerException {
+        if (docs.isEmpty()) {
+            return;
+        }
+
         try {
-            for (SolrInputDocument doc : docs) {
-                solrClient.add(props.getCollection(), doc);
+            //bulk update requests, a single commit at the end
+            for (int i = 0; i < docs.size(); i += props.getBatchSize()) {
+                List<SolrInputDocument> batch = docs.subList(i, Math.min(i + props.getBatchSize(), docs.size()));
+                log.debug("add {} docs", batch.size());
+                solrClient.add(props.getCollection(), batch, commitWithin());
             }
-            solrClient.commit(props.getCollection());
+            commit();
         } catch (SolrServerException | SolrException | IOException e) {
             throw new IndexerException(e.getMessage());
         }
     }
 
+    private int commitWithin() {
+        return props.getCommitWithin() > 0 ? props.getCommitWithin() : -1;
+    }
+
+    private void commit() throws SolrServerException, IOException {
+        //let solr handle commits when commitWithin is set
+        if (props.getCommitWithin() <= 0) {
+            solrClient.commit(props.getCollection(), true, true, Boolean.TRUE.equals(props.getSoftCommit()));
+        }
+    }
+
     /*
      * Internal
      */